@@ -0,0 +1,87 @@
+package com.fastcampus.loan.config;
+
+import com.fastcampus.loan.domain.CreditDataSource;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 외부 신용 정보 조회 (loan.credit-data).
+ * provider 별 제한 시간, hedge, circuit breaker 설정과 로컬 stub 의 지연/오류 분포. 적지 않은 provider 는 기본값을 쓴다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "loan.credit-data")
+public class CreditDataProperties {
+
+  // 신청자(휴대전화)별 조회 결과 재사용 기간
+  private long cacheTtlSeconds = 600;
+
+  private long cacheMaxSize = 100000;
+
+  // provider 호출 스레드 수와 대기열 크기, 가득 차면 호출하지 않고 REJECTED
+  private int threads = 128;
+
+  private int queueCapacity = 1000;
+
+  // 실제 provider 구현 대신 로컬 stub 사용
+  private boolean stubEnabled = true;
+
+  private Map<CreditDataSource, Provider> providers = new EnumMap<>(CreditDataSource.class);
+
+  public Provider provider(CreditDataSource source) {
+    return providers.getOrDefault(source, new Provider());
+  }
+
+  @Getter
+  @Setter
+  public static class Provider {
+
+    private long timeoutMs = 1000;
+
+    // 이 시간 안에 응답이 없으면 같은 요청을 한 번 더 보낸다, 0 이면 hedge 하지 않음
+    private long hedgeAfterMs = 300;
+
+    // hedge, 실패 후 재시도 포함 최대 호출 수
+    private int maxAttempts = 2;
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Stub stub = new Stub();
+  }
+
+  @Getter
+  @Setter
+  public static class CircuitBreaker {
+
+    // 최근 window 번 중 min-calls 번 이상 호출했고 실패 비율이 failure-rate 이상이면 open-ms 동안 연다
+    private int window = 20;
+
+    private int minCalls = 10;
+
+    private double failureRate = 0.5;
+
+    private long openMs = 30000;
+  }
+
+  @Getter
+  @Setter
+  public static class Stub {
+
+    // latency-ms + (0 ~ jitter-ms), tail-rate 비율은 tail-latency-ms
+    private long latencyMs = 50;
+
+    private long jitterMs = 50;
+
+    private double tailRate = 0.01;
+
+    private long tailLatencyMs = 1000;
+
+    private double errorRate = 0.01;
+  }
+}
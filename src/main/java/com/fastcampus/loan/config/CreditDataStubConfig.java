@@ -0,0 +1,33 @@
+package com.fastcampus.loan.config;
+
+import com.fastcampus.loan.domain.CreditDataSource;
+import com.fastcampus.loan.service.CreditDataProvider;
+import com.fastcampus.loan.service.StubCreditDataProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 실제 provider 구현이 없을 때 쓰는 로컬 stub (loan.credit-data.stub-enabled)
+@Configuration
+@ConditionalOnProperty(prefix = "loan.credit-data", name = "stub-enabled", havingValue = "true", matchIfMissing = true)
+public class CreditDataStubConfig {
+
+  @Bean
+  public CreditDataProvider creditBureauProvider(CreditDataProperties properties) {
+    return stub(CreditDataSource.CREDIT_BUREAU, properties);
+  }
+
+  @Bean
+  public CreditDataProvider incomeProvider(CreditDataProperties properties) {
+    return stub(CreditDataSource.INCOME, properties);
+  }
+
+  @Bean
+  public CreditDataProvider fraudProvider(CreditDataProperties properties) {
+    return stub(CreditDataSource.FRAUD, properties);
+  }
+
+  private CreditDataProvider stub(CreditDataSource source, CreditDataProperties properties) {
+    return new StubCreditDataProvider(source, properties.provider(source).getStub());
+  }
+}
@@ -0,0 +1,49 @@
+package com.fastcampus.loan.config;
+
+import com.fastcampus.loan.service.JudgementEngine;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 자동 심사 규칙 (loan.judgement).
+ * 규칙은 적어 둔 순서대로 평가하고, 시작할 때 한 번 JudgementEngine 에서 평가용 형태로 바꾼다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "loan.judgement")
+public class JudgementRuleProperties {
+
+  // 자동 심사 결과의 심사자 (Judgement.name)
+  private String reviewer = "AUTO";
+
+  // 승인 금액 절사 단위 (원)
+  private BigDecimal unitAmount = BigDecimal.valueOf(10000);
+
+  private List<Rule> rules = new ArrayList<>();
+
+  @Getter
+  @Setter
+  public static class Rule {
+
+    private String name;
+
+    // feature operator threshold 이면 action 적용
+    private JudgementEngine.Feature feature;
+
+    private JudgementEngine.Operator operator;
+
+    private BigDecimal threshold;
+
+    private JudgementEngine.Action action;
+
+    // LIMIT : 최대 승인 금액 (원), RATIO : 신청 금액 대비 최대 비율 (0.8 = 80%)
+    private BigDecimal value;
+  }
+}
@@ -0,0 +1,20 @@
+package com.fastcampus.loan.config;
+
+import com.fastcampus.loan.controller.IdempotencyInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+  private final IdempotencyInterceptor idempotencyInterceptor;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(idempotencyInterceptor)
+        .addPathPatterns("/applications/**", "/counsels/**", "/judgements/**", "/internal/**");
+  }
+}
@@ -1,12 +1,19 @@
 package com.fastcampus.loan.controller;
 
+import com.fastcampus.loan.domain.RepaymentMethod;
 import com.fastcampus.loan.dto.ApplicationDTO.AcceptTerms;
+import com.fastcampus.loan.dto.ApplicationDTO.BatchResponse;
+import com.fastcampus.loan.dto.ApplicationDTO.OverviewResponse;
+import com.fastcampus.loan.dto.ApplicationDTO.PageResponse;
 import com.fastcampus.loan.dto.ApplicationDTO.Request;
 import com.fastcampus.loan.dto.ApplicationDTO.Response;
+import com.fastcampus.loan.dto.ApplicationDTO.SearchRequest;
 import com.fastcampus.loan.dto.FileDTO;
 import com.fastcampus.loan.dto.ResponseDTO;
+import com.fastcampus.loan.dto.ScheduleDTO;
 import com.fastcampus.loan.service.ApplicationService;
 import com.fastcampus.loan.service.FileStorageService;
+import com.fastcampus.loan.service.ScheduleService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -27,16 +34,35 @@ public class ApplicationController extends AbstractController{
 
     private final FileStorageService fileStorageService;
 
+    private final ScheduleService scheduleService;
+
     @PostMapping
     public ResponseDTO<Response> create(@RequestBody Request request){
         return ok(applicationService.create(request));
     }
 
+    @PostMapping("/batch")
+    public ResponseDTO<BatchResponse> createAll(@RequestBody List<Request> request){
+        return ok(applicationService.createAll(request));
+    }
+
+    @GetMapping
+    public ResponseDTO<PageResponse> search(SearchRequest request,
+                                            @RequestParam(required = false) Long cursor,
+                                            @RequestParam(defaultValue = "20") int size){
+        return ok(applicationService.search(request, cursor, size));
+    }
+
     @GetMapping("/{applicationId}")
     public ResponseDTO<Response> get(@PathVariable Long applicationId){
         return ok(applicationService.get(applicationId));
     }
 
+    @GetMapping("/{applicationId}/overview")
+    public ResponseDTO<OverviewResponse> getOverview(@PathVariable Long applicationId){
+        return ok(applicationService.getOverview(applicationId));
+    }
+
     @PutMapping("/{applicationId}")
     public ResponseDTO<Response> update(@PathVariable Long applicationId, @RequestBody Request request){
         return ok(applicationService.update(applicationId, request));
@@ -54,6 +80,12 @@ public class ApplicationController extends AbstractController{
         return ok(applicationService.acceptTerms(applicationId, request));
     }
 
+    @GetMapping("/{applicationId}/schedule")
+    public ResponseDTO<ScheduleDTO.Response> getSchedule(@PathVariable Long applicationId,
+                                                         @RequestParam(defaultValue = "EQUAL_INSTALLMENT") RepaymentMethod method){
+        return ok(scheduleService.get(applicationId, method));
+    }
+
     @PostMapping("/{applicationId}/files")
     public ResponseDTO<Void> upload(@PathVariable Long applicationId, MultipartFile file){
         fileStorageService.save(applicationId, file);
@@ -2,6 +2,7 @@ package com.fastcampus.loan.controller;
 
 import com.fastcampus.loan.dto.CounselDTO.Request;
 import com.fastcampus.loan.dto.CounselDTO.Response;
+import com.fastcampus.loan.dto.CounselDTO.SearchResponse;
 import com.fastcampus.loan.dto.ResponseDTO;
 import com.fastcampus.loan.service.CounselService;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +20,11 @@ public class CounselController extends AbstractController {
     return ok(counselService.create(request));
   }
 
+  @GetMapping("/search")
+  public ResponseDTO<SearchResponse> search(@RequestParam String query, @RequestParam(required = false) Integer size) {
+    return ok(counselService.search(query, size));
+  }
+
   @GetMapping("/{counselId}")
   public ResponseDTO<Response> get(@PathVariable Long counselId){
     return ok(counselService.get(counselId));
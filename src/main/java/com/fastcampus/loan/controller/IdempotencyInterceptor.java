@@ -0,0 +1,153 @@
+package com.fastcampus.loan.controller;
+
+import com.fastcampus.loan.dto.ResponseDTO;
+import com.fastcampus.loan.dto.ResultObject;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.service.IdempotencyStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * POST/PUT/PATCH 요청의 Idempotency-Key 처리.
+ * 처리한 적 있는 키면 저장된 응답을 그대로 쓰고 컨트롤러(서비스)를 타지 않는다.
+ * 같은 키라도 메서드, 경로, body 해시(IdempotencyRequestFilter)가 다르면 다른 요청이므로 8002 를 돌려준다.
+ * 처음 보는 키면 처리 중으로 등록하고, 성공 응답은 body 를 쓰기 전에 저장, 실패 응답이면 키를 푼다.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class IdempotencyInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String KEY_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".key";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        String key = request.getHeader(HEADER);
+        if (key == null || !isMutating(request)) {
+            return true;
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BaseException(ResultType.INVALID_IDEMPOTENCY_KEY);
+        }
+
+        String method = request.getMethod();
+        String uri = request.getRequestURI();
+        String hash = (String) request.getAttribute(IdempotencyRequestFilter.BODY_HASH_ATTRIBUTE);
+
+        Optional<IdempotencyStore.Stored> stored = idempotencyStore.find(key);
+        if (stored.isEmpty() && idempotencyStore.begin(key, method, uri, hash)) {
+            request.setAttribute(KEY_ATTRIBUTE, key);
+            return true;
+        }
+
+        // 먼저 등록한 요청이 그 사이 끝났을 수 있으므로 다시 읽는다
+        if (stored.isEmpty()) {
+            stored = idempotencyStore.find(key);
+        }
+        replay(stored, method, uri, hash, response);
+        return false;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        String key = (String) servletRequest.getAttribute(KEY_ATTRIBUTE);
+        if (key == null) {
+            return body;
+        }
+        servletRequest.removeAttribute(KEY_ATTRIBUTE);
+
+        if (isSuccess(body)) {
+            idempotencyStore.complete(key, servletRequest.getMethod(), servletRequest.getRequestURI(),
+                    (String) servletRequest.getAttribute(IdempotencyRequestFilter.BODY_HASH_ATTRIBUTE), serialize(body));
+        } else {
+            idempotencyStore.release(key);
+        }
+        return body;
+    }
+
+    // body 를 쓰지 못하고 끝난 요청(처리되지 않은 예외)은 키를 푼다
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        String key = (String) request.getAttribute(KEY_ATTRIBUTE);
+        if (key != null) {
+            request.removeAttribute(KEY_ATTRIBUTE);
+            idempotencyStore.release(key);
+        }
+    }
+
+    private void replay(Optional<IdempotencyStore.Stored> stored, String method, String uri, String hash,
+                        HttpServletResponse response) throws IOException {
+        if (stored.isEmpty() || !stored.get().isCompleted()) {
+            throw new BaseException(ResultType.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+        }
+        if (!stored.get().matches(method, uri, hash)) {
+            throw new BaseException(ResultType.IDEMPOTENCY_KEY_REUSED);
+        }
+
+        byte[] body = stored.get().getResponseBody().getBytes(StandardCharsets.UTF_8);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(body.length);
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.getOutputStream().write(body);
+    }
+
+    private boolean isMutating(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method);
+    }
+
+    private boolean isSuccess(Object body) {
+        if (!(body instanceof ResponseDTO)) {
+            return false;
+        }
+        ResultObject result = ((ResponseDTO<?>) body).getResult();
+        return result != null && ResultType.SUCCESS.getCode().equals(result.getCode());
+    }
+
+    private String serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+    }
+}
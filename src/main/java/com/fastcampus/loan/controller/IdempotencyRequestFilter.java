@@ -0,0 +1,133 @@
+package com.fastcampus.loan.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Idempotency-Key 가 있는 요청의 body 를 미리 읽어 SHA-256 을 request attribute 로 남긴다.
+ * 인터셉터는 body 를 읽기 전에 돌기 때문에 여기서 읽고, 컨트롤러는 읽어 둔 body 를 다시 읽는다.
+ * 메모리에 올리는 것은 길이를 아는 max-body-bytes 이하의 JSON body 뿐이고, 파일 업로드, 가져오기(text/csv, x-ndjson) 같은
+ * stream body 나 form 은 건너뛰어 메서드와 경로만 비교한다.
+ */
+@Component
+public class IdempotencyRequestFilter extends OncePerRequestFilter {
+
+    public static final String BODY_HASH_ATTRIBUTE = IdempotencyRequestFilter.class.getName() + ".bodyHash";
+
+    private final long maxBodyBytes;
+
+    public IdempotencyRequestFilter(@Value("${loan.idempotency.max-body-bytes:1048576}") long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        long contentLength = request.getContentLengthLong();
+        return request.getHeader(IdempotencyInterceptor.HEADER) == null
+                || !("POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method))
+                || !isJson(request.getContentType())
+                || contentLength < 0 || contentLength > maxBodyBytes;
+    }
+
+    private boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return MediaType.APPLICATION_JSON.includes(mediaType) || "json".equals(mediaType.getSubtypeSuffix());
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        request.setAttribute(BODY_HASH_ATTRIBUTE, sha256(body));
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private String sha256(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
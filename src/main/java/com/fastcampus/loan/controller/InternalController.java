@@ -1,13 +1,28 @@
 package com.fastcampus.loan.controller;
 
+import com.fastcampus.loan.domain.RepaymentImportFormat;
+import com.fastcampus.loan.dto.AccrualDTO;
+import com.fastcampus.loan.dto.ApplicationDTO;
 import com.fastcampus.loan.dto.EntryDTO;
+import com.fastcampus.loan.dto.JudgementDTO;
 import com.fastcampus.loan.dto.RepaymentDTO;
+import com.fastcampus.loan.dto.RepaymentImportDTO;
 import com.fastcampus.loan.dto.ResponseDTO;
+import com.fastcampus.loan.service.AccrualService;
+import com.fastcampus.loan.service.ApplicationEventStream;
+import com.fastcampus.loan.service.ApplicationService;
+import com.fastcampus.loan.service.AutoJudgementService;
 import com.fastcampus.loan.service.EntryService;
+import com.fastcampus.loan.service.RepaymentImportService;
 import com.fastcampus.loan.service.RepaymentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -19,6 +34,16 @@ public class InternalController extends AbstractController{
 
     private final RepaymentService repaymentService;
 
+    private final RepaymentImportService repaymentImportService;
+
+    private final AccrualService accrualService;
+
+    private final ApplicationEventStream applicationEventStream;
+
+    private final ApplicationService applicationService;
+
+    private final AutoJudgementService autoJudgementService;
+
     @PostMapping("{applicationId}/entries")
     public ResponseDTO<EntryDTO.Response> create(@PathVariable Long applicationId, @RequestBody EntryDTO.Request request){
         return ok(entryService.create(applicationId, request));
@@ -45,11 +70,44 @@ public class InternalController extends AbstractController{
         return ok(repaymentService.create(applicationId, request));
     }
 
+    @PostMapping("/repayments:batch")
+    public ResponseDTO<RepaymentDTO.BatchResponse> createAll(@RequestBody List<RepaymentDTO.BatchRequest> request){
+        return ok(repaymentService.createAll(request));
+    }
+
+    // 요청 body 가 파일 내용 (Content-Type: text/csv, application/x-ndjson)
+    @PostMapping("/repayments:import")
+    public ResponseDTO<RepaymentImportDTO.Response> importRepayments(@RequestParam RepaymentImportFormat format, InputStream file){
+        return ok(repaymentImportService.create(format, file));
+    }
+
+    @GetMapping("/repayments:import/{repaymentImportId}")
+    public ResponseDTO<RepaymentImportDTO.Response> getImport(@PathVariable Long repaymentImportId){
+        return ok(repaymentImportService.get(repaymentImportId));
+    }
+
+    @PostMapping("/repayments:import/{repaymentImportId}/resume")
+    public ResponseDTO<RepaymentImportDTO.Response> resumeImport(@PathVariable Long repaymentImportId){
+        return ok(repaymentImportService.resume(repaymentImportId));
+    }
+
     @GetMapping("{applicationId}/repayments")
     public ResponseDTO<List<RepaymentDTO.ListResponse>> getPayments(@PathVariable Long applicationId){
         return ok(repaymentService.get(applicationId));
     }
 
+    @GetMapping(value = "{applicationId}/repayments", params = "size")
+    public ResponseDTO<RepaymentDTO.PageResponse> getPayments(@PathVariable Long applicationId,
+                                                              @RequestParam(required = false) Long cursor,
+                                                              @RequestParam int size){
+        return ok(repaymentService.get(applicationId, cursor, size));
+    }
+
+    @GetMapping(value = "{applicationId}/repayments", produces = "application/x-ndjson")
+    public StreamingResponseBody streamPayments(@PathVariable Long applicationId){
+        return out -> repaymentService.stream(applicationId, out);
+    }
+
     @PutMapping("/repayments/{repaymentId}")
     public ResponseDTO<RepaymentDTO.UpdateResponse> update(@PathVariable Long repaymentId,
                                                            @RequestBody RepaymentDTO.Request request){
@@ -62,5 +120,29 @@ public class InternalController extends AbstractController{
         return ok();
     }
 
+    // 지정한 날짜의 이자 발생 배치를 바로 실행, 완료된 구간은 건너뛴다
+    @PostMapping("/accruals")
+    public ResponseDTO<AccrualDTO.Response> accrue(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate accrualDate){
+        return ok(accrualService.accrue(accrualDate));
+    }
 
-}
\ No newline at end of file
+    // 약관 동의까지 끝난 신청 전체를 규칙으로 심사
+    @PostMapping("/judgements")
+    public ResponseDTO<JudgementDTO.BatchResponse> judgeAll(){
+        return ok(autoJudgementService.judgeAll());
+    }
+
+    // 신청별 잔고, 진행 상태 변경 구독 (text/event-stream)
+    @GetMapping("/stream")
+    public SseEmitter stream(@RequestParam List<Long> applicationIds){
+        return applicationEventStream.subscribe(applicationIds);
+    }
+
+    // 지정한 약관 모두에 동의한 신청 ID
+    @GetMapping("/accepted-terms")
+    public ResponseDTO<ApplicationDTO.AcceptedApplicationPage> getAcceptedApplications(@RequestParam List<Long> termsIds,
+                                                                                       @RequestParam(required = false) Long cursor,
+                                                                                       @RequestParam(defaultValue = "1000") int size){
+        return ok(applicationService.findAcceptedApplications(termsIds, cursor, size));
+    }
+}
@@ -3,9 +3,15 @@ package com.fastcampus.loan.controller;
 import com.fastcampus.loan.dto.ApplicationDTO;
 import com.fastcampus.loan.dto.JudgementDTO;
 import com.fastcampus.loan.dto.ResponseDTO;
+import com.fastcampus.loan.service.ApplicationEventStream;
+import com.fastcampus.loan.service.AutoJudgementService;
 import com.fastcampus.loan.service.JudgementService;
+import com.fastcampus.loan.service.JudgementTaskService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collections;
 
 @RequiredArgsConstructor
 @RestController
@@ -14,11 +20,40 @@ public class JudgementController extends AbstractController{
 
     private final JudgementService judgementService;
 
+    private final AutoJudgementService autoJudgementService;
+
+    private final JudgementTaskService judgementTaskService;
+
+    private final ApplicationEventStream applicationEventStream;
+
     @PostMapping
     public ResponseDTO<JudgementDTO.Response> create(@RequestBody JudgementDTO.Request request){
         return ok(judgementService.create(request));
     }
 
+    // 설정된 규칙으로 심사 (loan.judgement.rules)
+    @PostMapping("/applications/{applicationId}/automated")
+    public ResponseDTO<JudgementDTO.Response> judge(@PathVariable Long applicationId){
+        return ok(autoJudgementService.judge(applicationId));
+    }
+
+    // 심사, 승인을 작업 큐에 넣고 바로 응답 (approvalAmount 가 없으면 규칙으로 심사)
+    @PostMapping("/tasks")
+    public ResponseDTO<JudgementDTO.TaskResponse> submit(@RequestBody JudgementDTO.Request request){
+        return ok(judgementTaskService.submit(request));
+    }
+
+    @GetMapping("/tasks/{judgementTaskId}")
+    public ResponseDTO<JudgementDTO.TaskResponse> getTask(@PathVariable Long judgementTaskId){
+        return ok(judgementTaskService.get(judgementTaskId));
+    }
+
+    // 진행 상태 변경, 심사 작업 종료(JUDGEMENT_TASK_FINISHED) 구독 (text/event-stream)
+    @GetMapping("/applications/{applicationId}/stream")
+    public SseEmitter stream(@PathVariable Long applicationId){
+        return applicationEventStream.subscribe(Collections.singletonList(applicationId));
+    }
+
     @GetMapping("/{judgementId}")
     public ResponseDTO<JudgementDTO.Response> get(@PathVariable Long judgementId){
         return ok(judgementService.get(judgementId));
@@ -40,6 +75,12 @@ public class JudgementController extends AbstractController{
         return ok();
     }
 
+    // 여러 심사를 한 번에 승인, 심사 ID 별 결과 코드를 돌려준다
+    @PatchMapping("/grants")
+    public ResponseDTO<JudgementDTO.GrantResponse> grantAll(@RequestBody JudgementDTO.GrantRequest request){
+        return ok(judgementService.grantAll(request.getJudgementIds()));
+    }
+
     @PatchMapping("/{judgementId}/grants")
     public ResponseDTO<ApplicationDTO.GrantAmount> grant(@PathVariable Long judgementId){
         return ok(judgementService.grant(judgementId));
@@ -1,13 +1,18 @@
 package com.fastcampus.loan.controller;
 
+import com.fastcampus.loan.domain.Terms;
 import com.fastcampus.loan.dto.ResponseDTO;
 import com.fastcampus.loan.dto.TermsDTO.Request;
 import com.fastcampus.loan.dto.TermsDTO.Response;
+import com.fastcampus.loan.service.TermsCatalog;
 import com.fastcampus.loan.service.TermsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RequiredArgsConstructor
 @RestController
@@ -21,9 +26,19 @@ public class TermsController extends AbstractController{
         return ok(termsService.create(request));
     }
 
+    // 응답 body 는 버전별로 미리 직렬화해 둔 값, If-None-Match 가 ETag 와 같으면 304 (body 없음)
     @GetMapping
-    public ResponseDTO<List<Response>> getAll(){
-        return ok(termsService.getAll());
+    public ResponseEntity<byte[]> get(@RequestParam(defaultValue = Terms.DEFAULT_PRODUCT_CODE) String productCode,
+                                      @RequestParam(required = false) Integer version){
+        TermsCatalog.Version terms = termsService.get(productCode, version);
+
+        // 최신 버전은 바뀔 수 있으므로 매번 확인, 지정한 버전은 바뀌지 않는다
+        CacheControl cacheControl = version == null ? CacheControl.noCache() : CacheControl.maxAge(1, TimeUnit.DAYS);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .eTag(terms.getETag())
+                .body(terms.getBody());
     }
 
 }
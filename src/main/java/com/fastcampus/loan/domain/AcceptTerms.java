@@ -16,10 +16,15 @@ import javax.persistence.*;
 @DynamicInsert
 @DynamicUpdate
 @Where(clause = "is_deleted=false")
+@Table(indexes = {
+        @Index(name = "idx_accept_terms_application_id", columnList = "applicationId"),
+        @Index(name = "idx_accept_terms_terms_id", columnList = "termsId, applicationId")
+})
 public class AcceptTerms extends BaseEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accept_terms_seq")
+    @SequenceGenerator(name = "accept_terms_seq", sequenceName = "accept_terms_seq", allocationSize = 50)
     @Column(nullable = false, updatable = false)
     private Long acceptTermsId;
 
@@ -28,4 +33,7 @@ public class AcceptTerms extends BaseEntity{
 
     @Column(columnDefinition = "bigint NOT NULL COMMENT '약관 ID'")
     private Long termsId;
+
+    @Column(columnDefinition = "bigint DEFAULT NULL COMMENT '동의한 약관 버전 ID'")
+    private Long termsVersionId;
 }
@@ -0,0 +1,54 @@
+package com.fastcampus.loan.domain;
+
+import lombok.*;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Where;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+
+/**
+ * 신청별 동의 약관을 한 행의 bitmap 으로 저장 (약관 N 개여도 신청당 1 행).
+ * bit 위치는 Terms.bitIndex, bitWidth 는 동의 당시 할당되어 있던 약관 위치 수다.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamicInsert
+@DynamicUpdate
+@Where(clause = "is_deleted=false")
+@Table(indexes = @Index(name = "idx_accept_terms_bitmap_updated_at", columnList = "updatedAt"))
+public class AcceptTermsBitmap extends BaseEntity implements Persistable<Long> {
+
+    // bitmap 컬럼 크기(32 byte)
+    public static final int MAX_TERMS = 256;
+
+    @Id
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '신청 ID'", nullable = false, updatable = false)
+    private Long applicationId;
+
+    @Column(columnDefinition = "smallint NOT NULL COMMENT '동의 당시 할당된 bitmap 위치 수'")
+    private Integer bitWidth;
+
+    @Column(columnDefinition = "bigint DEFAULT NULL COMMENT '동의한 약관 버전 ID'")
+    private Long termsVersionId;
+
+    // BitSet.toByteArray 형식 (little-endian)
+    @Column(columnDefinition = "varbinary(32) NOT NULL COMMENT '동의 약관 bitmap'")
+    private byte[] accepted;
+
+    @Override
+    public Long getId() {
+        return applicationId;
+    }
+
+    // ID 를 직접 넣으므로 저장 전 조회(merge) 없이 insert 하도록 생성일자로 판단
+    @Override
+    public boolean isNew() {
+        return getCreatedAt() == null;
+    }
+}
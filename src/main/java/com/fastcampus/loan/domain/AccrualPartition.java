@@ -0,0 +1,44 @@
+package com.fastcampus.loan.domain;
+
+import lombok.*;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamicInsert
+@DynamicUpdate
+@Where(clause = "is_deleted=false")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_accrual_partition", columnNames = {"accrualDate", "fromApplicationId", "toApplicationId"}))
+public class AccrualPartition extends BaseEntity{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accrual_partition_seq")
+    @SequenceGenerator(name = "accrual_partition_seq", sequenceName = "accrual_partition_seq", allocationSize = 50)
+    @Column(nullable = false, updatable = false)
+    private Long accrualPartitionId;
+
+    @Column(columnDefinition = "date NOT NULL COMMENT '이자 발생일'")
+    private LocalDate accrualDate;
+
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '시작 신청 ID'")
+    private Long fromApplicationId;
+
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '끝 신청 ID (포함하지 않음)'")
+    private Long toApplicationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(10) NOT NULL COMMENT '처리 상태'")
+    private AccrualPartitionStatus status;
+
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '이자 발생 건수'")
+    private Long accruedCount;
+}
@@ -0,0 +1,142 @@
+package com.fastcampus.loan.domain;
+
+/**
+ * 회차별 상환 원금, 이자, 남은 원금을 cents(long) 배열로 들고 있는 상환 스케줄.
+ * 금리는 decimal(5,4) 연 이율을 10,000 배 한 정수로 받고, 월 이자는 남은 원금 * 금리 / 120,000 을 HALF_EVEN 으로 반올림한다.
+ * 원리금 균등의 월 납입액만 (1 + r)^n 계산에 double 을 쓰고, 나머지는 모두 long 연산이다.
+ * 반올림 차이는 마지막 회차에서 정리해서 회차별 원금의 합은 항상 대출 원금과 같다.
+ */
+public final class AmortizationSchedule {
+
+    // 연 이율 10,000 배 * 12 개월
+    private static final long MONTHLY_RATE_DENOMINATOR = 120_000L;
+
+    private final RepaymentMethod method;
+
+    private final long[] principal;
+
+    private final long[] interest;
+
+    private final long[] remaining;
+
+    private AmortizationSchedule(RepaymentMethod method, int installments) {
+        this.method = method;
+        this.principal = new long[installments];
+        this.interest = new long[installments];
+        this.remaining = new long[installments];
+    }
+
+    public static AmortizationSchedule of(RepaymentMethod method, long principalCents, long annualRateUnits, int installments) {
+        if (principalCents <= 0 || annualRateUnits < 0 || installments <= 0) {
+            throw new IllegalArgumentException("invalid schedule input");
+        }
+
+        AmortizationSchedule schedule = new AmortizationSchedule(method, installments);
+        switch (method) {
+            case EQUAL_INSTALLMENT:
+                schedule.equalInstallment(principalCents, annualRateUnits, installments);
+                break;
+            case EQUAL_PRINCIPAL:
+                schedule.equalPrincipal(principalCents, annualRateUnits, installments);
+                break;
+            default:
+                schedule.bullet(principalCents, annualRateUnits, installments);
+        }
+        return schedule;
+    }
+
+    public RepaymentMethod getMethod() {
+        return method;
+    }
+
+    public int getInstallments() {
+        return principal.length;
+    }
+
+    public long getPrincipal(int index) {
+        return principal[index];
+    }
+
+    public long getInterest(int index) {
+        return interest[index];
+    }
+
+    public long getPayment(int index) {
+        return principal[index] + interest[index];
+    }
+
+    public long getRemaining(int index) {
+        return remaining[index];
+    }
+
+    public long getTotalInterest() {
+        long total = 0L;
+        for (long value : interest) {
+            total = Math.addExact(total, value);
+        }
+        return total;
+    }
+
+    private void equalInstallment(long principalCents, long annualRateUnits, int installments) {
+        long payment;
+        if (annualRateUnits == 0) {
+            payment = ceilDiv(principalCents, installments);
+        } else {
+            double rate = (double) annualRateUnits / MONTHLY_RATE_DENOMINATOR;
+            payment = Math.round(principalCents * rate / (1.0 - Math.pow(1.0 + rate, -installments)));
+        }
+
+        long balance = principalCents;
+        for (int i = 0; i < installments; i++) {
+            long monthlyInterest = monthlyInterest(balance, annualRateUnits);
+            long monthlyPrincipal = i == installments - 1 ? balance : Math.min(balance, payment - monthlyInterest);
+            balance -= monthlyPrincipal;
+
+            principal[i] = monthlyPrincipal;
+            interest[i] = monthlyInterest;
+            remaining[i] = balance;
+        }
+    }
+
+    private void equalPrincipal(long principalCents, long annualRateUnits, int installments) {
+        long monthlyPrincipal = principalCents / installments;
+
+        long balance = principalCents;
+        for (int i = 0; i < installments; i++) {
+            long monthlyInterest = monthlyInterest(balance, annualRateUnits);
+            long paid = i == installments - 1 ? balance : monthlyPrincipal;
+            balance -= paid;
+
+            principal[i] = paid;
+            interest[i] = monthlyInterest;
+            remaining[i] = balance;
+        }
+    }
+
+    private void bullet(long principalCents, long annualRateUnits, int installments) {
+        long monthlyInterest = monthlyInterest(principalCents, annualRateUnits);
+        for (int i = 0; i < installments; i++) {
+            boolean last = i == installments - 1;
+            principal[i] = last ? principalCents : 0L;
+            interest[i] = monthlyInterest;
+            remaining[i] = last ? 0L : principalCents;
+        }
+    }
+
+    // balance * annualRateUnits / 120,000, HALF_EVEN
+    private static long monthlyInterest(long balance, long annualRateUnits) {
+        long numerator = Math.multiplyExact(balance, annualRateUnits);
+        long quotient = numerator / MONTHLY_RATE_DENOMINATOR;
+        long remainder = numerator % MONTHLY_RATE_DENOMINATOR;
+
+        long twice = remainder * 2;
+        if (twice > MONTHLY_RATE_DENOMINATOR || (twice == MONTHLY_RATE_DENOMINATOR && (quotient & 1L) == 1L)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+}
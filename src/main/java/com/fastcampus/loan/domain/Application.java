@@ -18,10 +18,21 @@ import java.time.LocalDateTime;
 @DynamicInsert
 @DynamicUpdate
 @Where(clause = "is_deleted=false")
+@Table(indexes = {
+        @Index(name = "idx_application_status", columnList = "status"),
+        // 검색 조건 + applicationId keyset
+        @Index(name = "idx_application_name", columnList = "name, applicationId"),
+        @Index(name = "idx_application_cell_phone", columnList = "cellPhone, applicationId"),
+        @Index(name = "idx_application_email", columnList = "email, applicationId"),
+        @Index(name = "idx_application_applied_at", columnList = "appliedAt, applicationId"),
+        @Index(name = "idx_application_contracted_at", columnList = "contractedAt, applicationId"),
+        @Index(name = "idx_application_approval_amount", columnList = "approvalAmount, applicationId")
+})
 public class Application extends BaseEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "application_seq")
+    @SequenceGenerator(name = "application_seq", sequenceName = "application_seq", allocationSize = 50)
     @Column(nullable = false, updatable = false)
     private Long applicationId;
 
@@ -55,4 +66,8 @@ public class Application extends BaseEntity{
     @Column(columnDefinition = "datetime DEFAULT NULL COMMENT '계약일자'")
     private LocalDateTime contractedAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(20) DEFAULT NULL COMMENT '진행 상태'")
+    private ApplicationStatus status;
+
 }
@@ -0,0 +1,46 @@
+package com.fastcampus.loan.domain;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 대출 신청 진행 상태.
+ * 신청 -> 약관 동의 -> 심사 -> 승인 -> 계약 -> 집행 -> 상환 중 -> 상환 완료 순서로 진행되고,
+ * 집행 취소(집행 삭제)와 상환 취소로 되돌아가는 경우만 역방향으로 허용한다.
+ */
+public enum ApplicationStatus {
+    APPLIED,
+    TERMS_ACCEPTED,
+    JUDGED,
+    GRANTED,
+    CONTRACTED,
+    DISBURSED,
+    REPAYING,
+    CLOSED;
+
+    private static final Map<ApplicationStatus, Set<ApplicationStatus>> TRANSITIONS = new EnumMap<>(ApplicationStatus.class);
+
+    static {
+        TRANSITIONS.put(APPLIED, EnumSet.of(TERMS_ACCEPTED));
+        TRANSITIONS.put(TERMS_ACCEPTED, EnumSet.of(JUDGED));
+        TRANSITIONS.put(JUDGED, EnumSet.of(GRANTED));
+        // 심사 수정 후 다시 승인
+        TRANSITIONS.put(GRANTED, EnumSet.of(GRANTED, CONTRACTED));
+        TRANSITIONS.put(CONTRACTED, EnumSet.of(DISBURSED));
+        TRANSITIONS.put(DISBURSED, EnumSet.of(CONTRACTED, REPAYING, CLOSED));
+        TRANSITIONS.put(REPAYING, EnumSet.of(CONTRACTED, CLOSED));
+        TRANSITIONS.put(CLOSED, EnumSet.of(CONTRACTED, REPAYING));
+    }
+
+    public boolean canTransitTo(ApplicationStatus next) {
+        return TRANSITIONS.getOrDefault(this, Collections.emptySet()).contains(next);
+    }
+
+    // 집행 후 잔고가 남아 있는 상태
+    public boolean isRepayable() {
+        return this == DISBURSED || this == REPAYING;
+    }
+}
@@ -6,7 +6,6 @@ import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
-import java.math.BigDecimal;
 
 @Entity
 @Getter
@@ -17,10 +16,12 @@ import java.math.BigDecimal;
 @DynamicInsert
 @DynamicUpdate
 @Where(clause = "is_deleted=false")
+@Table(indexes = @Index(name = "idx_balance_application_id", columnList = "applicationId", unique = true))
 public class Balance extends BaseEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_seq")
+    @SequenceGenerator(name = "balance_seq", sequenceName = "balance_seq", allocationSize = 50)
     @Column(nullable = false, updatable = false)
     private Long balanceId;
 
@@ -28,6 +29,9 @@ public class Balance extends BaseEntity{
     private Long applicationId;
 
     @Column(columnDefinition = "decimal(15, 2) NOT NULL COMMENT '잔여 대출 금액'")
-    private BigDecimal balance;
+    private Money balance;
+
+    @Column(columnDefinition = "bigint DEFAULT NULL COMMENT '스냅샷에 반영된 마지막 잔고 journal ID'")
+    private Long lastJournalId;
 
 }
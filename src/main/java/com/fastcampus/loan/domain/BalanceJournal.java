@@ -0,0 +1,37 @@
+package com.fastcampus.loan.domain;
+
+import lombok.*;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamicInsert
+@DynamicUpdate
+@Where(clause = "is_deleted=false")
+@Table(indexes = @Index(name = "idx_balance_journal_application_id", columnList = "applicationId, balanceJournalId"))
+public class BalanceJournal extends BaseEntity{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_journal_seq")
+    @SequenceGenerator(name = "balance_journal_seq", sequenceName = "balance_journal_seq", allocationSize = 50)
+    @Column(nullable = false, updatable = false)
+    private Long balanceJournalId;
+
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '신청 ID'")
+    private Long applicationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(20) NOT NULL COMMENT '잔고 변경 유형'")
+    private BalanceJournalType type;
+
+    @Column(columnDefinition = "decimal(15,2) NOT NULL COMMENT '잔고 변경 금액'")
+    private Money amount;
+}
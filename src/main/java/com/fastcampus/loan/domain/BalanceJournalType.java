@@ -0,0 +1,8 @@
+package com.fastcampus.loan.domain;
+
+public enum BalanceJournalType {
+    ENTRY_BOOKED,
+    ENTRY_AMENDED,
+    REPAYMENT_BOOKED,
+    REPAYMENT_REVERSED
+}
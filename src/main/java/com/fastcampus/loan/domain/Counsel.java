@@ -6,6 +6,9 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -24,10 +27,12 @@ import org.hibernate.annotations.Where;
 @DynamicInsert
 @DynamicUpdate
 @Where(clause = "is_deleted=false")
+@Table(indexes = @Index(name = "idx_counsel_updated_at", columnList = "updatedAt"))
 public class Counsel extends BaseEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "counsel_seq")
+  @SequenceGenerator(name = "counsel_seq", sequenceName = "counsel_seq", allocationSize = 50)
   @Column(nullable = false, updatable = false)
   private Long counselId;
 
@@ -0,0 +1,7 @@
+package com.fastcampus.loan.domain;
+
+public enum CreditDataSource {
+    CREDIT_BUREAU,
+    INCOME,
+    FRAUD
+}
@@ -0,0 +1,9 @@
+package com.fastcampus.loan.domain;
+
+public enum CreditDataStatus {
+    OK,
+    TIMEOUT,
+    ERROR,
+    CIRCUIT_OPEN,
+    REJECTED
+}
@@ -0,0 +1,10 @@
+package com.fastcampus.loan.domain;
+
+public enum DomainEventType {
+    APPLICATION_STATUS_CHANGED,
+    APPLICATION_GRANTED,
+    APPLICATION_CONTRACTED,
+    ENTRY_DISBURSED,
+    REPAYMENT_RECEIVED,
+    JUDGEMENT_TASK_FINISHED
+}
@@ -6,7 +6,6 @@ import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
-import java.math.BigDecimal;
 
 @Entity
 @Getter
@@ -20,7 +19,8 @@ import java.math.BigDecimal;
 public class Entry extends BaseEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "entry_seq")
+    @SequenceGenerator(name = "entry_seq", sequenceName = "entry_seq", allocationSize = 50)
     @Column(nullable = false, updatable = false)
     private Long entryId;
 
@@ -28,6 +28,6 @@ public class Entry extends BaseEntity{
     private Long applicationId;
 
     @Column(columnDefinition = "decimal(15, 2) NOT NULL COMMENT '집행 금액'")
-    private BigDecimal entryAmount;
+    private Money entryAmount;
 
 }
@@ -0,0 +1,45 @@
+package com.fastcampus.loan.domain;
+
+import lombok.*;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamicInsert
+@DynamicUpdate
+@Where(clause = "is_deleted=false")
+@Table(indexes = {
+        @Index(name = "uk_idempotency_key", columnList = "idempotencyKey", unique = true),
+        @Index(name = "idx_idempotency_key_created_at", columnList = "createdAt")
+})
+public class IdempotencyKey extends BaseEntity{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_key_seq")
+    @SequenceGenerator(name = "idempotency_key_seq", sequenceName = "idempotency_key_seq", allocationSize = 50)
+    @Column(nullable = false, updatable = false)
+    private Long idempotencyKeyId;
+
+    @Column(columnDefinition = "varchar(100) NOT NULL COMMENT '멱등 키'")
+    private String idempotencyKey;
+
+    @Column(columnDefinition = "varchar(10) NOT NULL COMMENT '요청 메서드'")
+    private String requestMethod;
+
+    @Column(columnDefinition = "varchar(255) NOT NULL COMMENT '요청 경로'")
+    private String requestUri;
+
+    @Column(columnDefinition = "char(64) DEFAULT NULL COMMENT '요청 body SHA-256, multipart 는 비어 있음'")
+    private String requestHash;
+
+    @Column(columnDefinition = "longtext DEFAULT NULL COMMENT '저장된 응답, 비어 있으면 처리 중'")
+    private String responseBody;
+}
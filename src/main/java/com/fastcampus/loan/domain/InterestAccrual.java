@@ -0,0 +1,57 @@
+package com.fastcampus.loan.domain;
+
+import lombok.*;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 일별 이자 발생 내역. 신청 건 + 발생일이 키라서 같은 날짜를 다시 돌려도 한 건만 남는다.
+ * 배치가 JDBC 로 직접 저장하므로 ID 를 생성하지 않는다.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamicInsert
+@DynamicUpdate
+@Where(clause = "is_deleted=false")
+@IdClass(InterestAccrual.Key.class)
+public class InterestAccrual extends BaseEntity{
+
+    @Id
+    @Column(columnDefinition = "date NOT NULL COMMENT '이자 발생일'")
+    private LocalDate accrualDate;
+
+    @Id
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '신청 ID'")
+    private Long applicationId;
+
+    @Column(columnDefinition = "decimal(15,2) NOT NULL COMMENT '이자 계산 기준 잔고'")
+    private Money balance;
+
+    @Column(columnDefinition = "decimal(5,4) NOT NULL COMMENT '금리'")
+    private BigDecimal interestRate;
+
+    @Column(columnDefinition = "decimal(15,2) NOT NULL COMMENT '발생 이자'")
+    private Money interestAmount;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private LocalDate accrualDate;
+
+        private Long applicationId;
+    }
+}
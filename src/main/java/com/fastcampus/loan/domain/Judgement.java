@@ -17,10 +17,12 @@ import java.math.BigDecimal;
 @DynamicInsert
 @DynamicUpdate
 @Where(clause = "is_deleted=false")
+@Table(indexes = @Index(name = "idx_judgement_application_id", columnList = "applicationId"))
 public class Judgement extends BaseEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "judgement_seq")
+    @SequenceGenerator(name = "judgement_seq", sequenceName = "judgement_seq", allocationSize = 50)
     private Long judgementId;
 
     @Column(columnDefinition = "bigint NOT NULL COMMENT '신청 ID'")
@@ -32,4 +34,13 @@ public class Judgement extends BaseEntity{
     @Column(columnDefinition = "decimal(15,2) NOT NULL COMMENT '승인 금액'")
     private BigDecimal approvalAmount;
 
+    @Column(columnDefinition = "int DEFAULT NULL COMMENT '신용 평가사 점수'")
+    private Integer creditScore;
+
+    @Column(columnDefinition = "decimal(15,2) DEFAULT NULL COMMENT '확인된 연 소득'")
+    private BigDecimal annualIncome;
+
+    @Column(columnDefinition = "int DEFAULT NULL COMMENT '사기 의심 점수'")
+    private Integer fraudScore;
+
 }
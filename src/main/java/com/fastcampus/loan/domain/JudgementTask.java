@@ -0,0 +1,63 @@
+package com.fastcampus.loan.domain;
+
+import lombok.*;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamicInsert
+@DynamicUpdate
+@Where(clause = "is_deleted=false")
+@Table(indexes = {
+        @Index(name = "idx_judgement_task_status", columnList = "status, judgementTaskId"),
+        @Index(name = "idx_judgement_task_application_id", columnList = "applicationId")
+})
+public class JudgementTask extends BaseEntity{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "judgement_task_seq")
+    @SequenceGenerator(name = "judgement_task_seq", sequenceName = "judgement_task_seq", allocationSize = 50)
+    @Column(nullable = false, updatable = false)
+    private Long judgementTaskId;
+
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '신청 ID'")
+    private Long applicationId;
+
+    @Column(columnDefinition = "varchar(12) DEFAULT NULL COMMENT '심사자'")
+    private String name;
+
+    @Column(columnDefinition = "decimal(15,2) DEFAULT NULL COMMENT '요청 승인 금액, 없으면 규칙으로 심사'")
+    private BigDecimal approvalAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(10) NOT NULL COMMENT '진행 상태'")
+    private JudgementTaskStatus status;
+
+    @Column(columnDefinition = "int NOT NULL DEFAULT 0 COMMENT '처리 시도 횟수'")
+    private Integer attempts;
+
+    @Column(columnDefinition = "bigint DEFAULT NULL COMMENT '심사 ID'")
+    private Long judgementId;
+
+    @Column(columnDefinition = "decimal(15,2) DEFAULT NULL COMMENT '승인된 금액'")
+    private BigDecimal grantedAmount;
+
+    @Column(columnDefinition = "varchar(4) DEFAULT NULL COMMENT '실패 코드'")
+    private String errorCode;
+
+    @Column(columnDefinition = "datetime DEFAULT NULL COMMENT '처리 시작 일시'")
+    private LocalDateTime startedAt;
+
+    @Column(columnDefinition = "datetime DEFAULT NULL COMMENT '처리 완료 일시'")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,8 @@
+package com.fastcampus.loan.domain;
+
+public enum JudgementTaskStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
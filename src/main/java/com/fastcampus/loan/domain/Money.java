@@ -0,0 +1,164 @@
+package com.fastcampus.loan.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * decimal(15,2) 금액을 원 단위 소수 둘째 자리(cents) long 으로 들고 있는 값 타입.
+ * 더하기, 빼기는 decimal(15,2) 범위를 넘으면 ArithmeticException 을 던진다.
+ * BigDecimal 은 소수 셋째 자리 이하가 있으면 조용히 반올림하지 않고 ArithmeticException, 계산 결과는 반올림 방식을 지정해서 만든다.
+ */
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+public final class Money implements Comparable<Money>, Serializable {
+
+    public static final int SCALE = 2;
+
+    // decimal(15,2) 의 최대값 9,999,999,999,999.99
+    public static final long MAX_CENTS = 999_999_999_999_999L;
+
+    public static final Money ZERO = new Money(0L);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return new Money(checkRange(cents));
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, RoundingMode.UNNECESSARY);
+    }
+
+    public static Money of(BigDecimal amount, RoundingMode roundingMode) {
+        return ofCents(amount.setScale(SCALE, roundingMode).unscaledValue().longValueExact());
+    }
+
+    public static Money of(long amount) {
+        return ofCents(Math.multiplyExact(amount, 100L));
+    }
+
+    public static long addExact(long cents, long otherCents) {
+        return checkRange(Math.addExact(cents, otherCents));
+    }
+
+    public static long subtractExact(long cents, long otherCents) {
+        return checkRange(Math.subtractExact(cents, otherCents));
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public Money add(Money other) {
+        return new Money(addExact(cents, other.cents));
+    }
+
+    public Money subtract(Money other) {
+        return new Money(subtractExact(cents, other.cents));
+    }
+
+    public Money negate() {
+        return new Money(-cents);
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public boolean isZero() {
+        return cents == 0L;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money)) {
+            return false;
+        }
+        return cents == ((Money) o).cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private static long checkRange(long cents) {
+        if (cents > MAX_CENTS || cents < -MAX_CENTS) {
+            throw new ArithmeticException("money out of decimal(15,2) range : " + cents);
+        }
+        return cents;
+    }
+
+    public static class Serializer extends StdSerializer<Money> {
+
+        public Serializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.toBigDecimal());
+        }
+    }
+
+    public static class Deserializer extends StdDeserializer<Money> {
+
+        public Deserializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_STRING) {
+                String text = p.getText().trim();
+                if (text.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return Money.of(new BigDecimal(text));
+                } catch (NumberFormatException | ArithmeticException e) {
+                    return (Money) ctxt.handleWeirdStringValue(Money.class, text, e.getMessage());
+                }
+            }
+
+            try {
+                return Money.of(p.getDecimalValue());
+            } catch (ArithmeticException e) {
+                return (Money) ctxt.handleWeirdNumberValue(Money.class, p.getNumberValue(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.fastcampus.loan.domain;
+
+import lombok.*;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamicInsert
+@DynamicUpdate
+@Where(clause = "is_deleted=false")
+@Table(indexes = @Index(name = "idx_outbox_event_published_at", columnList = "publishedAt, outboxEventId"))
+public class OutboxEvent extends BaseEntity{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    @Column(nullable = false, updatable = false)
+    private Long outboxEventId;
+
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '신청 ID'")
+    private Long applicationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(30) NOT NULL COMMENT '이벤트 유형'")
+    private DomainEventType type;
+
+    @Column(columnDefinition = "varchar(2000) NOT NULL COMMENT '이벤트 내용(JSON)'")
+    private String payload;
+
+    @Column(columnDefinition = "datetime DEFAULT NULL COMMENT '발행일자, 비어 있으면 발행 전'")
+    private LocalDateTime publishedAt;
+}
@@ -6,7 +6,6 @@ import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
-import java.math.BigDecimal;
 
 @Entity
 @Getter
@@ -17,10 +16,12 @@ import java.math.BigDecimal;
 @DynamicInsert
 @DynamicUpdate
 @Where(clause = "is_deleted=false")
+@Table(indexes = @Index(name = "idx_repayment_application_id", columnList = "applicationId, isDeleted, repaymentId"))
 public class Repayment extends BaseEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "repayment_seq")
+    @SequenceGenerator(name = "repayment_seq", sequenceName = "repayment_seq", allocationSize = 50)
     @Column(nullable = false, updatable = false)
     private Long repaymentId;
 
@@ -28,5 +29,5 @@ public class Repayment extends BaseEntity{
     private Long applicationId;
 
     @Column(columnDefinition = "decimal(15,2) NOT NULL COMMENT '상환 금액'")
-    private BigDecimal repaymentAmount;
+    private Money repaymentAmount;
 }
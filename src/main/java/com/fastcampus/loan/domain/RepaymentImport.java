@@ -0,0 +1,62 @@
+package com.fastcampus.loan.domain;
+
+import lombok.*;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamicInsert
+@DynamicUpdate
+@Where(clause = "is_deleted=false")
+public class RepaymentImport extends BaseEntity{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "repayment_import_seq")
+    @SequenceGenerator(name = "repayment_import_seq", sequenceName = "repayment_import_seq", allocationSize = 50)
+    @Column(nullable = false, updatable = false)
+    private Long repaymentImportId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(10) NOT NULL COMMENT '파일 형식'")
+    private RepaymentImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(10) NOT NULL COMMENT '진행 상태'")
+    private RepaymentImportStatus status;
+
+    @Column(columnDefinition = "varchar(255) NOT NULL COMMENT '저장된 파일 경로'")
+    private String filePath;
+
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '파일 크기'")
+    private Long fileSize;
+
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '마지막으로 커밋된 chunk 의 끝 위치'")
+    private Long committedOffset;
+
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '마지막으로 커밋된 chunk 까지 읽은 줄 수'")
+    private Long committedLines;
+
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '성공 건수'")
+    private Long succeededCount;
+
+    @Column(columnDefinition = "bigint NOT NULL COMMENT '실패 건수'")
+    private Long failedCount;
+
+    @Column(columnDefinition = "varchar(255) DEFAULT NULL COMMENT '실패 사유'")
+    private String errorMessage;
+
+    @Column(columnDefinition = "varchar(36) DEFAULT NULL COMMENT '실행 중인 run 의 claim 토큰'")
+    private String claimToken;
+
+    @Column(columnDefinition = "datetime DEFAULT NULL COMMENT '실행 lease 만료 시각, 지나면 다른 인스턴스가 resume 할 수 있다'")
+    private LocalDateTime leaseExpiresAt;
+}
@@ -0,0 +1,6 @@
+package com.fastcampus.loan.domain;
+
+public enum RepaymentImportFormat {
+    CSV,
+    NDJSON
+}
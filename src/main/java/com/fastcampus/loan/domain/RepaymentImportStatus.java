@@ -0,0 +1,7 @@
+package com.fastcampus.loan.domain;
+
+public enum RepaymentImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package com.fastcampus.loan.domain;
+
+public enum RepaymentMethod {
+    // 원리금 균등
+    EQUAL_INSTALLMENT,
+    // 원금 균등
+    EQUAL_PRINCIPAL,
+    // 만기 일시
+    BULLET
+}
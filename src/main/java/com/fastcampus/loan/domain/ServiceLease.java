@@ -0,0 +1,29 @@
+package com.fastcampus.loan.domain;
+
+import lombok.*;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamicInsert
+@DynamicUpdate
+public class ServiceLease extends BaseEntity{
+
+    @Id
+    @Column(columnDefinition = "varchar(50) NOT NULL COMMENT 'lease 이름'")
+    private String name;
+
+    @Column(columnDefinition = "varchar(36) NOT NULL COMMENT 'lease 를 잡고 있는 인스턴스'")
+    private String owner;
+
+    @Column(columnDefinition = "datetime NOT NULL COMMENT '만료 시각, 지나면 다른 인스턴스가 가져갈 수 있다'")
+    private LocalDateTime expiresAt;
+}
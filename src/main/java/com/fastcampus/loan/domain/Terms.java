@@ -16,17 +16,29 @@ import javax.persistence.*;
 @DynamicInsert
 @DynamicUpdate
 @Where(clause = "is_deleted=false")
+@Table(indexes = @Index(name = "uk_terms_bit_index", columnList = "bitIndex", unique = true))
 public class Terms extends BaseEntity{
 
+    // 상품을 지정하지 않은 약관, 기존 약관의 상품
+    public static final String DEFAULT_PRODUCT_CODE = "LOAN";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "terms_seq")
+    @SequenceGenerator(name = "terms_seq", sequenceName = "terms_seq", allocationSize = 50)
     @Column(nullable = false, updatable = false)
     private Long termsId;
 
+    @Column(columnDefinition = "varchar(20) DEFAULT 'LOAN' NOT NULL COMMENT '대출 상품 코드'")
+    private String productCode;
+
     @Column(columnDefinition = "varchar(255) NOT NULL COMMENT '약관'")
     private String name;
 
     @Column(columnDefinition = "varchar(255) NOT NULL COMMENT '약관상세 URL'")
     private String termsDetailUrl;
 
+    // 등록 순서대로 0 부터 할당, 삭제되어도 다시 쓰지 않는다
+    @Column(columnDefinition = "int DEFAULT NULL COMMENT '동의 bitmap 위치'")
+    private Integer bitIndex;
+
 }
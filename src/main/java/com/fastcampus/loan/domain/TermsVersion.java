@@ -0,0 +1,40 @@
+package com.fastcampus.loan.domain;
+
+import lombok.*;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+
+/**
+ * 상품별 약관 목록 버전. 약관이 등록될 때마다 새 버전을 만들고, 만든 버전은 바꾸지 않는다.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamicInsert
+@DynamicUpdate
+@Where(clause = "is_deleted=false")
+@Table(indexes = @Index(name = "uk_terms_version_product_code_version", columnList = "productCode, version", unique = true))
+public class TermsVersion extends BaseEntity{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "terms_version_seq")
+    @SequenceGenerator(name = "terms_version_seq", sequenceName = "terms_version_seq", allocationSize = 50)
+    @Column(nullable = false, updatable = false)
+    private Long termsVersionId;
+
+    @Column(columnDefinition = "varchar(20) NOT NULL COMMENT '대출 상품 코드'")
+    private String productCode;
+
+    @Column(columnDefinition = "int NOT NULL COMMENT '버전'")
+    private Integer version;
+
+    // termsId 오름차순
+    @Column(columnDefinition = "varchar(2000) NOT NULL COMMENT '버전에 포함된 약관 ID (쉼표 구분)'")
+    private String termsIds;
+}
@@ -0,0 +1,32 @@
+package com.fastcampus.loan.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+public class AccrualDTO implements Serializable {
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class Response{
+
+        private LocalDate accrualDate;
+
+        private Integer partitionCount;
+
+        private Integer skippedPartitionCount;
+
+        private Integer failedPartitionCount;
+
+        private Long accruedCount;
+
+        private Long elapsedMillis;
+
+        private Long loansPerSecond;
+
+    }
+}
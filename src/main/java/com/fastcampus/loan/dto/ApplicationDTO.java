@@ -1,6 +1,8 @@
 package com.fastcampus.loan.dto;
 
+import com.fastcampus.loan.domain.ApplicationStatus;
 import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -46,11 +48,57 @@ public class ApplicationDTO implements Serializable {
 
         private LocalDateTime contractedAt;
 
+        private ApplicationStatus status;
+
         private LocalDateTime createdAt;
 
         private LocalDateTime updatedAt;
     }
 
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class BatchResult{
+
+        private Integer index;
+
+        private Long applicationId;
+
+        private ResultObject result;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class BatchResponse{
+
+        private Integer requestedCount;
+
+        private Integer succeededCount;
+
+        private Integer failedCount;
+
+        private List<BatchResult> results;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class StatusChange{
+
+        private Long applicationId;
+
+        private ApplicationStatus beforeStatus;
+
+        private ApplicationStatus afterStatus;
+    }
+
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
@@ -58,6 +106,12 @@ public class ApplicationDTO implements Serializable {
     @Setter
     public static class AcceptTerms{
 
+        // 없으면 기본 상품(LOAN)
+        String productCode;
+
+        // 보여준 약관 목록 버전, 없으면 최신 버전 기준으로 검증
+        Integer termsVersion;
+
         List<Long> acceptTermsIds;
     }
 
@@ -78,4 +132,107 @@ public class ApplicationDTO implements Serializable {
 
     }
 
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class SearchRequest{
+
+        private String name;
+
+        private String cellPhone;
+
+        private String email;
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime appliedFrom;
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime appliedTo;
+
+        // true : 계약 완료, false : 미계약
+        private Boolean contracted;
+
+        private BigDecimal minApprovalAmount;
+
+        private BigDecimal maxApprovalAmount;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class SearchResponse{
+
+        private Long applicationId;
+
+        private String name;
+
+        private String cellPhone;
+
+        private String email;
+
+        private BigDecimal hopeAmount;
+
+        private BigDecimal approvalAmount;
+
+        private LocalDateTime appliedAt;
+
+        private LocalDateTime contractedAt;
+
+        private ApplicationStatus status;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class PageResponse{
+
+        private List<SearchResponse> applications;
+
+        // 다음 페이지 요청 시 cursor 로 넘길 값, 마지막 페이지면 null
+        private Long nextCursor;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class OverviewResponse{
+
+        private Response application;
+
+        private JudgementDTO.Response judgement;
+
+        private EntryDTO.Response entry;
+
+        private BalanceDTO.Response balance;
+
+        private List<TermsDTO.Response> acceptedTerms;
+
+        // 최근 상환 내역, 최신순
+        private List<RepaymentDTO.ListResponse> recentRepayments;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class AcceptedApplicationPage{
+
+        // 지정한 약관 모두에 동의한 전체 신청 수
+        private Long count;
+
+        // applicationId 오름차순
+        private List<Long> applicationIds;
+
+        // 다음 페이지 요청 시 cursor 로 넘길 값, 마지막 페이지면 null
+        private Long nextCursor;
+    }
 }
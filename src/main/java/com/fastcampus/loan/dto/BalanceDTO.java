@@ -1,9 +1,9 @@
 package com.fastcampus.loan.dto;
 
+import com.fastcampus.loan.domain.Money;
 import lombok.*;
 
 import java.io.Serializable;
-import java.math.BigDecimal;
 
 public class BalanceDTO implements Serializable {
 
@@ -16,7 +16,7 @@ public class BalanceDTO implements Serializable {
 
         private Long applicationId;
 
-        private BigDecimal entryAmount;
+        private Money entryAmount;
 
     }
 
@@ -29,9 +29,9 @@ public class BalanceDTO implements Serializable {
 
         private Long applicationId;
 
-        private BigDecimal beforeEntryAmount;
+        private Money beforeEntryAmount;
 
-        private BigDecimal afterEntryAmount;
+        private Money afterEntryAmount;
 
     }
 
@@ -48,7 +48,7 @@ public class BalanceDTO implements Serializable {
         }
         private RepaymentType type;
 
-        private BigDecimal repaymentAmount;
+        private Money repaymentAmount;
 
     }
 
@@ -63,7 +63,7 @@ public class BalanceDTO implements Serializable {
 
         private Long applicationId;
 
-        private BigDecimal balance;
+        private Money balance;
 
     }
 }
@@ -2,6 +2,7 @@ package com.fastcampus.loan.dto;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -61,4 +62,42 @@ public class CounselDTO implements Serializable {
 
     private LocalDateTime updatedAt;
   }
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Builder
+  @Getter
+  @Setter
+  public static class SearchResponse {
+
+    private String query;
+
+    private Long totalCount;
+
+    private List<SearchResult> results;
+  }
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Builder
+  @Getter
+  @Setter
+  public static class SearchResult {
+
+    private Long counselId;
+
+    private Integer score;
+
+    private String name;
+
+    private String cellPhone;
+
+    private String email;
+
+    private String memo;
+
+    private String zipCode;
+
+    private LocalDateTime appliedAt;
+  }
 }
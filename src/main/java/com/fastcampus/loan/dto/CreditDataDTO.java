@@ -0,0 +1,64 @@
+package com.fastcampus.loan.dto;
+
+import com.fastcampus.loan.domain.CreditDataSource;
+import com.fastcampus.loan.domain.CreditDataStatus;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+public class CreditDataDTO implements Serializable {
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class Applicant{
+
+        private Long applicationId;
+
+        private String name;
+
+        private String cellPhone;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class Report{
+
+        private CreditDataSource source;
+
+        private CreditDataStatus status;
+
+        private BigDecimal value;
+
+        // hedge, 재시도 포함 호출 수
+        private Integer attempts;
+
+        private Long elapsedMillis;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class Response{
+
+        private Integer creditScore;
+
+        private BigDecimal annualIncome;
+
+        private Integer fraudScore;
+
+        // 모든 provider 가 응답했는지, 일부만 있으면 캐시하지 않는다
+        private Boolean complete;
+
+        private List<Report> reports;
+    }
+}
@@ -0,0 +1,29 @@
+package com.fastcampus.loan.dto;
+
+import com.fastcampus.loan.domain.DomainEventType;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+public class DomainEventDTO implements Serializable {
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class Event{
+
+        // outbox ID, 최소 한 번 전달이므로 구독자는 이 값으로 중복을 거른다
+        private Long eventId;
+
+        private Long applicationId;
+
+        private DomainEventType type;
+
+        private String payload;
+
+        private LocalDateTime occurredAt;
+    }
+}
@@ -1,9 +1,9 @@
 package com.fastcampus.loan.dto;
 
+import com.fastcampus.loan.domain.Money;
 import lombok.*;
 
 import java.io.Serializable;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public class EntryDTO implements Serializable {
@@ -15,7 +15,7 @@ public class EntryDTO implements Serializable {
     @Setter
     public static class Request{
 
-        private BigDecimal entryAmount;
+        private Money entryAmount;
     }
 
     @NoArgsConstructor
@@ -29,7 +29,7 @@ public class EntryDTO implements Serializable {
 
         private Long applicationId;
 
-        private BigDecimal entryAmount;
+        private Money entryAmount;
 
         private LocalDateTime createdAt;
 
@@ -47,9 +47,9 @@ public class EntryDTO implements Serializable {
 
         private Long applicationId;
 
-        private BigDecimal beforeEntryAmount;
+        private Money beforeEntryAmount;
 
-        private BigDecimal afterEntryAmount;
+        private Money afterEntryAmount;
     }
 
 }
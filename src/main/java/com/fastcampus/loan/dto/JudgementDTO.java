@@ -1,10 +1,12 @@
 package com.fastcampus.loan.dto;
 
+import com.fastcampus.loan.domain.JudgementTaskStatus;
 import lombok.*;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class JudgementDTO implements Serializable {
 
@@ -37,8 +39,137 @@ public class JudgementDTO implements Serializable {
 
         private BigDecimal approvalAmount;
 
+        // 심사할 때 조회한 외부 신용 정보, 응답하지 않은 provider 는 비어 있다
+        private Integer creditScore;
+
+        private BigDecimal annualIncome;
+
+        private Integer fraudScore;
+
+        private LocalDateTime createdAt;
+
+        private LocalDateTime updatedAt;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class BatchResponse{
+
+        private Integer partitionCount;
+
+        private Integer failedPartitionCount;
+
+        private Long evaluatedCount;
+
+        private Long approvedCount;
+
+        private Long rejectedCount;
+
+        // 읽은 뒤 다른 요청이 먼저 상태를 바꾼 신청
+        private Long skippedCount;
+
+        private Long elapsedMillis;
+
+        private Long applicationsPerSecond;
+
+        private List<RuleStat> rules;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class RuleStat{
+
+        private String name;
+
+        private Long evaluatedCount;
+
+        private Long matchedCount;
+
+        private Long totalMillis;
+
+        private Long averageNanos;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class TaskResponse{
+
+        private Long judgementTaskId;
+
+        private Long applicationId;
+
+        private String name;
+
+        // 요청 승인 금액, 없으면 규칙으로 심사
+        private BigDecimal approvalAmount;
+
+        private JudgementTaskStatus status;
+
+        private Integer attempts;
+
+        private Long judgementId;
+
+        private BigDecimal grantedAmount;
+
+        private String errorCode;
+
+        private LocalDateTime startedAt;
+
+        private LocalDateTime completedAt;
+
         private LocalDateTime createdAt;
 
         private LocalDateTime updatedAt;
     }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class GrantRequest{
+
+        private List<Long> judgementIds;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class GrantResponse{
+
+        private Integer grantedCount;
+
+        private Integer failedCount;
+
+        // 요청한 순서 (중복 ID 는 한 번만)
+        private List<GrantResult> results;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class GrantResult{
+
+        private Long judgementId;
+
+        private Long applicationId;
+
+        private BigDecimal approvalAmount;
+
+        // ResultType 코드, 승인되면 0000
+        private String code;
+    }
 }
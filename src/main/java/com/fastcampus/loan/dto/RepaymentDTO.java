@@ -1,10 +1,11 @@
 package com.fastcampus.loan.dto;
 
+import com.fastcampus.loan.domain.Money;
 import lombok.*;
 
 import java.io.Serializable;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class RepaymentDTO implements Serializable {
 
@@ -14,7 +15,7 @@ public class RepaymentDTO implements Serializable {
     @Getter
     @Setter
     public static class Request{
-        private BigDecimal repaymentAmount;
+        private Money repaymentAmount;
 
 
     }
@@ -28,9 +29,9 @@ public class RepaymentDTO implements Serializable {
 
         private Long applicationId;
 
-        private BigDecimal repaymentAmount;
+        private Money repaymentAmount;
 
-        private BigDecimal balance;
+        private Money balance;
 
         private LocalDateTime createdAt;
 
@@ -47,11 +48,11 @@ public class RepaymentDTO implements Serializable {
 
         private Long applicationId;
 
-        private BigDecimal beforeRepaymentAmount;
+        private Money beforeRepaymentAmount;
 
-        private BigDecimal afterRepaymentAmount;
+        private Money afterRepaymentAmount;
 
-        private BigDecimal balance;
+        private Money balance;
 
         private LocalDateTime createdAt;
 
@@ -68,11 +69,72 @@ public class RepaymentDTO implements Serializable {
 
         private Long repaymentId;
 
-        private BigDecimal repaymentAmount;
+        private Money repaymentAmount;
 
         private LocalDateTime createdAt;
 
         private LocalDateTime updatedAt;
 
     }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class PageResponse{
+
+        private List<ListResponse> repayments;
+
+        // 다음 페이지 요청 시 cursor 로 넘길 값, 마지막 페이지면 null
+        private Long nextCursor;
+
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class BatchRequest{
+
+        private Long applicationId;
+
+        private Money repaymentAmount;
+
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class BatchResult{
+
+        private Integer index;
+
+        private Long applicationId;
+
+        private Money repaymentAmount;
+
+        private ResultObject result;
+
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class BatchResponse{
+
+        private Integer requestedCount;
+
+        private Integer succeededCount;
+
+        private Integer failedCount;
+
+        private List<BatchResult> results;
+
+    }
 }
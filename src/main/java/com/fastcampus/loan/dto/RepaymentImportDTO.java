@@ -0,0 +1,42 @@
+package com.fastcampus.loan.dto;
+
+import com.fastcampus.loan.domain.RepaymentImportFormat;
+import com.fastcampus.loan.domain.RepaymentImportStatus;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+public class RepaymentImportDTO implements Serializable {
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class Response{
+
+        private Long repaymentImportId;
+
+        private RepaymentImportFormat format;
+
+        private RepaymentImportStatus status;
+
+        private Long fileSize;
+
+        private Long committedOffset;
+
+        private Long committedLines;
+
+        private Long succeededCount;
+
+        private Long failedCount;
+
+        private String errorMessage;
+
+        private LocalDateTime createdAt;
+
+        private LocalDateTime updatedAt;
+
+    }
+}
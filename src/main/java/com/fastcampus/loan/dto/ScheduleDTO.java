@@ -0,0 +1,56 @@
+package com.fastcampus.loan.dto;
+
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.domain.RepaymentMethod;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+public class ScheduleDTO implements Serializable {
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class Response{
+
+        private Long applicationId;
+
+        private RepaymentMethod method;
+
+        private Money principal;
+
+        private Money fee;
+
+        private Money totalInterest;
+
+        private Money totalPayment;
+
+        private List<Installment> installments;
+
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class Installment{
+
+        private Integer number;
+
+        private LocalDate dueDate;
+
+        private Money payment;
+
+        private Money principal;
+
+        private Money interest;
+
+        private Money remainingPrincipal;
+
+    }
+}
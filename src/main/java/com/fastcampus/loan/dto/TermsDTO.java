@@ -4,6 +4,7 @@ import lombok.*;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class TermsDTO implements Serializable {
     @NoArgsConstructor
@@ -13,6 +14,9 @@ public class TermsDTO implements Serializable {
     @Setter
     public static class Request {
 
+        // 없으면 기본 상품(LOAN)
+        private String productCode;
+
         private String name;
 
         private String termsDetailUrl;
@@ -27,6 +31,8 @@ public class TermsDTO implements Serializable {
 
         private Long termsId;
 
+        private String productCode;
+
         private String name;
 
         private String termsDetailUrl;
@@ -35,4 +41,19 @@ public class TermsDTO implements Serializable {
 
         private LocalDateTime updatedAt;
     }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Getter
+    @Setter
+    public static class VersionResponse {
+
+        private String productCode;
+
+        // 상품별 약관 목록 버전, 한 번 만든 버전은 바뀌지 않는다
+        private Integer version;
+
+        private List<Response> terms;
+    }
 }
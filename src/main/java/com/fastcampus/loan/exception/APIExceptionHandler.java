@@ -1,10 +1,13 @@
 package com.fastcampus.loan.exception;
 
+import com.fastcampus.loan.domain.Money;
 import com.fastcampus.loan.dto.ResponseDTO;
 import com.fastcampus.loan.dto.ResultObject;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -18,4 +21,16 @@ public class APIExceptionHandler extends RuntimeException {
     log.error(e.getMessage(), e);
     return new ResponseDTO<>(e);
   }
+
+  // 금액이 소수 둘째 자리를 넘거나 decimal(15,2) 범위를 넘으면 반올림하지 않고 요청 오류로, 그 밖의 body 오류는 기본 처리(400)
+  @ExceptionHandler(HttpMessageNotReadableException.class)
+  protected ResponseDTO<ResultObject> handleNotReadableException(HttpMessageNotReadableException e)
+      throws HttpMessageNotReadableException {
+    if (!(e.getCause() instanceof InvalidFormatException)
+        || ((InvalidFormatException) e.getCause()).getTargetType() != Money.class) {
+      throw e;
+    }
+    log.warn(e.getMessage());
+    return new ResponseDTO<>(new BaseException(ResultType.INVALID_AMOUNT));
+  }
 }
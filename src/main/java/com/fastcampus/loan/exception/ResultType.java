@@ -9,9 +9,45 @@ public enum ResultType {
 
   SUCCESS("0000", "success"),
 
+  // judgement = 1000
+  JUDGEMENT_IN_PROGRESS("1001", "automated judgement batch is already running"),
+  JUDGEMENT_TASK_IN_PROGRESS("1002", "judgement task for the application is already queued"),
+  INVALID_GRANT_REQUEST("1003", "invalid bulk grant request"),
+  JUDGEMENT_REJECTED("1004", "judgement has no approval amount"),
+
+  // terms = 2000
+  TERMS_LIMIT_EXCEEDED("2001", "no more terms can be registered"),
+  TERMS_VERSION_NOT_FOUND("2002", "terms version not found"),
+  TERMS_VERSION_OUTDATED("2003", "terms version is outdated"),
+
+  // application = 3000
+  INVALID_APPLICATION_STATUS("3001", "application status can not be changed"),
+  INVALID_APPLICATION("3002", "invalid application request"),
+  INVALID_STREAM_REQUEST("3003", "invalid application stream request"),
+  INVALID_COUNSEL_SEARCH("3004", "invalid counsel search request"),
+  COUNSEL_SEARCH_NOT_READY("3005", "counsel search index is being built"),
+
   // file = 4000
   NOT_EXIST("4001", "file not exist"),
-  SYSTEM_ERROR("9000", "system error");
+
+  // repayment = 5000
+  INVALID_REPAYMENT("5001", "invalid repayment request"),
+  NOT_REPAYABLE_APPLICATION("5002", "application is not repayable"),
+  NOT_RESUMABLE_IMPORT("5003", "repayment import can not be resumed"),
+
+  // schedule = 6000
+  SCHEDULE_NOT_AVAILABLE("6001", "schedule inputs are not available"),
+
+  // accrual = 7000
+  ACCRUAL_IN_PROGRESS("7001", "interest accrual is already running"),
+
+  // idempotency = 8000
+  IDEMPOTENCY_REQUEST_IN_PROGRESS("8001", "request with the same idempotency key is in progress"),
+  IDEMPOTENCY_KEY_REUSED("8002", "idempotency key is already used for another request"),
+  INVALID_IDEMPOTENCY_KEY("8003", "invalid idempotency key"),
+
+  SYSTEM_ERROR("9000", "system error"),
+  INVALID_AMOUNT("9001", "amount must have at most 2 decimal places and fit decimal(15,2)");
 
   private final String code;
   private final String desc;
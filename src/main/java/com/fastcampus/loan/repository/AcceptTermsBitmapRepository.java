@@ -0,0 +1,9 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.AcceptTermsBitmap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AcceptTermsBitmapRepository extends JpaRepository<AcceptTermsBitmap, Long> {
+}
@@ -1,7 +1,31 @@
 package com.fastcampus.loan.repository;
 
 import com.fastcampus.loan.domain.AcceptTerms;
+import com.fastcampus.loan.dto.TermsDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface AcceptTermsRepository extends JpaRepository<AcceptTerms, Long> {
+
+    // 동의한 약관을 약관 정보와 함께 한 번에 조회
+    @Query("select new com.fastcampus.loan.dto.TermsDTO$Response(t.termsId, t.productCode, t.name, t.termsDetailUrl, t.createdAt, t.updatedAt) "
+            + "from AcceptTerms a join Terms t on t.termsId = a.termsId "
+            + "where a.applicationId = :applicationId and a.isDeleted = false order by t.termsId asc")
+    List<TermsDTO.Response> findAcceptedTermsByApplicationId(@Param("applicationId") Long applicationId);
+
+    // termsIds 모두에 동의한 신청, (termsId, applicationId) 인덱스 범위를 모아서 신청별로 센다
+    @Query("select a.applicationId from AcceptTerms a "
+            + "where a.termsId in :termsIds and a.applicationId > :cursor and a.isDeleted = false "
+            + "group by a.applicationId having count(distinct a.termsId) = :termsCount order by a.applicationId asc")
+    List<Long> findApplicationIdsAcceptedAll(@Param("termsIds") List<Long> termsIds, @Param("termsCount") long termsCount,
+                                             @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(value = "select count(*) from (select a.application_id from accept_terms a "
+            + "where a.terms_id in (:termsIds) and a.is_deleted = false "
+            + "group by a.application_id having count(distinct a.terms_id) = :termsCount) x", nativeQuery = true)
+    long countApplicationsAcceptedAll(@Param("termsIds") List<Long> termsIds, @Param("termsCount") long termsCount);
 }
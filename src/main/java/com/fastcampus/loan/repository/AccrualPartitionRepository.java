@@ -0,0 +1,19 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.AccrualPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccrualPartitionRepository extends JpaRepository<AccrualPartition, Long> {
+
+    List<AccrualPartition> findAllByAccrualDate(LocalDate accrualDate);
+
+    Optional<AccrualPartition> findByAccrualDateAndFromApplicationIdAndToApplicationId(LocalDate accrualDate,
+                                                                                       Long fromApplicationId,
+                                                                                       Long toApplicationId);
+}
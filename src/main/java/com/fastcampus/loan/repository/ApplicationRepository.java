@@ -1,10 +1,53 @@
 package com.fastcampus.loan.repository;
 
 import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ApplicationRepository extends JpaRepository<Application, Long> {
+public interface ApplicationRepository extends JpaRepository<Application, Long>, ApplicationRepositoryCustom {
+
+    // 집행 후 상환 중인 신청 ID
+    @Query("select a.applicationId from Application a where a.applicationId in :applicationIds " +
+            "and a.status in (com.fastcampus.loan.domain.ApplicationStatus.DISBURSED, com.fastcampus.loan.domain.ApplicationStatus.REPAYING)")
+    List<Long> findRepayableApplicationIds(@Param("applicationIds") Collection<Long> applicationIds);
+
+    // 검증용 신청 상태 (삭제된 신청도 조회하기 위해 native), [is_deleted, status, approval_amount]
+    @Query(value = "select a.is_deleted, a.status, a.approval_amount from application a where a.application_id = :applicationId",
+            nativeQuery = true)
+    List<Object[]> findStateById(@Param("applicationId") Long applicationId);
+
+    // 신청, 심사, 집행을 applicationId 로 한 번에 조회, [Application, Judgement, Entry]
+    @Query("select a, j, e from Application a "
+            + "left join Judgement j on j.applicationId = a.applicationId and j.isDeleted = false "
+            + "left join Entry e on e.applicationId = a.applicationId and e.isDeleted = false "
+            + "where a.applicationId = :applicationId")
+    List<Object[]> findOverviewById(@Param("applicationId") Long applicationId);
+
+    @Query("select max(a.applicationId) from Application a")
+    Long findMaxApplicationId();
+
+    // 여러 신청의 진행 상태를 한 번에, [applicationId, status]
+    @Query("select a.applicationId, a.status from Application a where a.applicationId in :applicationIds")
+    List<Object[]> findStatusesByIds(@Param("applicationIds") Collection<Long> applicationIds);
+
+    @Query("select a.status from Application a where a.applicationId = :applicationId")
+    Optional<ApplicationStatus> findStatusById(@Param("applicationId") Long applicationId);
 
+    // 읽은 상태(from) 에서 바뀌지 않았을 때만 변경
+    @Transactional
+    @Modifying
+    @Query("update Application a set a.status = :to where a.applicationId = :applicationId and a.status = :from")
+    int updateStatus(@Param("applicationId") Long applicationId,
+                     @Param("from") ApplicationStatus from,
+                     @Param("to") ApplicationStatus to);
 }
@@ -0,0 +1,14 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.dto.ApplicationDTO;
+
+import java.util.List;
+
+public interface ApplicationRepositoryCustom {
+
+    // (cursor, toApplicationId] 범위에서 조건에 맞는 신청을 applicationId 순으로 size 건, toApplicationId 가 null 이면 끝까지
+    void insertAll(List<Application> applications);
+
+    List<ApplicationDTO.SearchResponse> search(ApplicationDTO.SearchRequest request, Long cursor, Long toApplicationId, int size);
+}
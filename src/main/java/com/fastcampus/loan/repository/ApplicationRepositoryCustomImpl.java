@@ -0,0 +1,102 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.dto.ApplicationDTO;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ApplicationRepositoryCustomImpl implements ApplicationRepositoryCustom {
+
+    // hibernate.jdbc.batch_size 의 배수로 flush 해서 영속성 컨텍스트가 커지지 않게 한다
+    private static final int FLUSH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // pooled sequence 로 ID 를 미리 받아두므로 hibernate 가 insert 를 JDBC batch 로 묶는다
+    @Override
+    @Transactional
+    public void insertAll(List<Application> applications) {
+        for (int i = 0; i < applications.size(); i++) {
+            entityManager.persist(applications.get(i));
+
+            if ((i + 1) % FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+    }
+
+    // 조건이 있는 항목만 where 에 넣고, applicationId 기준 keyset 으로 size 건만 조회
+    // 문자열은 일치 조건만 받아서 (컬럼, applicationId) 인덱스를 정렬 순서대로 읽게 한다
+    // 엔티티 대신 목록에 필요한 컬럼만 DTO 로 바로 받는다
+    @Override
+    public List<ApplicationDTO.SearchResponse> search(ApplicationDTO.SearchRequest request, Long cursor, Long toApplicationId, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ApplicationDTO.SearchResponse> query = cb.createQuery(ApplicationDTO.SearchResponse.class);
+        Root<Application> application = query.from(Application.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (cursor != null) {
+            predicates.add(cb.greaterThan(application.get("applicationId"), cursor));
+        }
+        if (toApplicationId != null) {
+            predicates.add(cb.lessThanOrEqualTo(application.get("applicationId"), toApplicationId));
+        }
+        if (hasText(request.getName())) {
+            predicates.add(cb.equal(application.get("name"), request.getName()));
+        }
+        if (hasText(request.getCellPhone())) {
+            predicates.add(cb.equal(application.get("cellPhone"), request.getCellPhone()));
+        }
+        if (hasText(request.getEmail())) {
+            predicates.add(cb.equal(application.get("email"), request.getEmail()));
+        }
+        if (request.getAppliedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(application.get("appliedAt"), request.getAppliedFrom()));
+        }
+        if (request.getAppliedTo() != null) {
+            predicates.add(cb.lessThan(application.get("appliedAt"), request.getAppliedTo()));
+        }
+        if (request.getContracted() != null) {
+            predicates.add(request.getContracted()
+                    ? cb.isNotNull(application.get("contractedAt"))
+                    : cb.isNull(application.get("contractedAt")));
+        }
+        if (request.getMinApprovalAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(application.get("approvalAmount"), request.getMinApprovalAmount()));
+        }
+        if (request.getMaxApprovalAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(application.get("approvalAmount"), request.getMaxApprovalAmount()));
+        }
+
+        query.select(cb.construct(ApplicationDTO.SearchResponse.class,
+                        application.get("applicationId"),
+                        application.get("name"),
+                        application.get("cellPhone"),
+                        application.get("email"),
+                        application.get("hopeAmount"),
+                        application.get("approvalAmount"),
+                        application.get("appliedAt"),
+                        application.get("contractedAt"),
+                        application.get("status")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(application.get("applicationId")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
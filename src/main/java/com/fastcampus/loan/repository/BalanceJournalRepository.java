@@ -0,0 +1,20 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.BalanceJournal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BalanceJournalRepository extends JpaRepository<BalanceJournal, Long> {
+
+    List<BalanceJournal> findAllByApplicationIdAndBalanceJournalIdGreaterThanOrderByBalanceJournalIdAsc(Long applicationId, Long balanceJournalId);
+
+    @Query("select j.applicationId from BalanceJournal j, Balance b " +
+            "where b.applicationId = j.applicationId and j.balanceJournalId > coalesce(b.lastJournalId, 0) " +
+            "group by j.applicationId having count(j) >= :minTail")
+    List<Long> findApplicationIdsByTailSizeGreaterThanEqual(@Param("minTail") long minTail);
+}
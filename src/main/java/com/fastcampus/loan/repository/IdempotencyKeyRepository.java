@@ -0,0 +1,34 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+    Optional<IdempotencyKey> findByIdempotencyKey(String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyKey k set k.responseBody = :responseBody where k.idempotencyKey = :idempotencyKey")
+    int complete(@Param("idempotencyKey") String idempotencyKey, @Param("responseBody") String responseBody);
+
+    // 처리 중 표시는 soft delete 하지 않고 지워서 같은 키로 다시 요청할 수 있게 한다
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.idempotencyKey = :idempotencyKey")
+    int deleteByKey(@Param("idempotencyKey") String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.createdAt < :createdAt")
+    int deleteCreatedBefore(@Param("createdAt") LocalDateTime createdAt);
+}
@@ -0,0 +1,40 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.JudgementTask;
+import com.fastcampus.loan.domain.JudgementTaskStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JudgementTaskRepository extends JpaRepository<JudgementTask, Long> {
+
+    @Query("select t.judgementTaskId from JudgementTask t where t.status = :status order by t.judgementTaskId")
+    List<Long> findIdsByStatus(@Param("status") JudgementTaskStatus status, Pageable pageable);
+
+    long countByStatus(JudgementTaskStatus status);
+
+    boolean existsByApplicationIdAndStatusIn(Long applicationId, Collection<JudgementTaskStatus> statuses);
+
+    // 대기 중인 작업만 가져간다, 다른 worker(서버)가 먼저 가져갔으면 0
+    @Transactional
+    @Modifying
+    @Query("update JudgementTask t set t.status = com.fastcampus.loan.domain.JudgementTaskStatus.RUNNING, "
+            + "t.attempts = t.attempts + 1, t.startedAt = :startedAt "
+            + "where t.judgementTaskId = :judgementTaskId and t.status = com.fastcampus.loan.domain.JudgementTaskStatus.QUEUED")
+    int claim(@Param("judgementTaskId") Long judgementTaskId, @Param("startedAt") LocalDateTime startedAt);
+
+    @Transactional
+    @Modifying
+    @Query("update JudgementTask t set t.status = com.fastcampus.loan.domain.JudgementTaskStatus.QUEUED "
+            + "where t.status = com.fastcampus.loan.domain.JudgementTaskStatus.RUNNING and t.startedAt < :startedAt")
+    int requeueStartedBefore(@Param("startedAt") LocalDateTime startedAt);
+}
@@ -0,0 +1,29 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByPublishedAtIsNullOrderByOutboxEventIdAsc(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.publishedAt = :publishedAt where e.outboxEventId in :outboxEventIds")
+    int markPublished(@Param("outboxEventIds") List<Long> outboxEventIds, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :publishedAt")
+    int deletePublishedBefore(@Param("publishedAt") LocalDateTime publishedAt);
+}
@@ -0,0 +1,54 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.RepaymentImport;
+import com.fastcampus.loan.domain.RepaymentImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RepaymentImportRepository extends JpaRepository<RepaymentImport, Long> {
+
+    // 완료되지 않았고, 실행 중이 아니거나 lease 가 지난 import 만 새 토큰으로 가져온다
+    @Transactional
+    @Modifying
+    @Query("update RepaymentImport i set i.status = com.fastcampus.loan.domain.RepaymentImportStatus.RUNNING, "
+            + "i.claimToken = :claimToken, i.leaseExpiresAt = :leaseExpiresAt, i.errorMessage = null "
+            + "where i.repaymentImportId = :repaymentImportId "
+            + "and i.status <> com.fastcampus.loan.domain.RepaymentImportStatus.COMPLETED "
+            + "and (i.status <> com.fastcampus.loan.domain.RepaymentImportStatus.RUNNING or i.leaseExpiresAt is null or i.leaseExpiresAt < :now)")
+    int claim(@Param("repaymentImportId") Long repaymentImportId, @Param("claimToken") String claimToken,
+              @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt, @Param("now") LocalDateTime now);
+
+    // 읽기 시작한 위치가 그대로이고 토큰이 같을 때만 진행 위치를 옮기고 lease 를 늘린다
+    @Modifying
+    @Query("update RepaymentImport i set i.committedOffset = :committedOffset, i.committedLines = :committedLines, "
+            + "i.succeededCount = i.succeededCount + :succeededCount, i.failedCount = i.failedCount + :failedCount, "
+            + "i.leaseExpiresAt = :leaseExpiresAt "
+            + "where i.repaymentImportId = :repaymentImportId and i.claimToken = :claimToken "
+            + "and i.committedOffset = :expectedOffset")
+    int advance(@Param("repaymentImportId") Long repaymentImportId, @Param("claimToken") String claimToken,
+                @Param("expectedOffset") long expectedOffset, @Param("committedOffset") long committedOffset,
+                @Param("committedLines") long committedLines, @Param("succeededCount") long succeededCount,
+                @Param("failedCount") long failedCount, @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("update RepaymentImport i set i.status = :status, i.errorMessage = :errorMessage, i.leaseExpiresAt = null "
+            + "where i.repaymentImportId = :repaymentImportId and i.claimToken = :claimToken")
+    int finish(@Param("repaymentImportId") Long repaymentImportId, @Param("claimToken") String claimToken,
+               @Param("status") RepaymentImportStatus status,
+               @Param("errorMessage") String errorMessage);
+
+    // 종료하면서 멈춘 run 은 lease 를 풀어 다시 시작한 서버에서 바로 resume 할 수 있게 한다
+    @Transactional
+    @Modifying
+    @Query("update RepaymentImport i set i.leaseExpiresAt = null "
+            + "where i.repaymentImportId = :repaymentImportId and i.claimToken = :claimToken")
+    int release(@Param("repaymentImportId") Long repaymentImportId, @Param("claimToken") String claimToken);
+}
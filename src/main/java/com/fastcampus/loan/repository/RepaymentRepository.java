@@ -1,13 +1,28 @@
 package com.fastcampus.loan.repository;
 
 import com.fastcampus.loan.domain.Repayment;
+import com.fastcampus.loan.dto.RepaymentDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface RepaymentRepository extends JpaRepository<Repayment, Long> {
+public interface RepaymentRepository extends JpaRepository<Repayment, Long>, RepaymentRepositoryCustom {
 
     List<Repayment> findAllByApplicationId(Long applicationId);
+
+    // keyset 페이지, 엔티티를 만들지 않고 응답 DTO 로 바로 조회
+    @Query("select new com.fastcampus.loan.dto.RepaymentDTO$ListResponse(r.repaymentId, r.repaymentAmount, r.createdAt, r.updatedAt) "
+            + "from Repayment r where r.applicationId = :applicationId and r.repaymentId > :cursor order by r.repaymentId asc")
+    List<RepaymentDTO.ListResponse> findPageByApplicationId(@Param("applicationId") Long applicationId,
+                                                            @Param("cursor") Long cursor,
+                                                            Pageable pageable);
+
+    @Query("select new com.fastcampus.loan.dto.RepaymentDTO$ListResponse(r.repaymentId, r.repaymentAmount, r.createdAt, r.updatedAt) "
+            + "from Repayment r where r.applicationId = :applicationId order by r.repaymentId desc")
+    List<RepaymentDTO.ListResponse> findRecentByApplicationId(@Param("applicationId") Long applicationId, Pageable pageable);
 }
@@ -0,0 +1,10 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.Repayment;
+
+import java.util.List;
+
+public interface RepaymentRepositoryCustom {
+
+    void insertAll(List<Repayment> repayments);
+}
@@ -0,0 +1,31 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.Repayment;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+public class RepaymentRepositoryCustomImpl implements RepaymentRepositoryCustom {
+
+    // hibernate.jdbc.batch_size 의 배수로 flush 해서 영속성 컨텍스트가 커지지 않게 한다
+    private static final int FLUSH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // pooled sequence 로 ID 를 미리 받아두므로 hibernate 가 insert 를 JDBC batch 로 묶는다
+    @Override
+    @Transactional
+    public void insertAll(List<Repayment> repayments) {
+        for (int i = 0; i < repayments.size(); i++) {
+            entityManager.persist(repayments.get(i));
+
+            if ((i + 1) % FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.ServiceLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ServiceLeaseRepository extends JpaRepository<ServiceLease, String> {
+
+    // 이미 잡고 있거나 만료된 lease 만 가져온다
+    @Transactional
+    @Modifying
+    @Query("update ServiceLease l set l.owner = :owner, l.expiresAt = :expiresAt "
+            + "where l.name = :name and (l.owner = :owner or l.expiresAt < :now)")
+    int renew(@Param("name") String name, @Param("owner") String owner,
+              @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    // merge(select 후 update)로 다른 인스턴스의 lease 를 덮어쓰지 않도록 insert 만 한다, 이미 있으면 PK 위반
+    @Transactional
+    @Modifying
+    @Query(value = "insert into service_lease (name, owner, expires_at) values (:name, :owner, :expiresAt)", nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("update ServiceLease l set l.expiresAt = :now where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -2,8 +2,17 @@ package com.fastcampus.loan.repository;
 
 import com.fastcampus.loan.domain.Terms;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface TermsRepository extends JpaRepository<Terms, Long> {
+
+    // 삭제된 약관의 위치도 다시 쓰지 않도록 is_deleted 와 상관없이 조회
+    @Query(value = "select coalesce(max(t.bit_index), -1) from terms t", nativeQuery = true)
+    int findMaxBitIndex();
+
+    List<Terms> findByProductCodeOrderByTermsIdAsc(String productCode);
 }
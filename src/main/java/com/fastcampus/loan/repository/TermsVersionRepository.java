@@ -0,0 +1,15 @@
+package com.fastcampus.loan.repository;
+
+import com.fastcampus.loan.domain.TermsVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TermsVersionRepository extends JpaRepository<TermsVersion, Long> {
+
+    Optional<TermsVersion> findTopByProductCodeOrderByVersionDesc(String productCode);
+
+    boolean existsByProductCode(String productCode);
+}
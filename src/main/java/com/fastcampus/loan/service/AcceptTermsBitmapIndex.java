@@ -0,0 +1,231 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.AcceptTermsBitmap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 약관 bitmap 위치별로 동의한 신청을 applicationId 위치의 bit 로 표시한 메모리 인덱스.
+ * 신청 1,000 만 건이면 약관 하나당 약 1.2 MB, 여러 약관 조건은 bitmap AND 로 구한다.
+ * 시작할 때 AcceptTermsBitmap 전체를 applicationId 순서로 읽어서 만들고(migration 다음), 이후 동의는 커밋 후 추가한다.
+ * 다른 인스턴스에서 저장한 동의는 catch-up 이 updated_at 으로 주기적으로 읽어서 추가한다.
+ * 커밋이 늦어 updated_at 이 지난 읽기 시각보다 앞선 행도 놓치지 않도록 catch-up-overlap-ms 만큼 겹쳐 읽는다(bit 표시는 여러 번 해도 같다).
+ */
+@Slf4j
+@Component
+@Order(2)
+@ConditionalOnProperty(name = "loan.terms.accept-storage", havingValue = "bitmap")
+public class AcceptTermsBitmapIndex implements ApplicationRunner {
+
+    private static final String SELECT_SQL = "select application_id, accepted from accept_terms_bitmap "
+            + "where is_deleted = false and application_id > ? order by application_id limit ?";
+
+    private static final String CHANGED_SQL = "select application_id, accepted from accept_terms_bitmap "
+            + "where is_deleted = false and updated_at >= ? and application_id > ? order by application_id limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int pageSize;
+
+    private final Duration catchUpOverlap;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private BitSet[] applications = new BitSet[AcceptTermsBitmap.MAX_TERMS];
+
+    // 다시 만드는 중에 들어온 동의도 새 인덱스에 반영되도록 같이 표시
+    private BitSet[] building;
+
+    private volatile boolean ready;
+
+    // 마지막으로 읽기 시작한 시각, 다음 catch-up 은 이 시각(- overlap) 이후에 바뀐 행을 읽는다
+    private LocalDateTime caughtUpAt;
+
+    public AcceptTermsBitmapIndex(JdbcTemplate jdbcTemplate,
+                                  @Value("${loan.terms.accept-bitmap.index.page-size:10000}") int pageSize,
+                                  @Value("${loan.terms.accept-bitmap.index.catch-up-overlap-ms:60000}") long catchUpOverlapMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pageSize = pageSize;
+        this.catchUpOverlap = Duration.ofMillis(catchUpOverlapMs);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            building = new BitSet[AcceptTermsBitmap.MAX_TERMS];
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        int rows = scan(SELECT_SQL, null, page -> {
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : page) {
+                    mark(building, (Long) row[0], BitSet.valueOf((byte[]) row[1]));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            applications = building;
+            building = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        caughtUpAt = startedAt;
+        ready = true;
+        log.info("accept terms bitmap index is built from {} applications in {} ms ({} bytes)",
+                rows, System.currentTimeMillis() - start, sizeInBytes());
+    }
+
+    // 다른 인스턴스에서 저장한 동의, 이 인스턴스에서 이미 추가한 동의도 다시 읽지만 결과는 같다
+    @Scheduled(fixedDelayString = "${loan.terms.accept-bitmap.index.catch-up-ms:5000}")
+    public synchronized void catchUp() {
+        if (!ready) {
+            return;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        int rows = scan(CHANGED_SQL, Timestamp.valueOf(caughtUpAt.minus(catchUpOverlap)), page -> {
+            for (Object[] row : page) {
+                add((Long) row[0], BitSet.valueOf((byte[]) row[1]));
+            }
+        });
+        caughtUpAt = startedAt;
+        log.debug("accept terms bitmap index caught up {} applications", rows);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void add(Long applicationId, BitSet accepted) {
+        lock.writeLock().lock();
+        try {
+            mark(applications, applicationId, accepted);
+            if (building != null) {
+                mark(building, applicationId, accepted);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // bitIndexes 모두에 동의한 신청 수
+    public long count(List<Integer> bitIndexes) {
+        lock.readLock().lock();
+        try {
+            BitSet matched = matched(bitIndexes);
+            return matched == null ? 0 : matched.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // bitIndexes 모두에 동의한 신청, cursor 보다 큰 applicationId 부터 size 건
+    public List<Long> find(List<Integer> bitIndexes, long cursor, int size) {
+        List<Long> applicationIds = new ArrayList<>(size);
+        lock.readLock().lock();
+        try {
+            BitSet matched = matched(bitIndexes);
+            if (matched == null || cursor >= Integer.MAX_VALUE) {
+                return applicationIds;
+            }
+            for (int i = matched.nextSetBit((int) cursor + 1); i >= 0 && applicationIds.size() < size; i = matched.nextSetBit(i + 1)) {
+                applicationIds.add((long) i);
+            }
+            return applicationIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (BitSet bits : applications) {
+                bytes += bits == null ? 0 : bits.size() / 8;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 약관이 하나면 복사하지 않고 그대로, 여럿이면 AND 한 복사본
+    private BitSet matched(List<Integer> bitIndexes) {
+        BitSet matched = null;
+        boolean copied = false;
+        for (Integer bitIndex : bitIndexes) {
+            BitSet bits = applications[bitIndex];
+            if (bits == null) {
+                return null;
+            }
+            if (matched == null) {
+                matched = bits;
+            } else {
+                if (!copied) {
+                    matched = (BitSet) matched.clone();
+                    copied = true;
+                }
+                matched.and(bits);
+            }
+        }
+        return matched;
+    }
+
+    // applicationId 순서로 pageSize 씩 읽어서 넘기고, 읽은 행 수를 돌려준다
+    private int scan(String sql, Timestamp updatedSince, Consumer<List<Object[]>> consumer) {
+        long cursor = 0;
+        int rows = 0;
+        while (true) {
+            Object[] args = updatedSince == null ? new Object[]{cursor, pageSize} : new Object[]{updatedSince, cursor, pageSize};
+            List<Object[]> page = jdbcTemplate.query(sql, (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getBytes(2)}, args);
+            consumer.accept(page);
+
+            rows += page.size();
+            if (page.size() < pageSize) {
+                return rows;
+            }
+            cursor = (Long) page.get(page.size() - 1)[0];
+        }
+    }
+
+    private void mark(BitSet[] target, Long applicationId, BitSet accepted) {
+        int position = Math.toIntExact(applicationId);
+        for (int bit = accepted.nextSetBit(0); bit >= 0 && bit < target.length; bit = accepted.nextSetBit(bit + 1)) {
+            if (target[bit] == null) {
+                target[bit] = new BitSet();
+            }
+            target[bit].set(position);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.AcceptTermsBitmap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * AcceptTerms(약관당 1 행)에서 AcceptTermsBitmap(신청당 1 행)으로 옮긴다.
+ * 1. bitmap 위치가 없는 약관에 termsId 순서로 위치를 할당
+ * 2. applicationId 순서로 page 단위로 읽어서 bitmap 행이 없는 신청만 추가
+ * 이미 옮긴 신청은 건너뛰므로 여러 번 실행해도 결과가 같다. AcceptTerms 행은 지우지 않는다.
+ * 동의 당시 약관 목록은 알 수 없으므로 bitWidth 는 옮기는 시점의 값이다.
+ */
+@Slf4j
+@Component
+@Order(1)
+@ConditionalOnProperty(name = "loan.terms.accept-storage", havingValue = "bitmap")
+public class AcceptTermsBitmapMigration implements ApplicationRunner {
+
+    private static final String SELECT_APPLICATION_IDS_SQL = "select distinct a.application_id from accept_terms a "
+            + "where a.is_deleted = false and a.application_id > ? order by a.application_id limit ?";
+
+    private static final String SELECT_ACCEPT_TERMS_SQL = "select a.application_id, a.terms_id, a.created_at from accept_terms a "
+            + "where a.is_deleted = false and a.application_id between ? and ?";
+
+    private static final String SELECT_MIGRATED_SQL = "select b.application_id from accept_terms_bitmap b "
+            + "where b.application_id between ? and ?";
+
+    private static final String INSERT_SQL = "insert into accept_terms_bitmap "
+            + "(application_id, bit_width, accepted, created_at, updated_at, is_deleted) values (?, ?, ?, ?, ?, false)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TermsCatalog termsCatalog;
+
+    private final boolean enabled;
+
+    private final int pageSize;
+
+    public AcceptTermsBitmapMigration(JdbcTemplate jdbcTemplate,
+                                      TermsCatalog termsCatalog,
+                                      @Value("${loan.terms.accept-bitmap.migration.enabled:true}") boolean enabled,
+                                      @Value("${loan.terms.accept-bitmap.migration.page-size:1000}") int pageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.termsCatalog = termsCatalog;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            migrate();
+        }
+    }
+
+    public int migrate() {
+        assignBitIndexes();
+
+        // 삭제된 약관에 동의한 기록도 옮긴다
+        Map<Long, Integer> bitIndexes = new HashMap<>();
+        jdbcTemplate.query("select terms_id, bit_index from terms", rs -> {
+            bitIndexes.put(rs.getLong(1), rs.getInt(2));
+        });
+        int bitWidth = bitIndexes.values().stream().mapToInt(i -> i + 1).max().orElse(0);
+
+        long start = System.currentTimeMillis();
+        long cursor = 0;
+        int migrated = 0;
+        while (true) {
+            List<Long> applicationIds = jdbcTemplate.queryForList(SELECT_APPLICATION_IDS_SQL, Long.class, cursor, pageSize);
+            if (applicationIds.isEmpty()) {
+                break;
+            }
+            long from = applicationIds.get(0);
+            long to = applicationIds.get(applicationIds.size() - 1);
+            migrated += migrate(from, to, bitIndexes, bitWidth);
+
+            if (applicationIds.size() < pageSize) {
+                break;
+            }
+            cursor = to;
+        }
+
+        if (migrated > 0) {
+            log.info("migrated accept terms of {} applications to bitmap in {} ms", migrated, System.currentTimeMillis() - start);
+        }
+        return migrated;
+    }
+
+    private int migrate(long from, long to, Map<Long, Integer> bitIndexes, int bitWidth) {
+        Set<Long> migrated = new HashSet<>(jdbcTemplate.queryForList(SELECT_MIGRATED_SQL, Long.class, from, to));
+
+        // 신청별 bitmap, 가장 먼저 동의한 시각
+        Map<Long, BitSet> accepted = new LinkedHashMap<>();
+        Map<Long, Timestamp> acceptedAt = new HashMap<>();
+        jdbcTemplate.query(SELECT_ACCEPT_TERMS_SQL, rs -> {
+            long applicationId = rs.getLong(1);
+            if (migrated.contains(applicationId)) {
+                return;
+            }
+            accepted.computeIfAbsent(applicationId, id -> new BitSet(bitWidth)).set(bitIndexes.get(rs.getLong(2)));
+            acceptedAt.merge(applicationId, rs.getTimestamp(3), (a, b) -> a.before(b) ? a : b);
+        }, from, to);
+
+        List<Object[]> rows = new ArrayList<>(accepted.size());
+        for (Map.Entry<Long, BitSet> entry : accepted.entrySet()) {
+            Timestamp at = acceptedAt.get(entry.getKey());
+            rows.add(new Object[]{entry.getKey(), bitWidth, entry.getValue().toByteArray(), at, at});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        return rows.size();
+    }
+
+    private void assignBitIndexes() {
+        List<Long> termsIds = jdbcTemplate.queryForList(
+                "select terms_id from terms where bit_index is null order by terms_id", Long.class);
+        if (termsIds.isEmpty()) {
+            return;
+        }
+
+        Integer max = jdbcTemplate.queryForObject("select coalesce(max(bit_index), -1) from terms", Integer.class);
+        int next = max == null ? 0 : max + 1;
+        if (next + termsIds.size() > AcceptTermsBitmap.MAX_TERMS) {
+            throw new IllegalStateException("too many terms to store as bitmap: " + (next + termsIds.size()));
+        }
+
+        List<Object[]> rows = new ArrayList<>(termsIds.size());
+        for (Long termsId : termsIds) {
+            rows.add(new Object[]{next++, termsId});
+        }
+        jdbcTemplate.batchUpdate("update terms set bit_index = ? where terms_id = ?", rows);
+        termsCatalog.refresh();
+        log.info("assigned bitmap positions to {} terms", termsIds.size());
+    }
+}
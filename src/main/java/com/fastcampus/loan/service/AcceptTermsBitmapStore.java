@@ -0,0 +1,119 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.AcceptTermsBitmap;
+import com.fastcampus.loan.dto.ApplicationDTO.AcceptedApplicationPage;
+import com.fastcampus.loan.dto.TermsDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.AcceptTermsBitmapRepository;
+import com.fastcampus.loan.repository.AcceptTermsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 신청당 1 행(AcceptTermsBitmap)으로 저장.
+ * 약관 정보는 TermsCatalog 스냅샷에서 채우므로 동의 약관 조회는 bitmap 1 행만 읽는다.
+ * 아직 옮기지 않은 신청(AcceptTermsBitmapMigration)은 AcceptTerms 에서 읽는다.
+ */
+@Component
+@ConditionalOnProperty(name = "loan.terms.accept-storage", havingValue = "bitmap")
+@RequiredArgsConstructor
+public class AcceptTermsBitmapStore implements AcceptTermsStore {
+
+    private final AcceptTermsBitmapRepository acceptTermsBitmapRepository;
+
+    private final AcceptTermsRepository acceptTermsRepository;
+
+    private final AcceptTermsBitmapIndex acceptTermsBitmapIndex;
+
+    private final TermsCatalog termsCatalog;
+
+    @Override
+    public void save(Long applicationId, List<Long> acceptTermsIds, TermsCatalog.Version terms) {
+        TermsCatalog.Snapshot catalog = termsCatalog.get();
+        BitSet accepted = new BitSet(catalog.getBitWidth());
+        for (Long termsId : acceptTermsIds) {
+            // bitmap 위치가 없는 약관은 migration 전에 등록된 약관
+            Integer bitIndex = catalog.getBitIndex(termsId);
+            if (bitIndex == null) {
+                throw new BaseException(ResultType.SYSTEM_ERROR);
+            }
+            accepted.set(bitIndex);
+        }
+
+        acceptTermsBitmapRepository.save(AcceptTermsBitmap.builder()
+                .applicationId(applicationId)
+                .bitWidth(catalog.getBitWidth())
+                .termsVersionId(terms.getTermsVersionId())
+                .accepted(accepted.toByteArray())
+                .build());
+
+        // 롤백된 동의가 인덱스에 남지 않도록 커밋 후에 추가
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acceptTermsBitmapIndex.add(applicationId, accepted);
+                }
+            });
+        } else {
+            acceptTermsBitmapIndex.add(applicationId, accepted);
+        }
+    }
+
+    @Override
+    public List<TermsDTO.Response> findAcceptedTerms(Long applicationId) {
+        Optional<AcceptTermsBitmap> bitmap = acceptTermsBitmapRepository.findById(applicationId);
+        if (bitmap.isEmpty()) {
+            return acceptTermsRepository.findAcceptedTermsByApplicationId(applicationId);
+        }
+
+        // 동의 후 삭제된 약관은 빠진다
+        BitSet accepted = BitSet.valueOf(bitmap.get().getAccepted());
+        TermsCatalog.Snapshot terms = termsCatalog.get();
+        List<TermsDTO.Response> acceptedTerms = new ArrayList<>();
+        for (TermsDTO.Response t : terms.getTerms()) {
+            Integer bitIndex = terms.getBitIndex(t.getTermsId());
+            if (bitIndex != null && accepted.get(bitIndex)) {
+                acceptedTerms.add(t);
+            }
+        }
+        return acceptedTerms;
+    }
+
+    @Override
+    public AcceptedApplicationPage findApplications(List<Long> termsIds, Long cursor, int size) {
+        if (!acceptTermsBitmapIndex.isReady()) {
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+
+        TermsCatalog.Snapshot terms = termsCatalog.get();
+        List<Integer> bitIndexes = new ArrayList<>(termsIds.size());
+        for (Long termsId : termsIds) {
+            Integer bitIndex = terms.getBitIndex(termsId);
+            if (bitIndex == null) {
+                return AcceptedApplicationPage.builder()
+                        .count(0L)
+                        .applicationIds(Collections.emptyList())
+                        .build();
+            }
+            bitIndexes.add(bitIndex);
+        }
+
+        List<Long> applicationIds = acceptTermsBitmapIndex.find(bitIndexes, cursor == null ? 0L : cursor, size);
+        return AcceptedApplicationPage.builder()
+                .count(acceptTermsBitmapIndex.count(bitIndexes))
+                .applicationIds(applicationIds)
+                .nextCursor(applicationIds.size() < size ? null : applicationIds.get(applicationIds.size() - 1))
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.AcceptTerms;
+import com.fastcampus.loan.dto.ApplicationDTO.AcceptedApplicationPage;
+import com.fastcampus.loan.dto.TermsDTO;
+import com.fastcampus.loan.repository.AcceptTermsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 약관당 1 행(AcceptTerms)으로 저장.
+ */
+@Component
+@ConditionalOnProperty(name = "loan.terms.accept-storage", havingValue = "rows", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AcceptTermsRowStore implements AcceptTermsStore {
+
+    private final AcceptTermsRepository acceptTermsRepository;
+
+    @Override
+    public void save(Long applicationId, List<Long> acceptTermsIds, TermsCatalog.Version terms) {
+        // 한 번에 저장 (JDBC batch)
+        List<AcceptTerms> accepted = new ArrayList<>(acceptTermsIds.size());
+        for (Long termsId : acceptTermsIds) {
+            accepted.add(AcceptTerms.builder()
+                    .termsId(termsId)
+                    .applicationId(applicationId)
+                    .termsVersionId(terms.getTermsVersionId())
+                    .build());
+        }
+        acceptTermsRepository.saveAll(accepted);
+    }
+
+    @Override
+    public List<TermsDTO.Response> findAcceptedTerms(Long applicationId) {
+        return acceptTermsRepository.findAcceptedTermsByApplicationId(applicationId);
+    }
+
+    @Override
+    public AcceptedApplicationPage findApplications(List<Long> termsIds, Long cursor, int size) {
+        List<Long> distinctTermsIds = new ArrayList<>(new LinkedHashSet<>(termsIds));
+        List<Long> applicationIds = acceptTermsRepository.findApplicationIdsAcceptedAll(distinctTermsIds,
+                distinctTermsIds.size(), cursor == null ? 0L : cursor, PageRequest.of(0, size));
+
+        return AcceptedApplicationPage.builder()
+                .count(acceptTermsRepository.countApplicationsAcceptedAll(distinctTermsIds, distinctTermsIds.size()))
+                .applicationIds(applicationIds)
+                .nextCursor(applicationIds.size() < size ? null : applicationIds.get(applicationIds.size() - 1))
+                .build();
+    }
+}
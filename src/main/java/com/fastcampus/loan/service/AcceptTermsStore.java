@@ -0,0 +1,22 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.dto.ApplicationDTO.AcceptedApplicationPage;
+import com.fastcampus.loan.dto.TermsDTO;
+
+import java.util.List;
+
+/**
+ * 신청별 동의 약관 저장소.
+ * loan.terms.accept-storage 가 rows(기본값)면 약관당 1 행(AcceptTerms), bitmap 이면 신청당 1 행(AcceptTermsBitmap)으로 저장한다.
+ */
+public interface AcceptTermsStore {
+
+    // acceptTermsIds 는 terms(동의한 약관 목록 버전) 기준으로 검증이 끝난 값
+    void save(Long applicationId, List<Long> acceptTermsIds, TermsCatalog.Version terms);
+
+    // termsId 오름차순
+    List<TermsDTO.Response> findAcceptedTerms(Long applicationId);
+
+    // termsIds 모두에 동의한 신청, cursor 보다 큰 applicationId 부터
+    AcceptedApplicationPage findApplications(List<Long> termsIds, Long cursor, int size);
+}
@@ -0,0 +1,10 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.dto.AccrualDTO;
+
+import java.time.LocalDate;
+
+public interface AccrualService {
+
+    AccrualDTO.Response accrue(LocalDate accrualDate);
+}
@@ -0,0 +1,327 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.AccrualPartition;
+import com.fastcampus.loan.domain.AccrualPartitionStatus;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.dto.AccrualDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.AccrualPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 계약된 전체 대출의 일별 이자 발생 배치.
+ * 신청 ID 를 partitionSize 단위 구간으로 나누고, 구간마다 잔고(스냅샷 + journal tail)를 fetchSize 단위 cursor 로 읽어서
+ * 이자를 계산한 뒤 구간의 기존 내역 삭제 + JDBC batch insert + 구간 완료 기록을 한 트랜잭션으로 저장한다.
+ * 구간들은 ForkJoinPool 에서 parallelism 만큼 동시에 처리하고, 같은 날짜로 다시 돌리면 완료된 구간은 건너뛴다.
+ * cron 은 모든 인스턴스에서 돌기 때문에 DB lease 를 잡은 한 인스턴스에서만 돌고, 구간을 끝낼 때마다 lease 를 늘린다.
+ * (늦게 깬 인스턴스가 다시 돌더라도 완료된 구간은 건너뛴다)
+ */
+@Slf4j
+@Service
+public class AccrualServiceImpl implements AccrualService {
+
+    static final String LEASE_NAME = "accrual";
+
+    // 연 이율 10,000 배 * 365 일
+    private static final long DAILY_RATE_DENOMINATOR = 3_650_000L;
+
+    private static final String RANGE_SQL = "select min(application_id), max(application_id) from application "
+            + "where contracted_at is not null and is_deleted = false";
+
+    private static final String BALANCE_SQL = "select a.application_id, a.interest_rate, "
+            + "coalesce(b.balance, 0) + coalesce((select sum(j.amount) from balance_journal j "
+            + "where j.application_id = a.application_id and j.balance_journal_id > coalesce(b.last_journal_id, 0) "
+            + "and j.is_deleted = false), 0) as balance "
+            + "from application a left join balance b on b.application_id = a.application_id and b.is_deleted = false "
+            + "where a.application_id >= ? and a.application_id < ? and a.contracted_at < ? "
+            + "and a.interest_rate is not null and a.is_deleted = false "
+            + "order by a.application_id";
+
+    private static final String DELETE_SQL = "delete from interest_accrual "
+            + "where accrual_date = ? and application_id >= ? and application_id < ?";
+
+    private static final String INSERT_SQL = "insert into interest_accrual "
+            + "(accrual_date, application_id, balance, interest_rate, interest_amount, is_deleted, created_at, updated_at) "
+            + "values (?, ?, ?, ?, ?, false, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AccrualPartitionRepository accrualPartitionRepository;
+
+    private final LeaseService leaseService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final long partitionSize;
+
+    private final int fetchSize;
+
+    private final int batchSize;
+
+    private final Duration lease;
+
+    private final ForkJoinPool pool;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public AccrualServiceImpl(JdbcTemplate jdbcTemplate,
+                              AccrualPartitionRepository accrualPartitionRepository,
+                              LeaseService leaseService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${loan.accrual.parallelism:4}") int parallelism,
+                              @Value("${loan.accrual.partition-size:10000}") long partitionSize,
+                              @Value("${loan.accrual.fetch-size:1000}") int fetchSize,
+                              @Value("${loan.accrual.batch-size:1000}") int batchSize,
+                              @Value("${loan.accrual.lease-ms:600000}") long leaseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.accrualPartitionRepository = accrualPartitionRepository;
+        this.leaseService = leaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionSize = partitionSize;
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    // 매일 전날 이자 발생, 다른 인스턴스가 돌고 있으면 건너뛴다
+    @Scheduled(cron = "${loan.accrual.cron:0 30 0 * * *}")
+    public void accrueYesterday() {
+        try {
+            accrue(LocalDate.now().minusDays(1));
+        } catch (BaseException e) {
+            if (!ResultType.ACCRUAL_IN_PROGRESS.getCode().equals(e.getCode())) {
+                throw e;
+            }
+            log.info("accrual is skipped, it is already running");
+        }
+    }
+
+    @Override
+    public AccrualDTO.Response accrue(LocalDate accrualDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BaseException(ResultType.ACCRUAL_IN_PROGRESS);
+        }
+
+        try {
+            // 다른 인스턴스에서 돌고 있으면 같은 구간을 동시에 지우고 쓰지 않도록 거절한다
+            if (!leaseService.acquire(LEASE_NAME, lease)) {
+                throw new BaseException(ResultType.ACCRUAL_IN_PROGRESS);
+            }
+            try {
+                return run(accrualDate);
+            } finally {
+                leaseService.release(LEASE_NAME);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private AccrualDTO.Response run(LocalDate accrualDate) {
+        long start = System.nanoTime();
+
+        // 이미 완료된 구간은 건너뛴다
+        Set<Long> completed = new HashSet<>();
+        for (AccrualPartition partition : accrualPartitionRepository.findAllByAccrualDate(accrualDate)) {
+            if (partition.getStatus() == AccrualPartitionStatus.COMPLETED
+                    && partition.getToApplicationId() - partition.getFromApplicationId() == partitionSize) {
+                completed.add(partition.getFromApplicationId());
+            }
+        }
+
+        List<Callable<Long>> tasks = new ArrayList<>();
+        int partitionCount = 0;
+        int skipped = 0;
+
+        long[] range = jdbcTemplate.queryForObject(RANGE_SQL, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        if (range != null && range[1] > 0) {
+            for (long from = (range[0] / partitionSize) * partitionSize; from <= range[1]; from += partitionSize) {
+                partitionCount++;
+                if (completed.contains(from)) {
+                    skipped++;
+                    continue;
+                }
+
+                long fromApplicationId = from;
+                tasks.add(() -> accruePartition(accrualDate, fromApplicationId, fromApplicationId + partitionSize));
+            }
+        }
+
+        long accrued = 0;
+        int failed = 0;
+        for (Future<Long> future : pool.invokeAll(tasks)) {
+            try {
+                accrued += future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BaseException(ResultType.SYSTEM_ERROR);
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+
+        long elapsedMillis = Math.max(1L, (System.nanoTime() - start) / 1_000_000L);
+        long loansPerSecond = accrued * 1000L / elapsedMillis;
+        log.info("accrual {} : {} loans in {} ms ({} loans/s), partitions {} (skipped {}, failed {})",
+                accrualDate, accrued, elapsedMillis, loansPerSecond, partitionCount, skipped, failed);
+
+        return AccrualDTO.Response.builder()
+                .accrualDate(accrualDate)
+                .partitionCount(partitionCount)
+                .skippedPartitionCount(skipped)
+                .failedPartitionCount(failed)
+                .accruedCount(accrued)
+                .elapsedMillis(elapsedMillis)
+                .loansPerSecond(loansPerSecond)
+                .build();
+    }
+
+    private long accruePartition(LocalDate accrualDate, long fromApplicationId, long toApplicationId) {
+        try {
+            Rows rows = read(accrualDate, fromApplicationId, toApplicationId);
+
+            // 일 이자 = 잔고 * 금리 / 365, HALF_EVEN
+            long[] interestCents = new long[rows.size];
+            for (int i = 0; i < rows.size; i++) {
+                interestCents[i] = dailyInterest(rows.balanceCents[i], rows.rateUnits[i]);
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(DELETE_SQL, Date.valueOf(accrualDate), fromApplicationId, toApplicationId);
+                write(accrualDate, rows, interestCents);
+                mark(accrualDate, fromApplicationId, toApplicationId, AccrualPartitionStatus.COMPLETED, rows.size);
+            });
+
+            if (!leaseService.acquire(LEASE_NAME, lease)) {
+                log.warn("accrual {} lease is lost after partition [{}, {})", accrualDate, fromApplicationId, toApplicationId);
+            }
+
+            return rows.size;
+        } catch (RuntimeException e) {
+            log.error("accrual {} partition [{}, {}) failed", accrualDate, fromApplicationId, toApplicationId, e);
+            mark(accrualDate, fromApplicationId, toApplicationId, AccrualPartitionStatus.FAILED, 0);
+            throw e;
+        }
+    }
+
+    // 잔고가 있는 계약 건만 cursor 로 읽어서 primitive 배열에 담는다
+    private Rows read(LocalDate accrualDate, long fromApplicationId, long toApplicationId) {
+        Rows rows = new Rows();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(BALANCE_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, fromApplicationId);
+            ps.setLong(2, toApplicationId);
+            ps.setTimestamp(3, Timestamp.valueOf(accrualDate.plusDays(1).atStartOfDay()));
+            return ps;
+        }, rs -> {
+            long balanceCents = Money.of(rs.getBigDecimal(3)).getCents();
+            if (balanceCents > 0) {
+                rows.add(rs.getLong(1), balanceCents,
+                        rs.getBigDecimal(2).setScale(4, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+            }
+        });
+        return rows;
+    }
+
+    private void write(LocalDate accrualDate, Rows rows, long[] interestCents) {
+        Date date = Date.valueOf(accrualDate);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < rows.size; i++) {
+            batch.add(new Object[]{date, rows.applicationIds[i], BigDecimal.valueOf(rows.balanceCents[i], 2),
+                    BigDecimal.valueOf(rows.rateUnits[i], 4), BigDecimal.valueOf(interestCents[i], 2), now, now});
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+    }
+
+    private void mark(LocalDate accrualDate, long fromApplicationId, long toApplicationId, AccrualPartitionStatus status, long accruedCount) {
+        // 구간 하나만 unique key 로 읽는다
+        AccrualPartition partition = accrualPartitionRepository
+                .findByAccrualDateAndFromApplicationIdAndToApplicationId(accrualDate, fromApplicationId, toApplicationId)
+                .orElseGet(() -> AccrualPartition.builder()
+                        .accrualDate(accrualDate)
+                        .fromApplicationId(fromApplicationId)
+                        .toApplicationId(toApplicationId)
+                        .build());
+
+        partition.setStatus(status);
+        partition.setAccruedCount(accruedCount);
+        accrualPartitionRepository.save(partition);
+    }
+
+    static long dailyInterest(long balanceCents, long rateUnits) {
+        long numerator = Math.multiplyExact(balanceCents, rateUnits);
+        long quotient = numerator / DAILY_RATE_DENOMINATOR;
+        long twice = (numerator % DAILY_RATE_DENOMINATOR) * 2;
+
+        if (twice > DAILY_RATE_DENOMINATOR || (twice == DAILY_RATE_DENOMINATOR && (quotient & 1L) == 1L)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    // 한 구간의 잔고, 엔티티 대신 primitive 배열
+    private static final class Rows {
+
+        private long[] applicationIds = new long[1024];
+
+        private long[] balanceCents = new long[1024];
+
+        private long[] rateUnits = new long[1024];
+
+        private int size;
+
+        private void add(long applicationId, long balance, long rate) {
+            if (size == applicationIds.length) {
+                applicationIds = Arrays.copyOf(applicationIds, size * 2);
+                balanceCents = Arrays.copyOf(balanceCents, size * 2);
+                rateUnits = Arrays.copyOf(rateUnits, size * 2);
+            }
+            applicationIds[size] = applicationId;
+            balanceCents[size] = balance;
+            rateUnits[size] = rate;
+            size++;
+        }
+    }
+}
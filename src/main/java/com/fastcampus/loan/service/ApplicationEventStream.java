@@ -0,0 +1,375 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.dto.BalanceDTO;
+import com.fastcampus.loan.dto.DomainEventDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 신청별 잔고, 진행 상태 변경을 SSE 로 내보내는 구독 관리.
+ * 연결은 비동기 요청(SseEmitter)으로 잡아 두므로 대기 중인 연결이 요청 스레드를 쓰지 않는다.
+ * 보낼 내용(직렬화된 data)은 한 번만 만들어 큐에 넣고, 분배 스레드 하나가 연결별 대기열에 나눠 넣는다. 큐가 차면 버리고 stream.dropped 로 센다.
+ * 실제 전송(blocking write)은 크기가 정해진 전송 pool 에서 연결마다 순서대로 하므로 느린 연결이 다른 구독자를 막지 않는다.
+ * 대기열이 max-pending 을 넘거나 전송 하나가 send-timeout-ms 를 넘는 연결은 끊고 stream.slow 로 센다.
+ * SseEventBuilder 는 build 할 때마다 내용이 쌓이므로 같이 쓰지 않고 전송할 때 연결마다 새로 만든다.
+ * 진행 상태는 outbox 로 발행된 이벤트(커밋된 것만)를, 잔고는 BalanceServiceImpl 이 커밋 후 넘긴 값을 보낸다.
+ */
+@Component
+public class ApplicationEventStream implements DomainEventSubscriber {
+
+    public static final String BALANCE_UPDATED = "BALANCE_UPDATED";
+
+    // 연결이 끊겼을 때 클라이언트(EventSource)가 다시 연결하기까지 기다리는 시간
+    private static final long RECONNECT_TIME_MS = 3000;
+
+    // 전송 pool 스레드 하나가 한 연결에 이어서 보내는 최대 건수, 넘으면 다른 연결에게 양보한다
+    private static final int SEND_BATCH_SIZE = 64;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Set<Connection>> subscriptions = new ConcurrentHashMap<>();
+
+    private final Map<SseEmitter, Connection> connections = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<Message> queue;
+
+    private final ExecutorService dispatcher;
+
+    private final ExecutorService senders;
+
+    private final long timeoutMs;
+
+    private final int maxApplications;
+
+    private final int maxPending;
+
+    private final long sendTimeoutNanos;
+
+    private final Counter dropped;
+
+    private final Counter slow;
+
+    public ApplicationEventStream(ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${loan.stream.timeout-ms:1800000}") long timeoutMs,
+                                  @Value("${loan.stream.max-applications:100}") int maxApplications,
+                                  @Value("${loan.stream.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${loan.stream.senders:8}") int senders,
+                                  @Value("${loan.stream.max-pending:256}") int maxPending,
+                                  @Value("${loan.stream.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.maxApplications = maxApplications;
+        this.maxPending = maxPending;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dropped = Counter.builder("stream.dropped")
+                .register(meterRegistry);
+        this.slow = Counter.builder("stream.slow")
+                .description("느려서 끊은 연결 수")
+                .register(meterRegistry);
+        Gauge.builder("stream.connections", connections, Map::size)
+                .register(meterRegistry);
+
+        this.senders = Executors.newFixedThreadPool(senders, new CustomizableThreadFactory("application-event-sender-"));
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "application-event-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.execute(this::dispatch);
+    }
+
+    public SseEmitter subscribe(Collection<Long> applicationIds) {
+        Set<Long> ids = applicationIds == null ? Collections.emptySet() : new LinkedHashSet<>(applicationIds);
+        if (ids.isEmpty() || ids.size() > maxApplications || ids.contains(null)) {
+            throw new BaseException(ResultType.INVALID_STREAM_REQUEST);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> unsubscribe(emitter));
+        emitter.onTimeout(() -> unsubscribe(emitter));
+        emitter.onError(e -> unsubscribe(emitter));
+
+        // 첫 전송 전까지는 응답 헤더가 나가지 않으므로 구독 확인을 바로 보낸다, 등록 전이라 다른 전송과 겹치지 않는다
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_TIME_MS).comment("subscribed"));
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+
+        Connection connection = new Connection(emitter, ids);
+        connections.put(emitter, connection);
+        for (Long applicationId : ids) {
+            subscriptions.computeIfAbsent(applicationId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        }
+        return emitter;
+    }
+
+    // 트랜잭션 안이면 롤백된 잔고를 보내지 않도록 커밋 후에 보낸다
+    public void publishBalance(Long applicationId, BalanceDTO.Response balance) {
+        if (!subscriptions.containsKey(applicationId)) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(new Message(applicationId, BALANCE_UPDATED, null, serialize(balance), null));
+                }
+            });
+        } else {
+            enqueue(new Message(applicationId, BALANCE_UPDATED, null, serialize(balance), null));
+        }
+    }
+
+    @Override
+    public void onEvents(List<DomainEventDTO.Event> events) {
+        for (DomainEventDTO.Event event : events) {
+            if (subscriptions.containsKey(event.getApplicationId())) {
+                enqueue(new Message(event.getApplicationId(), event.getType().name(), String.valueOf(event.getEventId()),
+                        event.getPayload(), null));
+            }
+        }
+    }
+
+    // 프록시가 끊지 않게, 끊긴 연결은 찾아서 정리되게 주기적으로 comment 를 보낸다, 전송이 멈춘 연결도 여기서 끊는다
+    @Scheduled(fixedDelayString = "${loan.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Connection connection : connections.values()) {
+            long sendingSince = connection.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > sendTimeoutNanos) {
+                connection.close(new IllegalStateException("send timed out"));
+            }
+        }
+
+        if (!connections.isEmpty()) {
+            enqueue(new Message(null, null, null, null, "heartbeat"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (SseEmitter emitter : connections.keySet()) {
+            emitter.complete();
+        }
+    }
+
+    private void enqueue(Message message) {
+        if (!queue.offer(message)) {
+            dropped.increment();
+        }
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Message message;
+            try {
+                message = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            Collection<Connection> targets = message.getApplicationId() == null
+                    ? connections.values()
+                    : subscriptions.getOrDefault(message.getApplicationId(), Collections.emptySet());
+            for (Connection connection : targets) {
+                connection.offer(message);
+            }
+        }
+    }
+
+    private void unsubscribe(SseEmitter emitter) {
+        Connection connection = connections.remove(emitter);
+        if (connection == null) {
+            return;
+        }
+        connection.closed = true;
+        for (Long applicationId : connection.applicationIds) {
+            subscriptions.computeIfPresent(applicationId, (id, subscribers) -> {
+                subscribers.remove(connection);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    private String serialize(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Message {
+
+        // null 이면 모든 연결
+        private final Long applicationId;
+
+        private final String name;
+
+        private final String id;
+
+        // 직렬화된 JSON
+        private final String data;
+
+        private final String comment;
+
+        // build 할 때마다 내용이 쌓이므로 연결마다 새로 만든다
+        private SseEmitter.SseEventBuilder toEvent() {
+            SseEmitter.SseEventBuilder event = SseEmitter.event();
+            if (comment != null) {
+                event.comment(comment);
+            }
+            if (name != null) {
+                event.name(name);
+            }
+            if (id != null) {
+                event.id(id);
+            }
+            if (data != null) {
+                event.data(data, MediaType.APPLICATION_JSON);
+            }
+            return event;
+        }
+    }
+
+    // 연결 하나의 대기열, 전송 pool 에 한 번에 하나만 올라가므로 연결 안에서는 순서대로 보낸다
+    private class Connection implements Runnable {
+
+        private final SseEmitter emitter;
+
+        private final Set<Long> applicationIds;
+
+        private final Queue<Message> pending = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger pendingCount = new AtomicInteger();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        // 진행 중인 전송을 시작한 시각(nanoTime), 0 이면 보내는 중이 아님
+        private volatile long sendingSince;
+
+        private volatile boolean closed;
+
+        private Connection(SseEmitter emitter, Set<Long> applicationIds) {
+            this.emitter = emitter;
+            this.applicationIds = applicationIds;
+        }
+
+        private void offer(Message message) {
+            if (closed) {
+                return;
+            }
+            // 받는 속도가 따라오지 못하는 연결
+            if (pendingCount.incrementAndGet() > maxPending) {
+                pendingCount.decrementAndGet();
+                close(new IllegalStateException("too many pending events"));
+                return;
+            }
+
+            pending.add(message);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this);
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+                scheduled.set(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < SEND_BATCH_SIZE; i++) {
+                    Message message = pending.poll();
+                    if (message == null) {
+                        break;
+                    }
+                    pendingCount.decrementAndGet();
+                    if (!closed) {
+                        send(message);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void send(Message message) {
+            sendingSince = System.nanoTime();
+            try {
+                emitter.send(message.toEvent());
+            } catch (IOException | IllegalStateException e) {
+                // 끊긴 연결
+                emitter.completeWithError(e);
+                unsubscribe(emitter);
+            } finally {
+                sendingSince = 0;
+            }
+        }
+
+        private void close(Exception reason) {
+            if (closed) {
+                return;
+            }
+            slow.increment();
+            unsubscribe(emitter);
+            pending.clear();
+            emitter.completeWithError(reason);
+        }
+    }
+}
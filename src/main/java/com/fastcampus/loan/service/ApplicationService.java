@@ -1,22 +1,45 @@
 package com.fastcampus.loan.service;
 
-
+import com.fastcampus.loan.domain.ApplicationStatus;
 import com.fastcampus.loan.dto.ApplicationDTO.AcceptTerms;
+import com.fastcampus.loan.dto.ApplicationDTO.AcceptedApplicationPage;
+import com.fastcampus.loan.dto.ApplicationDTO.BatchResponse;
+import com.fastcampus.loan.dto.ApplicationDTO.OverviewResponse;
+import com.fastcampus.loan.dto.ApplicationDTO.PageResponse;
 import com.fastcampus.loan.dto.ApplicationDTO.Request;
 import com.fastcampus.loan.dto.ApplicationDTO.Response;
+import com.fastcampus.loan.dto.ApplicationDTO.SearchRequest;
+
+import java.util.List;
 
 
 public interface ApplicationService {
 
     Response create(Request request);
 
+    // 제휴 채널 대량 신청, 실패 건은 건별 결과로 돌려주고 나머지는 저장
+    BatchResponse createAll(List<Request> request);
+
     Response get(Long applicationId);
 
+    PageResponse search(SearchRequest request, Long cursor, int size);
+
+    OverviewResponse getOverview(Long applicationId);
+
     Response update(Long applicationId, Request request);
 
     void delete(Long applicationId);
 
     Boolean acceptTerms(Long applicationId, AcceptTerms request);
 
+    // 지정한 약관 모두에 동의한 신청 ID, cursor 보다 큰 applicationId 부터
+    AcceptedApplicationPage findAcceptedApplications(List<Long> termsIds, Long cursor, int size);
+
     Response contract(Long applicationId);
+
+    // 진행 상태 변경, 현재 상태에서 갈 수 없는 상태면 예외
+    void transit(Long applicationId, ApplicationStatus status);
+
+    // 읽어 둔 상태(current)에서 next 로 변경, 그 사이 다른 요청이 먼저 상태를 바꿨으면 예외
+    void transit(Long applicationId, ApplicationStatus current, ApplicationStatus next);
 }
@@ -1,24 +1,40 @@
 package com.fastcampus.loan.service;
 
 import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.DomainEventType;
+import com.fastcampus.loan.domain.Entry;
+import com.fastcampus.loan.domain.Judgement;
 import com.fastcampus.loan.domain.Terms;
+import com.fastcampus.loan.dto.BalanceDTO;
+import com.fastcampus.loan.dto.EntryDTO;
+import com.fastcampus.loan.dto.JudgementDTO;
+import com.fastcampus.loan.dto.ResultObject;
 import com.fastcampus.loan.dto.ApplicationDTO.Request;
 import com.fastcampus.loan.dto.ApplicationDTO.Response;
 import com.fastcampus.loan.dto.ApplicationDTO.AcceptTerms;
+import com.fastcampus.loan.dto.ApplicationDTO.AcceptedApplicationPage;
+import com.fastcampus.loan.dto.ApplicationDTO.BatchResponse;
+import com.fastcampus.loan.dto.ApplicationDTO.BatchResult;
+import com.fastcampus.loan.dto.ApplicationDTO.OverviewResponse;
+import com.fastcampus.loan.dto.ApplicationDTO.PageResponse;
+import com.fastcampus.loan.dto.ApplicationDTO.SearchRequest;
+import com.fastcampus.loan.dto.ApplicationDTO.SearchResponse;
+import com.fastcampus.loan.dto.ApplicationDTO.StatusChange;
 import com.fastcampus.loan.exception.BaseException;
 import com.fastcampus.loan.exception.ResultType;
-import com.fastcampus.loan.repository.AcceptTermsRepository;
 import com.fastcampus.loan.repository.ApplicationRepository;
 import com.fastcampus.loan.repository.JudgementRepository;
-import com.fastcampus.loan.repository.TermsRepository;
+import com.fastcampus.loan.repository.RepaymentRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,26 +42,123 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ApplicationServiceImpl implements ApplicationService{
 
+    // 대량 신청 한 번에 받는 최대 건수
+    private static final int MAX_BATCH_SIZE = 10000;
+
+    // decimal(15,2) 에 들어가는 최대 신청 금액
+    private static final BigDecimal MAX_HOPE_AMOUNT = new BigDecimal("9999999999999.99");
+
+    // 검색 한 페이지 최대 건수
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // 신청 ID 만 돌려주는 조회 한 페이지 최대 건수
+    private static final int MAX_ID_PAGE_SIZE = 10000;
+
+    // 인덱스로 좁힐 수 없는 검색(계약 여부, 승인 금액)에서 applicationId 구간 크기
+    private static final long SEARCH_WINDOW = 4096;
+
+    // 개요에 보여줄 최근 상환 건수
+    private static final int RECENT_REPAYMENT_SIZE = 10;
+
+    // 한 번의 검색에서 훑는 applicationId 구간 합, 다 훑으면 덜 찬 페이지와 다음 cursor 를 돌려준다
+    private static final long SEARCH_SCAN_BUDGET = 32768;
+
     private final ApplicationRepository applicationRepository;
 
-    private final TermsRepository termsRepository;
+    private final TermsCatalog termsCatalog;
 
-    private final AcceptTermsRepository acceptTermsRepository;
+    private final AcceptTermsStore acceptTermsStore;
 
     private final JudgementRepository judgementRepository;
 
+    private final RepaymentRepository repaymentRepository;
+
+    private final BalanceService balanceService;
+
+    private final ScheduleService scheduleService;
+
+    private final ApplicationStateCache applicationStateCache;
+
+    private final OutboxService outboxService;
+
     private final ModelMapper modelMapper;
 
     @Override
     public Response create(Request request) {
         Application application = modelMapper.map(request, Application.class);
         application.setAppliedAt(LocalDateTime.now());
+        application.setStatus(ApplicationStatus.APPLIED);
 
         Application applied = applicationRepository.save(application);
 
+        // 저장 전에 조회되어 '없음' 으로 캐시된 경우
+        applicationStateCache.invalidate(applied.getApplicationId());
+
         return modelMapper.map(applied, Response.class);
     }
 
+    @Override
+    @Transactional
+    public BatchResponse createAll(List<Request> request) {
+        if (request == null || request.isEmpty()) {
+            throw new BaseException(ResultType.INVALID_APPLICATION, "batch is empty");
+        }
+        if (request.size() > MAX_BATCH_SIZE) {
+            throw new BaseException(ResultType.INVALID_APPLICATION,
+                    "batch size " + request.size() + " exceeds " + MAX_BATCH_SIZE);
+        }
+
+        LocalDateTime appliedAt = LocalDateTime.now();
+        List<BatchResult> results = new ArrayList<>(request.size());
+        List<Application> applications = new ArrayList<>(request.size());
+        List<BatchResult> appliedResults = new ArrayList<>(request.size());
+
+        for (int i = 0; i < request.size(); i++) {
+            Request item = request.get(i);
+            BatchResult result = BatchResult.builder()
+                    .index(i)
+                    .build();
+
+            // 건마다 modelMapper 를 거치지 않고 builder 로 바로 만든다
+            if (isValidApplication(item)) {
+                Application application = Application.builder()
+                        .name(item.getName())
+                        .cellPhone(item.getCellPhone())
+                        .email(item.getEmail())
+                        .hopeAmount(item.getHopeAmount())
+                        .appliedAt(appliedAt)
+                        .status(ApplicationStatus.APPLIED)
+                        .build();
+                // 모든 건이 같은 insert 문을 쓰도록 기본값도 채워서 JDBC batch 가 끊기지 않게 한다
+                application.setIsDeleted(false);
+
+                applications.add(application);
+                appliedResults.add(result);
+                result.setResult(ResultObject.getSuccess());
+            } else {
+                result.setResult(new ResultObject(ResultType.INVALID_APPLICATION));
+            }
+
+            results.add(result);
+        }
+
+        applicationRepository.insertAll(applications);
+
+        // 저장 순서대로 발급된 ID 를 요청 순서의 결과에 채운다
+        for (int i = 0; i < applications.size(); i++) {
+            Long applicationId = applications.get(i).getApplicationId();
+            appliedResults.get(i).setApplicationId(applicationId);
+            applicationStateCache.invalidate(applicationId);
+        }
+
+        return BatchResponse.builder()
+                .requestedCount(request.size())
+                .succeededCount(applications.size())
+                .failedCount(request.size() - applications.size())
+                .results(results)
+                .build();
+    }
+
     @Override
     public Response get(Long applicationId) {
         Application application = applicationRepository.findById(applicationId).orElseThrow(()->{
@@ -55,6 +168,102 @@ public class ApplicationServiceImpl implements ApplicationService{
         return modelMapper.map(application, Response.class);
     }
 
+    @Override
+    public OverviewResponse getOverview(Long applicationId) {
+        // 신청, 심사, 집행 : 1 query
+        List<Object[]> rows = applicationRepository.findOverviewById(applicationId);
+        if(rows.isEmpty()){
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+
+        Object[] row = rows.get(0);
+        Application application = (Application) row[0];
+        Judgement judgement = (Judgement) row[1];
+        Entry entry = (Entry) row[2];
+
+        // 잔고는 원장 메모리에 있으면 조회하지 않음, 집행 전에는 잔고 없음
+        BalanceDTO.Response balance = entry == null ? null : balanceService.get(applicationId);
+
+        return OverviewResponse.builder()
+                .application(modelMapper.map(application, Response.class))
+                .judgement(judgement == null ? null : modelMapper.map(judgement, JudgementDTO.Response.class))
+                .entry(entry == null ? null : modelMapper.map(entry, EntryDTO.Response.class))
+                .balance(balance)
+                // 동의 약관 : 1 query
+                .acceptedTerms(acceptTermsStore.findAcceptedTerms(applicationId))
+                // 최근 상환 : 1 query
+                .recentRepayments(repaymentRepository.findRecentByApplicationId(applicationId, PageRequest.of(0, RECENT_REPAYMENT_SIZE)))
+                .build();
+    }
+
+    @Override
+    public PageResponse search(SearchRequest request, Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // 이름, 전화번호, 이메일, 신청일은 (컬럼, applicationId) 인덱스로 바로 조회
+        if (hasIndexedCondition(request)) {
+            List<SearchResponse> applications = applicationRepository.search(request, cursor, null, pageSize);
+
+            // 꽉 찬 페이지면 다음 페이지가 있을 수 있음
+            Long nextCursor = applications.size() == pageSize ? applications.get(pageSize - 1).getApplicationId() : null;
+
+            return PageResponse.builder()
+                    .applications(applications)
+                    .nextCursor(nextCursor)
+                    .build();
+        }
+
+        // 나머지는 범위 인덱스로 읽으면 applicationId 로 다시 정렬해야 하므로, PK 구간을 넓혀가며 페이지를 채운다
+        Long maxApplicationId = applicationRepository.findMaxApplicationId();
+        long from = cursor == null ? 0L : cursor;
+        long window = SEARCH_WINDOW;
+        long scanned = 0L;
+        List<SearchResponse> applications = new ArrayList<>(pageSize);
+        while (maxApplicationId != null && from < maxApplicationId
+                && applications.size() < pageSize && scanned < SEARCH_SCAN_BUDGET) {
+            long to = Math.min(from + Math.min(window, SEARCH_SCAN_BUDGET - scanned), maxApplicationId);
+            applications.addAll(applicationRepository.search(request, from, to, pageSize - applications.size()));
+
+            scanned += to - from;
+            from = to;
+            window *= 2;
+        }
+
+        Long nextCursor;
+        if (applications.size() == pageSize) {
+            nextCursor = applications.get(pageSize - 1).getApplicationId();
+        } else {
+            // 덜 찼어도 아직 훑지 않은 구간이 있으면 이어서 조회
+            nextCursor = maxApplicationId != null && from < maxApplicationId ? from : null;
+        }
+
+        return PageResponse.builder()
+                .applications(applications)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // 컬럼 길이를 넘거나 금액이 없는 건은 저장하지 않는다, 금액은 값이 센트 단위로 정확하면 된다 (100.100 은 허용, 100.001 은 거절)
+    private boolean isValidApplication(Request item) {
+        return item != null
+                && hasText(item.getName()) && item.getName().length() <= 12
+                && (item.getCellPhone() == null || item.getCellPhone().length() <= 13)
+                && (item.getEmail() == null || item.getEmail().length() <= 50)
+                && item.getHopeAmount() != null
+                && item.getHopeAmount().signum() > 0
+                && item.getHopeAmount().stripTrailingZeros().scale() <= 2
+                && item.getHopeAmount().compareTo(MAX_HOPE_AMOUNT) <= 0;
+    }
+
+    private boolean hasIndexedCondition(SearchRequest request) {
+        return hasText(request.getName()) || hasText(request.getCellPhone()) || hasText(request.getEmail())
+                || request.getAppliedFrom() != null || request.getAppliedTo() != null;
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
     @Override
     public Response update(Long applicationId, Request request) {
         Application application = applicationRepository.findById(applicationId).orElseThrow(()->{
@@ -67,6 +276,7 @@ public class ApplicationServiceImpl implements ApplicationService{
         application.setHopeAmount(request.getHopeAmount());
 
         applicationRepository.save(application);
+        applicationStateCache.invalidate(applicationId);
 
         return modelMapper.map(application, Response.class);
     }
@@ -80,54 +290,72 @@ public class ApplicationServiceImpl implements ApplicationService{
         application.setIsDeleted(true);
 
         applicationRepository.save(application);
+        applicationStateCache.invalidate(applicationId);
 
     }
 
     @Override
+    @Transactional
     public Boolean acceptTerms(Long applicationId, AcceptTerms request) {
         // check 1 - 대출 신청 정보가 존재해야 함
-        applicationRepository.findById(applicationId).orElseThrow(()->{
+        Application application = applicationRepository.findById(applicationId).orElseThrow(()->{
            throw new BaseException(ResultType.SYSTEM_ERROR);
         });
+        checkTransition(application.getStatus(), ApplicationStatus.TERMS_ACCEPTED);
 
-        // check 2 - 약관이 하나라도 있어야 함
-        List<Terms> termsList = termsRepository.findAll(Sort.by(Sort.Direction.ASC, "termsId"));
-        if(termsList.isEmpty()){
-            throw new BaseException(ResultType.SYSTEM_ERROR);
-        }
+        // check 2 - 약관이 하나라도 있어야 하고, 보여준 약관 목록 버전이 최신이어야 함
+        String productCode = request.getProductCode() == null ? Terms.DEFAULT_PRODUCT_CODE : request.getProductCode();
+        TermsCatalog.Version terms = latestTerms(productCode, request.getTermsVersion());
 
-        // check 3 - 만든 약관 수와, 고객이 넘긴 약관 수가 동일해야 한다. 근데 이건 대출 상품 1개에 약관 N개 존재한다는 가정에서만 작성된 코드인듯
+        // check 3 - 그 버전의 약관 모두에 한 번씩 동의해야 한다
         List<Long> acceptTermsIds = request.getAcceptTermsIds();
-        if(termsList.size() != acceptTermsIds.size()){
+        if(!terms.isAcceptedAll(acceptTermsIds)){
             throw new BaseException(ResultType.SYSTEM_ERROR);
         }
 
-        List<Long> termsIds = termsList.stream().map(Terms::getTermsId).collect(Collectors.toList());
-        Collections.sort(acceptTermsIds);
+        acceptTermsStore.save(applicationId, acceptTermsIds, terms);
 
-        if(!termsIds.containsAll(acceptTermsIds)){
-            throw new BaseException(ResultType.SYSTEM_ERROR);
+        compareAndSet(applicationId, application.getStatus(), ApplicationStatus.TERMS_ACCEPTED);
+
+        return true;
+    }
+
+    // 버전을 보내지 않은 요청은 최신 버전 기준
+    private TermsCatalog.Version latestTerms(String productCode, Integer shownVersion) {
+        TermsCatalog.Version latest = termsCatalog.get().findLatest(productCode);
+
+        // 다른 인스턴스에서 만든 버전은 스냅샷에 아직 없을 수 있다
+        if(shownVersion != null && (latest == null || shownVersion > latest.getVersion())){
+            latest = termsCatalog.refresh().findLatest(productCode);
         }
 
-        for(Long termsId : acceptTermsIds){
-            com.fastcampus.loan.domain.AcceptTerms accepted = com.fastcampus.loan.domain.AcceptTerms.builder()
-                    .termsId(termsId)
-                    .applicationId(applicationId)
-                    .build();
+        if(latest == null || latest.isEmpty()){
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+        if(shownVersion != null && shownVersion != latest.getVersion()){
+            throw new BaseException(shownVersion < latest.getVersion() ? ResultType.TERMS_VERSION_OUTDATED : ResultType.TERMS_VERSION_NOT_FOUND);
+        }
+        return latest;
+    }
 
-            acceptTermsRepository.save(accepted);
+    @Override
+    public AcceptedApplicationPage findAcceptedApplications(List<Long> termsIds, Long cursor, int size) {
+        if(termsIds == null || termsIds.isEmpty() || termsIds.contains(null)){
+            throw new BaseException(ResultType.INVALID_APPLICATION);
         }
 
-        return true;
+        return acceptTermsStore.findApplications(termsIds, cursor, Math.max(1, Math.min(size, MAX_ID_PAGE_SIZE)));
     }
 
     @Override
+    @Transactional
     public Response contract(Long applicationId) {
 
         // 신청 정보 있는지
         Application application = applicationRepository.findById(applicationId).orElseThrow(()->{
             throw new BaseException(ResultType.SYSTEM_ERROR);
         });
+        checkTransition(application.getStatus(), ApplicationStatus.CONTRACTED);
 
         // 심사 정보 있는지
         judgementRepository.findByApplicationId(applicationId).orElseThrow(()->{
@@ -140,11 +368,61 @@ public class ApplicationServiceImpl implements ApplicationService{
             throw new BaseException(ResultType.SYSTEM_ERROR);
         }
 
-        // 계약 체결
+        // 계약 체결, 동시에 들어온 계약은 상태 조건 update 에서 하나만 성공한다
+        compareAndSet(applicationId, application.getStatus(), ApplicationStatus.CONTRACTED);
         application.setContractedAt(LocalDateTime.now());
+        application.setStatus(ApplicationStatus.CONTRACTED);
         applicationRepository.save(application);
 
+        // 스케줄 시작일이 계약일로 바뀌었으므로 다시 계산
+        scheduleService.evict(applicationId);
+        applicationStateCache.invalidate(applicationId);
+
+        outboxService.append(applicationId, DomainEventType.APPLICATION_CONTRACTED,
+                modelMapper.map(application, Response.class));
 
         return null;
    }
+
+    @Override
+    public void transit(Long applicationId, ApplicationStatus status) {
+        ApplicationStatus current = applicationRepository.findStatusById(applicationId).orElseThrow(()->{
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        });
+
+        if(current == status){
+            return;
+        }
+
+        checkTransition(current, status);
+        compareAndSet(applicationId, current, status);
+    }
+
+    @Override
+    public void transit(Long applicationId, ApplicationStatus current, ApplicationStatus next) {
+        checkTransition(current, next);
+        compareAndSet(applicationId, current, next);
+    }
+
+    private void checkTransition(ApplicationStatus current, ApplicationStatus next){
+        if(current == null || !current.canTransitTo(next)){
+            throw new BaseException(ResultType.INVALID_APPLICATION_STATUS);
+        }
+    }
+
+    // 읽은 뒤 다른 요청이 먼저 상태를 바꿨으면 실패
+    private void compareAndSet(Long applicationId, ApplicationStatus current, ApplicationStatus next){
+        if(applicationRepository.updateStatus(applicationId, current, next) == 0){
+            throw new BaseException(ResultType.INVALID_APPLICATION_STATUS);
+        }
+
+        applicationStateCache.invalidate(applicationId);
+
+        outboxService.append(applicationId, DomainEventType.APPLICATION_STATUS_CHANGED,
+                StatusChange.builder()
+                        .applicationId(applicationId)
+                        .beforeStatus(current)
+                        .afterStatus(next)
+                        .build());
+    }
 }
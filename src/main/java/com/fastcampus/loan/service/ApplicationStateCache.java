@@ -0,0 +1,118 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.repository.ApplicationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 서비스 간 검증(신청 존재 여부, 계약 여부)에 쓰는 신청 상태 캐시.
+ * 엔티티 전체 대신 (존재, 삭제, 진행 상태, 승인 금액) 만 PK 로 조회해서 크기/TTL 제한 캐시에 들고 있고, 없는 신청도 캐시한다.
+ * 신청 정보를 바꾸는 쪽(ApplicationServiceImpl, JudgementServiceImpl.grant)에서 invalidate 하고,
+ * 다른 인스턴스의 변경은 TTL 이 지나면 반영된다. hit/miss 는 cache.gets{cache=applicationState} 로 확인한다.
+ */
+@Component
+public class ApplicationStateCache {
+
+    private static final String CACHE_NAME = "applicationState";
+
+    private final ApplicationRepository applicationRepository;
+
+    private final Cache<Long, State> cache;
+
+    public ApplicationStateCache(ApplicationRepository applicationRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${loan.application.state-cache.max-size:100000}") long maxSize,
+                                 @Value("${loan.application.state-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.applicationRepository = applicationRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public State get(Long applicationId) {
+        return cache.get(applicationId, this::load);
+    }
+
+    // 트랜잭션 안이면 커밋 전에 다른 요청이 이전 상태를 다시 캐시할 수 있으므로 완료 후 한 번 더 지운다
+    public void invalidate(Long applicationId) {
+        cache.invalidate(applicationId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(applicationId);
+                }
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private State load(Long applicationId) {
+        List<Object[]> rows = applicationRepository.findStateById(applicationId);
+        if (rows.isEmpty()) {
+            return State.ABSENT;
+        }
+
+        Object[] row = rows.get(0);
+        ApplicationStatus status = row[1] == null ? null : ApplicationStatus.valueOf((String) row[1]);
+        return new State(true, Boolean.TRUE.equals(row[0]), status, (BigDecimal) row[2]);
+    }
+
+    @Getter
+    public static final class State {
+
+        static final State ABSENT = new State(false, false, null, null);
+
+        private final boolean exists;
+
+        private final boolean deleted;
+
+        private final ApplicationStatus status;
+
+        private final BigDecimal approvalAmount;
+
+        public State(boolean exists, boolean deleted, ApplicationStatus status, BigDecimal approvalAmount) {
+            this.exists = exists;
+            this.deleted = deleted;
+            this.status = status;
+            this.approvalAmount = approvalAmount;
+        }
+
+        // 존재하고 삭제되지 않은 신청
+        public boolean isPresent() {
+            return exists && !deleted;
+        }
+
+        public boolean is(ApplicationStatus status) {
+            return isPresent() && this.status == status;
+        }
+
+        public boolean canTransitTo(ApplicationStatus next) {
+            return isPresent() && status != null && status.canTransitTo(next);
+        }
+
+        public boolean isRepayable() {
+            return isPresent() && status != null && status.isRepayable();
+        }
+    }
+}
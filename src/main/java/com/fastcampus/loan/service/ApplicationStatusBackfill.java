@@ -0,0 +1,76 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.ApplicationStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * status 컬럼 추가 전에 만들어진 신청의 진행 상태를 기존 데이터로 채운다.
+ * 가장 많이 진행된 상태부터 status 가 비어 있는 행만 갱신하므로 여러 번 실행해도 결과가 같다.
+ */
+@Slf4j
+@Component
+public class ApplicationStatusBackfill implements ApplicationRunner {
+
+    private static final String UPDATE_SQL = "update application a set status = ? where a.status is null and ";
+
+    private static final String HAS_ENTRY = "exists (select 1 from entry e where e.application_id = a.application_id and e.is_deleted = false)";
+
+    private static final String HAS_REPAYMENT = "exists (select 1 from repayment r where r.application_id = a.application_id and r.is_deleted = false)";
+
+    // 스냅샷 + 스냅샷 이후 journal tail 이 0 이하
+    private static final String NO_BALANCE = "not exists (select 1 from balance b where b.application_id = a.application_id and b.is_deleted = false "
+            + "and b.balance + coalesce((select sum(j.amount) from balance_journal j "
+            + "where j.application_id = a.application_id and j.balance_journal_id > coalesce(b.last_journal_id, 0)), 0) > 0)";
+
+    private static final Map<ApplicationStatus, String> CONDITIONS = new LinkedHashMap<>();
+
+    static {
+        CONDITIONS.put(ApplicationStatus.CLOSED, HAS_ENTRY + " and " + HAS_REPAYMENT + " and " + NO_BALANCE);
+        CONDITIONS.put(ApplicationStatus.REPAYING, HAS_ENTRY + " and " + HAS_REPAYMENT);
+        CONDITIONS.put(ApplicationStatus.DISBURSED, HAS_ENTRY);
+        CONDITIONS.put(ApplicationStatus.CONTRACTED, "a.contracted_at is not null");
+        CONDITIONS.put(ApplicationStatus.GRANTED, "a.approval_amount is not null");
+        CONDITIONS.put(ApplicationStatus.JUDGED, "exists (select 1 from judgement j where j.application_id = a.application_id and j.is_deleted = false)");
+        CONDITIONS.put(ApplicationStatus.TERMS_ACCEPTED, "(exists (select 1 from accept_terms t where t.application_id = a.application_id and t.is_deleted = false) "
+                + "or exists (select 1 from accept_terms_bitmap t where t.application_id = a.application_id and t.is_deleted = false))");
+        CONDITIONS.put(ApplicationStatus.APPLIED, "1 = 1");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean enabled;
+
+    public ApplicationStatusBackfill(JdbcTemplate jdbcTemplate,
+                                     @Value("${loan.application.status-backfill.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    public int backfill() {
+        int total = 0;
+        for (Map.Entry<ApplicationStatus, String> condition : CONDITIONS.entrySet()) {
+            int updated = jdbcTemplate.update(UPDATE_SQL + condition.getValue(), condition.getKey().name());
+            if (updated > 0) {
+                log.info("backfilled {} applications to {}", updated, condition.getKey());
+            }
+            total += updated;
+        }
+
+        return total;
+    }
+}
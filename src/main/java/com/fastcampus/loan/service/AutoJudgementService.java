@@ -0,0 +1,12 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.dto.JudgementDTO;
+
+public interface AutoJudgementService {
+
+    // 약관 동의까지 끝난 신청 하나를 규칙으로 심사
+    JudgementDTO.Response judge(Long applicationId);
+
+    // 약관 동의까지 끝나고 심사가 없는 신청 전체를 규칙으로 심사
+    JudgementDTO.BatchResponse judgeAll();
+}
@@ -0,0 +1,387 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.DomainEventType;
+import com.fastcampus.loan.domain.Judgement;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.dto.ApplicationDTO.StatusChange;
+import com.fastcampus.loan.dto.JudgementDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.JudgementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * JudgementEngine 규칙으로 자동 심사.
+ * 배치는 약관 동의까지 끝난 신청을 ID 구간(partitionSize)으로 나눠 ForkJoinPool 에서 동시에 처리한다 (기본 CPU 수만큼).
+ * 구간마다 신청과 같은 전화번호의 이력(상환 중/완료 대출, 진행 중 신청, 잔고)을 읽어서 평가하고,
+ * batchSize 건씩 상태 변경(TERMS_ACCEPTED -> JUDGED) + 심사 저장 + 상태 변경 이벤트를 한 트랜잭션으로 저장한다.
+ * 심사가 저장된 신청은 상태가 바뀌므로 다시 돌리면 남은 신청만 심사한다.
+ */
+@Slf4j
+@Service
+public class AutoJudgementServiceImpl implements AutoJudgementService {
+
+    private static final String RANGE_SQL = "select min(application_id), max(application_id) from application "
+            + "where status = 'TERMS_ACCEPTED' and is_deleted = false";
+
+    private static final String PENDING_SQL = "select a.application_id, a.cell_phone, a.hope_amount, a.interest_rate, a.applied_at, a.maturity "
+            + "from application a where a.application_id >= ? and a.application_id < ? "
+            + "and a.status = 'TERMS_ACCEPTED' and a.is_deleted = false "
+            + "and not exists (select 1 from judgement j where j.application_id = a.application_id and j.is_deleted = false) "
+            + "order by a.application_id";
+
+    // 전화번호별 [상환 중 대출 수, 상환 완료 대출 수, 진행 중 신청 수, 상환 중 잔고 합(스냅샷 + journal tail)]
+    private static final String HISTORY_SQL = "select h.cell_phone, "
+            + "sum(case when h.status in ('DISBURSED', 'REPAYING') then 1 else 0 end), "
+            + "sum(case when h.status = 'CLOSED' then 1 else 0 end), "
+            + "sum(case when h.status in ('APPLIED', 'TERMS_ACCEPTED', 'JUDGED', 'GRANTED', 'CONTRACTED') then 1 else 0 end), "
+            + "sum(case when h.status in ('DISBURSED', 'REPAYING') then coalesce(b.balance, 0) "
+            + "+ coalesce((select sum(j.amount) from balance_journal j where j.application_id = h.application_id "
+            + "and j.balance_journal_id > coalesce(b.last_journal_id, 0) and j.is_deleted = false), 0) else 0 end) "
+            + "from application h left join balance b on b.application_id = h.application_id and b.is_deleted = false "
+            + "where h.cell_phone in (%s) and h.is_deleted = false "
+            + "group by h.cell_phone";
+
+    private static final String UPDATE_SQL = "update application set status = 'JUDGED' "
+            + "where application_id = ? and status = 'TERMS_ACCEPTED' and is_deleted = false";
+
+    // 이력 조회 IN 절 크기
+    private static final int HISTORY_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final JudgementRepository judgementRepository;
+
+    private final ApplicationStateCache applicationStateCache;
+
+    private final OutboxService outboxService;
+
+    private final JudgementEngine judgementEngine;
+
+    private final ModelMapper modelMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final long partitionSize;
+
+    private final int fetchSize;
+
+    private final int batchSize;
+
+    private final ForkJoinPool pool;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public AutoJudgementServiceImpl(JdbcTemplate jdbcTemplate,
+                                    JudgementRepository judgementRepository,
+                                    ApplicationStateCache applicationStateCache,
+                                    OutboxService outboxService,
+                                    JudgementEngine judgementEngine,
+                                    ModelMapper modelMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${loan.judgement.batch.parallelism:0}") int parallelism,
+                                    @Value("${loan.judgement.batch.partition-size:10000}") long partitionSize,
+                                    @Value("${loan.judgement.batch.fetch-size:1000}") int fetchSize,
+                                    @Value("${loan.judgement.batch.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.judgementRepository = judgementRepository;
+        this.applicationStateCache = applicationStateCache;
+        this.outboxService = outboxService;
+        this.judgementEngine = judgementEngine;
+        this.modelMapper = modelMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionSize = partitionSize;
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+        // 0 이면 CPU 수만큼
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public JudgementDTO.Response judge(Long applicationId) {
+        if (!applicationStateCache.get(applicationId).isPresent()) {
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+
+        // 약관 동의 상태가 아니거나 이미 심사가 있는 신청은 읽히지 않는다
+        Rows rows = read(applicationId, applicationId + 1);
+        if (rows.size == 0) {
+            throw new BaseException(ResultType.INVALID_APPLICATION_STATUS);
+        }
+
+        JudgementEngine.Stats stats = judgementEngine.newStats();
+        long[] approvalCents = evaluate(rows, stats);
+        judgementEngine.record(stats);
+
+        List<Judgement> saved = transactionTemplate.execute(status -> write(rows, approvalCents, 0, rows.size));
+        if (saved == null || saved.isEmpty()) {
+            throw new BaseException(ResultType.INVALID_APPLICATION_STATUS);
+        }
+
+        return modelMapper.map(saved.get(0), JudgementDTO.Response.class);
+    }
+
+    @Override
+    public JudgementDTO.BatchResponse judgeAll() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BaseException(ResultType.JUDGEMENT_IN_PROGRESS);
+        }
+
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private JudgementDTO.BatchResponse run() {
+        long start = System.nanoTime();
+        JudgementEngine.Stats stats = judgementEngine.newStats();
+
+        List<Callable<long[]>> tasks = new ArrayList<>();
+        long[] range = jdbcTemplate.queryForObject(RANGE_SQL, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        if (range != null && range[1] > 0) {
+            for (long from = (range[0] / partitionSize) * partitionSize; from <= range[1]; from += partitionSize) {
+                long fromApplicationId = from;
+                tasks.add(() -> judgePartition(fromApplicationId, fromApplicationId + partitionSize, stats));
+            }
+        }
+
+        // [평가, 승인, 거절, 건너뜀]
+        long[] counts = new long[4];
+        int failed = 0;
+        for (Future<long[]> future : pool.invokeAll(tasks)) {
+            try {
+                long[] partitionCounts = future.get();
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += partitionCounts[i];
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BaseException(ResultType.SYSTEM_ERROR);
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+
+        long elapsedMillis = Math.max(1L, (System.nanoTime() - start) / 1_000_000L);
+        long applicationsPerSecond = counts[0] * 1000L / elapsedMillis;
+        log.info("judgement : {} applications in {} ms ({} applications/s), approved {}, rejected {}, skipped {}, partitions {} (failed {})",
+                counts[0], elapsedMillis, applicationsPerSecond, counts[1], counts[2], counts[3], tasks.size(), failed);
+
+        return JudgementDTO.BatchResponse.builder()
+                .partitionCount(tasks.size())
+                .failedPartitionCount(failed)
+                .evaluatedCount(counts[0])
+                .approvedCount(counts[1])
+                .rejectedCount(counts[2])
+                .skippedCount(counts[3])
+                .elapsedMillis(elapsedMillis)
+                .applicationsPerSecond(applicationsPerSecond)
+                .rules(judgementEngine.toRuleStats(stats))
+                .build();
+    }
+
+    private long[] judgePartition(long fromApplicationId, long toApplicationId, JudgementEngine.Stats batchStats) {
+        try {
+            Rows rows = read(fromApplicationId, toApplicationId);
+
+            JudgementEngine.Stats stats = judgementEngine.newStats();
+            long[] approvalCents = evaluate(rows, stats);
+            judgementEngine.record(stats);
+            batchStats.merge(stats);
+
+            long approved = 0;
+            long rejected = 0;
+            for (int from = 0; from < rows.size; from += batchSize) {
+                int start = from;
+                int end = Math.min(rows.size, from + batchSize);
+                List<Judgement> saved = transactionTemplate.execute(status -> write(rows, approvalCents, start, end));
+                for (Judgement judgement : saved) {
+                    if (judgement.getApprovalAmount().signum() > 0) {
+                        approved++;
+                    } else {
+                        rejected++;
+                    }
+                }
+            }
+
+            return new long[]{rows.size, approved, rejected, rows.size - approved - rejected};
+        } catch (RuntimeException e) {
+            log.error("judgement partition [{}, {}) failed", fromApplicationId, toApplicationId, e);
+            throw e;
+        }
+    }
+
+    private Rows read(long fromApplicationId, long toApplicationId) {
+        Rows rows = new Rows();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(PENDING_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, fromApplicationId);
+            ps.setLong(2, toApplicationId);
+            return ps;
+        }, rs -> {
+            BigDecimal hopeAmount = rs.getBigDecimal(3);
+            BigDecimal interestRate = rs.getBigDecimal(4);
+            Timestamp appliedAt = rs.getTimestamp(5);
+            Timestamp maturity = rs.getTimestamp(6);
+            rows.add(rs.getLong(1), rs.getString(2),
+                    hopeAmount == null ? 0L : Money.of(hopeAmount).getCents(),
+                    interestRate == null ? 0L : interestRate.setScale(4, RoundingMode.HALF_EVEN).unscaledValue().longValueExact(),
+                    appliedAt == null || maturity == null ? 0L
+                            : ChronoUnit.MONTHS.between(appliedAt.toLocalDateTime(), maturity.toLocalDateTime()));
+        });
+        return rows;
+    }
+
+    private long[] evaluate(Rows rows, JudgementEngine.Stats stats) {
+        Map<String, long[]> histories = readHistories(rows);
+
+        long[] features = judgementEngine.newFeatures();
+        long[] approvalCents = new long[rows.size];
+        for (int i = 0; i < rows.size; i++) {
+            long[] history = rows.cellPhones[i] == null ? null : histories.get(rows.cellPhones[i]);
+            features[JudgementEngine.Feature.HOPE_AMOUNT.ordinal()] = rows.hopeCents[i];
+            features[JudgementEngine.Feature.INTEREST_RATE.ordinal()] = rows.rateUnits[i];
+            features[JudgementEngine.Feature.MATURITY_MONTHS.ordinal()] = rows.maturityMonths[i];
+            features[JudgementEngine.Feature.ACTIVE_LOAN_COUNT.ordinal()] = history == null ? 0L : history[0];
+            features[JudgementEngine.Feature.CLOSED_LOAN_COUNT.ordinal()] = history == null ? 0L : history[1];
+            // 진행 중 신청 수에 이 신청도 들어 있다
+            features[JudgementEngine.Feature.OTHER_APPLICATION_COUNT.ordinal()] = history == null ? 0L : Math.max(0L, history[2] - 1);
+            features[JudgementEngine.Feature.OUTSTANDING_BALANCE.ordinal()] = history == null ? 0L : history[3];
+
+            approvalCents[i] = judgementEngine.evaluate(features, stats);
+        }
+        return approvalCents;
+    }
+
+    private Map<String, long[]> readHistories(Rows rows) {
+        Set<String> cellPhones = new LinkedHashSet<>();
+        for (int i = 0; i < rows.size; i++) {
+            if (rows.cellPhones[i] != null) {
+                cellPhones.add(rows.cellPhones[i]);
+            }
+        }
+
+        Map<String, long[]> histories = new HashMap<>(cellPhones.size() * 2);
+        List<String> chunk = new ArrayList<>(HISTORY_CHUNK_SIZE);
+        for (String cellPhone : cellPhones) {
+            chunk.add(cellPhone);
+            if (chunk.size() == HISTORY_CHUNK_SIZE) {
+                readHistories(chunk, histories);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            readHistories(chunk, histories);
+        }
+        return histories;
+    }
+
+    private void readHistories(List<String> cellPhones, Map<String, long[]> histories) {
+        String sql = String.format(HISTORY_SQL, String.join(", ", Collections.nCopies(cellPhones.size(), "?")));
+        jdbcTemplate.query(sql, rs -> {
+            BigDecimal balance = rs.getBigDecimal(5);
+            histories.put(rs.getString(1), new long[]{rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                    balance == null ? 0L : Money.of(balance).getCents()});
+        }, cellPhones.toArray());
+    }
+
+    // 읽은 뒤 다른 요청이 상태를 바꾼 신청은 건너뛴다
+    private List<Judgement> write(Rows rows, long[] approvalCents, int from, int to) {
+        List<Object[]> applicationIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            applicationIds.add(new Object[]{rows.applicationIds[i]});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, applicationIds);
+
+        List<Judgement> judgements = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            if (updated[i - from] == 0) {
+                continue;
+            }
+            judgements.add(Judgement.builder()
+                    .applicationId(rows.applicationIds[i])
+                    .name(judgementEngine.getReviewer())
+                    .approvalAmount(BigDecimal.valueOf(approvalCents[i], Money.SCALE))
+                    .build());
+        }
+        List<Judgement> saved = judgementRepository.saveAll(judgements);
+
+        for (Judgement judgement : saved) {
+            applicationStateCache.invalidate(judgement.getApplicationId());
+            outboxService.append(judgement.getApplicationId(), DomainEventType.APPLICATION_STATUS_CHANGED,
+                    StatusChange.builder()
+                            .applicationId(judgement.getApplicationId())
+                            .beforeStatus(ApplicationStatus.TERMS_ACCEPTED)
+                            .afterStatus(ApplicationStatus.JUDGED)
+                            .build());
+        }
+        return saved;
+    }
+
+    // 한 구간의 심사 대상, 엔티티 대신 배열
+    private static final class Rows {
+
+        private long[] applicationIds = new long[1024];
+
+        private String[] cellPhones = new String[1024];
+
+        private long[] hopeCents = new long[1024];
+
+        private long[] rateUnits = new long[1024];
+
+        private long[] maturityMonths = new long[1024];
+
+        private int size;
+
+        private void add(long applicationId, String cellPhone, long hope, long rate, long months) {
+            if (size == applicationIds.length) {
+                applicationIds = Arrays.copyOf(applicationIds, size * 2);
+                cellPhones = Arrays.copyOf(cellPhones, size * 2);
+                hopeCents = Arrays.copyOf(hopeCents, size * 2);
+                rateUnits = Arrays.copyOf(rateUnits, size * 2);
+                maturityMonths = Arrays.copyOf(maturityMonths, size * 2);
+            }
+            applicationIds[size] = applicationId;
+            cellPhones[size] = cellPhone;
+            hopeCents[size] = hope;
+            rateUnits[size] = rate;
+            maturityMonths[size] = months;
+            size++;
+        }
+    }
+}
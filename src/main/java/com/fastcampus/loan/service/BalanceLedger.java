@@ -0,0 +1,433 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Balance;
+import com.fastcampus.loan.domain.BalanceJournal;
+import com.fastcampus.loan.domain.BalanceJournalType;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.dto.BalanceDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.BalanceJournalRepository;
+import com.fastcampus.loan.repository.BalanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 대출 잔고 원장.
+ * 잔고 변경은 BalanceJournal 에 append 만 하고, 잔고는 마지막 스냅샷(Balance) + 그 이후 journal tail 로 계산한다.
+ * 계산된 잔고는 applicationId 별 stripe lock 안에서 메모리에 들고 있고, 변경된 잔고의 스냅샷은 flush 주기마다 모아서 저장한다. (write-behind)
+ * 트랜잭션 안에서 append 된 잔고는 커밋 전까지 flush 하지 않고, 롤백되면 그 차액만 메모리 잔고에서 되돌린다.
+ * (잔고를 버리고 다시 계산하면 같은 신청의 아직 커밋되지 않은 다른 트랜잭션 journal 이 빠진다)
+ * <p>
+ * 메모리 잔고와 lastJournalId 는 이 JVM 만 journal 을 쓴다고 가정한다. journal id 는 pooled sequence 라 인스턴스가 여럿이면
+ * 서로 섞여서, 다른 인스턴스가 쓴 journal 이 lastJournalId 뒤로 밀려 tail 에서 빠지고 메모리 잔고도 낡는다.
+ * 그래서 원장은 한 인스턴스에서만 돌아야 하고(k8s/deployment.yaml 은 replicas 1, Recreate), 이를 DB lease 로 강제한다.
+ * 시작할 때 lease 를 잡지 못하면 뜨지 않고, flush 마다 lease 를 늘리며, 늘리지 못하면 메모리 잔고를 버리고 읽기/쓰기를 거절한다.
+ */
+@Slf4j
+@Component
+public class BalanceLedger {
+
+    static final String LEASE_NAME = "balance-ledger";
+
+    private final BalanceRepository balanceRepository;
+
+    private final BalanceJournalRepository balanceJournalRepository;
+
+    private final LeaseService leaseService;
+
+    private final ReentrantLock[] stripes;
+
+    private final int flushBatchSize;
+
+    private final int maxCells;
+
+    private final Duration lease;
+
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+
+    // lease 를 잡고 있는 동안만 true
+    private volatile boolean owner;
+
+    public BalanceLedger(BalanceRepository balanceRepository,
+                         BalanceJournalRepository balanceJournalRepository,
+                         LeaseService leaseService,
+                         @Value("${loan.balance.ledger.stripes:64}") int stripeCount,
+                         @Value("${loan.balance.ledger.flush-batch-size:500}") int flushBatchSize,
+                         @Value("${loan.balance.ledger.max-cells:100000}") int maxCells,
+                         @Value("${loan.balance.ledger.lease-ms:30000}") long leaseMs) {
+        this.balanceRepository = balanceRepository;
+        this.balanceJournalRepository = balanceJournalRepository;
+        this.leaseService = leaseService;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.flushBatchSize = flushBatchSize;
+        this.maxCells = maxCells;
+        this.lease = Duration.ofMillis(leaseMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!leaseService.acquire(LEASE_NAME, lease)) {
+            throw new IllegalStateException("balance ledger is owned by another instance, it supports a single instance only");
+        }
+        owner = true;
+    }
+
+    // 잔고를 amount 로 설정, 현재 잔고와의 차액을 journal 에 남긴다
+    public BalanceDTO.Response reset(Long applicationId, BalanceJournalType type, Money amount) {
+        checkOwner();
+        ReentrantLock lock = stripeOf(applicationId);
+        lock.lock();
+        try {
+            Cell cell = load(applicationId, true);
+
+            append(applicationId, cell, type, Money.subtractExact(amount.getCents(), cell.balanceCents));
+
+            return cell.toResponse(applicationId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 잔고에 delta 를 더하고 journal 에 남긴다, 잔고가 없으면 예외
+    public BalanceDTO.Response apply(Long applicationId, BalanceJournalType type, Money delta) {
+        checkOwner();
+        ReentrantLock lock = stripeOf(applicationId);
+        lock.lock();
+        try {
+            Cell cell = load(applicationId, false);
+
+            append(applicationId, cell, type, delta.getCents());
+
+            return cell.toResponse(applicationId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public BalanceDTO.Response get(Long applicationId) {
+        checkOwner();
+        ReentrantLock lock = stripeOf(applicationId);
+        lock.lock();
+        try {
+            return load(applicationId, false).toResponse(applicationId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 스냅샷 이후 journal 이 쌓인 잔고를 불러와서 다음 flush 때 새 스냅샷으로 저장되게 한다
+    public void compact(Collection<Long> applicationIds) {
+        checkOwner();
+        for (Long applicationId : applicationIds) {
+            ReentrantLock lock = stripeOf(applicationId);
+            lock.lock();
+            try {
+                load(applicationId, false);
+            } catch (BaseException e) {
+                log.warn("balance of application {} can not be compacted", applicationId);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        flush();
+    }
+
+    /**
+     * 변경된 잔고의 스냅샷을 flushBatchSize 단위로 모아서 저장한다.
+     * 저장하는 동안 다시 변경된 잔고는 version 이 달라지므로 다음 flush 때 다시 저장된다.
+     * 스냅샷이 유실되더라도 journal 이 남아있으므로 다음 load 때 tail 로 다시 계산된다.
+     * 저장하기 전에 lease 를 늘리고, 다른 인스턴스에 넘어갔으면 저장하지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${loan.balance.ledger.flush-interval-ms:1000}")
+    public synchronized int flush() {
+        if (!renew()) {
+            return 0;
+        }
+
+        List<Pending> batch = new ArrayList<>(flushBatchSize);
+        int flushed = 0;
+
+        for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+            Long applicationId = entry.getKey();
+            Cell cell = entry.getValue();
+
+            ReentrantLock lock = stripeOf(applicationId);
+            lock.lock();
+            try {
+                if (cell.isDirty() && cell.uncommitted == 0) {
+                    batch.add(new Pending(applicationId, cell, cell.version, cell.toSnapshot()));
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (batch.size() >= flushBatchSize) {
+                flushed += save(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            flushed += save(batch);
+        }
+
+        evictCleanCells();
+
+        return flushed;
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+        if (owner) {
+            owner = false;
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    private boolean renew() {
+        if (leaseService.acquire(LEASE_NAME, lease)) {
+            if (!owner) {
+                // 놓친 동안 다른 인스턴스가 쓴 journal 이 있을 수 있으므로 다시 잡으면 잔고를 journal 에서 다시 읽는다
+                cells.clear();
+                owner = true;
+            }
+            return true;
+        }
+
+        if (owner) {
+            log.error("balance ledger lease is lost to another instance, dropping in-memory balances");
+            owner = false;
+            cells.clear();
+        }
+        return false;
+    }
+
+    private void checkOwner() {
+        if (!owner) {
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+    }
+
+    // stripe lock 을 잡은 상태에서만 호출
+    private void append(Long applicationId, Cell cell, BalanceJournalType type, long deltaCents) {
+        long balanceCents = Money.addExact(cell.balanceCents, deltaCents);
+
+        BalanceJournal journal = balanceJournalRepository.save(BalanceJournal.builder()
+                .applicationId(applicationId)
+                .type(type)
+                .amount(Money.ofCents(deltaCents))
+                .build());
+
+        cell.balanceCents = balanceCents;
+        cell.lastJournalId = journal.getBalanceJournalId();
+        cell.version++;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            cell.uncommitted++;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    complete(applicationId, cell, deltaCents, status == STATUS_COMMITTED);
+                }
+            });
+        }
+    }
+
+    private void complete(Long applicationId, Cell cell, long deltaCents, boolean committed) {
+        ReentrantLock lock = stripeOf(applicationId);
+        lock.lock();
+        try {
+            cell.uncommitted--;
+            if (!committed) {
+                // 롤백된 journal 의 차액만 되돌린다, uncommitted 가 남아 있는 동안 cell 은 flush, evict 되지 않으므로 같은 cell 이다
+                cell.balanceCents = Money.subtractExact(cell.balanceCents, deltaCents);
+                cell.version++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // stripe lock 을 잡은 상태에서만 호출, 스냅샷 + 스냅샷 이후 journal tail
+    private Cell load(Long applicationId, boolean createIfAbsent) {
+        Cell cell = cells.get(applicationId);
+        if (cell != null) {
+            return cell;
+        }
+
+        Balance snapshot = balanceRepository.findByApplicationId(applicationId).orElseGet(() -> {
+            Balance created = Balance.builder()
+                    .applicationId(applicationId)
+                    .balance(Money.ZERO)
+                    .lastJournalId(0L)
+                    .build();
+            created.setIsDeleted(false);
+            return created;
+        });
+        long snapshotJournalId = snapshot.getLastJournalId() == null ? 0L : snapshot.getLastJournalId();
+
+        List<BalanceJournal> tail = balanceJournalRepository
+                .findAllByApplicationIdAndBalanceJournalIdGreaterThanOrderByBalanceJournalIdAsc(applicationId, snapshotJournalId);
+
+        if (snapshot.getBalanceId() == null && tail.isEmpty() && !createIfAbsent) {
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+
+        cell = new Cell(snapshot, snapshotJournalId);
+        for (BalanceJournal journal : tail) {
+            cell.balanceCents = Money.addExact(cell.balanceCents, journal.getAmount().getCents());
+            cell.lastJournalId = journal.getBalanceJournalId();
+        }
+        if (!tail.isEmpty()) {
+            cell.version++;
+        }
+
+        cells.put(applicationId, cell);
+        return cell;
+    }
+
+    private int save(List<Pending> batch) {
+        List<Balance> snapshots = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            snapshots.add(pending.snapshot);
+        }
+
+        List<Balance> saved;
+        try {
+            saved = balanceRepository.saveAll(snapshots);
+        } catch (RuntimeException e) {
+            // 저장 실패한 스냅샷은 dirty 로 남아 다음 flush 때 다시 저장된다
+            log.error("failed to flush {} balances", batch.size(), e);
+            return 0;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            ReentrantLock lock = stripeOf(pending.applicationId);
+            lock.lock();
+            try {
+                pending.cell.persisted = saved.get(i);
+                pending.cell.flushedVersion = Math.max(pending.cell.flushedVersion, pending.version);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return batch.size();
+    }
+
+    private void evictCleanCells() {
+        if (cells.size() <= maxCells) {
+            return;
+        }
+
+        for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+            if (cells.size() <= maxCells) {
+                return;
+            }
+
+            ReentrantLock lock = stripeOf(entry.getKey());
+            lock.lock();
+            try {
+                if (!entry.getValue().isDirty() && entry.getValue().uncommitted == 0) {
+                    cells.remove(entry.getKey());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ReentrantLock stripeOf(Long applicationId) {
+        int hash = Long.hashCode(applicationId);
+        hash ^= (hash >>> 16);
+        return stripes[(hash & Integer.MAX_VALUE) % stripes.length];
+    }
+
+    private static final class Cell {
+
+        // 마지막으로 저장된 스냅샷, balanceId 와 audit 컬럼을 들고 있다
+        private Balance persisted;
+
+        // 잔고 계산은 할당 없이 long 으로
+        private long balanceCents;
+
+        private long lastJournalId;
+
+        private long version;
+
+        private long flushedVersion;
+
+        // 아직 커밋되지 않은 트랜잭션에서 append 된 journal 수
+        private int uncommitted;
+
+        private Cell(Balance persisted, long lastJournalId) {
+            this.persisted = persisted;
+            this.balanceCents = persisted.getBalance().getCents();
+            this.lastJournalId = lastJournalId;
+        }
+
+        private boolean isDirty() {
+            return version != flushedVersion;
+        }
+
+        private Balance toSnapshot() {
+            Balance snapshot = Balance.builder()
+                    .balanceId(persisted.getBalanceId())
+                    .applicationId(persisted.getApplicationId())
+                    .balance(Money.ofCents(balanceCents))
+                    .lastJournalId(lastJournalId)
+                    .build();
+            snapshot.setIsDeleted(persisted.getIsDeleted());
+            snapshot.setCreatedAt(persisted.getCreatedAt());
+            snapshot.setUpdatedAt(persisted.getUpdatedAt());
+            return snapshot;
+        }
+
+        private BalanceDTO.Response toResponse(Long applicationId) {
+            return BalanceDTO.Response.builder()
+                    .balanceId(persisted.getBalanceId())
+                    .applicationId(applicationId)
+                    .balance(Money.ofCents(balanceCents))
+                    .build();
+        }
+    }
+
+    private static final class Pending {
+
+        private final Long applicationId;
+
+        private final Cell cell;
+
+        private final long version;
+
+        private final Balance snapshot;
+
+        private Pending(Long applicationId, Cell cell, long version, Balance snapshot) {
+            this.applicationId = applicationId;
+            this.cell = cell;
+            this.version = version;
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.fastcampus.loan.dto.BalanceDTO;
 
 public interface BalanceService {
 
+    BalanceDTO.Response get(Long applicationId);
+
     BalanceDTO.Response create(Long applicationId, BalanceDTO.Request request);
 
     BalanceDTO.Response update(Long applicationId, BalanceDTO.UpdateRequest request);
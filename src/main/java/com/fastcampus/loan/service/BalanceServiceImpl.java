@@ -1,88 +1,60 @@
 package com.fastcampus.loan.service;
 
-import com.fastcampus.loan.domain.Balance;
+import com.fastcampus.loan.domain.BalanceJournalType;
+import com.fastcampus.loan.domain.Money;
 import com.fastcampus.loan.dto.BalanceDTO;
-import com.fastcampus.loan.exception.BaseException;
-import com.fastcampus.loan.exception.ResultType;
-import com.fastcampus.loan.repository.BalanceRepository;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-
 @Service
 @RequiredArgsConstructor
 public class BalanceServiceImpl implements BalanceService {
 
-    private final BalanceRepository balanceRepository;
+    private final BalanceLedger balanceLedger;
 
-    private final ModelMapper modelMapper;
+    private final ApplicationEventStream applicationEventStream;
 
     @Override
-    public BalanceDTO.Response create(Long applicationId, BalanceDTO.Request request) {
-
-        Balance balance = modelMapper.map(request, Balance.class);
-
-        BigDecimal entryAmount = request.getEntryAmount();
-        balance.setApplicationId(applicationId);
-        balance.setBalance(entryAmount);
+    public BalanceDTO.Response get(Long applicationId) {
+        return balanceLedger.get(applicationId);
+    }
 
-        balanceRepository.findByApplicationId(applicationId).ifPresent(b -> {
-            balance.setBalanceId(b.getBalanceId());
-            balance.setIsDeleted(b.getIsDeleted());
-            balance.setCreatedAt(b.getCreatedAt());
-            balance.setUpdatedAt(b.getUpdatedAt());
-        });
+    @Override
+    public BalanceDTO.Response create(Long applicationId, BalanceDTO.Request request) {
 
-        Balance saved = balanceRepository.save(balance);
+        Money entryAmount = request.getEntryAmount();
 
-        return modelMapper.map(saved, BalanceDTO.Response.class);
+        return publish(applicationId, balanceLedger.reset(applicationId, BalanceJournalType.ENTRY_BOOKED, entryAmount));
     }
 
     @Override
     public BalanceDTO.Response update(Long applicationId, BalanceDTO.UpdateRequest request) {
 
-        // balance, 대출 잔액 가져오기
-        Balance balance = balanceRepository.findByApplicationId(applicationId).orElseThrow(()->{
-            throw new BaseException(ResultType.SYSTEM_ERROR);
-        });
-
-        BigDecimal beforeEntryAmount = request.getBeforeEntryAmount();
-        BigDecimal afterEntryAmount = request.getAfterEntryAmount();
-        BigDecimal updatedBalance = balance.getBalance();
+        Money beforeEntryAmount = request.getBeforeEntryAmount();
+        Money afterEntryAmount = request.getAfterEntryAmount();
 
         // 잘못 요청된 대출 집행 금액은 빼주고, 수정된 대출 집행 금액은 더해서 수정
         // as-is -> to-be
-        updatedBalance = updatedBalance.subtract(beforeEntryAmount).add(afterEntryAmount);
-        balance.setBalance(updatedBalance);
-
-        Balance updated = balanceRepository.save(balance);
-
-        return modelMapper.map(updated, BalanceDTO.Response.class);
+        return publish(applicationId, balanceLedger.apply(applicationId, BalanceJournalType.ENTRY_AMENDED, afterEntryAmount.subtract(beforeEntryAmount)));
     }
 
     @Override
     public BalanceDTO.Response repaymentUpdate(Long applicationId, BalanceDTO.RepaymentRequest request) {
-        Balance balance = balanceRepository.findByApplicationId(applicationId).orElseThrow(() -> {
-            throw new BaseException(ResultType.SYSTEM_ERROR);
-        });
 
-        BigDecimal updatedBalance = balance.getBalance();
-        BigDecimal repaymentAmount = request.getRepaymentAmount();
+        Money repaymentAmount = request.getRepaymentAmount();
 
         // 상환 정상 : balance - repaymentAmount
         // 상환금 금액 : balance + repaymentAmount
         if(request.getType().equals(BalanceDTO.RepaymentRequest.RepaymentType.ADD)){
-            updatedBalance = updatedBalance.add(repaymentAmount);
+            return publish(applicationId, balanceLedger.apply(applicationId, BalanceJournalType.REPAYMENT_REVERSED, repaymentAmount));
         } else {
-            updatedBalance = updatedBalance.subtract(repaymentAmount);
+            return publish(applicationId, balanceLedger.apply(applicationId, BalanceJournalType.REPAYMENT_BOOKED, repaymentAmount.negate()));
         }
+    }
 
-        balance.setBalance(updatedBalance);
-
-        Balance updated = balanceRepository.save(balance);
-
-        return modelMapper.map(updated, BalanceDTO.Response.class);
+    // 잔고 변경을 구독 중인 SSE 연결에 보낸다
+    private BalanceDTO.Response publish(Long applicationId, BalanceDTO.Response balance) {
+        applicationEventStream.publishBalance(applicationId, balance);
+        return balance;
     }
 }
@@ -0,0 +1,44 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.repository.BalanceJournalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 스냅샷 이후 journal tail 이 minTail 건 이상 쌓인 잔고를 새 스냅샷으로 접어서, 잔고 조회가 O(tail) 로 유지되게 한다.
+ */
+@Slf4j
+@Component
+public class BalanceSnapshotCompactor {
+
+    private final BalanceJournalRepository balanceJournalRepository;
+
+    private final BalanceLedger balanceLedger;
+
+    private final long minTail;
+
+    public BalanceSnapshotCompactor(BalanceJournalRepository balanceJournalRepository,
+                                    BalanceLedger balanceLedger,
+                                    @Value("${loan.balance.compaction.min-tail:100}") long minTail) {
+        this.balanceJournalRepository = balanceJournalRepository;
+        this.balanceLedger = balanceLedger;
+        this.minTail = minTail;
+    }
+
+    @Scheduled(cron = "${loan.balance.compaction.cron:0 0 3 * * *}")
+    public int compact() {
+        List<Long> applicationIds = balanceJournalRepository.findApplicationIdsByTailSizeGreaterThanEqual(minTail);
+        if (applicationIds.isEmpty()) {
+            return 0;
+        }
+
+        balanceLedger.compact(applicationIds);
+        log.info("compacted balance snapshots of {} applications", applicationIds.size());
+
+        return applicationIds.size();
+    }
+}
@@ -0,0 +1,113 @@
+package com.fastcampus.loan.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 최근 window 번 호출 결과로 여닫는 circuit breaker.
+ * min-calls 번 이상 호출했고 실패 비율이 failure-rate 이상이면 열고, open-ms 동안은 호출하지 않고 바로 실패로 돌려준다.
+ * 시간이 지나면 한 번만 시험 호출(HALF_OPEN)해서 성공하면 닫고, 실패하면 다시 연다.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    // true : 실패
+    private final boolean[] outcomes;
+
+    private final int minCalls;
+
+    private final double failureRate;
+
+    private final long openMs;
+
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+
+    private int size;
+
+    private int index;
+
+    private int failures;
+
+    private long openedAt;
+
+    public CircuitBreaker(int window, int minCalls, double failureRate, long openMs) {
+        this(window, minCalls, failureRate, openMs, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int window, int minCalls, double failureRate, long openMs, LongSupplier clock) {
+        this.outcomes = new boolean[window];
+        this.minCalls = minCalls;
+        this.failureRate = failureRate;
+        this.openMs = openMs;
+        this.clock = clock;
+    }
+
+    // true 면 호출하고, 끝나면 onSuccess / onFailure 중 하나를 반드시 부른다
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.getAsLong() - openedAt < openMs) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                return true;
+            default:
+                // 시험 호출 진행 중
+                return false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            transit(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transit(State.OPEN);
+            return;
+        }
+        record(true);
+        if (size >= minCalls && failures >= failureRate * size) {
+            transit(State.OPEN);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (size == outcomes.length) {
+            if (outcomes[index]) {
+                failures--;
+            }
+        } else {
+            size++;
+        }
+        outcomes[index] = failure;
+        if (failure) {
+            failures++;
+        }
+        index = (index + 1) % outcomes.length;
+    }
+
+    private void transit(State next) {
+        state = next;
+        openedAt = clock.getAsLong();
+        size = 0;
+        index = 0;
+        failures = 0;
+    }
+}
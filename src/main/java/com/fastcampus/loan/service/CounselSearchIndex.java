@@ -0,0 +1,808 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Counsel;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상담 검색용 메모리 역색인.
+ * 검색어(key)는 필드 접두어 + gram 이고, key 마다 counselId 를 오름차순 int 배열로 들고 있다.
+ * - 이름, 메모 : 한글은 2-gram (이름은 한 글자도), 그 밖의 글자와 숫자는 단어 그대로
+ * - 휴대전화 : 숫자만 4-gram, 4 자리 이상이면 중간 일부로도 찾는다
+ * - 이메일 : 아이디와 도메인, 우편번호 : 그대로
+ * 검색어 하나는 필드 안에서는 gram 을 모두 가진(AND) 상담, 필드끼리는 OR 이고, 검색어가 여럿이면 모두 맞는 상담만 찾는다.
+ * 맞은 필드의 가중치 합이 큰 순서, 같으면 최근(counselId 가 큰) 상담 순서로 돌려준다. gram 의 위치는 보지 않는다.
+ * 시작할 때 counselId 구간을 나눠 ForkJoinPool 에서 동시에 읽고 구간 순서대로 이어 붙이며, 이후 등록, 수정, 삭제는 커밋 후 반영한다.
+ * 다른 인스턴스의 변경은 catch-up 이 updated_at 으로 주기적으로 읽어서 등록, 삭제는 그대로 반영하고 수정은 새 key 만 더한다.
+ * 수정 전 key 는 알 수 없어 남아 있으므로(이전 내용으로도 찾아짐) rebuild-cron 에 다시 만들어 정리한다.
+ */
+@Slf4j
+@Component
+@Order(4)
+public class CounselSearchIndex implements ApplicationRunner {
+
+    private static final String RANGE_SQL = "select min(counsel_id), max(counsel_id) from counsel where is_deleted = false";
+
+    private static final String SELECT_SQL = "select counsel_id, name, cell_phone, email, memo, zip_code from counsel "
+            + "where is_deleted = false and counsel_id >= ? and counsel_id < ? order by counsel_id";
+
+    private static final String CHANGED_SQL = "select counsel_id, name, cell_phone, email, memo, zip_code, is_deleted from counsel "
+            + "where updated_at >= ?";
+
+    private static final int PHONE_GRAM = 4;
+
+    private static final int MAX_TERMS = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ForkJoinPool pool;
+
+    private final int parallelism;
+
+    private final long partitionSize;
+
+    private final int fetchSize;
+
+    private final Duration catchUpOverlap;
+
+    private final Timer searchTimer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Postings> postings = new HashMap<>();
+
+    // 다시 만드는 중에 들어온 변경, 새 색인으로 바꿀 때 다시 반영한다
+    private List<Change> pending;
+
+    private volatile boolean ready;
+
+    // 마지막으로 읽기 시작한 시각, 다음 catch-up 은 이 시각(- overlap) 이후에 바뀐 행을 읽는다
+    private LocalDateTime caughtUpAt;
+
+    public CounselSearchIndex(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${loan.counsel.search.parallelism:0}") int parallelism,
+                              @Value("${loan.counsel.search.partition-size:100000}") long partitionSize,
+                              @Value("${loan.counsel.search.fetch-size:1000}") int fetchSize,
+                              @Value("${loan.counsel.search.catch-up-overlap-ms:60000}") long catchUpOverlapMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.partitionSize = partitionSize;
+        this.fetchSize = fetchSize;
+        this.catchUpOverlap = Duration.ofMillis(catchUpOverlapMs);
+        this.pool = new ForkJoinPool(this.parallelism);
+        this.searchTimer = Timer.builder("counsel.search")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    @Scheduled(cron = "${loan.counsel.search.rebuild-cron:0 0 5 * * *}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, Postings> building = new HashMap<>();
+        long documents = 0;
+        try {
+            long[] range = jdbcTemplate.queryForObject(RANGE_SQL, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+            if (range != null && range[1] > 0) {
+                Deque<Future<Partition>> reading = new ArrayDeque<>();
+                long from = (range[0] / partitionSize) * partitionSize;
+                while (from <= range[1] || !reading.isEmpty()) {
+                    // 합치지 않은 구간이 메모리에 쌓이지 않도록 parallelism 의 2 배까지만 앞서 읽는다
+                    while (from <= range[1] && reading.size() < parallelism * 2) {
+                        long fromCounselId = from;
+                        reading.add(pool.submit(() -> read(fromCounselId, fromCounselId + partitionSize)));
+                        from += partitionSize;
+                    }
+
+                    Partition partition = reading.poll().get();
+                    partition.appendTo(building);
+                    documents += partition.documents;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort();
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        } catch (ExecutionException e) {
+            abort();
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        } catch (RuntimeException e) {
+            abort();
+            throw e;
+        }
+
+        for (Postings list : building.values()) {
+            list.trim();
+        }
+
+        int changes;
+        lock.writeLock().lock();
+        try {
+            for (Change change : pending) {
+                change.apply(building);
+            }
+            changes = pending.size();
+            pending = null;
+            postings = building;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        caughtUpAt = startedAt;
+        ready = true;
+        log.info("counsel search index is built from {} counsels in {} ms ({} keys, {} changes while building)",
+                documents, System.currentTimeMillis() - start, building.size(), changes);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 다른 인스턴스에서 바뀐 상담, 이 인스턴스에서 이미 반영한 변경도 다시 읽지만 결과는 같다
+    @Scheduled(fixedDelayString = "${loan.counsel.search.catch-up-ms:5000}")
+    public synchronized void catchUp() {
+        if (!ready) {
+            return;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        Timestamp updatedSince = Timestamp.valueOf(caughtUpAt.minus(catchUpOverlap));
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(CHANGED_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setTimestamp(1, updatedSince);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            int counselId = Math.toIntExact(rs.getLong(1));
+            Set<String> keys = keys(rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6));
+            change(rs.getBoolean(7)
+                    ? new Change(counselId, keys, Collections.emptySet())
+                    : new Change(counselId, Collections.emptySet(), keys));
+        });
+        caughtUpAt = startedAt;
+    }
+
+    public Set<String> keys(Counsel counsel) {
+        return keys(counsel.getName(), counsel.getCellPhone(), counsel.getEmail(), counsel.getMemo(), counsel.getZipCode());
+    }
+
+    public void add(Long counselId, Set<String> keys) {
+        change(new Change(Math.toIntExact(counselId), Collections.emptySet(), keys));
+    }
+
+    public void update(Long counselId, Set<String> previous, Set<String> current) {
+        change(new Change(Math.toIntExact(counselId), previous, current));
+    }
+
+    public void remove(Long counselId, Set<String> keys) {
+        change(new Change(Math.toIntExact(counselId), keys, Collections.emptySet()));
+    }
+
+    // 공백으로 나눈 검색어(최대 MAX_TERMS 개)가 모두 맞는 상담 중 점수가 높은 size 건
+    public Result search(String query, int size) {
+        if (!ready) {
+            throw new BaseException(ResultType.COUNSEL_SEARCH_NOT_READY);
+        }
+
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            List<Matches> matches = new ArrayList<>();
+            for (String term : terms(query)) {
+                Matches matched = match(term);
+                if (matched.size == 0) {
+                    return new Result(0, Collections.emptyList());
+                }
+                matches.add(matched);
+            }
+            if (matches.isEmpty()) {
+                return new Result(0, Collections.emptyList());
+            }
+
+            // 적게 맞은 검색어부터 좁혀 나간다
+            matches.sort(Comparator.comparingInt(m -> m.size));
+            Matches result = matches.get(0);
+            for (int i = 1; i < matches.size() && result.size > 0; i++) {
+                result = result.and(matches.get(i));
+            }
+            return new Result(result.size, top(result, size));
+        } finally {
+            lock.readLock().unlock();
+            searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public int sizeOfKeys() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void change(Change change) {
+        lock.writeLock().lock();
+        try {
+            change.apply(postings);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void abort() {
+        lock.writeLock().lock();
+        try {
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Partition read(long fromCounselId, long toCounselId) {
+        Partition partition = new Partition();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, fromCounselId);
+            ps.setLong(2, toCounselId);
+            return ps;
+        }, (RowCallbackHandler) rs -> partition.add(Math.toIntExact(rs.getLong(1)),
+                keys(rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6))));
+        return partition;
+    }
+
+    private Matches match(String term) {
+        Matches matched = Matches.EMPTY;
+        for (Field field : Field.values()) {
+            Set<String> keys = new HashSet<>();
+            field.query(term, keys);
+            if (!keys.isEmpty()) {
+                matched = matched.or(intersect(keys, field.weight));
+            }
+        }
+        return matched;
+    }
+
+    // gram 을 모두 가진 상담, gram 하나면 복사하지 않고 색인 배열을 그대로 쓴다
+    private Matches intersect(Set<String> keys, int weight) {
+        List<Postings> lists = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Postings list = postings.get(key);
+            if (list == null) {
+                return Matches.EMPTY;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        Postings smallest = lists.get(0);
+        if (lists.size() == 1) {
+            return new Matches(smallest.ids, smallest.size, null, weight);
+        }
+
+        int[] ids = Arrays.copyOf(smallest.ids, smallest.size);
+        int size = smallest.size;
+        for (int l = 1; l < lists.size() && size > 0; l++) {
+            Postings list = lists.get(l);
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < size && from < list.size; i++) {
+                int found = gallop(list.ids, from, list.size, ids[i]);
+                if (found >= 0) {
+                    ids[kept++] = ids[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            size = kept;
+        }
+        return new Matches(ids, size, null, weight);
+    }
+
+    // 점수가 높은 순서, 같으면 counselId 가 큰 순서
+    private List<Hit> top(Matches matches, int size) {
+        int limit = Math.min(size, matches.size);
+        List<Hit> hits = new ArrayList<>(limit);
+        if (matches.scores == null) {
+            for (int i = matches.size - 1; i >= matches.size - limit; i--) {
+                hits.add(new Hit(matches.ids[i], matches.score));
+            }
+            return hits;
+        }
+
+        int maxScore = 0;
+        for (int i = 0; i < matches.size; i++) {
+            maxScore = Math.max(maxScore, matches.scores[i]);
+        }
+        int[] quota = new int[maxScore + 1];
+        for (int i = 0; i < matches.size; i++) {
+            quota[matches.scores[i]]++;
+        }
+        int remaining = limit;
+        for (int score = maxScore; score >= 0; score--) {
+            quota[score] = Math.min(quota[score], remaining);
+            remaining -= quota[score];
+        }
+
+        List<List<Hit>> buckets = new ArrayList<>(maxScore + 1);
+        for (int score = 0; score <= maxScore; score++) {
+            buckets.add(new ArrayList<>(quota[score]));
+        }
+        int collected = 0;
+        for (int i = matches.size - 1; i >= 0 && collected < limit; i--) {
+            int score = matches.scores[i];
+            if (quota[score] > 0) {
+                buckets.get(score).add(new Hit(matches.ids[i], score));
+                quota[score]--;
+                collected++;
+            }
+        }
+        for (int score = maxScore; score >= 0; score--) {
+            hits.addAll(buckets.get(score));
+        }
+        return hits;
+    }
+
+    static List<String> terms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : normalize(query).trim().split("\\s+")) {
+            if (!term.isEmpty() && terms.size() < MAX_TERMS) {
+                terms.add(term);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    static Set<String> keys(String name, String cellPhone, String email, String memo, String zipCode) {
+        Set<String> keys = new HashSet<>();
+        Field.NAME.index(name, keys);
+        Field.CELL_PHONE.index(cellPhone, keys);
+        Field.EMAIL.index(email, keys);
+        Field.MEMO.index(memo, keys);
+        Field.ZIP_CODE.index(zipCode, keys);
+        return keys;
+    }
+
+    // from 부터 1, 2, 4, ... 칸씩 건너뛰어 id 가 있을 구간을 찾고 그 안에서 binary search, 결과는 Arrays.binarySearch 와 같다
+    // 목록 크기가 비슷하면 거의 차례로 훑고, 차이가 크면 큰 쪽을 건너뛴다
+    private static int gallop(int[] ids, int from, int size, int id) {
+        int low = from;
+        int high = from;
+        int step = 1;
+        while (high < size && ids[high] < id) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        return Arrays.binarySearch(ids, low, Math.min(high + 1, size), id);
+    }
+
+    private static String normalize(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣') || (c >= 'ㄱ' && c <= 'ㆎ') || (c >= 'ᄀ' && c <= 'ᇿ');
+    }
+
+    // 한글은 2-gram (한 글자 뿐이면 그 글자), 그 밖의 글자와 숫자는 단어 그대로, unigrams 이면 한글 한 글자씩도
+    private static void text(char prefix, String value, boolean unigrams, Set<String> keys) {
+        String text = normalize(value);
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                i++;
+                continue;
+            }
+
+            boolean hangul = isHangul(c);
+            int end = i + 1;
+            while (end < length && Character.isLetterOrDigit(text.charAt(end)) && isHangul(text.charAt(end)) == hangul) {
+                end++;
+            }
+
+            if (!hangul || end - i == 1) {
+                keys.add(prefix + text.substring(i, end));
+            } else {
+                for (int j = i; j < end; j++) {
+                    if (unigrams) {
+                        keys.add(prefix + text.substring(j, j + 1));
+                    }
+                    if (j + 1 < end) {
+                        keys.add(prefix + text.substring(j, j + 2));
+                    }
+                }
+            }
+            i = end;
+        }
+    }
+
+    private static String digits(String value) {
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private enum Field {
+
+        NAME('n', 4) {
+            @Override
+            void index(String value, Set<String> keys) {
+                if (value != null) {
+                    text(prefix, value, true, keys);
+                }
+            }
+
+            @Override
+            void query(String term, Set<String> keys) {
+                text(prefix, term, false, keys);
+            }
+        },
+        CELL_PHONE('p', 4) {
+            @Override
+            void index(String value, Set<String> keys) {
+                if (value == null) {
+                    return;
+                }
+                String digits = digits(value);
+                if (digits.length() < PHONE_GRAM) {
+                    if (!digits.isEmpty()) {
+                        keys.add(prefix + digits);
+                    }
+                    return;
+                }
+                for (int i = 0; i + PHONE_GRAM <= digits.length(); i++) {
+                    keys.add(prefix + digits.substring(i, i + PHONE_GRAM));
+                }
+            }
+
+            @Override
+            void query(String term, Set<String> keys) {
+                // 숫자와 - 로만 된 4 자리 이상
+                String digits = digits(term);
+                if (digits.length() >= PHONE_GRAM && digits.length() + countOf(term, '-') == term.length()) {
+                    index(digits, keys);
+                }
+            }
+        },
+        EMAIL('e', 4) {
+            @Override
+            void index(String value, Set<String> keys) {
+                if (value == null) {
+                    return;
+                }
+                String email = normalize(value).trim();
+                int at = email.indexOf('@');
+                if (at < 0) {
+                    if (!email.isEmpty()) {
+                        keys.add(prefix + email);
+                    }
+                    return;
+                }
+                if (at > 0) {
+                    keys.add(prefix + email.substring(0, at));
+                }
+                if (at < email.length() - 1) {
+                    keys.add(prefix + email.substring(at + 1));
+                }
+            }
+
+            @Override
+            void query(String term, Set<String> keys) {
+                index(term, keys);
+            }
+        },
+        ZIP_CODE('z', 2) {
+            @Override
+            void index(String value, Set<String> keys) {
+                if (value != null && !value.trim().isEmpty()) {
+                    keys.add(prefix + value.trim());
+                }
+            }
+
+            @Override
+            void query(String term, Set<String> keys) {
+                if (digits(term).length() == term.length()) {
+                    index(term, keys);
+                }
+            }
+        },
+        MEMO('m', 1) {
+            @Override
+            void index(String value, Set<String> keys) {
+                if (value != null) {
+                    text(prefix, value, false, keys);
+                }
+            }
+
+            @Override
+            void query(String term, Set<String> keys) {
+                text(prefix, term, false, keys);
+            }
+        };
+
+        final char prefix;
+
+        final int weight;
+
+        Field(char prefix, int weight) {
+            this.prefix = prefix;
+            this.weight = weight;
+        }
+
+        abstract void index(String value, Set<String> keys);
+
+        abstract void query(String term, Set<String> keys);
+
+        private static int countOf(String value, char c) {
+            int count = 0;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == c) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+
+        private final long totalCount;
+
+        private final List<Hit> hits;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+
+        private final long counselId;
+
+        private final int score;
+    }
+
+    // 오름차순 counselId 배열, 뒤에 붙이는 경우가 대부분이고 중간 삽입, 삭제는 밀어서 옮긴다
+    private static class Postings {
+
+        private int[] ids = new int[2];
+
+        private int size;
+
+        private void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int found = Arrays.binarySearch(ids, 0, size, id);
+                if (found >= 0) {
+                    return;
+                }
+                ensureCapacity(size + 1);
+                int position = -found - 1;
+                System.arraycopy(ids, position, ids, position + 1, size - position);
+                ids[position] = id;
+                size++;
+                return;
+            }
+            ensureCapacity(size + 1);
+            ids[size++] = id;
+        }
+
+        private boolean remove(int id) {
+            int found = Arrays.binarySearch(ids, 0, size, id);
+            if (found < 0) {
+                return false;
+            }
+            System.arraycopy(ids, found + 1, ids, found, size - found - 1);
+            size--;
+            return true;
+        }
+
+        // other 의 counselId 는 모두 이 목록보다 크다
+        private void append(Postings other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.ids, 0, ids, size, other.size);
+            size += other.size;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(capacity, ids.length + (ids.length >> 1) + 1));
+            }
+        }
+
+        private void trim() {
+            if (ids.length > size) {
+                ids = Arrays.copyOf(ids, size);
+            }
+        }
+    }
+
+    // 구간 하나를 읽어서 만든 색인, counselId 순서로 읽으므로 뒤에 붙이기만 한다
+    private static class Partition {
+
+        private final Map<String, Postings> postings = new HashMap<>();
+
+        private long documents;
+
+        private void add(int counselId, Set<String> keys) {
+            for (String key : keys) {
+                postings.computeIfAbsent(key, k -> new Postings()).add(counselId);
+            }
+            documents++;
+        }
+
+        private void appendTo(Map<String, Postings> target) {
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                target.merge(entry.getKey(), entry.getValue(), (list, other) -> {
+                    list.append(other);
+                    return list;
+                });
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Change {
+
+        private final int counselId;
+
+        private final Set<String> removed;
+
+        private final Set<String> added;
+
+        private void apply(Map<String, Postings> target) {
+            for (String key : removed) {
+                if (added.contains(key)) {
+                    continue;
+                }
+                Postings list = target.get(key);
+                if (list != null && list.remove(counselId) && list.size == 0) {
+                    target.remove(key);
+                }
+            }
+            for (String key : added) {
+                target.computeIfAbsent(key, k -> new Postings()).add(counselId);
+            }
+        }
+    }
+
+    // 검색어 하나 또는 여러 검색어가 맞은 상담, scores 가 없으면 모두 score 점
+    private static class Matches {
+
+        private static final Matches EMPTY = new Matches(new int[0], 0, null, 0);
+
+        private final int[] ids;
+
+        private final int size;
+
+        private final int[] scores;
+
+        private final int score;
+
+        private Matches(int[] ids, int size, int[] scores, int score) {
+            this.ids = ids;
+            this.size = size;
+            this.scores = scores;
+            this.score = score;
+        }
+
+        private int score(int i) {
+            return scores == null ? score : scores[i];
+        }
+
+        // 필드끼리, 둘 다 맞으면 높은 점수
+        private Matches or(Matches other) {
+            if (other.size == 0) {
+                return this;
+            }
+            if (size == 0) {
+                return other;
+            }
+
+            int[] mergedIds = new int[size + other.size];
+            int[] mergedScores = new int[size + other.size];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < size || j < other.size) {
+                if (j >= other.size || (i < size && ids[i] < other.ids[j])) {
+                    mergedIds[n] = ids[i];
+                    mergedScores[n++] = score(i++);
+                } else if (i >= size || other.ids[j] < ids[i]) {
+                    mergedIds[n] = other.ids[j];
+                    mergedScores[n++] = other.score(j++);
+                } else {
+                    mergedIds[n] = ids[i];
+                    mergedScores[n++] = Math.max(score(i++), other.score(j++));
+                }
+            }
+            return new Matches(mergedIds, n, mergedScores, 0);
+        }
+
+        // 검색어끼리, 이 쪽이 작다, 점수는 더한다
+        private Matches and(Matches other) {
+            int[] keptIds = new int[size];
+            int[] keptScores = new int[size];
+            int n = 0;
+            int from = 0;
+            for (int i = 0; i < size && from < other.size; i++) {
+                int found = gallop(other.ids, from, other.size, ids[i]);
+                if (found >= 0) {
+                    keptIds[n] = ids[i];
+                    keptScores[n++] = score(i) + other.score(found);
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return new Matches(keptIds, n, keptScores, 0);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.fastcampus.loan.service;
 
 import com.fastcampus.loan.dto.CounselDTO.Request;
 import com.fastcampus.loan.dto.CounselDTO.Response;
+import com.fastcampus.loan.dto.CounselDTO.SearchResponse;
 
 public interface CounselService {
 
@@ -12,4 +13,6 @@ public interface CounselService {
   Response update(Long counselId, Request request);
 
   void delete(Long counselId);
+
+  SearchResponse search(String query, Integer size);
 }
@@ -3,20 +3,39 @@ package com.fastcampus.loan.service;
 import com.fastcampus.loan.domain.Counsel;
 import com.fastcampus.loan.dto.CounselDTO.Request;
 import com.fastcampus.loan.dto.CounselDTO.Response;
+import com.fastcampus.loan.dto.CounselDTO.SearchResponse;
+import com.fastcampus.loan.dto.CounselDTO.SearchResult;
 import com.fastcampus.loan.exception.BaseException;
 import com.fastcampus.loan.exception.ResultType;
 import com.fastcampus.loan.repository.CounselRepository;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
 
 @Service
 @RequiredArgsConstructor
 public class CounselServiceImpl implements CounselService {
 
+  private static final int DEFAULT_SEARCH_SIZE = 20;
+
+  private static final int MAX_SEARCH_SIZE = 100;
+
+  private static final int MAX_QUERY_LENGTH = 100;
+
   private final CounselRepository counselRepository;
 
+  private final CounselSearchIndex counselSearchIndex;
+
   private final ModelMapper modelMapper;
 
   @Override
@@ -26,6 +45,9 @@ public class CounselServiceImpl implements CounselService {
 
     Counsel created = counselRepository.save(counsel);
 
+    Set<String> keys = counselSearchIndex.keys(created);
+    indexAfterCommit(() -> counselSearchIndex.add(created.getCounselId(), keys));
+
     return modelMapper.map(created, Response.class);
   }
 
@@ -44,6 +66,8 @@ public class CounselServiceImpl implements CounselService {
       throw new BaseException(ResultType.SYSTEM_ERROR);
     });
 
+    Set<String> previous = counselSearchIndex.keys(counsel);
+
     counsel.setName(request.getName());
     counsel.setCellPhone(request.getCellPhone());
     counsel.setEmail(request.getEmail());
@@ -54,6 +78,9 @@ public class CounselServiceImpl implements CounselService {
 
     counselRepository.save(counsel);
 
+    Set<String> current = counselSearchIndex.keys(counsel);
+    indexAfterCommit(() -> counselSearchIndex.update(counselId, previous, current));
+
     return modelMapper.map(counsel, Response.class);
   }
 
@@ -63,8 +90,59 @@ public class CounselServiceImpl implements CounselService {
       throw new BaseException(ResultType.SYSTEM_ERROR);
     });
 
+    Set<String> previous = counselSearchIndex.keys(counsel);
+
     counsel.setIsDeleted(true);
 
     counselRepository.save(counsel);
+
+    indexAfterCommit(() -> counselSearchIndex.remove(counselId, previous));
+  }
+
+  @Override
+  public SearchResponse search(String query, Integer size) {
+    int limit = size == null ? DEFAULT_SEARCH_SIZE : size;
+    if (!StringUtils.hasText(query) || query.length() > MAX_QUERY_LENGTH || limit < 1 || limit > MAX_SEARCH_SIZE) {
+      throw new BaseException(ResultType.INVALID_COUNSEL_SEARCH);
+    }
+
+    CounselSearchIndex.Result result = counselSearchIndex.search(query, limit);
+
+    // 색인 순위대로, 그 사이에 삭제된 상담은 빠진다
+    List<Long> counselIds = result.getHits().stream()
+        .map(CounselSearchIndex.Hit::getCounselId)
+        .collect(Collectors.toList());
+    Map<Long, Counsel> counsels = counselRepository.findAllById(counselIds).stream()
+        .collect(Collectors.toMap(Counsel::getCounselId, Function.identity()));
+
+    List<SearchResult> results = new ArrayList<>(counselIds.size());
+    for (CounselSearchIndex.Hit hit : result.getHits()) {
+      Counsel counsel = counsels.get(hit.getCounselId());
+      if (counsel != null) {
+        SearchResult searchResult = modelMapper.map(counsel, SearchResult.class);
+        searchResult.setScore(hit.getScore());
+        results.add(searchResult);
+      }
+    }
+
+    return SearchResponse.builder()
+        .query(query)
+        .totalCount(result.getTotalCount())
+        .results(results)
+        .build();
+  }
+
+  // 트랜잭션 안에서 불렸으면 커밋된 뒤에 색인에 반영한다
+  private void indexAfterCommit(Runnable change) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          change.run();
+        }
+      });
+    } else {
+      change.run();
+    }
   }
 }
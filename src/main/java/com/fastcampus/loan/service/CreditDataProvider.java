@@ -0,0 +1,18 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.CreditDataSource;
+import com.fastcampus.loan.dto.CreditDataDTO;
+
+import java.math.BigDecimal;
+
+/**
+ * 외부 신용 정보 provider (신용 평가사 점수, 소득, 사기 점수).
+ * 호출 스레드를 막는 동기 호출로 구현하고, 제한 시간이 지나거나 다른 시도가 먼저 응답하면 interrupt 된다.
+ */
+public interface CreditDataProvider {
+
+    CreditDataSource getSource();
+
+    // 실패하면 예외
+    BigDecimal fetch(CreditDataDTO.Applicant applicant) throws Exception;
+}
@@ -0,0 +1,9 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.dto.CreditDataDTO;
+
+public interface CreditDataService {
+
+    // 모든 provider 를 동시에 조회해서 합친 결과, 응답하지 않은 provider 는 값 없이 상태만 있다
+    CreditDataDTO.Response fetch(CreditDataDTO.Applicant applicant);
+}
@@ -0,0 +1,295 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.config.CreditDataProperties;
+import com.fastcampus.loan.domain.CreditDataSource;
+import com.fastcampus.loan.domain.CreditDataStatus;
+import com.fastcampus.loan.dto.CreditDataDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * 외부 신용 정보 fan-out 조회.
+ * provider 를 모두 동시에 호출하므로 전체 지연은 가장 느린 provider 의 제한 시간을 넘지 않는다.
+ * provider 마다 hedge-after-ms 안에 응답이 없으면 (남는 스레드가 있을 때) 같은 요청을 한 번 더 보내고(먼저 온 응답 사용), 빨리 실패하면 바로 재시도하며,
+ * 최대 max-attempts 번까지 호출한다. 실패, 시간 초과가 이어지면 circuit breaker 가 열려 한동안 호출하지 않는다.
+ * 모든 provider 가 응답한 결과만 신청자(휴대전화)별로 cache-ttl-seconds 동안 캐시한다.
+ * 호출 스레드는 크기가 정해진 pool 을 쓰고, pool 이 가득 차면 기다리지 않고 REJECTED 로 돌려준다.
+ */
+@Service
+public class CreditDataServiceImpl implements CreditDataService {
+
+    private static final String CACHE_NAME = "creditData";
+
+    private final Map<CreditDataSource, Client> clients = new EnumMap<>(CreditDataSource.class);
+
+    private final ThreadPoolExecutor executor;
+
+    // 제한 시간, hedge 예약
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final Cache<String, CreditDataDTO.Response> cache;
+
+    private final Timer fetchTimer;
+
+    public CreditDataServiceImpl(List<CreditDataProvider> providers,
+                                 CreditDataProperties properties,
+                                 MeterRegistry meterRegistry) {
+        for (CreditDataProvider provider : providers) {
+            clients.put(provider.getSource(), new Client(provider, properties.provider(provider.getSource()), meterRegistry));
+        }
+
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), new CustomizableThreadFactory("credit-data-"));
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "credit-data-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getCacheTtlSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.fetchTimer = Timer.builder("credit.data.fetch")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CreditDataDTO.Response fetch(CreditDataDTO.Applicant applicant) {
+        String key = applicant.getCellPhone() != null ? applicant.getCellPhone() : "application-" + applicant.getApplicationId();
+        CreditDataDTO.Response cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        List<CompletableFuture<CreditDataDTO.Report>> futures = new ArrayList<>(clients.size());
+        for (Client client : clients.values()) {
+            futures.add(call(client, applicant));
+        }
+        // provider 마다 제한 시간이 지나면 끝나므로 무한히 기다리지 않는다
+        List<CreditDataDTO.Report> reports = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+
+        CreditDataDTO.Response response = combine(reports);
+        if (response.getComplete()) {
+            cache.put(key, response);
+        }
+        fetchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<CreditDataDTO.Report> call(Client client, CreditDataDTO.Applicant applicant) {
+        long start = System.nanoTime();
+        if (!client.circuitBreaker.tryAcquire()) {
+            return CompletableFuture.completedFuture(client.report(CreditDataStatus.CIRCUIT_OPEN, null, 0, start));
+        }
+
+        Call call = new Call(client, applicant);
+        call.attempt();
+        ScheduledFuture<?> hedge = client.settings.getHedgeAfterMs() > 0
+                ? scheduler.schedule(call::hedge, client.settings.getHedgeAfterMs(), TimeUnit.MILLISECONDS)
+                : null;
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> call.result.completeExceptionally(new TimeoutException()),
+                client.settings.getTimeoutMs(), TimeUnit.MILLISECONDS);
+
+        return call.result.handle((value, e) -> {
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+            timeout.cancel(false);
+            call.cancel();
+
+            CreditDataStatus status = e == null ? CreditDataStatus.OK
+                    : e instanceof TimeoutException ? CreditDataStatus.TIMEOUT
+                    : e instanceof RejectedExecutionException ? CreditDataStatus.REJECTED
+                    : CreditDataStatus.ERROR;
+            // pool 이 가득 찬 것도 실패로 세서 과부하일 때 호출을 줄인다
+            if (status == CreditDataStatus.OK) {
+                client.circuitBreaker.onSuccess();
+            } else {
+                client.circuitBreaker.onFailure();
+            }
+            return client.report(status, value, call.attempts(), start);
+        });
+    }
+
+    private CreditDataDTO.Response combine(List<CreditDataDTO.Report> reports) {
+        Map<CreditDataSource, BigDecimal> values = new EnumMap<>(CreditDataSource.class);
+        boolean complete = reports.size() == CreditDataSource.values().length;
+        for (CreditDataDTO.Report report : reports) {
+            if (report.getStatus() == CreditDataStatus.OK) {
+                values.put(report.getSource(), report.getValue());
+            } else {
+                complete = false;
+            }
+        }
+
+        BigDecimal creditScore = values.get(CreditDataSource.CREDIT_BUREAU);
+        BigDecimal fraudScore = values.get(CreditDataSource.FRAUD);
+        return CreditDataDTO.Response.builder()
+                .creditScore(creditScore == null ? null : creditScore.intValue())
+                .annualIncome(values.get(CreditDataSource.INCOME))
+                .fraudScore(fraudScore == null ? null : fraudScore.intValue())
+                .complete(complete)
+                .reports(reports)
+                .build();
+    }
+
+    private static class Client {
+
+        private final CreditDataProvider provider;
+
+        private final CreditDataProperties.Provider settings;
+
+        private final CircuitBreaker circuitBreaker;
+
+        private final Map<CreditDataStatus, Timer> timers = new EnumMap<>(CreditDataStatus.class);
+
+        private final Counter hedged;
+
+        private Client(CreditDataProvider provider, CreditDataProperties.Provider settings, MeterRegistry meterRegistry) {
+            this.provider = provider;
+            this.settings = settings;
+            CreditDataProperties.CircuitBreaker breaker = settings.getCircuitBreaker();
+            this.circuitBreaker = new CircuitBreaker(breaker.getWindow(), breaker.getMinCalls(), breaker.getFailureRate(), breaker.getOpenMs());
+
+            String source = provider.getSource().name();
+            for (CreditDataStatus status : CreditDataStatus.values()) {
+                timers.put(status, Timer.builder("credit.provider.call")
+                        .tag("provider", source)
+                        .tag("status", status.name())
+                        .register(meterRegistry));
+            }
+            this.hedged = Counter.builder("credit.provider.hedged")
+                    .tag("provider", source)
+                    .register(meterRegistry);
+            Gauge.builder("credit.provider.circuit", circuitBreaker, b -> b.getState().ordinal())
+                    .description("0 : CLOSED, 1 : OPEN, 2 : HALF_OPEN")
+                    .tag("provider", source)
+                    .register(meterRegistry);
+        }
+
+        private CreditDataDTO.Report report(CreditDataStatus status, BigDecimal value, int attempts, long start) {
+            long elapsedNanos = System.nanoTime() - start;
+            timers.get(status).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            return CreditDataDTO.Report.builder()
+                    .source(provider.getSource())
+                    .status(status)
+                    .value(value)
+                    .attempts(attempts)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                    .build();
+        }
+    }
+
+    // provider 하나에 대한 한 번의 조회, hedge 와 재시도로 여러 번 호출할 수 있고 먼저 성공한 응답을 쓴다
+    private class Call {
+
+        private final Client client;
+
+        private final CreditDataDTO.Applicant applicant;
+
+        private final CompletableFuture<BigDecimal> result = new CompletableFuture<>();
+
+        private final List<Future<?>> attempts = new ArrayList<>();
+
+        private int failed;
+
+        private Call(Client client, CreditDataDTO.Applicant applicant) {
+            this.client = client;
+            this.applicant = applicant;
+        }
+
+        private synchronized boolean attempt() {
+            if (result.isDone() || attempts.size() >= client.settings.getMaxAttempts()) {
+                return false;
+            }
+
+            try {
+                attempts.add(executor.submit(this::run));
+                return true;
+            } catch (RejectedExecutionException e) {
+                attempts.add(CompletableFuture.completedFuture(null));
+                failed(e);
+                return false;
+            }
+        }
+
+        // 아직 응답이 없으면 같은 요청을 한 번 더, pool 이 밀려 있을 때 hedge 하면 대기만 늘어나므로 남는 스레드가 있을 때만
+        private void hedge() {
+            if (!executor.getQueue().isEmpty() || executor.getActiveCount() >= executor.getMaximumPoolSize()) {
+                return;
+            }
+            if (attempt()) {
+                client.hedged.increment();
+            }
+        }
+
+        private void run() {
+            try {
+                result.complete(client.provider.fetch(applicant));
+            } catch (InterruptedException e) {
+                // 다른 시도가 먼저 끝났거나 시간 초과
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                failed(e);
+            }
+        }
+
+        private synchronized void failed(Exception e) {
+            failed++;
+            // 다른 시도가 아직 진행 중
+            if (failed < attempts.size()) {
+                return;
+            }
+
+            if (!attempt() && failed == attempts.size()) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private synchronized void cancel() {
+            for (Future<?> attempt : attempts) {
+                attempt.cancel(true);
+            }
+        }
+
+        private synchronized int attempts() {
+            return attempts.size();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.dto.DomainEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 프로세스 안 도메인 이벤트 버스.
+ * applicationId 로 나눈 lane 마다 고정 크기 ring buffer(ArrayBlockingQueue) 와 소비 스레드 하나를 두어
+ * 같은 신청의 이벤트는 넣은 순서대로, 다른 신청은 lane 끼리 병렬로 구독자에게 전달한다.
+ * 소비 스레드는 쌓인 만큼(최대 batch-size) 꺼내서 한 번에 전달하고, buffer 가 차면 publish 가 기다린다.
+ * 구독자가 예외를 던지면 다른 구독자와 다음 묶음 전달은 계속하고, publish 가 돌려준 Receipt 를 실패로 표시한다.
+ */
+@Slf4j
+@Component
+public class DomainEventBus {
+
+    private final ObjectProvider<DomainEventSubscriber> subscriberProvider;
+
+    private final List<BlockingQueue<Delivery>> lanes;
+
+    private final ExecutorService executor;
+
+    private final int batchSize;
+
+    private final Timer deliveryLag;
+
+    private final Counter deliveryFailures;
+
+    private volatile List<DomainEventSubscriber> subscribers;
+
+    private volatile boolean running = true;
+
+    public DomainEventBus(ObjectProvider<DomainEventSubscriber> subscriberProvider,
+                          MeterRegistry meterRegistry,
+                          @Value("${loan.outbox.bus.lanes:4}") int laneCount,
+                          @Value("${loan.outbox.bus.ring-size:1024}") int ringSize,
+                          @Value("${loan.outbox.bus.batch-size:256}") int batchSize) {
+        this.subscriberProvider = subscriberProvider;
+        this.batchSize = batchSize;
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("outbox 저장부터 구독자 전달까지 걸린 시간")
+                .register(meterRegistry);
+        this.deliveryFailures = Counter.builder("outbox.delivery.failures")
+                .register(meterRegistry);
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(laneCount, runnable -> {
+            Thread thread = new Thread(runnable, "domain-event-lane-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            BlockingQueue<Delivery> lane = new ArrayBlockingQueue<>(ringSize);
+            lanes.add(lane);
+            executor.execute(() -> consume(lane));
+        }
+    }
+
+    // 넘긴 이벤트의 전달이 모두 끝나면 완료되는 Receipt 를 돌려준다
+    public Receipt publish(List<DomainEventDTO.Event> events) throws InterruptedException {
+        Receipt receipt = new Receipt(events.size());
+        for (DomainEventDTO.Event event : events) {
+            lanes.get(lane(event.getApplicationId())).put(new Delivery(event, receipt));
+        }
+        return receipt;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    private void consume(BlockingQueue<Delivery> lane) {
+        List<Delivery> batch = new ArrayList<>(batchSize);
+        while (running) {
+            boolean delivered = false;
+            try {
+                batch.add(lane.take());
+                lane.drainTo(batch, batchSize - 1);
+                delivered = deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                for (Delivery delivery : batch) {
+                    delivery.getReceipt().complete(delivered);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    // 모든 구독자에게 전달했으면 true
+    private boolean deliver(List<Delivery> batch) {
+        List<DomainEventDTO.Event> events = batch.stream().map(Delivery::getEvent).collect(Collectors.toList());
+
+        // 한 구독자가 실패해도 다른 구독자와 다음 이벤트 전달은 계속한다
+        boolean delivered = true;
+        for (DomainEventSubscriber subscriber : subscribers()) {
+            try {
+                subscriber.onEvents(events);
+            } catch (RuntimeException e) {
+                delivered = false;
+                deliveryFailures.increment();
+                log.error("failed to deliver {} events to {}", events.size(), subscriber.getClass().getSimpleName(), e);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (DomainEventDTO.Event event : events) {
+            deliveryLag.record(Duration.between(event.getOccurredAt(), now));
+        }
+        return delivered;
+    }
+
+    private List<DomainEventSubscriber> subscribers() {
+        if (subscribers == null) {
+            subscribers = subscriberProvider.orderedStream().collect(Collectors.toList());
+        }
+        return subscribers;
+    }
+
+    private int lane(Long applicationId) {
+        return (int) Math.floorMod(applicationId, (long) lanes.size());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Delivery {
+
+        private final DomainEventDTO.Event event;
+
+        private final Receipt receipt;
+    }
+
+    /**
+     * publish 한 이벤트들의 전달 결과. 모든 이벤트의 전달이 끝나면 await 가 풀리고,
+     * 한 구독자라도 실패했거나 종료 중이라 전달하지 못한 이벤트가 있으면 isFailed 가 true 다.
+     */
+    public static class Receipt {
+
+        private final CountDownLatch completed;
+
+        private volatile boolean failed;
+
+        private Receipt(int count) {
+            this.completed = new CountDownLatch(count);
+        }
+
+        public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+            return completed.await(timeout, unit);
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        private void complete(boolean delivered) {
+            if (!delivered) {
+                failed = true;
+            }
+            completed.countDown();
+        }
+    }
+}
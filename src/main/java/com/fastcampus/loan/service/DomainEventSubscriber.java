@@ -0,0 +1,15 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.dto.DomainEventDTO;
+
+import java.util.List;
+
+/**
+ * DomainEventBus 구독자. 빈으로 등록하면 발행된 이벤트를 묶음으로 받는다.
+ * 같은 신청의 이벤트는 outbox 순서대로 한 스레드에서 전달된다.
+ * 예외를 던지면 묶음 전체가 다시 발행되어 다른 구독자도 같은 이벤트를 다시 받을 수 있으므로 eventId 로 중복을 견뎌야 한다.
+ */
+public interface DomainEventSubscriber {
+
+    void onEvents(List<DomainEventDTO.Event> events);
+}
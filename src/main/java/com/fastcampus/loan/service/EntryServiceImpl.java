@@ -1,18 +1,19 @@
 package com.fastcampus.loan.service;
 
-import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.DomainEventType;
 import com.fastcampus.loan.domain.Entry;
+import com.fastcampus.loan.domain.Money;
 import com.fastcampus.loan.dto.BalanceDTO;
 import com.fastcampus.loan.dto.EntryDTO;
 import com.fastcampus.loan.exception.BaseException;
 import com.fastcampus.loan.exception.ResultType;
-import com.fastcampus.loan.repository.ApplicationRepository;
 import com.fastcampus.loan.repository.EntryRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.Optional;
 
 @Service
@@ -23,11 +24,16 @@ public class EntryServiceImpl implements EntryService {
 
     private final EntryRepository entryRepository;
 
-    private final ApplicationRepository applicationRepository;
+    private final ApplicationStateCache applicationStateCache;
+
+    private final ApplicationService applicationService;
+
+    private final OutboxService outboxService;
 
     private final ModelMapper modelMapper;
 
     @Override
+    @Transactional
     public EntryDTO.Response create(Long applicationId, EntryDTO.Request request) {
         // 계약 체결 여부 검증
         if(!isContractedApplication(applicationId)){
@@ -45,7 +51,12 @@ public class EntryServiceImpl implements EntryService {
                         .entryAmount(request.getEntryAmount())
                         .build());
 
-        return modelMapper.map(entry, EntryDTO.Response.class);
+        applicationService.transit(applicationId, ApplicationStatus.DISBURSED);
+
+        EntryDTO.Response response = modelMapper.map(entry, EntryDTO.Response.class);
+        outboxService.append(applicationId, DomainEventType.ENTRY_DISBURSED, response);
+
+        return response;
     }
 
     @Override
@@ -67,7 +78,7 @@ public class EntryServiceImpl implements EntryService {
         });
 
         // before -> after, entry 집행 금액 업데이트
-        BigDecimal beforeEntryAmount = entry.getEntryAmount();
+        Money beforeEntryAmount = entry.getEntryAmount();
         entry.setEntryAmount(request.getEntryAmount());
 
         entryRepository.save(entry);
@@ -99,23 +110,21 @@ public class EntryServiceImpl implements EntryService {
 
         entryRepository.save(entry);
 
-        BigDecimal beforeEntryAmount = entry.getEntryAmount();
+        Money beforeEntryAmount = entry.getEntryAmount();
 
         Long applicationId = entry.getApplicationId();
         balanceService.update(applicationId,
                 BalanceDTO.UpdateRequest.builder()
                         .beforeEntryAmount(beforeEntryAmount)
-                        .afterEntryAmount(BigDecimal.ZERO)
+                        .afterEntryAmount(Money.ZERO)
                         .build());
 
+        // 집행 취소, 다시 집행 대기
+        applicationService.transit(applicationId, ApplicationStatus.CONTRACTED);
+
     }
 
     private boolean isContractedApplication(Long applicationId){
-        Optional<Application> existed = applicationRepository.findById(applicationId);
-        if(existed.isEmpty()){
-            return false;
-        }
-
-        return existed.get().getContractedAt() != null;
+        return applicationStateCache.get(applicationId).is(ApplicationStatus.CONTRACTED);
     }
 }
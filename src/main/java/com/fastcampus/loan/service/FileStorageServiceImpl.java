@@ -2,7 +2,6 @@ package com.fastcampus.loan.service;
 
 import com.fastcampus.loan.exception.BaseException;
 import com.fastcampus.loan.exception.ResultType;
-import com.fastcampus.loan.repository.ApplicationRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
@@ -23,7 +22,7 @@ public class FileStorageServiceImpl implements FileStorageService{
     @Value("${spring.servlet.multipart.location}")
     private String uploadPath;
 
-    private final ApplicationRepository applicationRepository;
+    private final ApplicationStateCache applicationStateCache;
 
     @Override
     public void save(Long applicationId, MultipartFile file) {
@@ -99,6 +98,6 @@ public class FileStorageServiceImpl implements FileStorageService{
 
     // application이 존재하는지 확인하는 메서드
     private boolean isPresentApplication(Long applicationId){
-        return applicationRepository.findById(applicationId).isPresent();
+        return applicationStateCache.get(applicationId).isPresent();
     }
 }
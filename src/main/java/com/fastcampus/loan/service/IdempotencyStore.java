@@ -0,0 +1,125 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.IdempotencyKey;
+import com.fastcampus.loan.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key 로 처리한 요청의 응답 저장소.
+ * 처리를 시작할 때 키를 unique index 에 insert 해서 인스턴스가 여러 개여도 한 요청만 서비스를 타게 하고,
+ * 성공 응답을 같은 행에 저장한다. 완료된 응답은 응답 크기 합으로 제한한 캐시에 들고 있고, 캐시에 없으면(재시작, 다른 인스턴스) 테이블에서 읽는다.
+ * 응답을 저장하기 전에 죽으면 키는 처리 중으로 남아 중복 처리 대신 8001 을 돌려주고, window 가 지나 지워지면 다시 쓸 수 있다.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private static final String CACHE_NAME = "idempotency";
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final Cache<String, Stored> cache;
+
+    private final Duration window;
+
+    public IdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${loan.idempotency.cache.max-bytes:67108864}") long maxBytes,
+                            @Value("${loan.idempotency.window-hours:24}") long windowHours) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.window = Duration.ofHours(windowHours);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Stored stored) -> key.length() + stored.getResponseBody().length())
+                .expireAfterWrite(window)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<Stored> find(String key) {
+        Stored stored = cache.getIfPresent(key);
+        if (stored != null) {
+            return Optional.of(stored);
+        }
+
+        return idempotencyKeyRepository.findByIdempotencyKey(key).map(entity -> {
+            Stored loaded = new Stored(entity.getRequestMethod(), entity.getRequestUri(), entity.getRequestHash(),
+                    entity.getResponseBody());
+            if (loaded.isCompleted()) {
+                cache.put(key, loaded);
+            }
+            return loaded;
+        });
+    }
+
+    // 이미 같은 키가 있으면 false
+    public boolean begin(String key, String requestMethod, String requestUri, String requestHash) {
+        try {
+            idempotencyKeyRepository.saveAndFlush(IdempotencyKey.builder()
+                    .idempotencyKey(key)
+                    .requestMethod(requestMethod)
+                    .requestUri(requestUri)
+                    .requestHash(requestHash)
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    public void complete(String key, String requestMethod, String requestUri, String requestHash, String responseBody) {
+        idempotencyKeyRepository.complete(key, responseBody);
+        cache.put(key, new Stored(requestMethod, requestUri, requestHash, responseBody));
+    }
+
+    // 실패한 요청은 저장하지 않고 키를 풀어서 재시도할 수 있게 한다
+    public void release(String key) {
+        idempotencyKeyRepository.deleteByKey(key);
+    }
+
+    @Scheduled(cron = "${loan.idempotency.purge-cron:0 0 * * * *}")
+    public void purge() {
+        int deleted = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(window));
+        if (deleted > 0) {
+            log.info("purged {} idempotency keys", deleted);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stored {
+
+        private final String requestMethod;
+
+        private final String requestUri;
+
+        private final String requestHash;
+
+        private final String responseBody;
+
+        public boolean isCompleted() {
+            return responseBody != null;
+        }
+
+        public boolean matches(String requestMethod, String requestUri, String requestHash) {
+            return this.requestMethod.equals(requestMethod) && this.requestUri.equals(requestUri)
+                    && Objects.equals(this.requestHash, requestHash);
+        }
+    }
+}
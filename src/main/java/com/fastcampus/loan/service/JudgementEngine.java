@@ -0,0 +1,263 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.config.JudgementRuleProperties;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.dto.JudgementDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+
+/**
+ * 규칙 기반 자동 심사.
+ * 설정된 규칙(JudgementRuleProperties)을 시작할 때 한 번 (feature 위치, 비교 함수, 금액 함수) 배열로 바꿔 두고,
+ * 평가는 신청별 feature long 배열(금액 cents, 금리 1/10000)에 대해 규칙 순서대로 함수만 호출한다.
+ * 승인 금액은 신청 금액에서 시작해서 LIMIT, RATIO 규칙으로 줄어들고, REJECT 규칙이 맞으면 0(거절)이다.
+ * 규칙별 평가 수, 일치 수, 소요 시간은 judgement.rule{rule=...}, judgement.rule.matched{rule=...} 로 확인한다.
+ */
+@Component
+public class JudgementEngine {
+
+    public enum Feature {
+        // 신청 금액 (cents)
+        HOPE_AMOUNT(Money.SCALE),
+        // 금리 (1/10000)
+        INTEREST_RATE(4),
+        // 신청일부터 만기까지 개월 수
+        MATURITY_MONTHS(0),
+        // 같은 전화번호로 집행되어 상환 중인 대출 수
+        ACTIVE_LOAN_COUNT(0),
+        // 같은 전화번호로 상환 완료된 대출 수
+        CLOSED_LOAN_COUNT(0),
+        // 같은 전화번호로 진행 중인 다른 신청 수
+        OTHER_APPLICATION_COUNT(0),
+        // 같은 전화번호로 상환 중인 대출의 잔고 합 (cents)
+        OUTSTANDING_BALANCE(Money.SCALE);
+
+        private final int scale;
+
+        Feature(int scale) {
+            this.scale = scale;
+        }
+    }
+
+    public enum Operator {
+        GT, GE, LT, LE, EQ, NE
+    }
+
+    public enum Action {
+        // 거절, 이후 규칙은 보지 않는다
+        REJECT,
+        // 승인 금액 상한 (value 원)
+        LIMIT,
+        // 승인 금액 상한 (신청 금액 * value)
+        RATIO
+    }
+
+    private static final int RATIO_SCALE = 4;
+
+    private static final long RATIO_DENOMINATOR = 10_000L;
+
+    private final Rule[] rules;
+
+    private final long unitCents;
+
+    @Getter
+    private final String reviewer;
+
+    private final LongAdder[] evaluated;
+
+    private final LongAdder[] matched;
+
+    private final LongAdder[] nanos;
+
+    public JudgementEngine(JudgementRuleProperties properties, MeterRegistry meterRegistry) {
+        List<JudgementRuleProperties.Rule> ruleProperties = properties.getRules();
+        this.rules = new Rule[ruleProperties.size()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = compile(ruleProperties.get(i));
+        }
+        this.unitCents = Math.max(1L, Money.of(properties.getUnitAmount()).getCents());
+        this.reviewer = properties.getReviewer();
+
+        this.evaluated = new LongAdder[rules.length];
+        this.matched = new LongAdder[rules.length];
+        this.nanos = new LongAdder[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            evaluated[i] = new LongAdder();
+            matched[i] = new LongAdder();
+            nanos[i] = new LongAdder();
+
+            int index = i;
+            FunctionTimer.builder("judgement.rule", this, e -> e.evaluated[index].sum(), e -> e.nanos[index].sum(), TimeUnit.NANOSECONDS)
+                    .tag("rule", rules[i].name)
+                    .register(meterRegistry);
+            FunctionCounter.builder("judgement.rule.matched", this, e -> e.matched[index].sum())
+                    .tag("rule", rules[i].name)
+                    .register(meterRegistry);
+        }
+    }
+
+    public long[] newFeatures() {
+        return new long[Feature.values().length];
+    }
+
+    public Stats newStats() {
+        return new Stats(rules.length);
+    }
+
+    // 승인 금액 (cents), 0 이면 거절
+    public long evaluate(long[] features, Stats stats) {
+        long hopeCents = features[Feature.HOPE_AMOUNT.ordinal()];
+        long approvalCents = hopeCents;
+        for (int i = 0; i < rules.length; i++) {
+            Rule rule = rules[i];
+            long start = System.nanoTime();
+            boolean hit = rule.condition.test(features[rule.feature]);
+            if (hit) {
+                approvalCents = rule.action.applyAsLong(hopeCents, approvalCents);
+            }
+            stats.add(i, hit, System.nanoTime() - start);
+
+            if (hit && rule.terminal) {
+                return 0L;
+            }
+        }
+        return Math.max(0L, approvalCents - approvalCents % unitCents);
+    }
+
+    // 배치 구간, 단건 심사가 끝날 때 누적 (평가마다 공유 카운터를 건드리지 않는다)
+    public void record(Stats stats) {
+        for (int i = 0; i < rules.length; i++) {
+            evaluated[i].add(stats.evaluated[i]);
+            matched[i].add(stats.matched[i]);
+            nanos[i].add(stats.nanos[i]);
+        }
+    }
+
+    public List<JudgementDTO.RuleStat> toRuleStats(Stats stats) {
+        List<JudgementDTO.RuleStat> ruleStats = new ArrayList<>(rules.length);
+        for (int i = 0; i < rules.length; i++) {
+            ruleStats.add(JudgementDTO.RuleStat.builder()
+                    .name(rules[i].name)
+                    .evaluatedCount(stats.evaluated[i])
+                    .matchedCount(stats.matched[i])
+                    .totalMillis(stats.nanos[i] / 1_000_000L)
+                    .averageNanos(stats.evaluated[i] == 0 ? 0L : stats.nanos[i] / stats.evaluated[i])
+                    .build());
+        }
+        return ruleStats;
+    }
+
+    private static Rule compile(JudgementRuleProperties.Rule rule) {
+        if (rule.getName() == null || rule.getFeature() == null || rule.getOperator() == null
+                || rule.getThreshold() == null || rule.getAction() == null
+                || (rule.getAction() != Action.REJECT && rule.getValue() == null)) {
+            throw new IllegalStateException("invalid judgement rule " + rule.getName());
+        }
+
+        long threshold = unscaled(rule.getThreshold(), rule.getFeature().scale);
+        return new Rule(rule.getName(), rule.getFeature().ordinal(), condition(rule.getOperator(), threshold),
+                action(rule.getAction(), rule.getValue()), rule.getAction() == Action.REJECT);
+    }
+
+    private static LongPredicate condition(Operator operator, long threshold) {
+        switch (operator) {
+            case GT:
+                return v -> v > threshold;
+            case GE:
+                return v -> v >= threshold;
+            case LT:
+                return v -> v < threshold;
+            case LE:
+                return v -> v <= threshold;
+            case EQ:
+                return v -> v == threshold;
+            case NE:
+                return v -> v != threshold;
+            default:
+                throw new IllegalStateException("unknown operator " + operator);
+        }
+    }
+
+    // (신청 금액, 현재 승인 금액) -> 승인 금액
+    private static LongBinaryOperator action(Action action, BigDecimal value) {
+        switch (action) {
+            case REJECT:
+                return (hopeCents, approvalCents) -> 0L;
+            case LIMIT:
+                long limitCents = Money.of(value).getCents();
+                return (hopeCents, approvalCents) -> Math.min(approvalCents, limitCents);
+            case RATIO:
+                long ratio = unscaled(value, RATIO_SCALE);
+                // 신청 금액 * 비율이 long 을 넘지 않도록 나눠서 계산
+                return (hopeCents, approvalCents) -> Math.min(approvalCents,
+                        hopeCents / RATIO_DENOMINATOR * ratio + hopeCents % RATIO_DENOMINATOR * ratio / RATIO_DENOMINATOR);
+            default:
+                throw new IllegalStateException("unknown action " + action);
+        }
+    }
+
+    private static long unscaled(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    @AllArgsConstructor
+    private static final class Rule {
+
+        private final String name;
+
+        private final int feature;
+
+        private final LongPredicate condition;
+
+        private final LongBinaryOperator action;
+
+        private final boolean terminal;
+    }
+
+    /**
+     * 규칙별 평가 수, 일치 수, 소요 시간. 한 스레드에서만 쓰고, 합칠 때는 merge.
+     */
+    public static final class Stats {
+
+        private final long[] evaluated;
+
+        private final long[] matched;
+
+        private final long[] nanos;
+
+        private Stats(int ruleCount) {
+            this.evaluated = new long[ruleCount];
+            this.matched = new long[ruleCount];
+            this.nanos = new long[ruleCount];
+        }
+
+        private void add(int rule, boolean hit, long elapsedNanos) {
+            evaluated[rule]++;
+            if (hit) {
+                matched[rule]++;
+            }
+            nanos[rule] += elapsedNanos;
+        }
+
+        public synchronized void merge(Stats other) {
+            for (int i = 0; i < evaluated.length; i++) {
+                evaluated[i] += other.evaluated[i];
+                matched[i] += other.matched[i];
+                nanos[i] += other.nanos[i];
+            }
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.fastcampus.loan.service;
 import com.fastcampus.loan.dto.ApplicationDTO;
 import com.fastcampus.loan.dto.JudgementDTO;
 
+import java.util.List;
+
 public interface JudgementService {
 
     JudgementDTO.Response create(JudgementDTO.Request request);
@@ -16,4 +18,7 @@ public interface JudgementService {
     void delete(Long judgementId);
 
     ApplicationDTO.GrantAmount grant(Long judgementId);
+
+    // 여러 심사를 한 번에 승인, 승인할 수 없는 심사는 건너뛰고 ID 별 결과 코드로 돌려준다
+    JudgementDTO.GrantResponse grantAll(List<Long> judgementIds);
 }
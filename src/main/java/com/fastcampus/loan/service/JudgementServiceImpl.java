@@ -1,8 +1,11 @@
 package com.fastcampus.loan.service;
 
 import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.DomainEventType;
 import com.fastcampus.loan.domain.Judgement;
 import com.fastcampus.loan.dto.ApplicationDTO;
+import com.fastcampus.loan.dto.CreditDataDTO;
 import com.fastcampus.loan.dto.JudgementDTO;
 import com.fastcampus.loan.exception.BaseException;
 import com.fastcampus.loan.exception.ResultType;
@@ -10,32 +13,90 @@ import com.fastcampus.loan.repository.ApplicationRepository;
 import com.fastcampus.loan.repository.JudgementRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class JudgementServiceImpl implements JudgementService {
 
+    // 일괄 승인 한 번에 받는 심사 수 (IN 절 크기)
+    private static final int MAX_GRANT_SIZE = 1000;
+
+    // 읽은 상태에서 바뀌지 않았을 때만 승인
+    private static final String GRANT_SQL = "update application set approval_amount = ?, status = 'GRANTED', updated_at = ? "
+            + "where application_id = ? and status = ? and is_deleted = false";
+
     private final JudgementRepository judgementRepository;
 
     private final ApplicationRepository applicationRepository;
 
+    private final ScheduleService scheduleService;
+
+    private final ApplicationService applicationService;
+
+    private final ApplicationStateCache applicationStateCache;
+
+    private final OutboxService outboxService;
+
+    private final CreditDataService creditDataService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
     private final ModelMapper modelMapper;
 
     @Override
     public JudgementDTO.Response create(JudgementDTO.Request request) {
         // 신청 정보 검증
+        // 신용 정보 조회에 이름, 연락처가 필요하므로 캐시 대신 신청을 읽고 그 상태로 검증한다
         Long applicationId = request.getApplicationId();
-        if (!isPresentApplication(applicationId)){
+        Application application = applicationRepository.findById(applicationId).orElseThrow(()->{
             throw new BaseException(ResultType.SYSTEM_ERROR);
+        });
+
+        // 약관 동의까지 끝난 신청만 심사
+        if (application.getStatus() == null || !application.getStatus().canTransitTo(ApplicationStatus.JUDGED)){
+            throw new BaseException(ResultType.INVALID_APPLICATION_STATUS);
         }
 
+        // 외부 신용 정보는 트랜잭션 밖에서 provider 를 동시에 조회, 응답하지 않은 provider 값은 비워 둔다
+        CreditDataDTO.Response creditData = creditDataService.fetch(CreditDataDTO.Applicant.builder()
+                .applicationId(applicationId)
+                .name(application.getName())
+                .cellPhone(application.getCellPhone())
+                .build());
+
         // request dto -> entity -> save
         Judgement judgement = modelMapper.map(request, Judgement.class);
+        judgement.setCreditScore(creditData.getCreditScore());
+        judgement.setAnnualIncome(creditData.getAnnualIncome());
+        judgement.setFraudScore(creditData.getFraudScore());
 
-        Judgement saved = judgementRepository.save(judgement);
+        // 상태 변경이 실패하면 심사도 남기지 않는다
+        Judgement saved = transactionTemplate.execute(status -> {
+            Judgement created = judgementRepository.save(judgement);
+            applicationService.transit(applicationId, ApplicationStatus.JUDGED);
+            return created;
+        });
 
         // save -> response dto
         return modelMapper.map(saved, JudgementDTO.Response.class);
@@ -89,6 +150,7 @@ public class JudgementServiceImpl implements JudgementService {
     }
 
     @Override
+    @Transactional
     public ApplicationDTO.GrantAmount grant(Long judgementId) {
         Judgement judgement = judgementRepository.findById(judgementId).orElseThrow(()->{
             throw new BaseException(ResultType.SYSTEM_ERROR);
@@ -99,15 +161,163 @@ public class JudgementServiceImpl implements JudgementService {
             throw new BaseException(ResultType.SYSTEM_ERROR);
         });
 
+        if (application.getStatus() == null || !application.getStatus().canTransitTo(ApplicationStatus.GRANTED)){
+            throw new BaseException(ResultType.INVALID_APPLICATION_STATUS);
+        }
+
+        // 거절된 심사(승인 금액 0)는 승인하지 않는다
         BigDecimal approvalAmount = judgement.getApprovalAmount();
+        if (!isApproved(approvalAmount)) {
+            throw new BaseException(ResultType.JUDGEMENT_REJECTED);
+        }
+
+        // 동시에 들어온 승인은 상태 조건 update 에서 하나만 성공한다
+        applicationService.transit(applicationId, application.getStatus(), ApplicationStatus.GRANTED);
+
         application.setApprovalAmount(approvalAmount);
+        application.setStatus(ApplicationStatus.GRANTED);
 
         applicationRepository.save(application);
 
-        return modelMapper.map(application, ApplicationDTO.GrantAmount.class);
+        // 승인 금액이 바뀌었으므로 상환 스케줄 다시 계산
+        scheduleService.evict(applicationId);
+        applicationStateCache.invalidate(applicationId);
+
+        ApplicationDTO.GrantAmount grantAmount = modelMapper.map(application, ApplicationDTO.GrantAmount.class);
+        outboxService.append(applicationId, DomainEventType.APPLICATION_GRANTED, grantAmount);
+
+        return grantAmount;
+    }
+
+    /**
+     * 심사와 신청 상태를 IN 조회 두 번으로 읽고, 승인할 수 있는 신청만 JDBC batch update 한 번으로 승인한다.
+     * update 는 읽은 상태 조건을 걸어서 그 사이 다른 요청이 상태를 바꾼 신청은 INVALID_APPLICATION_STATUS 로 돌려준다.
+     * 거절된 심사(승인 금액 0)는 JUDGEMENT_REJECTED 로 돌려준다.
+     * 승인된 신청은 APPLICATION_GRANTED 이벤트를 남기고, 스케줄 캐시, 상태 캐시는 커밋 후에 한 번에 비운다.
+     */
+    @Override
+    @Transactional
+    public JudgementDTO.GrantResponse grantAll(List<Long> judgementIds) {
+        Set<Long> ids = judgementIds == null ? new LinkedHashSet<>() : new LinkedHashSet<>(judgementIds);
+        if (ids.isEmpty() || ids.size() > MAX_GRANT_SIZE || ids.contains(null)) {
+            throw new BaseException(ResultType.INVALID_GRANT_REQUEST);
+        }
+
+        Map<Long, Judgement> judgements = judgementRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Judgement::getJudgementId, Function.identity()));
+        Set<Long> applicationIds = judgements.values().stream().map(Judgement::getApplicationId).collect(Collectors.toSet());
+        Map<Long, ApplicationStatus> statuses = new HashMap<>();
+        if (!applicationIds.isEmpty()) {
+            for (Object[] row : applicationRepository.findStatusesByIds(applicationIds)) {
+                statuses.put((Long) row[0], (ApplicationStatus) row[1]);
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<JudgementDTO.GrantResult> results = new ArrayList<>(ids.size());
+        List<JudgementDTO.GrantResult> candidates = new ArrayList<>();
+        List<ApplicationStatus> beforeStatuses = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        Set<Long> grantingApplicationIds = new HashSet<>();
+        for (Long judgementId : ids) {
+            Judgement judgement = judgements.get(judgementId);
+            if (judgement == null || !statuses.containsKey(judgement.getApplicationId())) {
+                results.add(result(judgementId, judgement, ResultType.SYSTEM_ERROR));
+                continue;
+            }
+            if (!isApproved(judgement.getApprovalAmount())) {
+                results.add(result(judgementId, judgement, ResultType.JUDGEMENT_REJECTED));
+                continue;
+            }
+
+            // 한 신청의 심사가 여러 개 들어오면 먼저 온 심사만
+            ApplicationStatus status = statuses.get(judgement.getApplicationId());
+            if (status == null || !status.canTransitTo(ApplicationStatus.GRANTED) || !grantingApplicationIds.add(judgement.getApplicationId())) {
+                results.add(result(judgementId, judgement, ResultType.INVALID_APPLICATION_STATUS));
+                continue;
+            }
+
+            JudgementDTO.GrantResult result = result(judgementId, judgement, ResultType.SUCCESS);
+            results.add(result);
+            candidates.add(result);
+            beforeStatuses.add(status);
+            rows.add(new Object[]{judgement.getApprovalAmount(), now, judgement.getApplicationId(), status.name()});
+        }
+
+        int[] updated = rows.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(GRANT_SQL, rows);
+
+        List<Long> grantedApplicationIds = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            JudgementDTO.GrantResult result = candidates.get(i);
+            if (updated[i] == 0) {
+                result.setCode(ResultType.INVALID_APPLICATION_STATUS.getCode());
+                continue;
+            }
+
+            Long applicationId = result.getApplicationId();
+            grantedApplicationIds.add(applicationId);
+            // 한 건 승인(transit)과 같은 이벤트를 남긴다
+            outboxService.append(applicationId, DomainEventType.APPLICATION_STATUS_CHANGED, ApplicationDTO.StatusChange.builder()
+                    .applicationId(applicationId)
+                    .beforeStatus(beforeStatuses.get(i))
+                    .afterStatus(ApplicationStatus.GRANTED)
+                    .build());
+            outboxService.append(applicationId, DomainEventType.APPLICATION_GRANTED, ApplicationDTO.GrantAmount.builder()
+                    .applicationId(applicationId)
+                    .approvalAmount(result.getApprovalAmount())
+                    .updatedAt(now.toLocalDateTime())
+                    .build());
+        }
+
+        evictAfterCommit(grantedApplicationIds);
+
+        int grantedCount = grantedApplicationIds.size();
+        return JudgementDTO.GrantResponse.builder()
+                .grantedCount(grantedCount)
+                .failedCount(results.size() - grantedCount)
+                .results(results)
+                .build();
+    }
+
+    // 커밋 전에 비우면 다른 요청이 이전 승인 금액으로 다시 캐시할 수 있으므로 커밋 후에 비운다
+    private void evictAfterCommit(List<Long> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(applicationIds);
+                }
+            });
+        } else {
+            evict(applicationIds);
+        }
+    }
+
+    private void evict(List<Long> applicationIds) {
+        for (Long applicationId : applicationIds) {
+            scheduleService.evict(applicationId);
+            applicationStateCache.invalidate(applicationId);
+        }
+    }
+
+    private JudgementDTO.GrantResult result(Long judgementId, Judgement judgement, ResultType resultType) {
+        return JudgementDTO.GrantResult.builder()
+                .judgementId(judgementId)
+                .applicationId(judgement == null ? null : judgement.getApplicationId())
+                .approvalAmount(judgement == null ? null : judgement.getApprovalAmount())
+                .code(resultType.getCode())
+                .build();
+    }
+
+    private boolean isApproved(BigDecimal approvalAmount) {
+        return approvalAmount != null && approvalAmount.signum() > 0;
     }
 
     private boolean isPresentApplication(Long applicationId){
-        return applicationRepository.findById(applicationId).isPresent();
+        return applicationStateCache.get(applicationId).isPresent();
     }
 }
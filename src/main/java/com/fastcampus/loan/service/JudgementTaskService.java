@@ -0,0 +1,11 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.dto.JudgementDTO;
+
+public interface JudgementTaskService {
+
+    // 심사, 승인을 작업 큐에 넣고 바로 돌려준다 (approvalAmount 가 없으면 규칙으로 심사)
+    JudgementDTO.TaskResponse submit(JudgementDTO.Request request);
+
+    JudgementDTO.TaskResponse get(Long judgementTaskId);
+}
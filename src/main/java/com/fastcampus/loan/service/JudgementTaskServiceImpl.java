@@ -0,0 +1,67 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.JudgementTask;
+import com.fastcampus.loan.domain.JudgementTaskStatus;
+import com.fastcampus.loan.dto.JudgementDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.JudgementTaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.modelmapper.ModelMapper;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+
+@Service
+@RequiredArgsConstructor
+public class JudgementTaskServiceImpl implements JudgementTaskService {
+
+    private final JudgementTaskRepository judgementTaskRepository;
+
+    private final JudgementTaskWorker judgementTaskWorker;
+
+    private final ApplicationStateCache applicationStateCache;
+
+    private final ModelMapper modelMapper;
+
+    @Override
+    public JudgementDTO.TaskResponse submit(JudgementDTO.Request request) {
+        // 신청 정보 검증, 처리할 때 다시 검증하지만 받을 수 없는 요청은 큐에 넣지 않는다
+        Long applicationId = request.getApplicationId();
+        ApplicationStateCache.State state = applicationStateCache.get(applicationId);
+        if (!state.isPresent()){
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+
+        if (!state.canTransitTo(ApplicationStatus.JUDGED)){
+            throw new BaseException(ResultType.INVALID_APPLICATION_STATUS);
+        }
+
+        if (judgementTaskRepository.existsByApplicationIdAndStatusIn(applicationId,
+                EnumSet.of(JudgementTaskStatus.QUEUED, JudgementTaskStatus.RUNNING))){
+            throw new BaseException(ResultType.JUDGEMENT_TASK_IN_PROGRESS);
+        }
+
+        JudgementTask saved = judgementTaskRepository.save(JudgementTask.builder()
+                .applicationId(applicationId)
+                .name(request.getName())
+                .approvalAmount(request.getApprovalAmount())
+                .status(JudgementTaskStatus.QUEUED)
+                .attempts(0)
+                .build());
+
+        judgementTaskWorker.wakeUp();
+
+        return modelMapper.map(saved, JudgementDTO.TaskResponse.class);
+    }
+
+    @Override
+    public JudgementDTO.TaskResponse get(Long judgementTaskId) {
+        JudgementTask judgementTask = judgementTaskRepository.findById(judgementTaskId).orElseThrow(()->{
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        });
+
+        return modelMapper.map(judgementTask, JudgementDTO.TaskResponse.class);
+    }
+}
@@ -0,0 +1,355 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.DomainEventType;
+import com.fastcampus.loan.domain.JudgementTask;
+import com.fastcampus.loan.domain.JudgementTaskStatus;
+import com.fastcampus.loan.dto.ApplicationDTO;
+import com.fastcampus.loan.dto.JudgementDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.JudgementTaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * judgement_task 테이블을 작업 큐로 쓰는 심사 worker.
+ * dispatcher 스레드 하나가 쉬는 worker 가 있을 때만 대기 작업을 ID 순서로 가져와(QUEUED -> RUNNING 조건부 update) worker 에게 넘기므로
+ * 요청이 몰려도 스레드와 메모리에 올라가는 작업은 workers 개를 넘지 않고, 나머지는 테이블에서 기다린다.
+ * worker 는 심사(승인 금액이 없으면 규칙으로) 후 승인까지 하고, 결과를 작업에 저장하면서 같은 트랜잭션으로 outbox 이벤트를 남긴다.
+ * 예상하지 못한 오류는 max-attempts 까지 다시 큐에 넣고, 처리 중에 서버가 내려가 lease 가 지난 RUNNING 작업도 다시 큐에 넣는다.
+ * 심사 ID 를 먼저 저장하므로 다시 처리할 때는 승인부터 한다. 거절된 심사는 승인하지 않고 FAILED(JUDGEMENT_REJECTED) 로 끝낸다.
+ * 종료할 때는 DataSource 가 닫히기 전(SmartLifecycle stop)에 dispatcher 가 멈출 때까지 기다리고, 처리 중인 작업을 기다린다.
+ * enabled=false 면 작업을 가져오지 않는다 (접수만 하는 인스턴스, 같은 DB 를 쓰는 테스트 context).
+ */
+@Slf4j
+@Component
+@Order(3)
+public class JudgementTaskWorker implements ApplicationRunner, SmartLifecycle {
+
+    private final JudgementTaskRepository judgementTaskRepository;
+
+    private final JudgementService judgementService;
+
+    private final AutoJudgementService autoJudgementService;
+
+    private final OutboxService outboxService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ModelMapper modelMapper;
+
+    private final int fetchSize;
+
+    private final int maxAttempts;
+
+    private final long pollIntervalMs;
+
+    private final long shutdownTimeoutMs;
+
+    private final Duration lease;
+
+    private final boolean enabled;
+
+    private final ExecutorService executor;
+
+    private final ExecutorService dispatcher;
+
+    // 쉬고 있는 worker 수
+    private final Semaphore idle;
+
+    // 새 작업이 들어왔음을 dispatcher 에게 알린다, 한 번에 하나만 있으면 된다
+    private final BlockingQueue<Boolean> signal = new ArrayBlockingQueue<>(1);
+
+    private final AtomicLong depth = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    private final Timer waitTimer;
+
+    private final Timer processingTimer;
+
+    private final Counter completed;
+
+    private final Counter failed;
+
+    private final Counter retried;
+
+    public JudgementTaskWorker(JudgementTaskRepository judgementTaskRepository,
+                               JudgementService judgementService,
+                               AutoJudgementService autoJudgementService,
+                               OutboxService outboxService,
+                               PlatformTransactionManager transactionManager,
+                               ModelMapper modelMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${loan.judgement.queue.enabled:true}") boolean enabled,
+                               @Value("${loan.judgement.queue.workers:4}") int workers,
+                               @Value("${loan.judgement.queue.fetch-size:100}") int fetchSize,
+                               @Value("${loan.judgement.queue.max-attempts:3}") int maxAttempts,
+                               @Value("${loan.judgement.queue.poll-interval-ms:500}") long pollIntervalMs,
+                               @Value("${loan.judgement.queue.lease-ms:600000}") long leaseMs,
+                               @Value("${loan.judgement.queue.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.judgementTaskRepository = judgementTaskRepository;
+        this.judgementService = judgementService;
+        this.autoJudgementService = autoJudgementService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.modelMapper = modelMapper;
+        this.fetchSize = fetchSize;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalMs = pollIntervalMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.enabled = enabled;
+        this.idle = new Semaphore(workers);
+        this.executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("judgement-worker-"));
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "judgement-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("judgement.queue.depth", depth, AtomicLong::get)
+                .description("대기 중인 심사 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("judgement.queue.active", idle, s -> workers - s.availablePermits())
+                .description("처리 중인 worker 수")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("judgement.queue.wait")
+                .description("접수부터 처리 시작까지")
+                .register(meterRegistry);
+        this.processingTimer = Timer.builder("judgement.queue.processing")
+                .register(meterRegistry);
+        this.completed = Counter.builder("judgement.queue.finished")
+                .tag("status", JudgementTaskStatus.COMPLETED.name())
+                .register(meterRegistry);
+        this.failed = Counter.builder("judgement.queue.finished")
+                .tag("status", JudgementTaskStatus.FAILED.name())
+                .register(meterRegistry);
+        this.retried = Counter.builder("judgement.queue.retried")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("judgement queue dispatcher is disabled");
+            return;
+        }
+        recover();
+        dispatcher.execute(this::dispatch);
+    }
+
+    public void wakeUp() {
+        depth.incrementAndGet();
+        signal.offer(Boolean.TRUE);
+    }
+
+    // lease 가 지나도록 끝나지 않은 작업 (처리 중에 내려간 서버)
+    @Scheduled(fixedDelayString = "${loan.judgement.queue.recover-interval-ms:60000}")
+    public void recover() {
+        if (!enabled || !running) {
+            return;
+        }
+        int requeued = judgementTaskRepository.requeueStartedBefore(LocalDateTime.now().minus(lease));
+        if (requeued > 0) {
+            log.warn("requeued {} judgement tasks running longer than {}", requeued, lease);
+            signal.offer(Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void start() {
+        // 가져오기는 다른 ApplicationRunner(backfill) 다음에 run 에서 시작한다
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        signal.offer(Boolean.TRUE);
+        try {
+            // 가져온 작업을 worker 에게 넘길 때까지 dispatcher 를 기다린 다음, 처리 중인 작업을 잠시 기다린다
+            // 그래도 남으면 RUNNING 으로 두었다가 lease 후에 다시 처리한다
+            dispatcher.shutdown();
+            if (!dispatcher.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                dispatcher.shutdownNow();
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            dispatcher.shutdownNow();
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void dispatch() {
+        Deque<Long> fetched = new ArrayDeque<>();
+        while (running && !Thread.currentThread().isInterrupted()) {
+            Long judgementTaskId;
+            try {
+                idle.acquire();
+                if (!running) {
+                    return;
+                }
+                try {
+                    judgementTaskId = claimNext(fetched);
+                } catch (RuntimeException e) {
+                    log.warn("failed to claim judgement task", e);
+                    judgementTaskId = null;
+                }
+
+                if (judgementTaskId == null) {
+                    idle.release();
+                    signal.poll(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            Long taskId = judgementTaskId;
+            try {
+                executor.execute(() -> {
+                    try {
+                        process(taskId);
+                    } finally {
+                        idle.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 종료 중, 가져간 작업은 lease 후에 다시 처리된다
+                return;
+            }
+        }
+    }
+
+    private Long claimNext(Deque<Long> fetched) {
+        while (true) {
+            if (fetched.isEmpty()) {
+                depth.set(judgementTaskRepository.countByStatus(JudgementTaskStatus.QUEUED));
+                if (depth.get() == 0) {
+                    return null;
+                }
+                fetched.addAll(judgementTaskRepository.findIdsByStatus(JudgementTaskStatus.QUEUED, PageRequest.of(0, fetchSize)));
+                if (fetched.isEmpty()) {
+                    return null;
+                }
+            }
+
+            Long judgementTaskId = fetched.poll();
+            if (judgementTaskRepository.claim(judgementTaskId, LocalDateTime.now()) == 1) {
+                depth.updateAndGet(d -> Math.max(0, d - 1));
+                return judgementTaskId;
+            }
+        }
+    }
+
+    private void process(Long judgementTaskId) {
+        JudgementTask task = judgementTaskRepository.findById(judgementTaskId).orElse(null);
+        if (task == null) {
+            return;
+        }
+        waitTimer.record(Duration.between(task.getCreatedAt(), task.getStartedAt()));
+
+        long start = System.nanoTime();
+        try {
+            if (task.getAttempts() > maxAttempts) {
+                finish(task, JudgementTaskStatus.FAILED, ResultType.SYSTEM_ERROR.getCode());
+                return;
+            }
+
+            if (task.getJudgementId() == null) {
+                JudgementDTO.Response judgement = judge(task);
+                task.setJudgementId(judgement.getJudgementId());
+                task = judgementTaskRepository.save(task);
+
+                // 규칙으로 거절(승인 금액 0)되면 승인하지 않고 끝낸다, 다시 처리할 때는 grant 가 거절한다
+                if (judgement.getApprovalAmount() == null || judgement.getApprovalAmount().signum() <= 0) {
+                    finish(task, JudgementTaskStatus.FAILED, ResultType.JUDGEMENT_REJECTED.getCode());
+                    return;
+                }
+            }
+
+            ApplicationDTO.GrantAmount grantAmount = judgementService.grant(task.getJudgementId());
+            task.setGrantedAmount(grantAmount.getApprovalAmount());
+            finish(task, JudgementTaskStatus.COMPLETED, null);
+        } catch (BaseException e) {
+            finish(task, JudgementTaskStatus.FAILED, e.getCode());
+        } catch (RuntimeException e) {
+            if (task.getAttempts() < maxAttempts) {
+                log.warn("judgement task {} failed, attempt {} of {}", judgementTaskId, task.getAttempts(), maxAttempts, e);
+                task.setStatus(JudgementTaskStatus.QUEUED);
+                judgementTaskRepository.save(task);
+                retried.increment();
+                wakeUp();
+            } else {
+                log.error("judgement task {} failed", judgementTaskId, e);
+                finish(task, JudgementTaskStatus.FAILED, ResultType.SYSTEM_ERROR.getCode());
+            }
+        } finally {
+            processingTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private JudgementDTO.Response judge(JudgementTask task) {
+        if (task.getApprovalAmount() == null) {
+            return autoJudgementService.judge(task.getApplicationId());
+        }
+
+        return judgementService.create(JudgementDTO.Request.builder()
+                .applicationId(task.getApplicationId())
+                .name(task.getName())
+                .approvalAmount(task.getApprovalAmount())
+                .build());
+    }
+
+    private void finish(JudgementTask task, JudgementTaskStatus status, String errorCode) {
+        task.setStatus(status);
+        task.setErrorCode(errorCode);
+        task.setCompletedAt(LocalDateTime.now());
+
+        transactionTemplate.executeWithoutResult(s -> {
+            JudgementTask saved = judgementTaskRepository.save(task);
+            outboxService.append(saved.getApplicationId(), DomainEventType.JUDGEMENT_TASK_FINISHED,
+                    modelMapper.map(saved, JudgementDTO.TaskResponse.class));
+        });
+
+        (status == JudgementTaskStatus.COMPLETED ? completed : failed).increment();
+    }
+}
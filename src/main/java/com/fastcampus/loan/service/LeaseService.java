@@ -0,0 +1,47 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.repository.ServiceLeaseRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 인스턴스가 여러 개여도 한 곳에서만 해야 하는 일(메모리 잔고 원장, 스케줄 배치)을 위한 DB lease.
+ * 이름마다 한 행을 두고, 이 인스턴스가 이미 잡고 있거나 만료된 행만 조건부 update 로 가져온다.
+ * 행이 없으면 insert 하고, 동시에 insert 하면 PK 위반으로 한 곳만 가져간다. 잡은 쪽은 ttl 안에 다시 acquire 해서 늘린다.
+ */
+@Component
+public class LeaseService {
+
+    private final ServiceLeaseRepository serviceLeaseRepository;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public LeaseService(ServiceLeaseRepository serviceLeaseRepository) {
+        this.serviceLeaseRepository = serviceLeaseRepository;
+    }
+
+    // 가져오거나 늘렸으면 true, 다른 인스턴스가 잡고 있으면 false
+    public boolean acquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        if (serviceLeaseRepository.renew(name, instanceId, now.plus(ttl), now) == 1) {
+            return true;
+        }
+        if (serviceLeaseRepository.existsById(name)) {
+            return false;
+        }
+
+        try {
+            return serviceLeaseRepository.insert(name, instanceId, now.plus(ttl)) == 1;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        serviceLeaseRepository.release(name, instanceId, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,130 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.OutboxEvent;
+import com.fastcampus.loan.dto.DomainEventDTO;
+import com.fastcampus.loan.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 커밋된 outbox 이벤트를 ID 순서로 읽어 DomainEventBus 로 발행하는 relay.
+ * 묶음이 구독자에게 모두 전달된 뒤에 발행 완료로 표시하므로 중간에 죽거나 구독자가 실패하면 다시 발행된다(최소 한 번).
+ * 한 번 돌 때 max-batches 묶음까지만 처리해서 같은 스케줄러를 쓰는 다른 작업을 막지 않는다.
+ * 가장 오래된 미발행 이벤트의 나이를 outbox.lag 로 내보낸다.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final DomainEventBus domainEventBus;
+
+    private final int batchSize;
+
+    private final int maxBatches;
+
+    private final long deliveryTimeoutMs;
+
+    private final Duration retention;
+
+    private final AtomicLong lagMs = new AtomicLong();
+
+    private final Counter published;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       DomainEventBus domainEventBus,
+                       MeterRegistry meterRegistry,
+                       @Value("${loan.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${loan.outbox.relay.max-batches:20}") int maxBatches,
+                       @Value("${loan.outbox.relay.delivery-timeout-ms:30000}") long deliveryTimeoutMs,
+                       @Value("${loan.outbox.retention-days:7}") long retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.domainEventBus = domainEventBus;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.deliveryTimeoutMs = deliveryTimeoutMs;
+        this.retention = Duration.ofDays(retentionDays);
+        this.published = Counter.builder("outbox.published")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagMs, AtomicLong::get)
+                .description("가장 오래된 미발행 outbox 이벤트의 나이(ms)")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${loan.outbox.relay.interval-ms:200}")
+    public void relay() {
+        for (int i = 0; i < maxBatches; i++) {
+            List<OutboxEvent> batch = outboxEventRepository.findByPublishedAtIsNullOrderByOutboxEventIdAsc(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                lagMs.set(0);
+                return;
+            }
+            lagMs.set(Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+
+            if (!publish(batch)) {
+                return;
+            }
+
+            outboxEventRepository.markPublished(batch.stream().map(OutboxEvent::getOutboxEventId).collect(Collectors.toList()),
+                    LocalDateTime.now());
+            published.increment(batch.size());
+
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${loan.outbox.purge-cron:0 0 4 * * *}")
+    public void purge() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("purged {} published outbox events", deleted);
+        }
+    }
+
+    // 제한 시간 안에 전달되지 않거나 구독자가 실패하면 표시하지 않고 다음에 다시 발행한다
+    private boolean publish(List<OutboxEvent> batch) {
+        List<DomainEventDTO.Event> events = batch.stream()
+                .map(e -> DomainEventDTO.Event.builder()
+                        .eventId(e.getOutboxEventId())
+                        .applicationId(e.getApplicationId())
+                        .type(e.getType())
+                        .payload(e.getPayload())
+                        .occurredAt(e.getCreatedAt())
+                        .build())
+                .collect(Collectors.toList());
+
+        try {
+            DomainEventBus.Receipt receipt = domainEventBus.publish(events);
+            if (!receipt.await(deliveryTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("outbox events {} ~ {} are not delivered in {} ms",
+                        events.get(0).getEventId(), events.get(events.size() - 1).getEventId(), deliveryTimeoutMs);
+                return false;
+            }
+            if (receipt.isFailed()) {
+                log.warn("outbox events {} ~ {} failed to deliver, will retry",
+                        events.get(0).getEventId(), events.get(events.size() - 1).getEventId());
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.DomainEventType;
+
+public interface OutboxService {
+
+    // 호출한 쪽 트랜잭션에 같이 저장, 커밋된 이벤트만 relay 가 발행한다
+    void append(Long applicationId, DomainEventType type, Object payload);
+}
@@ -0,0 +1,36 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.DomainEventType;
+import com.fastcampus.loan.domain.OutboxEvent;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void append(Long applicationId, DomainEventType type, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .applicationId(applicationId)
+                .type(type)
+                .payload(json)
+                .build());
+    }
+}
@@ -0,0 +1,164 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.domain.RepaymentImportFormat;
+import com.fastcampus.loan.dto.RepaymentDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 상환 파일(CSV, NDJSON)을 한 줄씩 읽어서 chunkSize 건씩 돌려준다. 파일 전체를 메모리에 올리지 않는다.
+ * chunk 마다 파일에서 끝난 위치(byte offset)와 줄 수를 들고 있어서, 그 위치부터 다시 열면 다음 chunk 부터 이어서 읽는다.
+ * 형식이 잘못된 줄은 applicationId, repaymentAmount 가 비어있는 요청으로 넘겨서 검증 단계에서 실패 처리되게 한다.
+ */
+public class RepaymentImportReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+
+    private final RepaymentImportFormat format;
+
+    private final ObjectMapper objectMapper;
+
+    private final int chunkSize;
+
+    private long offset;
+
+    private long lineNumber;
+
+    private byte[] line = new byte[256];
+
+    public RepaymentImportReader(Path path, RepaymentImportFormat format, ObjectMapper objectMapper,
+                                 int chunkSize, long offset, long lineNumber) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        channel.position(offset);
+
+        this.in = new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.offset = offset;
+        this.lineNumber = lineNumber;
+    }
+
+    // 더 읽을 요청이 없으면 null
+    public Chunk next() throws IOException {
+        List<RepaymentDTO.BatchRequest> requests = new ArrayList<>(chunkSize);
+
+        while (requests.size() < chunkSize) {
+            String text = readLine();
+            if (text == null) {
+                break;
+            }
+            lineNumber++;
+
+            if (text.isBlank() || (format == RepaymentImportFormat.CSV && lineNumber == 1 && isHeader(text))) {
+                continue;
+            }
+            requests.add(parse(text));
+        }
+
+        if (requests.isEmpty()) {
+            return null;
+        }
+
+        return new Chunk(requests, offset, lineNumber);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // '\n' 까지 읽어서 돌려주고 offset 을 옮긴다, 파일 끝이면 null
+    private String readLine() throws IOException {
+        int length = 0;
+        int read;
+        while ((read = in.read()) != -1) {
+            offset++;
+            if (read == '\n') {
+                break;
+            }
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = (byte) read;
+        }
+
+        if (read == -1 && length == 0) {
+            return null;
+        }
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private boolean isHeader(String text) {
+        String trimmed = text.replace("\uFEFF", "").trim();
+        return !trimmed.isEmpty() && !Character.isDigit(trimmed.charAt(0));
+    }
+
+    private RepaymentDTO.BatchRequest parse(String text) {
+        try {
+            if (format == RepaymentImportFormat.NDJSON) {
+                return objectMapper.readValue(text, RepaymentDTO.BatchRequest.class);
+            }
+
+            // applicationId,repaymentAmount
+            String[] columns = text.split(",", -1);
+            if (columns.length != 2) {
+                return new RepaymentDTO.BatchRequest();
+            }
+
+            return RepaymentDTO.BatchRequest.builder()
+                    .applicationId(Long.parseLong(columns[0].trim()))
+                    .repaymentAmount(Money.of(new BigDecimal(columns[1].trim())))
+                    .build();
+        } catch (IOException | RuntimeException e) {
+            return new RepaymentDTO.BatchRequest();
+        }
+    }
+
+    public static final class Chunk {
+
+        private final List<RepaymentDTO.BatchRequest> requests;
+
+        private final long endOffset;
+
+        private final long endLine;
+
+        private Chunk(List<RepaymentDTO.BatchRequest> requests, long endOffset, long endLine) {
+            this.requests = requests;
+            this.endOffset = endOffset;
+            this.endLine = endLine;
+        }
+
+        public List<RepaymentDTO.BatchRequest> getRequests() {
+            return requests;
+        }
+
+        public long getEndOffset() {
+            return endOffset;
+        }
+
+        public long getEndLine() {
+            return endLine;
+        }
+    }
+}
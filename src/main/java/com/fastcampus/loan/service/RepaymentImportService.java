@@ -0,0 +1,15 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.RepaymentImportFormat;
+import com.fastcampus.loan.dto.RepaymentImportDTO;
+
+import java.io.InputStream;
+
+public interface RepaymentImportService {
+
+    RepaymentImportDTO.Response create(RepaymentImportFormat format, InputStream file);
+
+    RepaymentImportDTO.Response get(Long repaymentImportId);
+
+    RepaymentImportDTO.Response resume(Long repaymentImportId);
+}
@@ -0,0 +1,252 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.RepaymentImport;
+import com.fastcampus.loan.domain.RepaymentImportFormat;
+import com.fastcampus.loan.domain.RepaymentImportStatus;
+import com.fastcampus.loan.dto.RepaymentDTO;
+import com.fastcampus.loan.dto.RepaymentImportDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.RepaymentImportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 상환 파일 import.
+ * 업로드된 파일은 디스크에 그대로 저장하고, parser 스레드가 chunk 단위로 읽어서 크기가 정해진 queue 에 넣는다.
+ * import 스레드는 queue 에서 chunk 를 꺼내 검증, 저장, 잔고 반영, 진행 위치 저장을 한 트랜잭션으로 처리한다.
+ * queue 가 차면 parser 가 기다리므로 파일 크기와 상관없이 메모리에는 chunk 몇 개만 올라가고,
+ * 실패하거나 서버가 내려가도 마지막으로 커밋된 chunk 다음 위치부터 resume 할 수 있다.
+ * 실행은 DB 에서 claim 토큰과 lease 로 가져오므로 인스턴스가 여러 개여도 한 run 만 진행하고, lease 는 chunk 를 커밋할 때마다 늘린다.
+ * 진행 위치는 읽기 시작한 위치와 토큰이 그대로일 때만 옮기고(compare-and-set), 0 건이면 다른 run 이 가져간 것이므로 chunk 를 롤백하고 멈춘다.
+ */
+@Slf4j
+@Service
+public class RepaymentImportServiceImpl implements RepaymentImportService {
+
+    // parser 가 파일 끝에 도달했음을 알리는 chunk
+    private static final Object END = new Object();
+
+    private final RepaymentImportRepository repaymentImportRepository;
+
+    private final RepaymentService repaymentService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final ModelMapper modelMapper;
+
+    private final String location;
+
+    private final int chunkSize;
+
+    private final int queueCapacity;
+
+    private final Duration lease;
+
+    private final ExecutorService executor;
+
+    public RepaymentImportServiceImpl(RepaymentImportRepository repaymentImportRepository,
+                                      RepaymentService repaymentService,
+                                      PlatformTransactionManager transactionManager,
+                                      ObjectMapper objectMapper,
+                                      ModelMapper modelMapper,
+                                      @Value("${loan.repayment.import.location:./file/imports}") String location,
+                                      @Value("${loan.repayment.import.chunk-size:1000}") int chunkSize,
+                                      @Value("${loan.repayment.import.queue-capacity:4}") int queueCapacity,
+                                      @Value("${loan.repayment.import.workers:2}") int workers,
+                                      @Value("${loan.repayment.import.lease-ms:300000}") long leaseMs) {
+        this.repaymentImportRepository = repaymentImportRepository;
+        this.repaymentService = repaymentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.modelMapper = modelMapper;
+        this.location = location;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("repayment-import-"));
+    }
+
+    @Override
+    public RepaymentImportDTO.Response create(RepaymentImportFormat format, InputStream file) {
+        Path path;
+        long fileSize;
+        try {
+            Path directoryPath = Paths.get(location);
+            if (!Files.exists(directoryPath)) {
+                Files.createDirectories(directoryPath);
+            }
+
+            // 요청 body 를 메모리에 올리지 않고 파일로 바로 저장
+            path = directoryPath.resolve(UUID.randomUUID() + "." + format.name().toLowerCase());
+            fileSize = Files.copy(file, path);
+        } catch (Exception e) {
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+
+        String claimToken = UUID.randomUUID().toString();
+        RepaymentImport repaymentImport = repaymentImportRepository.save(RepaymentImport.builder()
+                .format(format)
+                .status(RepaymentImportStatus.RUNNING)
+                .filePath(path.toString())
+                .fileSize(fileSize)
+                .committedOffset(0L)
+                .committedLines(0L)
+                .succeededCount(0L)
+                .failedCount(0L)
+                .claimToken(claimToken)
+                .leaseExpiresAt(LocalDateTime.now().plus(lease))
+                .build());
+
+        start(repaymentImport.getRepaymentImportId(), claimToken);
+
+        return modelMapper.map(repaymentImport, RepaymentImportDTO.Response.class);
+    }
+
+    @Override
+    public RepaymentImportDTO.Response get(Long repaymentImportId) {
+        RepaymentImport repaymentImport = repaymentImportRepository.findById(repaymentImportId).orElseThrow(()->{
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        });
+
+        return modelMapper.map(repaymentImport, RepaymentImportDTO.Response.class);
+    }
+
+    @Override
+    public RepaymentImportDTO.Response resume(Long repaymentImportId) {
+        if (!repaymentImportRepository.existsById(repaymentImportId)) {
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+
+        // 완료됐거나 어느 인스턴스에서든 lease 안에서 실행 중인 import 는 다시 시작할 수 없음
+        String claimToken = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        if (repaymentImportRepository.claim(repaymentImportId, claimToken, now.plus(lease), now) == 0) {
+            throw new BaseException(ResultType.NOT_RESUMABLE_IMPORT);
+        }
+
+        start(repaymentImportId, claimToken);
+
+        return get(repaymentImportId);
+    }
+
+    @PreDestroy
+    public void close() {
+        // 진행 중인 import 는 RUNNING 으로 남고 lease 를 풀어, 마지막으로 커밋된 chunk 다음부터 바로 resume 할 수 있다
+        executor.shutdownNow();
+    }
+
+    private void start(Long repaymentImportId, String claimToken) {
+        executor.execute(() -> run(repaymentImportId, claimToken));
+    }
+
+    private void run(Long repaymentImportId, String claimToken) {
+        RepaymentImport repaymentImport = repaymentImportRepository.findById(repaymentImportId).orElseThrow();
+
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Exception> parseError = new AtomicReference<>();
+
+        // parse : queue 가 차면 put 에서 기다린다 (backpressure)
+        Thread parser = new Thread(() -> {
+            try (RepaymentImportReader reader = new RepaymentImportReader(Paths.get(repaymentImport.getFilePath()),
+                    repaymentImport.getFormat(), objectMapper, chunkSize,
+                    repaymentImport.getCommittedOffset(), repaymentImport.getCommittedLines())) {
+                RepaymentImportReader.Chunk chunk;
+                while ((chunk = reader.next()) != null) {
+                    queue.put(chunk);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                parseError.set(e);
+            }
+
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "repayment-import-parser-" + repaymentImportId);
+        parser.start();
+
+        try {
+            long committedOffset = repaymentImport.getCommittedOffset();
+            Object next;
+            while ((next = queue.take()) != END) {
+                RepaymentImportReader.Chunk chunk = (RepaymentImportReader.Chunk) next;
+                if (!commit(repaymentImportId, claimToken, committedOffset, chunk)) {
+                    log.warn("repayment import {} was claimed by another run, stopped at offset {}", repaymentImportId, committedOffset);
+                    return;
+                }
+                committedOffset = chunk.getEndOffset();
+            }
+
+            if (parseError.get() != null) {
+                throw parseError.get();
+            }
+
+            finish(repaymentImportId, claimToken, RepaymentImportStatus.COMPLETED, null);
+            log.info("repayment import {} completed", repaymentImportId);
+        } catch (InterruptedException e) {
+            // 서버 종료, RUNNING 으로 남겨두고 lease 만 푼다
+            Thread.currentThread().interrupt();
+            try {
+                repaymentImportRepository.release(repaymentImportId, claimToken);
+            } catch (RuntimeException releaseError) {
+                log.warn("failed to release repayment import {}, it can be resumed after the lease", repaymentImportId);
+            }
+        } catch (Exception e) {
+            log.error("repayment import {} failed", repaymentImportId, e);
+            finish(repaymentImportId, claimToken, RepaymentImportStatus.FAILED, String.valueOf(e.getMessage()));
+        } finally {
+            parser.interrupt();
+        }
+    }
+
+    // validate -> persist -> balance apply -> 진행 위치 저장을 한 트랜잭션으로, 실패하거나 다른 run 이 가져갔으면 chunk 전체가 롤백된다
+    private boolean commit(Long repaymentImportId, String claimToken, long expectedOffset, RepaymentImportReader.Chunk chunk) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            RepaymentDTO.BatchResponse response = repaymentService.createAll(chunk.getRequests());
+
+            int advanced = repaymentImportRepository.advance(repaymentImportId, claimToken, expectedOffset,
+                    chunk.getEndOffset(), chunk.getEndLine(), response.getSucceededCount(), response.getFailedCount(),
+                    LocalDateTime.now().plus(lease));
+            if (advanced == 0) {
+                status.setRollbackOnly();
+                return false;
+            }
+            return true;
+        }));
+    }
+
+    private void finish(Long repaymentImportId, String claimToken, RepaymentImportStatus status, String errorMessage) {
+        if (errorMessage != null && errorMessage.length() > 255) {
+            errorMessage = errorMessage.substring(0, 255);
+        }
+        if (repaymentImportRepository.finish(repaymentImportId, claimToken, status, errorMessage) == 0) {
+            log.warn("repayment import {} was claimed by another run, {} is not recorded", repaymentImportId, status);
+        }
+    }
+}
@@ -2,14 +2,22 @@ package com.fastcampus.loan.service;
 
 import com.fastcampus.loan.dto.RepaymentDTO;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface RepaymentService {
 
     RepaymentDTO.Response create(Long applicationId, RepaymentDTO.Request request);
 
+    RepaymentDTO.BatchResponse createAll(List<RepaymentDTO.BatchRequest> request);
+
     List<RepaymentDTO.ListResponse> get(Long applicationId);
 
+    RepaymentDTO.PageResponse get(Long applicationId, Long cursor, int size);
+
+    void stream(Long applicationId, OutputStream out) throws IOException;
+
     RepaymentDTO.UpdateResponse update(Long repaymentId, RepaymentDTO.Request request);
 
     void delete(Long repaymentId);
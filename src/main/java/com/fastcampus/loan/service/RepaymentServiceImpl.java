@@ -1,39 +1,65 @@
 package com.fastcampus.loan.service;
 
-import com.fastcampus.loan.domain.Application;
-import com.fastcampus.loan.domain.Entry;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.DomainEventType;
+import com.fastcampus.loan.domain.Money;
 import com.fastcampus.loan.domain.Repayment;
 import com.fastcampus.loan.dto.BalanceDTO;
 import com.fastcampus.loan.dto.RepaymentDTO;
+import com.fastcampus.loan.dto.ResultObject;
 import com.fastcampus.loan.exception.BaseException;
 import com.fastcampus.loan.exception.ResultType;
 import com.fastcampus.loan.repository.ApplicationRepository;
-import com.fastcampus.loan.repository.EntryRepository;
 import com.fastcampus.loan.repository.RepaymentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RepaymentServiceImpl implements RepaymentService {
 
+    // IN 절 하나에 넣을 신청 ID 수
+    private static final int IN_CLAUSE_SIZE = 1000;
+
+    // 상환 내역 한 페이지 최대 건수
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    // streaming 시 한 번에 읽어서 내보내는 건수
+    private static final int STREAM_PAGE_SIZE = 500;
+
     private final RepaymentRepository repaymentRepository;
 
     private final ApplicationRepository applicationRepository;
 
-    private final EntryRepository entryRepository;
+    private final ApplicationStateCache applicationStateCache;
+
+    private final ApplicationService applicationService;
 
     private final BalanceService balanceService;
 
+    private final OutboxService outboxService;
+
     private final ModelMapper modelMapper;
 
+    private final ObjectMapper objectMapper;
+
     @Override
+    @Transactional
     public RepaymentDTO.Response create(Long applicationId, RepaymentDTO.Request request) {
 
         // validation
@@ -56,12 +82,91 @@ public class RepaymentServiceImpl implements RepaymentService {
                         .type(BalanceDTO.RepaymentRequest.RepaymentType.REMOVE)
                         .build());
 
+        syncRepaymentStatus(applicationId, updatedBalance.getBalance());
+
         RepaymentDTO.Response response = modelMapper.map(repayment, RepaymentDTO.Response.class);
         response.setBalance(updatedBalance.getBalance());
 
+        outboxService.append(applicationId, DomainEventType.REPAYMENT_RECEIVED, response);
+
         return response;
     }
 
+    @Override
+    @Transactional
+    public RepaymentDTO.BatchResponse createAll(List<RepaymentDTO.BatchRequest> request) {
+
+        // validation
+        // 요청 건마다 조회하지 않고, 신청 ID 를 모아서 한 번에 상환 가능 여부 검증
+        Set<Long> applicationIds = new HashSet<>();
+        for (RepaymentDTO.BatchRequest item : request) {
+            if (item.getApplicationId() != null) {
+                applicationIds.add(item.getApplicationId());
+            }
+        }
+        Set<Long> repayableApplicationIds = findRepayableApplicationIds(applicationIds);
+
+        List<RepaymentDTO.BatchResult> results = new ArrayList<>(request.size());
+        List<Repayment> repayments = new ArrayList<>(request.size());
+        Map<Long, Long> repaymentCents = new LinkedHashMap<>();
+
+        for (int i = 0; i < request.size(); i++) {
+            RepaymentDTO.BatchRequest item = request.get(i);
+            Long applicationId = item.getApplicationId();
+            Money repaymentAmount = item.getRepaymentAmount();
+
+            ResultObject result;
+            if (applicationId == null || repaymentAmount == null || repaymentAmount.signum() <= 0) {
+                result = new ResultObject(ResultType.INVALID_REPAYMENT);
+            } else if (!repayableApplicationIds.contains(applicationId)) {
+                result = new ResultObject(ResultType.NOT_REPAYABLE_APPLICATION);
+            } else {
+                repayments.add(Repayment.builder()
+                        .applicationId(applicationId)
+                        .repaymentAmount(repaymentAmount)
+                        .build());
+                repaymentCents.merge(applicationId, repaymentAmount.getCents(), Money::addExact);
+                result = ResultObject.getSuccess();
+            }
+
+            results.add(RepaymentDTO.BatchResult.builder()
+                    .index(i)
+                    .applicationId(applicationId)
+                    .repaymentAmount(repaymentAmount)
+                    .result(result)
+                    .build());
+        }
+
+        repaymentRepository.insertAll(repayments);
+
+        // 잔고
+        // 신청 건별로 합산한 상환 금액을 한 번만 반영
+        for (Map.Entry<Long, Long> entry : repaymentCents.entrySet()) {
+            BalanceDTO.Response updatedBalance = balanceService.repaymentUpdate(entry.getKey(),
+                    BalanceDTO.RepaymentRequest.builder()
+                            .repaymentAmount(Money.ofCents(entry.getValue()))
+                            .type(BalanceDTO.RepaymentRequest.RepaymentType.REMOVE)
+                            .build());
+
+            syncRepaymentStatus(entry.getKey(), updatedBalance.getBalance());
+
+            // 신청 건별로 합산한 상환 한 건으로 발행
+            outboxService.append(entry.getKey(), DomainEventType.REPAYMENT_RECEIVED,
+                    RepaymentDTO.Response.builder()
+                            .applicationId(entry.getKey())
+                            .repaymentAmount(Money.ofCents(entry.getValue()))
+                            .balance(updatedBalance.getBalance())
+                            .build());
+        }
+
+        return RepaymentDTO.BatchResponse.builder()
+                .requestedCount(request.size())
+                .succeededCount(repayments.size())
+                .failedCount(request.size() - repayments.size())
+                .results(results)
+                .build();
+    }
+
     @Override
     public List<RepaymentDTO.ListResponse> get(Long applicationId) {
         List<Repayment> repayments = repaymentRepository.findAllByApplicationId(applicationId);
@@ -70,6 +175,42 @@ public class RepaymentServiceImpl implements RepaymentService {
     }
 
     @Override
+    public RepaymentDTO.PageResponse get(Long applicationId, Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        List<RepaymentDTO.ListResponse> repayments = repaymentRepository.findPageByApplicationId(applicationId,
+                cursor == null ? 0L : cursor, PageRequest.of(0, pageSize));
+
+        // 꽉 찬 페이지면 다음 페이지가 있을 수 있음
+        Long nextCursor = repayments.size() == pageSize ? repayments.get(pageSize - 1).getRepaymentId() : null;
+
+        return RepaymentDTO.PageResponse.builder()
+                .repayments(repayments)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // 상환 내역을 keyset 페이지 단위로 읽으면서 한 줄에 한 건씩(NDJSON) 바로 내보낸다
+    @Override
+    public void stream(Long applicationId, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(RepaymentDTO.ListResponse.class);
+
+        long cursor = 0L;
+        List<RepaymentDTO.ListResponse> repayments;
+        do {
+            repayments = repaymentRepository.findPageByApplicationId(applicationId, cursor, PageRequest.of(0, STREAM_PAGE_SIZE));
+
+            for (RepaymentDTO.ListResponse repayment : repayments) {
+                out.write(writer.writeValueAsBytes(repayment));
+                out.write('\n');
+                cursor = repayment.getRepaymentId();
+            }
+            out.flush();
+        } while (repayments.size() == STREAM_PAGE_SIZE);
+    }
+
+    @Override
+    @Transactional
     public RepaymentDTO.UpdateResponse update(Long repaymentId, RepaymentDTO.Request request) {
         Repayment repayment = repaymentRepository.findById(repaymentId).orElseThrow(()->{
            throw new BaseException(ResultType.SYSTEM_ERROR);
@@ -83,7 +224,7 @@ public class RepaymentServiceImpl implements RepaymentService {
         // 500 - 100 = 400
         // 이전에 잘못 입력한 상환 금액(100) 가져오기
         Long applicationId = repayment.getApplicationId();
-        BigDecimal beforeRepaymentAmount = repayment.getRepaymentAmount();
+        Money beforeRepaymentAmount = repayment.getRepaymentAmount();
 
         // 전체 대출 잔액에서 잘못 입력한 상환 금액 되돌리기 (+100)
         balanceService.repaymentUpdate(applicationId,
@@ -103,6 +244,8 @@ public class RepaymentServiceImpl implements RepaymentService {
                         .type(BalanceDTO.RepaymentRequest.RepaymentType.REMOVE)
                         .build());
 
+        syncRepaymentStatus(applicationId, updatedBalance.getBalance());
+
         return RepaymentDTO.UpdateResponse.builder()
                 .applicationId(applicationId)
                 .beforeRepaymentAmount(beforeRepaymentAmount)
@@ -114,15 +257,16 @@ public class RepaymentServiceImpl implements RepaymentService {
     }
 
     @Override
+    @Transactional
     public void delete(Long repaymentId) {
         Repayment repayment = repaymentRepository.findById(repaymentId).orElseThrow(()->{
            throw new BaseException(ResultType.SYSTEM_ERROR);
         });
 
         Long applicationId = repayment.getApplicationId();
-        BigDecimal removeRepaymentAmount = repayment.getRepaymentAmount();
+        Money removeRepaymentAmount = repayment.getRepaymentAmount();
 
-        balanceService.repaymentUpdate(applicationId
+        BalanceDTO.Response updatedBalance = balanceService.repaymentUpdate(applicationId
                 , BalanceDTO.RepaymentRequest.builder()
                                 .repaymentAmount(removeRepaymentAmount)
                                 .type(BalanceDTO.RepaymentRequest.RepaymentType.ADD)
@@ -131,20 +275,37 @@ public class RepaymentServiceImpl implements RepaymentService {
 
         repayment.setIsDeleted(true);
         repaymentRepository.save(repayment);
+
+        syncRepaymentStatus(applicationId, updatedBalance.getBalance());
     }
 
+    // 집행 후 상환 중인 신청, PK 로 상태만 조회
     private boolean isRepayableApplication(Long applicationId){
-        Optional<Application> existedApplication = applicationRepository.findById(applicationId);
-        if(existedApplication.isEmpty()){
-            return false;
-        }
+        return applicationStateCache.get(applicationId).isRepayable();
+    }
 
-        if(existedApplication.get().getContractedAt() == null){
-            return false;
+    // 잔고가 남아 있으면 상환 중, 다 갚았으면 상환 완료
+    private void syncRepaymentStatus(Long applicationId, Money balance){
+        ApplicationStatus status = balance.signum() > 0 ? ApplicationStatus.REPAYING : ApplicationStatus.CLOSED;
+        if(!applicationStateCache.get(applicationId).is(status)){
+            applicationService.transit(applicationId, status);
         }
+    }
 
-        Optional<Entry> existedEntry = entryRepository.findByApplicationId(applicationId);
-        return existedEntry.isPresent();
+    private Set<Long> findRepayableApplicationIds(Set<Long> applicationIds){
+        Set<Long> repayable = new HashSet<>();
+        List<Long> chunk = new ArrayList<>(IN_CLAUSE_SIZE);
+        for (Long applicationId : applicationIds) {
+            chunk.add(applicationId);
+            if (chunk.size() == IN_CLAUSE_SIZE) {
+                repayable.addAll(applicationRepository.findRepayableApplicationIds(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            repayable.addAll(applicationRepository.findRepayableApplicationIds(chunk));
+        }
 
+        return repayable;
     }
 }
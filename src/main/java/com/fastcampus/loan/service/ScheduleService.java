@@ -0,0 +1,11 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.RepaymentMethod;
+import com.fastcampus.loan.dto.ScheduleDTO;
+
+public interface ScheduleService {
+
+    ScheduleDTO.Response get(Long applicationId, RepaymentMethod method);
+
+    void evict(Long applicationId);
+}
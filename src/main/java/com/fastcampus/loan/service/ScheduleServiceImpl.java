@@ -0,0 +1,149 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.AmortizationSchedule;
+import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.domain.RepaymentMethod;
+import com.fastcampus.loan.dto.ScheduleDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.ApplicationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 신청 건의 승인 금액, 금리, 취급수수료, 만기로 상환 스케줄을 계산하고 신청 건 + 상환 방식별로 크기/TTL 제한 캐시에 들고 있는다.
+ * 입력값이 바뀌는 심사 승인(grant), 계약(contract) 시 evict 된다. 트랜잭션 안이면 완료 후에 한 번 더 evict 한다.
+ * 계산(신청 조회 포함)은 캐시 lock 밖에서 하고, 계산하는 동안 evict 가 있었으면 넣은 값을 다시 지운다.
+ * hit/miss 는 cache.gets{cache=schedule} 로 확인한다.
+ */
+@Service
+public class ScheduleServiceImpl implements ScheduleService {
+
+    private static final String CACHE_NAME = "schedule";
+
+    private final ApplicationRepository applicationRepository;
+
+    private final Cache<Long, Map<RepaymentMethod, ScheduleDTO.Response>> cache;
+
+    // evict 할 때마다 증가, 계산 전후로 비교해서 계산 중에 evict 된 값은 캐시에 남기지 않는다
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ScheduleServiceImpl(ApplicationRepository applicationRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${loan.schedule.cache.max-entries:10000}") long maxEntries,
+                               @Value("${loan.schedule.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.applicationRepository = applicationRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public ScheduleDTO.Response get(Long applicationId, RepaymentMethod method) {
+        Map<RepaymentMethod, ScheduleDTO.Response> schedules = cache.get(applicationId, key -> new ConcurrentHashMap<>());
+        ScheduleDTO.Response cached = schedules.get(method);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = evictions.get();
+        ScheduleDTO.Response computed = compute(applicationId, method);
+        ScheduleDTO.Response previous = schedules.putIfAbsent(method, computed);
+
+        // 계산하는 동안 evict 되었으면 이전 입력값으로 계산했을 수 있다, evict 가 넣은 뒤에 일어났다면 evict 가 지운다
+        if (evictions.get() != version) {
+            cache.invalidate(applicationId);
+        }
+        return previous != null ? previous : computed;
+    }
+
+    // 트랜잭션 안이면 커밋 전에 다른 요청이 이전 입력값으로 다시 캐시할 수 있으므로 완료 후 한 번 더 지운다
+    @Override
+    public void evict(Long applicationId) {
+        evictions.incrementAndGet();
+        cache.invalidate(applicationId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictions.incrementAndGet();
+                    cache.invalidate(applicationId);
+                }
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private ScheduleDTO.Response compute(Long applicationId, RepaymentMethod method) {
+        Application application = applicationRepository.findById(applicationId).orElseThrow(()->{
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        });
+
+        // 승인 금액, 금리, 만기가 있어야 함
+        LocalDateTime startedAt = application.getContractedAt() != null ? application.getContractedAt() : application.getAppliedAt();
+        if (application.getApprovalAmount() == null || application.getApprovalAmount().signum() <= 0
+                || application.getInterestRate() == null || application.getMaturity() == null || startedAt == null) {
+            throw new BaseException(ResultType.SCHEDULE_NOT_AVAILABLE);
+        }
+
+        LocalDate startDate = startedAt.toLocalDate();
+        int installments = (int) Math.max(1L, ChronoUnit.MONTHS.between(startDate, application.getMaturity().toLocalDate()));
+        long annualRateUnits = application.getInterestRate().setScale(4, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+
+        Money principal = Money.of(application.getApprovalAmount());
+        AmortizationSchedule schedule = AmortizationSchedule.of(method, principal.getCents(), annualRateUnits, installments);
+
+        List<ScheduleDTO.Installment> rows = new ArrayList<>(installments);
+        for (int i = 0; i < installments; i++) {
+            rows.add(ScheduleDTO.Installment.builder()
+                    .number(i + 1)
+                    .dueDate(startDate.plusMonths(i + 1))
+                    .payment(Money.ofCents(schedule.getPayment(i)))
+                    .principal(Money.ofCents(schedule.getPrincipal(i)))
+                    .interest(Money.ofCents(schedule.getInterest(i)))
+                    .remainingPrincipal(Money.ofCents(schedule.getRemaining(i)))
+                    .build());
+        }
+
+        Money totalInterest = Money.ofCents(schedule.getTotalInterest());
+        Money fee = application.getFee() == null ? Money.ZERO
+                : Money.of(application.getApprovalAmount().multiply(application.getFee()), RoundingMode.HALF_EVEN);
+
+        return ScheduleDTO.Response.builder()
+                .applicationId(applicationId)
+                .method(method)
+                .principal(principal)
+                .fee(fee)
+                .totalInterest(totalInterest)
+                .totalPayment(principal.add(totalInterest))
+                .installments(rows)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.config.CreditDataProperties;
+import com.fastcampus.loan.domain.CreditDataSource;
+import com.fastcampus.loan.dto.CreditDataDTO;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 부하 테스트, 로컬 실행용 provider.
+ * 설정한 분포로 지연, 실패하고, 값은 휴대전화 번호로 정해지므로 같은 신청자는 항상 같은 값을 받는다.
+ */
+public class StubCreditDataProvider implements CreditDataProvider {
+
+    private final CreditDataSource source;
+
+    private final CreditDataProperties.Stub stub;
+
+    public StubCreditDataProvider(CreditDataSource source, CreditDataProperties.Stub stub) {
+        this.source = source;
+        this.stub = stub;
+    }
+
+    @Override
+    public CreditDataSource getSource() {
+        return source;
+    }
+
+    @Override
+    public BigDecimal fetch(CreditDataDTO.Applicant applicant) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latencyMs = random.nextDouble() < stub.getTailRate()
+                ? stub.getTailLatencyMs()
+                : stub.getLatencyMs() + (stub.getJitterMs() > 0 ? random.nextLong(stub.getJitterMs() + 1) : 0);
+        Thread.sleep(latencyMs);
+
+        if (random.nextDouble() < stub.getErrorRate()) {
+            throw new IllegalStateException(source + " stub error");
+        }
+
+        int seed = String.valueOf(applicant.getCellPhone()).hashCode() & Integer.MAX_VALUE;
+        switch (source) {
+            case CREDIT_BUREAU:
+                return BigDecimal.valueOf(300 + seed % 701);
+            case INCOME:
+                return BigDecimal.valueOf(20_000_000L + (seed % 131) * 1_000_000L);
+            default:
+                return BigDecimal.valueOf(seed % 101);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Terms;
+import com.fastcampus.loan.domain.TermsVersion;
+import com.fastcampus.loan.dto.ResponseDTO;
+import com.fastcampus.loan.dto.TermsDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.TermsRepository;
+import com.fastcampus.loan.repository.TermsVersionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 약관 목록 스냅샷.
+ * 약관은 거의 바뀌지 않으므로 전체를 읽어서 바뀌지 않는 스냅샷으로 들고 있고, 약관 등록 시와 주기적으로(다른 인스턴스의 등록 반영) 다시 읽는다.
+ * 내용이 바뀐 경우에만 version 이 올라간다.
+ * 약관별 동의 bitmap 위치(Terms.bitIndex)도 같이 들고 있어서 동의 bitmap 을 만들고 읽을 때 조회하지 않는다.
+ * 상품별 약관 목록 버전(TermsVersion)은 GET /terms 응답 body 와 ETag 를 미리 만들어 둔다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TermsCatalog {
+
+    private final TermsRepository termsRepository;
+
+    private final TermsVersionRepository termsVersionRepository;
+
+    private final ModelMapper modelMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${loan.terms.snapshot.refresh-ms:60000}")
+    public synchronized Snapshot refresh() {
+        List<Terms> termsList = termsRepository.findAll(Sort.by(Sort.Direction.ASC, "termsId"));
+        List<TermsDTO.Response> terms = termsList.stream()
+                .map(t -> modelMapper.map(t, TermsDTO.Response.class))
+                .collect(Collectors.toList());
+        Map<Long, Integer> bitIndexes = new HashMap<>();
+        for (Terms t : termsList) {
+            if (t.getBitIndex() != null) {
+                bitIndexes.put(t.getTermsId(), t.getBitIndex());
+            }
+        }
+        List<TermsVersion> termsVersions = termsVersionRepository.findAll(Sort.by(Sort.Direction.ASC, "productCode", "version"));
+
+        Snapshot current = snapshot;
+        if (current == null || !current.hasSameTerms(terms, bitIndexes, termsVersions)) {
+            snapshot = new Snapshot(current == null ? 1 : current.getVersion() + 1, terms, bitIndexes, versions(termsVersions, terms));
+            log.info("terms snapshot version {} ({} terms, {} versions)", snapshot.getVersion(), terms.size(), termsVersions.size());
+        }
+        return snapshot;
+    }
+
+    private List<Version> versions(List<TermsVersion> termsVersions, List<TermsDTO.Response> terms) {
+        Map<Long, TermsDTO.Response> byId = new HashMap<>();
+        for (TermsDTO.Response t : terms) {
+            byId.put(t.getTermsId(), t);
+        }
+
+        List<Version> versions = new ArrayList<>(termsVersions.size());
+        for (TermsVersion termsVersion : termsVersions) {
+            // 버전을 만든 뒤 삭제된 약관은 빠진다
+            List<TermsDTO.Response> versionTerms = new ArrayList<>();
+            for (String termsId : termsVersion.getTermsIds().split(",")) {
+                TermsDTO.Response t = byId.get(Long.valueOf(termsId));
+                if (t != null) {
+                    versionTerms.add(t);
+                }
+            }
+
+            TermsDTO.VersionResponse response = TermsDTO.VersionResponse.builder()
+                    .productCode(termsVersion.getProductCode())
+                    .version(termsVersion.getVersion())
+                    .terms(versionTerms)
+                    .build();
+            versions.add(new Version(termsVersion.getTermsVersionId(), response, serialize(response)));
+        }
+        return versions;
+    }
+
+    private byte[] serialize(TermsDTO.VersionResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(ResponseDTO.ok(response));
+        } catch (JsonProcessingException e) {
+            throw new BaseException(ResultType.SYSTEM_ERROR);
+        }
+    }
+
+    public static class Snapshot {
+
+        @Getter
+        private final long version;
+
+        // termsId 오름차순
+        @Getter
+        private final List<TermsDTO.Response> terms;
+
+        // termsId 별 동의 bitmap 위치, 아직 할당되지 않은 약관은 없음
+        private final Map<Long, Integer> bitIndexes;
+
+        // 할당된 가장 큰 bitmap 위치 + 1
+        @Getter
+        private final int bitWidth;
+
+        // 상품별 버전 오름차순
+        private final Map<String, List<Version>> versions = new LinkedHashMap<>();
+
+        public Snapshot(long version, List<TermsDTO.Response> terms, Map<Long, Integer> bitIndexes, List<Version> versions) {
+            this.version = version;
+            this.terms = Collections.unmodifiableList(terms);
+            this.bitIndexes = Collections.unmodifiableMap(bitIndexes);
+            this.bitWidth = bitIndexes.values().stream().mapToInt(i -> i + 1).max().orElse(0);
+            for (Version v : versions) {
+                this.versions.computeIfAbsent(v.getProductCode(), productCode -> new ArrayList<>()).add(v);
+            }
+        }
+
+        public Version findLatest(String productCode) {
+            List<Version> productVersions = versions.get(productCode);
+            return productVersions == null ? null : productVersions.get(productVersions.size() - 1);
+        }
+
+        public Version findVersion(String productCode, int version) {
+            for (Version v : versions.getOrDefault(productCode, Collections.emptyList())) {
+                if (v.getVersion() == version) {
+                    return v;
+                }
+            }
+            return null;
+        }
+
+        public Integer getBitIndex(Long termsId) {
+            return bitIndexes.get(termsId);
+        }
+
+        private boolean hasSameTerms(List<TermsDTO.Response> other, Map<Long, Integer> otherBitIndexes, List<TermsVersion> otherVersions) {
+            if (terms.size() != other.size() || !bitIndexes.equals(otherBitIndexes)) {
+                return false;
+            }
+            for (int i = 0; i < terms.size(); i++) {
+                TermsDTO.Response a = terms.get(i);
+                TermsDTO.Response b = other.get(i);
+                if (!a.getTermsId().equals(b.getTermsId()) || !Objects.equals(a.getUpdatedAt(), b.getUpdatedAt())) {
+                    return false;
+                }
+            }
+
+            // 버전은 바뀌지 않으므로 ID 만 비교
+            List<Long> versionIds = versions.values().stream()
+                    .flatMap(List::stream)
+                    .map(Version::getTermsVersionId)
+                    .collect(Collectors.toList());
+            return versionIds.equals(otherVersions.stream().map(TermsVersion::getTermsVersionId).collect(Collectors.toList()));
+        }
+    }
+
+    @Getter
+    public static class Version {
+
+        private final Long termsVersionId;
+
+        private final String productCode;
+
+        private final int version;
+
+        // termsId 오름차순
+        private final List<TermsDTO.Response> terms;
+
+        private final String eTag;
+
+        // GET /terms 응답 body (ResponseDTO 직렬화)
+        private final byte[] body;
+
+        // 가장 작은 termsId 기준 offset 으로 약관 ID 를 표시
+        @Getter(AccessLevel.NONE)
+        private final long baseId;
+
+        @Getter(AccessLevel.NONE)
+        private final int span;
+
+        @Getter(AccessLevel.NONE)
+        private final BitSet termsIds = new BitSet();
+
+        public Version(Long termsVersionId, TermsDTO.VersionResponse response, byte[] body) {
+            this.termsVersionId = termsVersionId;
+            this.productCode = response.getProductCode();
+            this.version = response.getVersion();
+            this.terms = Collections.unmodifiableList(response.getTerms());
+            this.eTag = "\"" + productCode + "-" + version + "\"";
+            this.body = body;
+            this.baseId = terms.isEmpty() ? 0 : terms.get(0).getTermsId();
+            this.span = terms.isEmpty() ? 0 : Math.toIntExact(terms.get(terms.size() - 1).getTermsId() - baseId + 1);
+            for (TermsDTO.Response t : terms) {
+                termsIds.set((int) (t.getTermsId() - baseId));
+            }
+        }
+
+        public boolean isEmpty() {
+            return terms.isEmpty();
+        }
+
+        // 모든 약관에 한 번씩 동의했는지
+        public boolean isAcceptedAll(List<Long> acceptTermsIds) {
+            if (acceptTermsIds == null || acceptTermsIds.size() != terms.size()) {
+                return false;
+            }
+
+            BitSet accepted = new BitSet(span);
+            for (Long termsId : acceptTermsIds) {
+                if (termsId == null) {
+                    return false;
+                }
+                long offset = termsId - baseId;
+                if (offset < 0 || offset >= span || !termsIds.get((int) offset) || accepted.get((int) offset)) {
+                    return false;
+                }
+                accepted.set((int) offset);
+            }
+            return true;
+        }
+    }
+}
@@ -3,11 +3,11 @@ package com.fastcampus.loan.service;
 import com.fastcampus.loan.dto.TermsDTO.Request;
 import com.fastcampus.loan.dto.TermsDTO.Response;
 
-import java.util.List;
-
 public interface TermsService {
 
+    // 약관을 등록하고 상품의 약관 목록 새 버전을 만든다
     Response create(Request request);
 
-    List<Response> getAll();
+    // 상품의 약관 목록 버전, version 이 없으면 최신 버전
+    TermsCatalog.Version get(String productCode, Integer version);
 }
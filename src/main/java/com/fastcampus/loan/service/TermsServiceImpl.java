@@ -1,16 +1,22 @@
 package com.fastcampus.loan.service;
 
+import com.fastcampus.loan.domain.AcceptTermsBitmap;
 import com.fastcampus.loan.domain.Terms;
+import com.fastcampus.loan.domain.TermsVersion;
 import com.fastcampus.loan.dto.TermsDTO.Response;
 import com.fastcampus.loan.dto.TermsDTO.Request;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
 import com.fastcampus.loan.repository.TermsRepository;
+import com.fastcampus.loan.repository.TermsVersionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
-import org.springframework.ui.ModelMap;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,21 +26,68 @@ public class TermsServiceImpl implements TermsService{
 
     private final TermsRepository termsRepository;
 
+    private final TermsVersionRepository termsVersionRepository;
+
+    private final TermsCatalog termsCatalog;
+
     private final ModelMapper modelMapper;
 
     @Override
+    @Transactional
     public Response create(Request request) {
 
+        // 동의 bitmap 위치는 등록 순서대로, 동시에 등록되면 unique index 로 하나만 성공
+        int bitIndex = termsRepository.findMaxBitIndex() + 1;
+        if (bitIndex >= AcceptTermsBitmap.MAX_TERMS) {
+            throw new BaseException(ResultType.TERMS_LIMIT_EXCEEDED);
+        }
+
+        String productCode = request.getProductCode() == null ? Terms.DEFAULT_PRODUCT_CODE : request.getProductCode();
+
         Terms terms = modelMapper.map(request, Terms.class);
+        terms.setProductCode(productCode);
+        terms.setBitIndex(bitIndex);
         Terms created = termsRepository.save(terms);
 
+        // 상품의 약관 목록이 바뀌었으므로 새 버전, 이전 버전은 그대로 둔다 (동시에 만들면 unique index 로 하나만 성공)
+        int version = termsVersionRepository.findTopByProductCodeOrderByVersionDesc(productCode)
+                .map(v -> v.getVersion() + 1)
+                .orElse(1);
+        termsVersionRepository.save(TermsVersion.builder()
+                .productCode(productCode)
+                .version(version)
+                .termsIds(termsRepository.findByProductCodeOrderByTermsIdAsc(productCode).stream()
+                        .map(t -> String.valueOf(t.getTermsId()))
+                        .collect(Collectors.joining(",")))
+                .build());
+
+        refreshAfterCommit();
+
         return modelMapper.map(created, Response.class);
     }
 
     @Override
-    public List<Response> getAll() {
-        List<Terms> termsList = termsRepository.findAll();
+    public TermsCatalog.Version get(String productCode, Integer version) {
+        TermsCatalog.Snapshot snapshot = termsCatalog.get();
+        TermsCatalog.Version found = version == null
+                ? snapshot.findLatest(productCode)
+                : snapshot.findVersion(productCode, version);
+        if (found == null) {
+            throw new BaseException(ResultType.TERMS_VERSION_NOT_FOUND);
+        }
+        return found;
+    }
 
-        return termsList.stream().map(t -> modelMapper.map(t, Response.class)).collect(Collectors.toList());
+    private void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    termsCatalog.refresh();
+                }
+            });
+        } else {
+            termsCatalog.refresh();
+        }
     }
 }
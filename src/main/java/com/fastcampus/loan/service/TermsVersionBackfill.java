@@ -0,0 +1,65 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Terms;
+import com.fastcampus.loan.domain.TermsVersion;
+import com.fastcampus.loan.repository.TermsRepository;
+import com.fastcampus.loan.repository.TermsVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 버전 없이 등록된 약관(상품별 약관 목록 버전 추가 전)으로 상품별 1 번 버전을 만든다.
+ * 버전이 하나라도 있는 상품은 건너뛰므로 여러 번 실행해도 결과가 같다.
+ */
+@Slf4j
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class TermsVersionBackfill implements ApplicationRunner {
+
+    private final TermsRepository termsRepository;
+
+    private final TermsVersionRepository termsVersionRepository;
+
+    private final TermsCatalog termsCatalog;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfill();
+    }
+
+    public int backfill() {
+        Map<String, List<Long>> termsIds = termsRepository.findAll(Sort.by(Sort.Direction.ASC, "termsId")).stream()
+                .collect(Collectors.groupingBy(Terms::getProductCode, LinkedHashMap::new,
+                        Collectors.mapping(Terms::getTermsId, Collectors.toList())));
+
+        int created = 0;
+        for (Map.Entry<String, List<Long>> product : termsIds.entrySet()) {
+            if (termsVersionRepository.existsByProductCode(product.getKey())) {
+                continue;
+            }
+            termsVersionRepository.save(TermsVersion.builder()
+                    .productCode(product.getKey())
+                    .version(1)
+                    .termsIds(product.getValue().stream().map(String::valueOf).collect(Collectors.joining(",")))
+                    .build());
+            log.info("created terms version 1 of {} with {} terms", product.getKey(), product.getValue().size());
+            created++;
+        }
+
+        if (created > 0) {
+            termsCatalog.refresh();
+        }
+        return created;
+    }
+}
@@ -0,0 +1,191 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.repository.AcceptTermsRepository;
+import com.fastcampus.loan.service.AcceptTermsBitmapIndex;
+import com.fastcampus.loan.service.AcceptTermsBitmapMigration;
+import com.fastcampus.loan.service.AcceptTermsRowStore;
+import com.fastcampus.loan.service.AcceptTermsStore;
+import com.fastcampus.loan.service.TermsCatalog;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동의 약관 저장 방식별 크기와 조회 시간 (약관당 1 행 / 신청당 bitmap 1 행).
+ * DB 는 기본 1,000,000 신청(-Dbenchmark.applications 로 변경), 메모리 인덱스는 10,000,000 신청으로 측정한다.
+ * 약관 5 개 중 3 개는 처음부터, 나머지는 40%, 70% 시점에 추가되어 신청마다 3~5 개에 동의한다.
+ * ./gradlew benchmark --tests '*AcceptTermsStorageBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"logging.level.org.hibernate.SQL=warn",
+        // 테이블 크기(disk_space_used)는 파일 DB 에서만 나온다
+        "spring.datasource.url=jdbc:h2:file:./build/benchmark/accept-terms",
+        "loan.application.status-backfill.enabled=false",
+        "loan.terms.accept-storage=bitmap",
+        "loan.terms.accept-bitmap.migration.enabled=false"})
+class AcceptTermsStorageBenchmark {
+
+    private static final int APPLICATIONS = Integer.getInteger("benchmark.applications", 1_000_000);
+
+    private static final int INDEX_APPLICATIONS = 10_000_000;
+
+    private static final int[] TERMS_ADDED_AT = {0, 0, 0, APPLICATIONS * 4 / 10, APPLICATIONS * 7 / 10};
+
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AcceptTermsRepository acceptTermsRepository;
+
+    @Autowired
+    private AcceptTermsStore acceptTermsStore;
+
+    @Autowired
+    private AcceptTermsBitmapMigration acceptTermsBitmapMigration;
+
+    @Autowired
+    private AcceptTermsBitmapIndex acceptTermsBitmapIndex;
+
+    @Autowired
+    private TermsCatalog termsCatalog;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void measureStorage() {
+        generate();
+        AcceptTermsRowStore rowStore = new AcceptTermsRowStore(acceptTermsRepository);
+
+        long start = System.nanoTime();
+        int migrated = acceptTermsBitmapMigration.migrate();
+        long migrateMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("migrated %,d applications in %,d ms (%,.0f applications/s)%n", migrated, migrateMs, migrated * 1000.0 / migrateMs);
+        assertThat(migrated).isEqualTo(APPLICATIONS);
+
+        long rowBytes = diskSpace("ACCEPT_TERMS");
+        long bitmapBytes = diskSpace("ACCEPT_TERMS_BITMAP");
+        long rowCount = jdbcTemplate.queryForObject("select count(*) from accept_terms", Long.class);
+        System.out.printf("rows   : %,d rows, %,d bytes (%.1f bytes/application, %,d MB at 10M)%n",
+                rowCount, rowBytes, (double) rowBytes / APPLICATIONS, rowBytes * (10_000_000L / APPLICATIONS) >> 20);
+        System.out.printf("bitmap : %,d rows, %,d bytes (%.1f bytes/application, %,d MB at 10M)%n",
+                APPLICATIONS, bitmapBytes, (double) bitmapBytes / APPLICATIONS, bitmapBytes * (10_000_000L / APPLICATIONS) >> 20);
+
+        measure("accepted terms rows", ITERATIONS, i -> rowStore.findAcceptedTerms(1L + random.nextInt(APPLICATIONS)));
+        measure("accepted terms bitmap", ITERATIONS, i -> acceptTermsStore.findAcceptedTerms(1L + random.nextInt(APPLICATIONS)));
+
+        start = System.nanoTime();
+        acceptTermsBitmapIndex.rebuild();
+        System.out.printf("index rebuilt from %,d applications in %,d ms, %,d bytes%n",
+                APPLICATIONS, (System.nanoTime() - start) / 1_000_000, acceptTermsBitmapIndex.sizeInBytes());
+
+        List<Long> termsIds = termsIds();
+        List<Long> lastTerms = Collections.singletonList(termsIds.get(4));
+        measure("applications rows 1 terms", 20, i -> rowStore.findApplications(lastTerms, randomCursor(), 1000));
+        measure("applications rows 5 terms", 20, i -> rowStore.findApplications(termsIds, randomCursor(), 1000));
+        measure("applications bitmap 1 terms", ITERATIONS, i -> acceptTermsStore.findApplications(lastTerms, randomCursor(), 1000));
+        measure("applications bitmap 5 terms", ITERATIONS, i -> acceptTermsStore.findApplications(termsIds, randomCursor(), 1000));
+        assertThat(acceptTermsStore.findApplications(termsIds, null, 1).getCount()).isEqualTo(APPLICATIONS - TERMS_ADDED_AT[4]);
+
+        // 메모리 인덱스만 1,000 만 신청으로
+        start = System.nanoTime();
+        for (int i = APPLICATIONS; i < INDEX_APPLICATIONS; i++) {
+            acceptTermsBitmapIndex.add(i + 1L, accepted(i * (long) APPLICATIONS / INDEX_APPLICATIONS));
+        }
+        System.out.printf("index filled to %,d applications in %,d ms, %,d bytes%n",
+                INDEX_APPLICATIONS, (System.nanoTime() - start) / 1_000_000, acceptTermsBitmapIndex.sizeInBytes());
+        List<Integer> lastBit = Collections.singletonList(4);
+        List<Integer> allBits = Arrays.asList(0, 1, 2, 3, 4);
+        measure("index 10M 1 terms", ITERATIONS, i -> acceptTermsBitmapIndex.count(lastBit));
+        measure("index 10M 5 terms", ITERATIONS, i -> acceptTermsBitmapIndex.count(allBits));
+        measure("index 10M 5 terms page", ITERATIONS, i -> acceptTermsBitmapIndex.find(allBits, random.nextInt(INDEX_APPLICATIONS), 1000));
+    }
+
+    private void generate() {
+        long start = System.nanoTime();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int t = 0; t < TERMS_ADDED_AT.length; t++) {
+            jdbcTemplate.update("insert into terms (terms_id, name, terms_detail_url, bit_index, is_deleted, created_at, updated_at) "
+                    + "values (?, ?, ?, ?, false, ?, ?)", t + 1L, "약관 " + t, "https://terms/" + t, t, now, now);
+        }
+        termsCatalog.refresh();
+
+        List<Object[]> rows = new ArrayList<>(10_000);
+        long acceptTermsId = 1;
+        for (int i = 0; i < APPLICATIONS; i++) {
+            for (int t = 0; t < TERMS_ADDED_AT.length; t++) {
+                if (i >= TERMS_ADDED_AT[t]) {
+                    rows.add(new Object[]{acceptTermsId++, i + 1L, t + 1L, now, now});
+                }
+            }
+            if (rows.size() >= 10_000) {
+                jdbcTemplate.batchUpdate("insert into accept_terms (accept_terms_id, application_id, terms_id, is_deleted, created_at, updated_at) "
+                        + "values (?, ?, ?, false, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into accept_terms (accept_terms_id, application_id, terms_id, is_deleted, created_at, updated_at) "
+                + "values (?, ?, ?, false, ?, ?)", rows);
+        jdbcTemplate.execute("analyze");
+        System.out.printf("generated %,d accept terms rows in %,d s%n", acceptTermsId - 1, (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    private BitSet accepted(long i) {
+        BitSet accepted = new BitSet();
+        for (int t = 0; t < TERMS_ADDED_AT.length; t++) {
+            if (i >= TERMS_ADDED_AT[t]) {
+                accepted.set(t);
+            }
+        }
+        return accepted;
+    }
+
+    private List<Long> termsIds() {
+        List<Long> termsIds = new ArrayList<>();
+        for (int t = 0; t < TERMS_ADDED_AT.length; t++) {
+            termsIds.add(t + 1L);
+        }
+        return termsIds;
+    }
+
+    private Long randomCursor() {
+        return (long) random.nextInt(APPLICATIONS);
+    }
+
+    private long diskSpace(String table) {
+        return jdbcTemplate.queryForObject("select disk_space_used(?)", Long.class, table);
+    }
+
+    private void measure(String label, int iterations, IntConsumer request) {
+        // warm up
+        for (int i = 0; i < Math.max(1, iterations / 5); i++) {
+            request.accept(i);
+        }
+
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            request.accept(i);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("%-28s : p50 %8.3f ms, p99 %8.3f ms (%,d requests)%n",
+                label, nanos[iterations / 2] / 1e6, nanos[iterations * 99 / 100] / 1e6, iterations);
+    }
+}
@@ -0,0 +1,85 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.dto.AccrualDTO;
+import com.fastcampus.loan.repository.AccrualPartitionRepository;
+import com.fastcampus.loan.service.AccrualServiceImpl;
+import com.fastcampus.loan.service.LeaseService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이자 발생 배치 처리량 (loans/s), parallelism 1 vs 4. 계약 건 200,000 건.
+ * ./gradlew benchmark --tests '*AccrualBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=warn")
+class AccrualBenchmark {
+
+    private static final int LOANS = 200_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccrualPartitionRepository accrualPartitionRepository;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void measureAccrualThroughput() {
+        Timestamp contractedAt = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+        List<Object[]> applications = new ArrayList<>();
+        List<Object[]> balances = new ArrayList<>();
+        for (long id = 1_000_001; id <= 1_000_000 + LOANS; id++) {
+            applications.add(new Object[]{id, new BigDecimal("0.0450"), contractedAt, contractedAt, contractedAt});
+            balances.add(new Object[]{id, id, BigDecimal.valueOf(100_000_000), contractedAt, contractedAt});
+        }
+        jdbcTemplate.batchUpdate("insert into application (application_id, interest_rate, contracted_at, is_deleted, created_at, updated_at) "
+                + "values (?, ?, ?, false, ?, ?)", applications);
+        jdbcTemplate.batchUpdate("insert into balance (balance_id, application_id, balance, last_journal_id, is_deleted, created_at, updated_at) "
+                + "values (?, ?, ?, 0, false, ?, ?)", balances);
+
+        LocalDate day = LocalDate.of(2024, 6, 1);
+        for (int parallelism : new int[]{1, 4}) {
+            AccrualServiceImpl accrualService = new AccrualServiceImpl(jdbcTemplate, accrualPartitionRepository,
+                    leaseService, transactionManager, parallelism, 10_000, 1000, 1000, 600_000);
+            try {
+                // warm up
+                accrualService.accrue(day.minusDays(parallelism));
+
+                AccrualDTO.Response response = accrualService.accrue(day.plusDays(parallelism));
+                assertThat(response.getAccruedCount()).isEqualTo(LOANS);
+                System.out.printf("parallelism %d : %,d loans, %,d ms, %,d loans/s%n",
+                        parallelism, response.getAccruedCount(), response.getElapsedMillis(), response.getLoansPerSecond());
+
+                // 같은 날짜를 다시 돌리면 완료된 구간은 모두 건너뛴다
+                AccrualDTO.Response rerun = accrualService.accrue(day.plusDays(parallelism));
+                assertThat(rerun.getSkippedPartitionCount()).isEqualTo(rerun.getPartitionCount());
+            } finally {
+                accrualService.close();
+            }
+        }
+
+        // 1억, 연 4.5% -> 일 12,328.77
+        BigDecimal interest = jdbcTemplate.queryForObject("select interest_amount from interest_accrual where application_id = 1000001 "
+                + "and accrual_date = ?", BigDecimal.class, java.sql.Date.valueOf(day.plusDays(1)));
+        assertThat(interest).isEqualByComparingTo("12328.77");
+    }
+}
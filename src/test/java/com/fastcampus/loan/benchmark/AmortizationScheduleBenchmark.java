@@ -0,0 +1,53 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.domain.AmortizationSchedule;
+import com.fastcampus.loan.domain.RepaymentMethod;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 360 회차 상환 스케줄 계산 시간, 상환 방식별.
+ * ./gradlew benchmark --tests '*AmortizationScheduleBenchmark'
+ */
+@Tag("benchmark")
+class AmortizationScheduleBenchmark {
+
+    private static final int INSTALLMENTS = 360;
+
+    private static final int WARMUP_OPERATIONS = 200_000;
+
+    private static final int OPERATIONS = 1_000_000;
+
+    // JIT 이 계산을 없애지 않도록 결과를 모은다
+    private long sink;
+
+    @Test
+    void measureScheduleOf360Installments() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (RepaymentMethod method : RepaymentMethod.values()) {
+            run(method, WARMUP_OPERATIONS);
+
+            long bytes = threadMXBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            run(method, OPERATIONS);
+            long nanos = System.nanoTime() - start;
+            bytes = threadMXBean.getThreadAllocatedBytes(threadId) - bytes;
+
+            System.out.printf("%-17s : %.2f us/schedule, %.0f bytes/schedule%n",
+                    method, nanos / 1e3 / OPERATIONS, (double) bytes / OPERATIONS);
+        }
+        System.out.println(sink);
+    }
+
+    private void run(RepaymentMethod method, int operations) {
+        for (int i = 0; i < operations; i++) {
+            // 1억 ~, 연 4.5%
+            AmortizationSchedule schedule = AmortizationSchedule.of(method, 10_000_000_000L + i, 450L, INSTALLMENTS);
+            sink += schedule.getTotalInterest();
+        }
+    }
+}
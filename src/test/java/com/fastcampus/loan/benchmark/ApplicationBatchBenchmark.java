@@ -0,0 +1,75 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.dto.ApplicationDTO;
+import com.fastcampus.loan.service.ApplicationService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 신청 처리량 비교 : 건별 create vs applications/batch (10k 건 x 10 회).
+ * ./gradlew benchmark --tests '*ApplicationBatchBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=warn")
+class ApplicationBatchBenchmark {
+
+    private static final int SINGLE_ROWS = 5000;
+
+    private static final int BATCH_SIZE = 10000;
+
+    private static final int BATCHES = 10;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Test
+    void compareSingleCreateWithBatch() {
+        // warm up
+        applicationService.createAll(requests(BATCH_SIZE));
+
+        long singleStart = System.nanoTime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            applicationService.create(request(i));
+        }
+        long singleNanos = System.nanoTime() - singleStart;
+
+        long batchNanos = 0;
+        for (int i = 0; i < BATCHES; i++) {
+            List<ApplicationDTO.Request> request = requests(BATCH_SIZE);
+
+            long batchStart = System.nanoTime();
+            ApplicationDTO.BatchResponse response = applicationService.createAll(request);
+            batchNanos += System.nanoTime() - batchStart;
+
+            assertThat(response.getSucceededCount()).isEqualTo(BATCH_SIZE);
+        }
+
+        System.out.printf("single create : %,d rows, %,.0f rows/s%n", SINGLE_ROWS, SINGLE_ROWS / (singleNanos / 1e9));
+        System.out.printf("batch         : %,d rows, %,.0f rows/s%n", BATCH_SIZE * BATCHES, BATCH_SIZE * BATCHES / (batchNanos / 1e9));
+    }
+
+    private List<ApplicationDTO.Request> requests(int rows) {
+        List<ApplicationDTO.Request> request = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            request.add(request(i));
+        }
+        return request;
+    }
+
+    private ApplicationDTO.Request request(int i) {
+        return ApplicationDTO.Request.builder()
+                .name("partner" + (i % 1000))
+                .cellPhone("010-0000-" + String.format("%04d", i % 10000))
+                .email("partner" + i + "@abcd.efg")
+                .hopeAmount(BigDecimal.valueOf(10000000))
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.dto.ApplicationDTO;
+import com.fastcampus.loan.service.ApplicationService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 신청 검색 조건별 응답 시간 (p50/p99). 기본 1,000,000 건, -Dbenchmark.applications=10000000 으로 변경.
+ * ./gradlew benchmark --tests '*ApplicationSearchBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"logging.level.org.hibernate.SQL=warn", "loan.application.status-backfill.enabled=false"})
+class ApplicationSearchBenchmark {
+
+    private static final int APPLICATIONS = Integer.getInteger("benchmark.applications", 1_000_000);
+
+    private static final int NAMES = APPLICATIONS / 100;
+
+    private static final int ITERATIONS = 500;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final LocalDateTime FIRST_APPLIED_AT = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void measureSearchLatency() {
+        generate();
+
+        measure("cellPhone", r -> ApplicationDTO.SearchRequest.builder().cellPhone(cellPhone(r.nextInt(APPLICATIONS))).build());
+        measure("email", r -> ApplicationDTO.SearchRequest.builder().email(email(r.nextInt(APPLICATIONS))).build());
+        measure("name", r -> ApplicationDTO.SearchRequest.builder().name(name(r.nextInt(NAMES))).build());
+        measure("appliedAt 1h", r -> {
+            LocalDateTime from = FIRST_APPLIED_AT.plusMinutes(r.nextInt(APPLICATIONS));
+            return ApplicationDTO.SearchRequest.builder().appliedFrom(from).appliedTo(from.plusHours(1)).build();
+        });
+        measure("contracted + amount", r -> {
+            BigDecimal min = BigDecimal.valueOf(1_000_000L * (1 + r.nextInt(90)));
+            return ApplicationDTO.SearchRequest.builder().contracted(true)
+                    .minApprovalAmount(min).maxApprovalAmount(min.add(BigDecimal.valueOf(10_000_000))).build();
+        });
+        measure("not contracted + name", r -> ApplicationDTO.SearchRequest.builder().contracted(false).name(name(r.nextInt(NAMES))).build());
+        measure("appliedAt 1d", r -> {
+            LocalDateTime from = FIRST_APPLIED_AT.plusMinutes(r.nextInt(APPLICATIONS));
+            return ApplicationDTO.SearchRequest.builder().appliedFrom(from).appliedTo(from.plusDays(1)).build();
+        });
+        measure("exact amount", r -> {
+            BigDecimal amount = BigDecimal.valueOf(1_000_000L * (1 + r.nextInt(100)));
+            return ApplicationDTO.SearchRequest.builder().minApprovalAmount(amount).maxApprovalAmount(amount).build();
+        });
+        // 맞는 건이 없어서 scan budget 까지 훑는 경우
+        measure("no match amount", r -> ApplicationDTO.SearchRequest.builder().maxApprovalAmount(BigDecimal.ONE).build());
+        measure("no filter", r -> ApplicationDTO.SearchRequest.builder().build());
+    }
+
+    private void generate() {
+        long start = System.nanoTime();
+        List<Object[]> rows = new ArrayList<>(10_000);
+        for (int i = 0; i < APPLICATIONS; i++) {
+            Timestamp appliedAt = Timestamp.valueOf(FIRST_APPLIED_AT.plusMinutes(i));
+            // 절반은 승인, 그 중 60% 계약
+            boolean granted = i % 2 == 0;
+            boolean contracted = granted && i % 10 < 6;
+            rows.add(new Object[]{
+                    i + 1L, name(i % NAMES), cellPhone(i), email(i),
+                    BigDecimal.valueOf(50_000_000),
+                    granted ? BigDecimal.valueOf(1_000_000L * (1 + (i / 2) % 100)) : null,
+                    appliedAt,
+                    contracted ? appliedAt : null,
+                    contracted ? "CONTRACTED" : granted ? "GRANTED" : "APPLIED",
+                    appliedAt, appliedAt});
+            if (rows.size() == 10_000) {
+                insert(rows);
+                rows.clear();
+            }
+        }
+        insert(rows);
+        jdbcTemplate.execute("analyze");
+        System.out.printf("generated %,d applications in %,d s%n", APPLICATIONS, (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("insert into application (application_id, name, cell_phone, email, hope_amount, approval_amount, "
+                + "applied_at, contracted_at, status, is_deleted, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?)", rows);
+    }
+
+    private void measure(String label, Function<Random, ApplicationDTO.SearchRequest> condition) {
+        // warm up
+        for (int i = 0; i < ITERATIONS / 5; i++) {
+            applicationService.search(condition.apply(random), null, PAGE_SIZE);
+        }
+
+        // 첫 페이지와 keyset 으로 이어지는 두 번째 페이지, 요청 단위로 측정
+        long[] nanos = new long[ITERATIONS * 2];
+        int requests = 0;
+        int found = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            ApplicationDTO.SearchRequest request = condition.apply(random);
+            Long cursor = null;
+            for (int page = 0; page < 2; page++) {
+                long start = System.nanoTime();
+                ApplicationDTO.PageResponse response = applicationService.search(request, cursor, PAGE_SIZE);
+                nanos[requests++] = System.nanoTime() - start;
+                found += response.getApplications().size();
+
+                cursor = response.getNextCursor();
+                if (cursor == null) {
+                    break;
+                }
+            }
+        }
+        Arrays.sort(nanos, 0, requests);
+
+        double p50 = nanos[requests / 2] / 1e6;
+        double p99 = nanos[requests * 99 / 100] / 1e6;
+        System.out.printf("%-22s : p50 %6.2f ms, p99 %6.2f ms (%,d requests, %.1f rows/page)%n", label, p50, p99, requests, (double) found / requests);
+        assertThat(p99).isLessThan(50);
+    }
+
+    private static String name(int i) {
+        return "Member" + i;
+    }
+
+    private static String cellPhone(int i) {
+        return String.format("010-%04d-%04d", i / 10_000, i % 10_000);
+    }
+
+    private static String email(int i) {
+        return "member" + i + "@mail.com";
+    }
+}
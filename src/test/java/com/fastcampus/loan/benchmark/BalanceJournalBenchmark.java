@@ -0,0 +1,86 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.domain.Balance;
+import com.fastcampus.loan.domain.BalanceJournalType;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.repository.BalanceJournalRepository;
+import com.fastcampus.loan.repository.BalanceRepository;
+import com.fastcampus.loan.service.BalanceLedger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 잔고 변경 처리량 비교 : 기존 update-in-place (조회 + 저장) vs journal append.
+ * ./gradlew benchmark --tests '*BalanceJournalBenchmark'
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = "logging.level.org.hibernate.SQL=warn")
+@Import(BalanceLedger.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BalanceJournalBenchmark {
+
+    private static final int APPLICATIONS = 100;
+
+    private static final int OPERATIONS = 20000;
+
+    @Autowired
+    private BalanceRepository balanceRepository;
+
+    @Autowired
+    private BalanceJournalRepository balanceJournalRepository;
+
+    @Autowired
+    private BalanceLedger balanceLedger;
+
+    @Test
+    void compareUpdateInPlaceWithJournalAppend() {
+        List<Balance> balances = new ArrayList<>();
+        for (long applicationId = 1; applicationId <= APPLICATIONS; applicationId++) {
+            Balance balance = Balance.builder()
+                    .applicationId(applicationId)
+                    .balance(Money.of(100000000))
+                    .lastJournalId(0L)
+                    .build();
+            balance.setIsDeleted(false);
+            balances.add(balance);
+        }
+        balanceRepository.saveAll(balances);
+
+        // warm up
+        updateInPlace(OPERATIONS / 10);
+        appendJournal(OPERATIONS / 10);
+
+        long updateInPlaceNanos = updateInPlace(OPERATIONS);
+        long appendNanos = appendJournal(OPERATIONS);
+
+        System.out.printf("update-in-place : %,d ops, %,.0f ops/s%n", OPERATIONS, OPERATIONS / (updateInPlaceNanos / 1e9));
+        System.out.printf("journal append  : %,d ops, %,.0f ops/s%n", OPERATIONS, OPERATIONS / (appendNanos / 1e9));
+    }
+
+    private long updateInPlace(int operations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            Balance balance = balanceRepository.findByApplicationId((long) (i % APPLICATIONS) + 1).orElseThrow();
+            balance.setBalance(balance.getBalance().subtract(Money.of(1)));
+            balanceRepository.save(balance);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long appendJournal(int operations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            balanceLedger.apply((long) (i % APPLICATIONS) + 1, BalanceJournalType.REPAYMENT_BOOKED, Money.of(-1));
+        }
+        balanceLedger.flush();
+        return System.nanoTime() - start;
+    }
+}
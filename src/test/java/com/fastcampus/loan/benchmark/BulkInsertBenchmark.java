@@ -0,0 +1,83 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.domain.AcceptTerms;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.domain.Repayment;
+import com.fastcampus.loan.repository.AcceptTermsRepository;
+import com.fastcampus.loan.repository.RepaymentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AcceptTerms, Repayment 대량 insert 처리량. (saveAll, 1000 건 단위 트랜잭션)
+ * ./gradlew benchmark --tests '*BulkInsertBenchmark'
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = "logging.level.org.hibernate.SQL=warn")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkInsertBenchmark {
+
+    private static final int ROWS = 50000;
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private AcceptTermsRepository acceptTermsRepository;
+
+    @Autowired
+    private RepaymentRepository repaymentRepository;
+
+    @Test
+    void measureBulkInsert() {
+        // warm up
+        insertAcceptTerms(ROWS / 10);
+        insertRepayments(ROWS / 10);
+
+        long acceptTermsNanos = insertAcceptTerms(ROWS);
+        long repaymentNanos = insertRepayments(ROWS);
+
+        System.out.printf("accept terms : %,d rows, %,.0f rows/s%n", ROWS, ROWS / (acceptTermsNanos / 1e9));
+        System.out.printf("repayment    : %,d rows, %,.0f rows/s%n", ROWS, ROWS / (repaymentNanos / 1e9));
+    }
+
+    private long insertAcceptTerms(int rows) {
+        long start = System.nanoTime();
+        List<AcceptTerms> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(AcceptTerms.builder()
+                    .applicationId((long) i)
+                    .termsId((long) (i % 10))
+                    .build());
+            if (chunk.size() == CHUNK_SIZE) {
+                acceptTermsRepository.saveAll(chunk);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        acceptTermsRepository.saveAll(chunk);
+        return System.nanoTime() - start;
+    }
+
+    private long insertRepayments(int rows) {
+        long start = System.nanoTime();
+        List<Repayment> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(Repayment.builder()
+                    .applicationId((long) (i % 1000))
+                    .repaymentAmount(Money.of(1))
+                    .build());
+            if (chunk.size() == CHUNK_SIZE) {
+                repaymentRepository.saveAll(chunk);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        repaymentRepository.saveAll(chunk);
+        return System.nanoTime() - start;
+    }
+}
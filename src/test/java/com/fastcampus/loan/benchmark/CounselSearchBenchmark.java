@@ -0,0 +1,154 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.service.CounselSearchIndex;
+import com.fastcampus.loan.service.CounselService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상담 검색. 상담 기본 2,000,000 건 (-Dbenchmark.counsels 로 변경)으로 색인을 다시 만들고(시간, heap),
+ * 검색어 종류별로 색인 조회와 상담 조회까지 포함한 검색 지연을 측정한다. 비교용으로 메모 like 검색 한 번.
+ * ./gradlew benchmark --tests '*CounselSearchBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"logging.level.org.hibernate.SQL=warn",
+        "spring.datasource.url=jdbc:h2:file:./build/benchmark/counsel-search"})
+class CounselSearchBenchmark {
+
+    private static final int COUNSELS = Integer.getInteger("benchmark.counsels", 2_000_000);
+
+    private static final int QUERIES = 500;
+
+    private static final String[] SURNAMES = {"김", "이", "박", "최", "정", "강", "조", "윤", "장", "임", "한", "오", "서", "신", "권"};
+
+    private static final String[] SYLLABLES = {"민", "서", "지", "현", "수", "준", "영", "우", "하", "은", "진", "호", "연", "성", "재",
+            "희", "경", "태", "윤", "아", "도", "유", "정", "혜", "승", "빈", "동", "규", "미", "상"};
+
+    private static final String[] PHRASES = {"전세 자금 대출 문의", "주택 담보 대출 금리 상담", "신용 대출 한도 확인 요청", "자동차 할부 전환 희망",
+            "사업자 운영 자금 필요", "기존 대출 대환 가능 여부", "중도 상환 수수료 문의", "청년 전용 상품 안내 요청", "서류 제출 방법 문의",
+            "상환 일정 변경 요청", "금리 인하 요구권 문의", "보증서 발급 절차 질문", "마이너스 통장 개설 상담", "월 상환액 계산 요청",
+            "재직 증명서 대체 서류 문의", "소득 증빙 어려움", "연체 이력 있음", "오후 3시 이후 통화 희망", "카카오톡 안내 선호", "방문 상담 예약"};
+
+    private static final String[] DOMAINS = {"gmail.com", "naver.com", "daum.net", "kakao.com", "fastcampus.kr"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CounselSearchIndex counselSearchIndex;
+
+    @Autowired
+    private CounselService counselService;
+
+    @Test
+    void measureSearch() {
+        generate();
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long start = System.nanoTime();
+        counselSearchIndex.rebuild();
+        long rebuildMillis = (System.nanoTime() - start) / 1_000_000;
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("rebuild : %,d counsels in %,d ms (%,.0f counsels/s), %,d keys, heap +%,d MB, %d cores%n",
+                COUNSELS, rebuildMillis, COUNSELS * 1000.0 / rebuildMillis, counselSearchIndex.sizeOfKeys(),
+                (heapAfter - heapBefore) / (1024 * 1024), runtime.availableProcessors());
+
+        Random random = new Random(7);
+        Map<String, IntFunction<String>> queries = new LinkedHashMap<>();
+        queries.put("name 2 chars", i -> syllable(random) + syllable(random));
+        queries.put("full name", i -> SURNAMES[random.nextInt(SURNAMES.length)] + syllable(random) + syllable(random));
+        queries.put("phone 4 digits", i -> String.format("%04d", random.nextInt(10_000)));
+        queries.put("full phone", i -> phone(random.nextInt(COUNSELS)));
+        queries.put("email", i -> email(random.nextInt(COUNSELS)));
+        queries.put("zip code", i -> zipCode(random.nextInt(COUNSELS)));
+        queries.put("memo word", i -> PHRASES[random.nextInt(PHRASES.length)].split(" ")[0]);
+        queries.put("memo 2 words", i -> String.join(" ", Arrays.copyOf(PHRASES[random.nextInt(PHRASES.length)].split(" "), 2)));
+        queries.put("name + memo", i -> SURNAMES[random.nextInt(SURNAMES.length)] + syllable(random) + syllable(random) + " "
+                + PHRASES[random.nextInt(PHRASES.length)].split(" ")[0]);
+        queries.put("broad (대출)", i -> "대출");
+
+        for (Map.Entry<String, IntFunction<String>> query : queries.entrySet()) {
+            long[] indexNanos = new long[QUERIES];
+            long[] searchNanos = new long[QUERIES];
+            long matched = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                String text = query.getValue().apply(i);
+                long begin = System.nanoTime();
+                matched += counselSearchIndex.search(text, 20).getTotalCount();
+                indexNanos[i] = System.nanoTime() - begin;
+
+                begin = System.nanoTime();
+                counselService.search(text, 20);
+                searchNanos[i] = System.nanoTime() - begin;
+            }
+            Arrays.sort(indexNanos);
+            Arrays.sort(searchNanos);
+            System.out.printf("%-15s : matched %,9d avg, index p50 %6.2f ms p99 %6.2f ms, search p50 %6.2f ms p99 %6.2f ms%n",
+                    query.getKey(), matched / QUERIES, indexNanos[QUERIES / 2] / 1e6, indexNanos[QUERIES * 99 / 100] / 1e6,
+                    searchNanos[QUERIES / 2] / 1e6, searchNanos[QUERIES * 99 / 100] / 1e6);
+        }
+
+        start = System.nanoTime();
+        Long like = jdbcTemplate.queryForObject("select count(*) from counsel where is_deleted = false and memo like ?",
+                Long.class, "%금리 인하%");
+        System.out.printf("memo like scan : %,d matched in %,d ms%n", like, (System.nanoTime() - start) / 1_000_000);
+
+        assertThat(counselSearchIndex.search(phone(12_345), 20).getHits())
+                .extracting(CounselSearchIndex.Hit::getCounselId).contains(12_346L);
+    }
+
+    private void generate() {
+        Random random = new Random(1);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String insert = "insert into counsel (counsel_id, name, cell_phone, email, memo, zip_code, applied_at, "
+                + "is_deleted, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, false, ?, ?)";
+
+        List<Object[]> rows = new ArrayList<>(10_000);
+        for (int i = 0; i < COUNSELS; i++) {
+            String name = SURNAMES[random.nextInt(SURNAMES.length)] + syllable(random) + syllable(random);
+            String memo = PHRASES[random.nextInt(PHRASES.length)] + ". " + PHRASES[random.nextInt(PHRASES.length)];
+            rows.add(new Object[]{(long) i + 1, name, phone(i), email(i), memo, zipCode(i), now, now, now});
+            if (rows.size() >= 10_000) {
+                jdbcTemplate.batchUpdate(insert, rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(insert, rows);
+    }
+
+    private String syllable(Random random) {
+        return SYLLABLES[random.nextInt(SYLLABLES.length)];
+    }
+
+    // 상담 번호로 정해지는 값, 같은 상담을 다시 찾을 때 쓴다
+    private String phone(int i) {
+        int number = (int) ((i * 2_654_435_761L) % 100_000_000L);
+        return String.format("010-%04d-%04d", number / 10_000, number % 10_000);
+    }
+
+    private String email(int i) {
+        return "member" + Integer.toString(i, 36) + "@" + DOMAINS[i % DOMAINS.length];
+    }
+
+    private String zipCode(int i) {
+        return String.format("%05d", (i * 7_919L) % 100_000L);
+    }
+}
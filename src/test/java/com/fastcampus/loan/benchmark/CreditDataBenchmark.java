@@ -0,0 +1,114 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.config.CreditDataProperties;
+import com.fastcampus.loan.domain.CreditDataSource;
+import com.fastcampus.loan.domain.CreditDataStatus;
+import com.fastcampus.loan.dto.CreditDataDTO;
+import com.fastcampus.loan.service.CreditDataService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 외부 신용 정보 조회 부하. application.yml 의 stub 지연/오류 분포로 신청자 기본 10,000 명 (-Dbenchmark.applicants 로 변경)을
+ * 요청 스레드 64 개가 조회하고, 같은 신청자를 한 번 더 조회해서 캐시 효과를 본다.
+ * 순서대로 호출했을 때의 지연(provider 지연의 합)과 fan-out 지연을 비교한다.
+ * ./gradlew benchmark --tests '*CreditDataBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=warn")
+class CreditDataBenchmark {
+
+    private static final int APPLICANTS = Integer.getInteger("benchmark.applicants", 10_000);
+
+    private static final int CLIENTS = 64;
+
+    @Autowired
+    private CreditDataService creditDataService;
+
+    @Autowired
+    private CreditDataProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void measureFanOut() throws Exception {
+        assertThat(properties.provider(CreditDataSource.INCOME).getStub().getLatencyMs()).isEqualTo(150);
+
+        long[] first = run();
+        print("first ", first);
+        for (CreditDataSource source : CreditDataSource.values()) {
+            StringBuilder line = new StringBuilder(String.format("  %-13s :", source));
+            for (CreditDataStatus status : CreditDataStatus.values()) {
+                Timer timer = meterRegistry.get("credit.provider.call").tag("provider", source.name()).tag("status", status.name()).timer();
+                line.append(String.format(" %s %,d (mean %.0f ms)", status, timer.count(), timer.mean(TimeUnit.MILLISECONDS)));
+            }
+            line.append(String.format(", hedged %,.0f", meterRegistry.get("credit.provider.hedged").tag("provider", source.name()).counter().count()));
+            System.out.println(line);
+        }
+
+        long[] second = run();
+        print("cached", second);
+
+        System.out.printf("sequential estimate : %,d ms mean (sum of provider means)%n",
+                Arrays.stream(CreditDataSource.values()).mapToLong(s -> {
+                    CreditDataProperties.Stub stub = properties.provider(s).getStub();
+                    return stub.getLatencyMs() + stub.getJitterMs() / 2;
+                }).sum());
+    }
+
+    private long[] run() throws Exception {
+        long[] nanos = new long[APPLICANTS];
+        AtomicLong incomplete = new AtomicLong();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            futures.add(clients.submit(() -> {
+                for (int i = client; i < APPLICANTS; i += CLIENTS) {
+                    long begin = System.nanoTime();
+                    CreditDataDTO.Response response = creditDataService.fetch(CreditDataDTO.Applicant.builder()
+                            .applicationId((long) i)
+                            .cellPhone(String.format("010-%04d-%04d", i / 10_000, i % 10_000))
+                            .build());
+                    nanos[i] = System.nanoTime() - begin;
+                    if (!response.getComplete()) {
+                        incomplete.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        clients.shutdown();
+        System.out.printf("%,d lookups in %,d ms (%,.0f lookups/s), incomplete %,d%n",
+                APPLICANTS, elapsed / 1_000_000, APPLICANTS * 1e9 / elapsed, incomplete.get());
+        return nanos;
+    }
+
+    private void print(String name, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%s : mean %.1f ms, p50 %.1f ms, p99 %.1f ms, max %.1f ms%n", name,
+                Arrays.stream(sorted).average().orElse(0) / 1e6, sorted[sorted.length / 2] / 1e6,
+                sorted[sorted.length * 99 / 100] / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+}
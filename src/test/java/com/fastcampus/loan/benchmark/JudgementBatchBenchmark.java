@@ -0,0 +1,118 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.dto.JudgementDTO;
+import com.fastcampus.loan.service.AutoJudgementService;
+import com.fastcampus.loan.service.JudgementEngine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 자동 심사 배치 처리량. 약관 동의 상태 신청 기본 1,000,000 건 (-Dbenchmark.applications 로 변경),
+ * 신청자 10% 는 같은 전화번호로 상환 중/완료 대출이 있다. 규칙 평가만 따로 측정한 뒤 전체 배치(읽기 + 평가 + 저장)를 측정한다.
+ * ./gradlew benchmark --tests '*JudgementBatchBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"logging.level.org.hibernate.SQL=warn",
+        "spring.datasource.url=jdbc:h2:file:./build/benchmark/judgement",
+        "loan.application.status-backfill.enabled=false",
+        "loan.outbox.relay.interval-ms=3600000"})
+class JudgementBatchBenchmark {
+
+    private static final int APPLICATIONS = Integer.getInteger("benchmark.applications", 1_000_000);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AutoJudgementService autoJudgementService;
+
+    @Autowired
+    private JudgementEngine judgementEngine;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void measureJudgementThroughput() {
+        generate();
+
+        // 규칙 평가만 (feature 배열 준비 포함)
+        long[] features = judgementEngine.newFeatures();
+        JudgementEngine.Stats stats = judgementEngine.newStats();
+        long approved = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < APPLICATIONS; i++) {
+            features[JudgementEngine.Feature.HOPE_AMOUNT.ordinal()] = (500_000L + random.nextInt(100_000_000)) * 100L;
+            features[JudgementEngine.Feature.INTEREST_RATE.ordinal()] = 300 + random.nextInt(1700);
+            features[JudgementEngine.Feature.ACTIVE_LOAN_COUNT.ordinal()] = random.nextInt(10) == 0 ? random.nextInt(4) : 0;
+            features[JudgementEngine.Feature.CLOSED_LOAN_COUNT.ordinal()] = random.nextInt(10) == 0 ? 1 : 0;
+            approved += judgementEngine.evaluate(features, stats) > 0 ? 1 : 0;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        System.out.printf("rules only : %,d applications in %,d ms (%,.0f applications/s, %.0f ns/application), approved %,d%n",
+                APPLICATIONS, elapsedNanos / 1_000_000, APPLICATIONS * 1e9 / elapsedNanos, (double) elapsedNanos / APPLICATIONS, approved);
+        print(judgementEngine.toRuleStats(stats));
+
+        JudgementDTO.BatchResponse response = autoJudgementService.judgeAll();
+        System.out.printf("batch      : %,d applications in %,d ms (%,d applications/s), approved %,d, rejected %,d, partitions %d (failed %d), %d cores%n",
+                response.getEvaluatedCount(), response.getElapsedMillis(), response.getApplicationsPerSecond(),
+                response.getApprovedCount(), response.getRejectedCount(), response.getPartitionCount(),
+                response.getFailedPartitionCount(), Runtime.getRuntime().availableProcessors());
+        print(response.getRules());
+
+        assertThat(response.getFailedPartitionCount()).isZero();
+        assertThat(response.getEvaluatedCount()).isEqualTo(APPLICATIONS);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from application where status = 'TERMS_ACCEPTED'", Long.class)).isZero();
+    }
+
+    private void generate() {
+        long start = System.nanoTime();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp maturity = Timestamp.valueOf(LocalDateTime.now().plusYears(3));
+        String insert = "insert into application (application_id, name, cell_phone, hope_amount, interest_rate, applied_at, maturity, "
+                + "status, is_deleted, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?)";
+
+        List<Object[]> rows = new ArrayList<>(10_000);
+        long applicationId = 1;
+        for (int i = 0; i < APPLICATIONS; i++) {
+            String cellPhone = String.format("010-%04d-%04d", i / 10_000, i % 10_000);
+            rows.add(new Object[]{applicationId++, "Member", cellPhone, BigDecimal.valueOf(500_000L + random.nextInt(100_000_000)),
+                    BigDecimal.valueOf(300 + random.nextInt(1700), 4), now, maturity, "TERMS_ACCEPTED", now, now});
+
+            // 10% 는 이전 대출 이력
+            if (i % 10 == 0) {
+                int loans = 1 + random.nextInt(3);
+                for (int l = 0; l < loans; l++) {
+                    rows.add(new Object[]{applicationId++, "Member", cellPhone, BigDecimal.valueOf(10_000_000), BigDecimal.valueOf(500, 4),
+                            now, maturity, random.nextBoolean() ? "REPAYING" : "CLOSED", now, now});
+                }
+            }
+
+            if (rows.size() >= 10_000) {
+                jdbcTemplate.batchUpdate(insert, rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(insert, rows);
+        jdbcTemplate.execute("analyze");
+        System.out.printf("generated %,d applications in %,d s%n", applicationId - 1, (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    private void print(List<JudgementDTO.RuleStat> rules) {
+        for (JudgementDTO.RuleStat rule : rules) {
+            System.out.printf("  %-24s : evaluated %,10d, matched %,10d, total %,6d ms, %4d ns/evaluation%n",
+                    rule.getName(), rule.getEvaluatedCount(), rule.getMatchedCount(), rule.getTotalMillis(), rule.getAverageNanos());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.dto.JudgementDTO;
+import com.fastcampus.loan.service.JudgementService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 월말 일괄 승인. 심사된 신청 기본 1,000 건 (-Dbenchmark.judgements 로 변경)을
+ * 건별 승인(PATCH /judgements/{id}/grants 반복)과 일괄 승인(PATCH /judgements/grants)으로 각각 승인해서 비교한다.
+ * ./gradlew benchmark --tests '*JudgementGrantBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=warn")
+class JudgementGrantBenchmark {
+
+    private static final int JUDGEMENTS = Integer.getInteger("benchmark.judgements", 1_000);
+
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JudgementService judgementService;
+
+    private long nextId = 1_000_000;
+
+    @Test
+    void measureGrant() {
+        // 첫 round 는 warm-up
+        for (int round = 0; round <= ROUNDS; round++) {
+            List<Long> single = generate();
+            long start = System.nanoTime();
+            for (Long judgementId : single) {
+                judgementService.grant(judgementId);
+            }
+            long singleNanos = System.nanoTime() - start;
+
+            List<Long> bulk = generate();
+            start = System.nanoTime();
+            JudgementDTO.GrantResponse response = judgementService.grantAll(bulk);
+            long bulkNanos = System.nanoTime() - start;
+
+            assertThat(response.getGrantedCount()).isEqualTo(JUDGEMENTS);
+            if (round > 0) {
+                System.out.printf("round %d : %,d judgements, one by one %,d ms, bulk %,d ms (%.1fx)%n", round, JUDGEMENTS,
+                        singleNanos / 1_000_000, bulkNanos / 1_000_000, (double) singleNanos / bulkNanos);
+            }
+        }
+    }
+
+    private List<Long> generate() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp maturity = Timestamp.valueOf(LocalDateTime.now().plusYears(3));
+        List<Object[]> applications = new ArrayList<>(JUDGEMENTS);
+        List<Object[]> judgements = new ArrayList<>(JUDGEMENTS);
+        List<Long> judgementIds = new ArrayList<>(JUDGEMENTS);
+        for (int i = 0; i < JUDGEMENTS; i++) {
+            long id = nextId++;
+            applications.add(new Object[]{id, "Member", "010-0000-0000", BigDecimal.valueOf(10_000_000), BigDecimal.valueOf(500, 4),
+                    now, maturity, "JUDGED", now, now});
+            judgements.add(new Object[]{id, id, "Reviewer", BigDecimal.valueOf(8_000_000), now, now});
+            judgementIds.add(id);
+        }
+        jdbcTemplate.batchUpdate("insert into application (application_id, name, cell_phone, hope_amount, interest_rate, applied_at, "
+                + "maturity, status, is_deleted, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?)", applications);
+        jdbcTemplate.batchUpdate("insert into judgement (judgement_id, application_id, name, approval_amount, is_deleted, created_at, updated_at) "
+                + "values (?, ?, ?, ?, false, ?, ?)", judgements);
+        return judgementIds;
+    }
+}
@@ -0,0 +1,135 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.domain.JudgementTaskStatus;
+import com.fastcampus.loan.dto.JudgementDTO;
+import com.fastcampus.loan.service.JudgementTaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 심사 작업 큐 접수 급증. 약관 동의 상태 신청 기본 20,000 건 (-Dbenchmark.applications 로 변경)을
+ * 요청 스레드 64 개가 한꺼번에 접수하고, 접수 응답 시간과 worker 4 개가 큐를 비우는 처리량을 측정한다.
+ * ./gradlew benchmark --tests '*JudgementQueueBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"logging.level.org.hibernate.SQL=warn",
+        "logging.level.com.fastcampus.loan.service.JudgementTaskWorker=error",
+        "spring.datasource.url=jdbc:h2:file:./build/benchmark/judgement-queue",
+        "loan.application.status-backfill.enabled=false",
+        "loan.judgement.queue.enabled=true",
+        "loan.judgement.queue.workers=4"})
+class JudgementQueueBenchmark {
+
+    private static final int APPLICATIONS = Integer.getInteger("benchmark.applications", 20_000);
+
+    private static final int CLIENTS = 64;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JudgementTaskService judgementTaskService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void measureIntakeAndDrain() throws Exception {
+        generate();
+
+        long[] submitNanos = new long[APPLICATIONS];
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        int threads = Thread.activeCount();
+        double maxActive = 0;
+
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            futures.add(clients.submit(() -> {
+                for (int i = client; i < APPLICATIONS; i += CLIENTS) {
+                    long begin = System.nanoTime();
+                    judgementTaskService.submit(JudgementDTO.Request.builder()
+                            .applicationId((long) i + 1)
+                            .name("Reviewer")
+                            .approvalAmount(BigDecimal.valueOf(5_000_000))
+                            .build());
+                    submitNanos[i] = System.nanoTime() - begin;
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+            maxActive = Math.max(maxActive, meterRegistry.get("judgement.queue.active").gauge().value());
+        }
+        long intakeNanos = System.nanoTime() - start;
+        clients.shutdown();
+
+        Arrays.sort(submitNanos);
+        System.out.printf("intake : %,d tasks in %,d ms (%,.0f tasks/s), submit p50 %.2f ms, p99 %.2f ms, max %.2f ms, queue depth %,.0f%n",
+                APPLICATIONS, intakeNanos / 1_000_000, APPLICATIONS * 1e9 / intakeNanos,
+                submitNanos[APPLICATIONS / 2] / 1e6, submitNanos[APPLICATIONS * 99 / 100] / 1e6, submitNanos[APPLICATIONS - 1] / 1e6,
+                meterRegistry.get("judgement.queue.depth").gauge().value());
+
+        long remaining;
+        while ((remaining = count(JudgementTaskStatus.QUEUED) + count(JudgementTaskStatus.RUNNING)) > 0) {
+            maxActive = Math.max(maxActive, meterRegistry.get("judgement.queue.active").gauge().value());
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+        long drainNanos = System.nanoTime() - start;
+
+        Timer wait = meterRegistry.get("judgement.queue.wait").timer();
+        Timer processing = meterRegistry.get("judgement.queue.processing").timer();
+        System.out.printf("drain  : %,d tasks in %,d ms (%,.0f tasks/s), wait mean %,.0f ms / max %,.0f ms, processing mean %.2f ms, "
+                        + "max active workers %.0f, threads %d -> %d, %d cores%n",
+                APPLICATIONS, drainNanos / 1_000_000, APPLICATIONS * 1e9 / drainNanos,
+                wait.mean(TimeUnit.MILLISECONDS), wait.max(TimeUnit.MILLISECONDS), processing.mean(TimeUnit.MILLISECONDS),
+                maxActive, threads, Thread.activeCount(), Runtime.getRuntime().availableProcessors());
+
+        assertThat(remaining).isZero();
+        assertThat(maxActive).isLessThanOrEqualTo(4);
+        assertThat(count(JudgementTaskStatus.COMPLETED)).isEqualTo(APPLICATIONS);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from application where status = 'GRANTED'", Long.class))
+                .isEqualTo(APPLICATIONS);
+    }
+
+    private long count(JudgementTaskStatus status) {
+        return jdbcTemplate.queryForObject("select count(*) from judgement_task where status = ?", Long.class, status.name());
+    }
+
+    private void generate() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp maturity = Timestamp.valueOf(LocalDateTime.now().plusYears(3));
+        String insert = "insert into application (application_id, name, cell_phone, hope_amount, interest_rate, applied_at, maturity, "
+                + "status, is_deleted, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?)";
+
+        List<Object[]> rows = new ArrayList<>(10_000);
+        for (int i = 0; i < APPLICATIONS; i++) {
+            rows.add(new Object[]{(long) i + 1, "Member", String.format("010-%04d-%04d", i / 10_000, i % 10_000),
+                    BigDecimal.valueOf(10_000_000), BigDecimal.valueOf(500, 4), now, maturity, "TERMS_ACCEPTED", now, now});
+            if (rows.size() >= 10_000) {
+                jdbcTemplate.batchUpdate(insert, rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(insert, rows);
+    }
+}
@@ -0,0 +1,119 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.domain.Money;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 잔고 계산 비교 : BigDecimal vs Money(long cents), 집행/상환 이벤트 1,000,000 건.
+ * ./gradlew benchmark --tests '*MoneyBenchmark'
+ */
+@Tag("benchmark")
+class MoneyBenchmark {
+
+    private static final int EVENTS = 1_000_000;
+
+    private static final int APPLICATIONS = 10_000;
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    private static final int ITERATIONS = 10;
+
+    private final int[] applicationIndexes = new int[EVENTS];
+
+    private final boolean[] entries = new boolean[EVENTS];
+
+    private final BigDecimal[] decimalAmounts = new BigDecimal[EVENTS];
+
+    private final Money[] moneyAmounts = new Money[EVENTS];
+
+    @Test
+    void compareBigDecimalWithMoney() {
+        Random random = new Random(42);
+        for (int i = 0; i < EVENTS; i++) {
+            applicationIndexes[i] = random.nextInt(APPLICATIONS);
+            entries[i] = random.nextInt(10) == 0;
+            long cents = (random.nextInt(1_000_000) + 1) * 100L + random.nextInt(100);
+            decimalAmounts[i] = BigDecimal.valueOf(cents, 2);
+            moneyAmounts[i] = Money.ofCents(cents);
+        }
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            bigDecimal();
+            money();
+        }
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long bigDecimalNanos = 0;
+        long bigDecimalBytes = 0;
+        BigDecimal[] bigDecimalBalances = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long bytes = threadMXBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            bigDecimalBalances = bigDecimal();
+            bigDecimalNanos += System.nanoTime() - start;
+            bigDecimalBytes += threadMXBean.getThreadAllocatedBytes(threadId) - bytes;
+        }
+
+        long moneyNanos = 0;
+        long moneyBytes = 0;
+        long[] moneyBalances = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long bytes = threadMXBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            moneyBalances = money();
+            moneyNanos += System.nanoTime() - start;
+            moneyBytes += threadMXBean.getThreadAllocatedBytes(threadId) - bytes;
+        }
+
+        for (int i = 0; i < APPLICATIONS; i++) {
+            assertThat(Money.of(bigDecimalBalances[i]).getCents()).isEqualTo(moneyBalances[i]);
+        }
+
+        long operations = (long) EVENTS * ITERATIONS;
+        System.out.printf("BigDecimal : %.1f ns/event, %.1f bytes/event%n", (double) bigDecimalNanos / operations, (double) bigDecimalBytes / operations);
+        System.out.printf("Money      : %.1f ns/event, %.1f bytes/event%n", (double) moneyNanos / operations, (double) moneyBytes / operations);
+    }
+
+    // 기존 BalanceServiceImpl 과 같은 방식
+    private BigDecimal[] bigDecimal() {
+        BigDecimal[] balances = new BigDecimal[APPLICATIONS];
+        for (int i = 0; i < APPLICATIONS; i++) {
+            balances[i] = BigDecimal.valueOf(1_000_000_000_00L, 2);
+        }
+        for (int i = 0; i < EVENTS; i++) {
+            int index = applicationIndexes[i];
+            if (entries[i]) {
+                balances[index] = balances[index].add(decimalAmounts[i]);
+            } else {
+                balances[index] = balances[index].subtract(decimalAmounts[i]);
+            }
+        }
+        return balances;
+    }
+
+    // BalanceLedger 와 같은 방식
+    private long[] money() {
+        long[] balances = new long[APPLICATIONS];
+        for (int i = 0; i < APPLICATIONS; i++) {
+            balances[i] = 1_000_000_000_00L;
+        }
+        for (int i = 0; i < EVENTS; i++) {
+            int index = applicationIndexes[i];
+            if (entries[i]) {
+                balances[index] = Money.addExact(balances[index], moneyAmounts[i].getCents());
+            } else {
+                balances[index] = Money.subtractExact(balances[index], moneyAmounts[i].getCents());
+            }
+        }
+        return balances;
+    }
+}
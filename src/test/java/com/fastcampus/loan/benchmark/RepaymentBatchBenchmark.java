@@ -0,0 +1,98 @@
+package com.fastcampus.loan.benchmark;
+
+import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.Entry;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.dto.BalanceDTO;
+import com.fastcampus.loan.dto.RepaymentDTO;
+import com.fastcampus.loan.repository.ApplicationRepository;
+import com.fastcampus.loan.repository.EntryRepository;
+import com.fastcampus.loan.service.BalanceService;
+import com.fastcampus.loan.service.RepaymentService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상환 처리량 비교 : 건별 create vs repayments:batch (100k 건).
+ * ./gradlew benchmark --tests '*RepaymentBatchBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=warn")
+class RepaymentBatchBenchmark {
+
+    private static final int APPLICATIONS = 1000;
+
+    private static final int SINGLE_ROWS = 5000;
+
+    private static final int BATCH_ROWS = 100000;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private RepaymentService repaymentService;
+
+    @Test
+    void compareSingleCreateWithBatch() {
+        List<Long> applicationIds = new ArrayList<>();
+        for (int i = 0; i < APPLICATIONS; i++) {
+            Application application = applicationRepository.save(Application.builder()
+                    .name("benchmark")
+                    .approvalAmount(BigDecimal.valueOf(100000000))
+                    .contractedAt(LocalDateTime.now())
+                    .status(ApplicationStatus.DISBURSED)
+                    .build());
+            Long applicationId = application.getApplicationId();
+
+            entryRepository.save(Entry.builder()
+                    .applicationId(applicationId)
+                    .entryAmount(Money.of(100000000))
+                    .build());
+            balanceService.create(applicationId, BalanceDTO.Request.builder()
+                    .entryAmount(Money.of(100000000))
+                    .build());
+            applicationIds.add(applicationId);
+        }
+
+        long singleStart = System.nanoTime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            repaymentService.create(applicationIds.get(i % APPLICATIONS), RepaymentDTO.Request.builder()
+                    .repaymentAmount(Money.of(1))
+                    .build());
+        }
+        long singleNanos = System.nanoTime() - singleStart;
+
+        List<RepaymentDTO.BatchRequest> request = new ArrayList<>(BATCH_ROWS);
+        for (int i = 0; i < BATCH_ROWS; i++) {
+            request.add(RepaymentDTO.BatchRequest.builder()
+                    .applicationId(applicationIds.get(i % APPLICATIONS))
+                    .repaymentAmount(Money.of(1))
+                    .build());
+        }
+
+        long batchStart = System.nanoTime();
+        RepaymentDTO.BatchResponse response = repaymentService.createAll(request);
+        long batchNanos = System.nanoTime() - batchStart;
+
+        assertThat(response.getSucceededCount()).isEqualTo(BATCH_ROWS);
+
+        System.out.printf("single create : %,d rows, %,.0f rows/s%n", SINGLE_ROWS, SINGLE_ROWS / (singleNanos / 1e9));
+        System.out.printf("batch         : %,d rows, %,.0f rows/s%n", BATCH_ROWS, BATCH_ROWS / (batchNanos / 1e9));
+    }
+}
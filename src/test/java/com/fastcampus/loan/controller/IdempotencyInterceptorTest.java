@@ -0,0 +1,117 @@
+package com.fastcampus.loan.controller;
+
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.CounselRepository;
+import com.fastcampus.loan.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=warn")
+@AutoConfigureMockMvc
+class IdempotencyInterceptorTest {
+
+    private static final String COUNSEL = "{\"name\":\"Member Kim\",\"cellPhone\":\"010-1111-2222\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CounselRepository counselRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Test
+    void Should_ReturnStoredResponseWithoutCreatingCounsel_When_RequestIsRetriedWithSameKey() throws Exception {
+        long before = counselRepository.count();
+
+        MvcResult first = mockMvc.perform(post("/counsels")
+                        .header(IdempotencyInterceptor.HEADER, "counsel-retry")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(COUNSEL))
+                .andReturn();
+        MvcResult retried = mockMvc.perform(post("/counsels")
+                        .header(IdempotencyInterceptor.HEADER, "counsel-retry")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(COUNSEL))
+                .andReturn();
+
+        assertThat(counselRepository.count()).isEqualTo(before + 1);
+        assertThat(retried.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+        assertThat(retried.getResponse().getHeader(IdempotencyInterceptor.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void Should_ThrowException_When_KeyIsReusedForAnotherRequest() throws Exception {
+        mockMvc.perform(post("/counsels")
+                .header(IdempotencyInterceptor.HEADER, "counsel-reused")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(COUNSEL));
+
+        mockMvc.perform(put("/counsels/1")
+                        .header(IdempotencyInterceptor.HEADER, "counsel-reused")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(COUNSEL))
+                .andExpect(jsonPath("$.result.code").value(ResultType.IDEMPOTENCY_KEY_REUSED.getCode()));
+    }
+
+    @Test
+    void Should_ThrowException_When_KeyIsReusedWithAnotherBody() throws Exception {
+        long before = counselRepository.count();
+
+        mockMvc.perform(post("/counsels")
+                .header(IdempotencyInterceptor.HEADER, "counsel-other-body")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(COUNSEL));
+
+        mockMvc.perform(post("/counsels")
+                        .header(IdempotencyInterceptor.HEADER, "counsel-other-body")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Member Lee\",\"cellPhone\":\"010-3333-4444\"}"))
+                .andExpect(jsonPath("$.result.code").value(ResultType.IDEMPOTENCY_KEY_REUSED.getCode()));
+
+        assertThat(counselRepository.count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void Should_NotBufferBody_When_BodyIsStreamOrTooLarge() {
+        IdempotencyRequestFilter filter = new IdempotencyRequestFilter(16);
+
+        assertThat(filter.shouldNotFilter(keyed("application/json", "{\"a\":1}"))).isFalse();
+        assertThat(filter.shouldNotFilter(keyed("application/json", "{\"name\":\"Member Kim\"}"))).isTrue();
+        assertThat(filter.shouldNotFilter(keyed("text/csv", "1,100"))).isTrue();
+        assertThat(filter.shouldNotFilter(keyed("application/x-ndjson", "{}"))).isTrue();
+    }
+
+    @Test
+    void Should_ReleaseKey_When_RequestFails() throws Exception {
+        mockMvc.perform(put("/counsels/999999")
+                        .header(IdempotencyInterceptor.HEADER, "counsel-failed")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(COUNSEL))
+                .andExpect(jsonPath("$.result.code").value(ResultType.SYSTEM_ERROR.getCode()));
+
+        assertThat(idempotencyKeyRepository.findByIdempotencyKey("counsel-failed")).isEmpty();
+    }
+
+    private MockHttpServletRequest keyed(String contentType, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/internal/applications/repayments:import");
+        request.addHeader(IdempotencyInterceptor.HEADER, "import");
+        request.setContentType(contentType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
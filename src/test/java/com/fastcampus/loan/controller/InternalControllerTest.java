@@ -0,0 +1,42 @@
+package com.fastcampus.loan.controller;
+
+import com.fastcampus.loan.exception.ResultType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=warn")
+@AutoConfigureMockMvc
+class InternalControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void Should_ReturnInvalidAmount_When_RepaymentAmountHasMoreThanTwoDecimalPlaces() throws Exception {
+        mockMvc.perform(post("/internal/applications/1/repayments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"repaymentAmount\":100.005}"))
+                .andExpect(jsonPath("$.result.code").value(ResultType.INVALID_AMOUNT.getCode()));
+
+        mockMvc.perform(post("/internal/applications/repayments:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"applicationId\":1,\"repaymentAmount\":\"0.001\"}]"))
+                .andExpect(jsonPath("$.result.code").value(ResultType.INVALID_AMOUNT.getCode()));
+    }
+
+    @Test
+    void Should_ReturnBadRequest_When_BodyIsNotJson() throws Exception {
+        mockMvc.perform(post("/internal/applications/1/repayments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,74 @@
+package com.fastcampus.loan.controller;
+
+import com.fastcampus.loan.dto.TermsDTO;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.service.TermsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"logging.level.org.hibernate.SQL=warn", "loan.terms.snapshot.refresh-ms=3600000"})
+@AutoConfigureMockMvc
+class TermsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TermsService termsService;
+
+    @Test
+    void Should_ReturnNotModified_When_ETagOfTermsVersionIsSame() throws Exception {
+        termsService.create(TermsDTO.Request.builder()
+                .productCode("MORTGAGE")
+                .name("주택담보대출 이용 약관")
+                .termsDetailUrl("https://abc-storage.acc/mortgage")
+                .build());
+
+        MvcResult first = mockMvc.perform(get("/terms").param("productCode", "MORTGAGE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.productCode").value("MORTGAGE"))
+                .andExpect(jsonPath("$.data.version").value(1))
+                .andExpect(jsonPath("$.data.terms[0].name").value("주택담보대출 이용 약관"))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isEqualTo("\"MORTGAGE-1\"");
+
+        MvcResult cached = mockMvc.perform(get("/terms").param("productCode", "MORTGAGE")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(cached.getResponse().getContentAsByteArray()).isEmpty();
+
+        // 약관이 추가되면 새 버전이 최신, 이전 버전은 그대로 조회된다
+        termsService.create(TermsDTO.Request.builder()
+                .productCode("MORTGAGE")
+                .name("개인정보 수집 이용 동의")
+                .termsDetailUrl("https://abc-storage.acc/privacy")
+                .build());
+
+        mockMvc.perform(get("/terms").param("productCode", "MORTGAGE")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.version").value(2))
+                .andExpect(jsonPath("$.data.terms.length()").value(2));
+        mockMvc.perform(get("/terms").param("productCode", "MORTGAGE").param("version", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.terms.length()").value(1));
+    }
+
+    @Test
+    void Should_ReturnErrorCode_When_TermsVersionIsNotFound() throws Exception {
+        mockMvc.perform(get("/terms").param("productCode", "UNKNOWN"))
+                .andExpect(jsonPath("$.result.code").value(ResultType.TERMS_VERSION_NOT_FOUND.getCode()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.fastcampus.loan.domain;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MoneyTest {
+
+    @Test
+    void Should_KeepAmount_When_ScaleIsAtMostTwo() {
+        assertThat(Money.of(new BigDecimal("12.3")).getCents()).isEqualTo(1230L);
+        assertThat(Money.of(new BigDecimal("12.340")).getCents()).isEqualTo(1234L);
+    }
+
+    @Test
+    void Should_ThrowException_When_AmountWouldBeRounded() {
+        Assertions.assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.005")));
+    }
+
+    @Test
+    void Should_Round_When_RoundingModeIsGiven() {
+        assertThat(Money.of(new BigDecimal("0.005"), RoundingMode.HALF_EVEN).getCents()).isZero();
+        assertThat(Money.of(new BigDecimal("0.015"), RoundingMode.HALF_EVEN).getCents()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,145 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.AcceptTerms;
+import com.fastcampus.loan.domain.AcceptTermsBitmap;
+import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.dto.ApplicationDTO;
+import com.fastcampus.loan.dto.TermsDTO;
+import com.fastcampus.loan.repository.AcceptTermsBitmapRepository;
+import com.fastcampus.loan.repository.AcceptTermsRepository;
+import com.fastcampus.loan.repository.ApplicationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * bitmap 저장 방식에서 동의 약관 저장, 기존 행 migration, 약관별 신청 조회 확인
+ */
+@SpringBootTest(properties = {"loan.terms.accept-storage=bitmap",
+        "loan.balance.ledger.flush-interval-ms=3600000",
+        "loan.outbox.relay.interval-ms=3600000",
+        "loan.terms.accept-bitmap.index.catch-up-ms=3600000",
+        "logging.level.org.hibernate.SQL=warn"})
+class AcceptTermsBitmapStoreTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private TermsService termsService;
+
+    @Autowired
+    private AcceptTermsStore acceptTermsStore;
+
+    @Autowired
+    private AcceptTermsBitmapMigration acceptTermsBitmapMigration;
+
+    @Autowired
+    private AcceptTermsBitmapIndex acceptTermsBitmapIndex;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private AcceptTermsRepository acceptTermsRepository;
+
+    @Autowired
+    private AcceptTermsBitmapRepository acceptTermsBitmapRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void Should_StoreOneRowPerApplicationAndFindApplicationsByTerms_When_StorageIsBitmap() {
+        List<Long> termsIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            termsIds.add(termsService.create(TermsDTO.Request.builder()
+                    .name("약관 " + i)
+                    .termsDetailUrl("https://terms/" + i)
+                    .build()).getTermsId());
+        }
+
+        // 약관당 1 행으로 저장되어 있던 신청 (앞의 두 약관만 동의)
+        Long legacy = createApplication();
+        for (Long termsId : termsIds.subList(0, 2)) {
+            acceptTermsRepository.save(AcceptTerms.builder()
+                    .applicationId(legacy)
+                    .termsId(termsId)
+                    .build());
+        }
+        assertThat(ids(acceptTermsStore.findAcceptedTerms(legacy))).isEqualTo(termsIds.subList(0, 2));
+
+        Long accepted = createApplication();
+        applicationService.acceptTerms(accepted, ApplicationDTO.AcceptTerms.builder()
+                .acceptTermsIds(Arrays.asList(termsIds.get(2), termsIds.get(0), termsIds.get(1)))
+                .build());
+
+        assertThat(acceptTermsBitmapRepository.existsById(accepted)).isTrue();
+        assertThat(acceptTermsRepository.findAcceptedTermsByApplicationId(accepted)).isEmpty();
+        assertThat(ids(acceptTermsStore.findAcceptedTerms(accepted))).isEqualTo(termsIds);
+
+        assertThat(acceptTermsBitmapMigration.migrate()).isEqualTo(1);
+        assertThat(acceptTermsBitmapMigration.migrate()).isEqualTo(0);
+        acceptTermsBitmapIndex.rebuild();
+
+        assertThat(acceptTermsBitmapRepository.existsById(legacy)).isTrue();
+        assertThat(ids(acceptTermsStore.findAcceptedTerms(legacy))).isEqualTo(termsIds.subList(0, 2));
+
+        ApplicationDTO.AcceptedApplicationPage first = applicationService.findAcceptedApplications(
+                Collections.singletonList(termsIds.get(0)), null, 1);
+        assertThat(first.getCount()).isEqualTo(2);
+        assertThat(first.getApplicationIds()).containsExactly(legacy);
+
+        ApplicationDTO.AcceptedApplicationPage next = applicationService.findAcceptedApplications(
+                Collections.singletonList(termsIds.get(0)), first.getNextCursor(), 1);
+        assertThat(next.getApplicationIds()).containsExactly(accepted);
+
+        ApplicationDTO.AcceptedApplicationPage all = applicationService.findAcceptedApplications(termsIds, null, 10);
+        assertThat(all.getCount()).isEqualTo(1);
+        assertThat(all.getApplicationIds()).containsExactly(accepted);
+        assertThat(all.getNextCursor()).isNull();
+    }
+
+    @Test
+    void Should_AddOtherInstanceAcceptances_When_CatchUp() {
+        // 다른 인스턴스에서 저장한 동의 (아직 쓰지 않는 bit 위치)
+        int bitIndex = AcceptTermsBitmap.MAX_TERMS - 1;
+        BitSet accepted = new BitSet();
+        accepted.set(bitIndex);
+        Long applicationId = createApplication();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("insert into accept_terms_bitmap (application_id, bit_width, accepted, is_deleted, created_at, updated_at) "
+                + "values (?, ?, ?, false, ?, ?)", applicationId, AcceptTermsBitmap.MAX_TERMS, accepted.toByteArray(), now, now);
+
+        assertThat(acceptTermsBitmapIndex.count(Collections.singletonList(bitIndex))).isZero();
+
+        acceptTermsBitmapIndex.catchUp();
+
+        assertThat(acceptTermsBitmapIndex.find(Collections.singletonList(bitIndex), 0, 10)).containsExactly(applicationId);
+    }
+
+    private Long createApplication() {
+        return applicationRepository.save(Application.builder()
+                .name("Member Kim")
+                .appliedAt(LocalDateTime.now())
+                .status(ApplicationStatus.APPLIED)
+                .build()).getApplicationId();
+    }
+
+    private List<Long> ids(List<TermsDTO.Response> terms) {
+        return terms.stream().map(TermsDTO.Response::getTermsId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,175 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.AccrualPartition;
+import com.fastcampus.loan.domain.AccrualPartitionStatus;
+import com.fastcampus.loan.dto.AccrualDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.AccrualPartitionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이자 발생 금액(스냅샷 + journal tail 잔고, HALF_EVEN), 대상 선정, 완료된 구간 건너뛰기와 실패한 구간 다시 처리,
+ * 다른 인스턴스가 lease 를 잡고 있을 때 거절 확인
+ */
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=warn")
+class AccrualServiceTest {
+
+    private static final long PARTITION_SIZE = 100_000;
+
+    private static final Timestamp CONTRACTED_AT = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccrualPartitionRepository accrualPartitionRepository;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AccrualServiceImpl accrualService;
+
+    @BeforeEach
+    void setUp() {
+        // fetch, batch 크기를 작게 해서 여러 번 나눠 읽고 쓰게 한다
+        accrualService = new AccrualServiceImpl(jdbcTemplate, accrualPartitionRepository, leaseService, transactionManager,
+                2, PARTITION_SIZE, 2, 2, 600_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accrualService.close();
+    }
+
+    @Test
+    void Should_AccrueDailyInterestOfContractedBalances_When_Accrue() {
+        LocalDate day = LocalDate.of(2024, 6, 1);
+        // 1억 - 1천만 (스냅샷 이후 journal), 연 4.5% -> 9천만 * 0.045 / 365 = 11,095.890... -> 11,095.89
+        insertLoan(1_000_001L, "0.0450", CONTRACTED_AT, "100000000");
+        insertJournal(1_000_001L, "-10000000");
+        // 잔고 0
+        insertLoan(1_000_002L, "0.0450", CONTRACTED_AT, "0");
+        // 이자 발생일 다음 날 계약
+        insertLoan(1_000_003L, "0.0450", Timestamp.valueOf(day.plusDays(1).atStartOfDay()), "1000000");
+        // 다른 구간, 1백만 * 0.0365 / 365 = 100
+        insertLoan(1_100_001L, "0.0365", CONTRACTED_AT, "1000000");
+
+        AccrualDTO.Response actual = accrualService.accrue(day);
+
+        assertThat(actual.getFailedPartitionCount()).isZero();
+        assertThat(interests(day)).containsOnlyKeys(1_000_001L, 1_100_001L)
+                .containsEntry(1_000_001L, new BigDecimal("11095.89"))
+                .containsEntry(1_100_001L, new BigDecimal("100.00"));
+    }
+
+    @Test
+    void Should_SkipCompletedPartitionsAndResumeFailedOne_When_AccrueSameDayAgain() {
+        LocalDate day = LocalDate.of(2024, 7, 1);
+        insertLoan(1_200_001L, "0.0365", CONTRACTED_AT, "1000000");
+        insertLoan(1_300_001L, "0.0365", CONTRACTED_AT, "2000000");
+
+        AccrualDTO.Response first = accrualService.accrue(day);
+        assertThat(first.getSkippedPartitionCount()).isZero();
+
+        AccrualDTO.Response second = accrualService.accrue(day);
+        assertThat(second.getSkippedPartitionCount()).isEqualTo(second.getPartitionCount());
+        assertThat(second.getAccruedCount()).isZero();
+
+        // 중간에 실패한 구간, 그 사이 잔고가 바뀌었다
+        AccrualPartition failed = partition(day, 1_200_000L);
+        failed.setStatus(AccrualPartitionStatus.FAILED);
+        accrualPartitionRepository.save(failed);
+        jdbcTemplate.update("update balance set balance = ? where application_id = ?", new BigDecimal("3650000"), 1_200_001L);
+
+        AccrualDTO.Response resumed = accrualService.accrue(day);
+
+        assertThat(resumed.getSkippedPartitionCount()).isEqualTo(resumed.getPartitionCount() - 1);
+        assertThat(resumed.getAccruedCount()).isEqualTo(1L);
+        assertThat(partition(day, 1_200_000L).getStatus()).isEqualTo(AccrualPartitionStatus.COMPLETED);
+        // 다시 처리한 구간은 지우고 다시 쓰므로 한 건, 건너뛴 구간은 그대로
+        assertThat(interests(day))
+                .containsEntry(1_200_001L, new BigDecimal("365.00"))
+                .containsEntry(1_300_001L, new BigDecimal("200.00"));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from interest_accrual where accrual_date = ? and application_id = ?",
+                Long.class, Date.valueOf(day), 1_200_001L)).isEqualTo(1L);
+    }
+
+    @Test
+    void Should_ThrowException_When_AccrualIsRunningOnAnotherInstance() {
+        LocalDate day = LocalDate.of(2024, 8, 1);
+        insertLoan(1_400_001L, "0.0365", CONTRACTED_AT, "1000000");
+        // 다른 인스턴스가 lease 를 잡고 있다
+        jdbcTemplate.update("delete from service_lease where name = ?", AccrualServiceImpl.LEASE_NAME);
+        jdbcTemplate.update("insert into service_lease (name, owner, expires_at) values (?, ?, ?)",
+                AccrualServiceImpl.LEASE_NAME, "other-instance", Timestamp.valueOf(LocalDateTime.now().plusMinutes(10)));
+
+        try {
+            BaseException actual = Assertions.assertThrows(BaseException.class, () -> accrualService.accrue(day));
+
+            assertThat(actual.getCode()).isEqualTo(ResultType.ACCRUAL_IN_PROGRESS.getCode());
+            assertThat(interests(day)).isEmpty();
+            assertThat(accrualPartitionRepository.findAllByAccrualDate(day)).isEmpty();
+        } finally {
+            jdbcTemplate.update("delete from service_lease where name = ?", AccrualServiceImpl.LEASE_NAME);
+        }
+    }
+
+    @Test
+    void Should_RoundHalfToEven_When_DailyInterestIsHalfCent() {
+        // 잔고 * 금리(1e-4) / 3,650,000 이 정확히 x.5 센트
+        assertThat(AccrualServiceImpl.dailyInterest(1825, 1000)).isEqualTo(0L);
+        assertThat(AccrualServiceImpl.dailyInterest(5475, 1000)).isEqualTo(2L);
+        assertThat(AccrualServiceImpl.dailyInterest(5476, 1000)).isEqualTo(2L);
+        assertThat(AccrualServiceImpl.dailyInterest(9125, 1000)).isEqualTo(2L);
+        assertThat(AccrualServiceImpl.dailyInterest(9126, 1000)).isEqualTo(3L);
+    }
+
+    private void insertLoan(long applicationId, String interestRate, Timestamp contractedAt, String balance) {
+        jdbcTemplate.update("insert into application (application_id, interest_rate, contracted_at, is_deleted, created_at, updated_at) "
+                + "values (?, ?, ?, false, ?, ?)", applicationId, new BigDecimal(interestRate), contractedAt, CONTRACTED_AT, CONTRACTED_AT);
+        jdbcTemplate.update("insert into balance (balance_id, application_id, balance, last_journal_id, is_deleted, created_at, updated_at) "
+                + "values (?, ?, ?, 0, false, ?, ?)", applicationId, applicationId, new BigDecimal(balance), CONTRACTED_AT, CONTRACTED_AT);
+    }
+
+    private void insertJournal(long applicationId, String amount) {
+        jdbcTemplate.update("insert into balance_journal (balance_journal_id, application_id, type, amount, is_deleted, created_at, updated_at) "
+                + "values (?, ?, 'REPAYMENT_BOOKED', ?, false, ?, ?)", applicationId, applicationId, new BigDecimal(amount), CONTRACTED_AT, CONTRACTED_AT);
+    }
+
+    private Map<Long, BigDecimal> interests(LocalDate day) {
+        return jdbcTemplate.queryForList("select application_id, interest_amount from interest_accrual where accrual_date = ?",
+                        Date.valueOf(day)).stream()
+                .collect(Collectors.toMap(row -> ((Number) row.get("APPLICATION_ID")).longValue(),
+                        row -> (BigDecimal) row.get("INTEREST_AMOUNT")));
+    }
+
+    private AccrualPartition partition(LocalDate day, long fromApplicationId) {
+        List<AccrualPartition> partitions = accrualPartitionRepository.findAllByAccrualDate(day);
+        return partitions.stream()
+                .filter(p -> p.getFromApplicationId() == fromApplicationId)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+}
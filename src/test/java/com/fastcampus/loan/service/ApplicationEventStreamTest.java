@@ -0,0 +1,119 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.DomainEventType;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.dto.BalanceDTO;
+import com.fastcampus.loan.dto.DomainEventDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.org.hibernate.SQL=warn")
+class ApplicationEventStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationEventStream applicationEventStream;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void Should_PushOnlySubscribedApplicationEvents_When_BalanceAndStatusChange() throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL(
+                "http://localhost:" + port + "/internal/applications/stream?applicationIds=42,43").openConnection();
+        connection.setReadTimeout(10000);
+        assertThat(connection.getResponseCode()).isEqualTo(200);
+        assertThat(connection.getContentType()).startsWith("text/event-stream");
+        assertThat(meterRegistry.get("stream.connections").gauge().value()).isEqualTo(1);
+
+        applicationEventStream.publishBalance(42L, BalanceDTO.Response.builder()
+                .applicationId(42L)
+                .balance(Money.of(1000))
+                .build());
+        applicationEventStream.onEvents(Arrays.asList(
+                event(1L, 44L, DomainEventType.ENTRY_DISBURSED),
+                event(2L, 43L, DomainEventType.REPAYMENT_RECEIVED)));
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (line.startsWith("data:") && line.contains("\"applicationId\":43")) {
+                    break;
+                }
+            }
+        } finally {
+            connection.disconnect();
+        }
+
+        assertThat(lines).contains("event:" + ApplicationEventStream.BALANCE_UPDATED, "id:2");
+        assertThat(lines).doesNotContain("event:" + DomainEventType.ENTRY_DISBURSED.name());
+        assertThat(lines.indexOf("event:" + ApplicationEventStream.BALANCE_UPDATED))
+                .isLessThan(lines.indexOf("event:" + DomainEventType.REPAYMENT_RECEIVED.name()));
+    }
+
+    @Test
+    void Should_SendEachSubscriberOneCopy_When_ManySubscribeSameApplication() throws Exception {
+        List<HttpURLConnection> connections = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            HttpURLConnection connection = (HttpURLConnection) new URL(
+                    "http://localhost:" + port + "/internal/applications/stream?applicationIds=45").openConnection();
+            connection.setReadTimeout(10000);
+            assertThat(connection.getResponseCode()).isEqualTo(200);
+            connections.add(connection);
+        }
+
+        applicationEventStream.onEvents(Arrays.asList(
+                event(3L, 45L, DomainEventType.ENTRY_DISBURSED),
+                event(4L, 45L, DomainEventType.REPAYMENT_RECEIVED)));
+
+        for (HttpURLConnection connection : connections) {
+            List<String> lines = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                    if (line.equals("id:4")) {
+                        break;
+                    }
+                }
+            } finally {
+                connection.disconnect();
+            }
+
+            // 이벤트 사이에는 빈 줄 하나만
+            int first = lines.indexOf("event:" + DomainEventType.ENTRY_DISBURSED.name());
+            int second = lines.indexOf("event:" + DomainEventType.REPAYMENT_RECEIVED.name());
+            assertThat(lines.subList(first, second)).containsOnlyOnce("id:3").filteredOn(String::isEmpty).hasSize(1);
+        }
+    }
+
+    private DomainEventDTO.Event event(Long eventId, Long applicationId, DomainEventType type) {
+        return DomainEventDTO.Event.builder()
+                .eventId(eventId)
+                .applicationId(applicationId)
+                .type(type)
+                .payload("{\"applicationId\":" + applicationId + "}")
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.AcceptTerms;
+import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.Entry;
+import com.fastcampus.loan.domain.Judgement;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.domain.Repayment;
+import com.fastcampus.loan.domain.Terms;
+import com.fastcampus.loan.dto.ApplicationDTO;
+import com.fastcampus.loan.dto.BalanceDTO;
+import com.fastcampus.loan.repository.AcceptTermsRepository;
+import com.fastcampus.loan.repository.ApplicationRepository;
+import com.fastcampus.loan.repository.EntryRepository;
+import com.fastcampus.loan.repository.JudgementRepository;
+import com.fastcampus.loan.repository.RepaymentRepository;
+import com.fastcampus.loan.repository.TermsRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 개요 조회 쿼리 수가 동의 약관, 상환 건수와 상관없이 고정인지 확인 (N+1 회귀 테스트)
+ * 통계는 전역이므로 잔고 write-behind flush, outbox relay, 약관 스냅샷 갱신, 심사 작업 큐 확인이 끼어들지 않게 주기를 늘린다.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "loan.balance.ledger.flush-interval-ms=3600000",
+        "loan.outbox.relay.interval-ms=3600000",
+        "loan.terms.snapshot.refresh-ms=3600000",
+        "loan.judgement.queue.poll-interval-ms=3600000",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"})
+class ApplicationOverviewQueryCountTest {
+
+    // 신청+심사+집행, 동의 약관, 최근 상환
+    private static final long OVERVIEW_QUERY_COUNT = 3;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private TermsRepository termsRepository;
+
+    @Autowired
+    private AcceptTermsRepository acceptTermsRepository;
+
+    @Autowired
+    private JudgementRepository judgementRepository;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private RepaymentRepository repaymentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void Should_ExecuteFixedNumberOfQueries_When_RequestOverviewRegardlessOfChildRows() {
+        Long small = createLoan(1, 1);
+        Long large = createLoan(5, 30);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        ApplicationDTO.OverviewResponse smallOverview = applicationService.getOverview(small);
+        long smallQueries = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        ApplicationDTO.OverviewResponse largeOverview = applicationService.getOverview(large);
+        long largeQueries = statistics.getPrepareStatementCount();
+
+        assertThat(smallOverview.getAcceptedTerms()).hasSize(1);
+        assertThat(largeOverview.getAcceptedTerms()).hasSize(5);
+        assertThat(largeOverview.getRecentRepayments()).hasSize(10);
+        assertThat(largeOverview.getRecentRepayments().get(0).getRepaymentId())
+                .isGreaterThan(largeOverview.getRecentRepayments().get(9).getRepaymentId());
+        assertThat(largeOverview.getJudgement().getName()).isEqualTo("Judge");
+        assertThat(largeOverview.getEntry().getEntryAmount()).isEqualTo(Money.of(3000000));
+        assertThat(largeOverview.getBalance().getBalance()).isEqualTo(Money.of(3000000));
+
+        assertThat(smallQueries).isEqualTo(OVERVIEW_QUERY_COUNT);
+        assertThat(largeQueries).isEqualTo(OVERVIEW_QUERY_COUNT);
+    }
+
+    private Long createLoan(int termsCount, int repaymentCount) {
+        Application application = applicationRepository.save(Application.builder()
+                .name("Member Kim")
+                .approvalAmount(BigDecimal.valueOf(3000000))
+                .appliedAt(LocalDateTime.now())
+                .contractedAt(LocalDateTime.now())
+                .status(ApplicationStatus.REPAYING)
+                .build());
+        Long applicationId = application.getApplicationId();
+
+        for (int i = 0; i < termsCount; i++) {
+            Terms terms = termsRepository.save(Terms.builder()
+                    .name("약관 " + i)
+                    .termsDetailUrl("https://terms/" + i)
+                    .build());
+            acceptTermsRepository.save(AcceptTerms.builder()
+                    .applicationId(applicationId)
+                    .termsId(terms.getTermsId())
+                    .build());
+        }
+
+        judgementRepository.save(Judgement.builder()
+                .applicationId(applicationId)
+                .name("Judge")
+                .approvalAmount(BigDecimal.valueOf(3000000))
+                .build());
+        entryRepository.save(Entry.builder()
+                .applicationId(applicationId)
+                .entryAmount(Money.of(3000000))
+                .build());
+        balanceService.create(applicationId, BalanceDTO.Request.builder()
+                .entryAmount(Money.of(3000000))
+                .build());
+
+        for (int i = 0; i < repaymentCount; i++) {
+            repaymentRepository.save(Repayment.builder()
+                    .applicationId(applicationId)
+                    .repaymentAmount(Money.of(1000))
+                    .build());
+        }
+
+        return applicationId;
+    }
+}
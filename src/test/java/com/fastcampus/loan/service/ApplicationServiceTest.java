@@ -1,15 +1,17 @@
 package com.fastcampus.loan.service;
 
-import com.fastcampus.loan.domain.AcceptTerms;
 import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.Judgement;
 import com.fastcampus.loan.domain.Terms;
 import com.fastcampus.loan.dto.ApplicationDTO;
 import com.fastcampus.loan.dto.ApplicationDTO.Response;
 import com.fastcampus.loan.dto.ApplicationDTO.Request;
+import com.fastcampus.loan.dto.TermsDTO;
 import com.fastcampus.loan.exception.BaseException;
-import com.fastcampus.loan.repository.AcceptTermsRepository;
+import com.fastcampus.loan.exception.ResultType;
 import com.fastcampus.loan.repository.ApplicationRepository;
-import com.fastcampus.loan.repository.TermsRepository;
+import com.fastcampus.loan.repository.JudgementRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,14 +21,20 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,10 +47,22 @@ public class ApplicationServiceTest {
     private ApplicationRepository applicationRepository;
 
     @Mock
-    private TermsRepository termsRepository;
+    private TermsCatalog termsCatalog;
 
     @Mock
-    private AcceptTermsRepository acceptTermsRepository;
+    private AcceptTermsStore acceptTermsStore;
+
+    @Mock
+    private JudgementRepository judgementRepository;
+
+    @Mock
+    private ScheduleService scheduleService;
+
+    @Mock
+    private ApplicationStateCache applicationStateCache;
+
+    @Mock
+    private OutboxService outboxService;
 
     @Spy
     private ModelMapper modelMapper;
@@ -69,8 +89,71 @@ public class ApplicationServiceTest {
 
         assertThat(actual.getHopeAmount()).isSameAs(entity.getHopeAmount());
         assertThat(actual.getName()).isSameAs(entity.getName());
+        verify(applicationRepository).save(ArgumentMatchers.argThat(application -> application.getStatus() == ApplicationStatus.APPLIED));
+    }
+
+
+    @Test
+    void Should_ThrowException_When_BatchIsNullOrEmpty(){
+        BaseException nullBatch = Assertions.assertThrows(BaseException.class, () -> applicationService.createAll(null));
+        assertThat(nullBatch.getCode()).isEqualTo(ResultType.INVALID_APPLICATION.getCode());
+
+        BaseException emptyBatch = Assertions.assertThrows(BaseException.class, () -> applicationService.createAll(Collections.emptyList()));
+        assertThat(emptyBatch.getCode()).isEqualTo(ResultType.INVALID_APPLICATION.getCode());
+        verify(applicationRepository, never()).insertAll(ArgumentMatchers.anyList());
     }
 
+    @Test
+    void Should_ReturnApplicationIdsInRequestOrder_When_SomeApplicationsOfBatchAreInvalid(){
+        List<Request> request = Arrays.asList(
+                Request.builder().name("Member Kim").hopeAmount(BigDecimal.valueOf(50000000)).build(),
+                Request.builder().name("Member Lee").hopeAmount(BigDecimal.ZERO).build(),
+                Request.builder().name("Member Park").cellPhone("010-1111-2222-3333").hopeAmount(BigDecimal.ONE).build(),
+                Request.builder().name("Member Choi").hopeAmount(BigDecimal.valueOf(30000000)).build());
+
+        doAnswer(invocation -> {
+            List<Application> applications = invocation.getArgument(0);
+            long applicationId = 100L;
+            for (Application application : applications) {
+                application.setApplicationId(applicationId++);
+            }
+            return null;
+        }).when(applicationRepository).insertAll(ArgumentMatchers.anyList());
+
+        ApplicationDTO.BatchResponse actual = applicationService.createAll(request);
+
+        assertThat(actual.getSucceededCount()).isEqualTo(2);
+        assertThat(actual.getFailedCount()).isEqualTo(2);
+        assertThat(actual.getResults().get(0).getApplicationId()).isEqualTo(100L);
+        assertThat(actual.getResults().get(1).getResult().getCode()).isEqualTo(ResultType.INVALID_APPLICATION.getCode());
+        assertThat(actual.getResults().get(2).getResult().getCode()).isEqualTo(ResultType.INVALID_APPLICATION.getCode());
+        assertThat(actual.getResults().get(3).getApplicationId()).isEqualTo(101L);
+        verify(modelMapper, never()).map(ArgumentMatchers.any(), ArgumentMatchers.eq(Application.class));
+    }
+
+    @Test
+    void Should_AcceptHopeAmountWithTrailingZeros_When_ValueIsExactToCents(){
+        List<Request> request = Arrays.asList(
+                Request.builder().name("Member Kim").hopeAmount(new BigDecimal("100.100")).build(),
+                Request.builder().name("Member Lee").hopeAmount(new BigDecimal("100.001")).build(),
+                Request.builder().name("Member Park").hopeAmount(new BigDecimal("1E+3")).build());
+
+        doAnswer(invocation -> {
+            List<Application> applications = invocation.getArgument(0);
+            long applicationId = 100L;
+            for (Application application : applications) {
+                application.setApplicationId(applicationId++);
+            }
+            return null;
+        }).when(applicationRepository).insertAll(ArgumentMatchers.anyList());
+
+        ApplicationDTO.BatchResponse actual = applicationService.createAll(request);
+
+        assertThat(actual.getSucceededCount()).isEqualTo(2);
+        assertThat(actual.getResults().get(0).getApplicationId()).isEqualTo(100L);
+        assertThat(actual.getResults().get(1).getResult().getCode()).isEqualTo(ResultType.INVALID_APPLICATION.getCode());
+        assertThat(actual.getResults().get(2).getApplicationId()).isEqualTo(101L);
+    }
 
     @Test
     void Should_ReturnResponseOfExistApplicationEntity_When_RequestExistApplicationId(){
@@ -87,6 +170,67 @@ public class ApplicationServiceTest {
         assertThat(actual.getApplicationId()).isSameAs(findId);
     }
 
+    @Test
+    void Should_ReturnLastApplicationIdAsNextCursor_When_SearchPageIsFull(){
+        ApplicationDTO.SearchRequest request = ApplicationDTO.SearchRequest.builder()
+                .name("Member")
+                .contracted(true)
+                .build();
+
+        when(applicationRepository.search(request, 10L, null, 2)).thenReturn(Arrays.asList(
+                ApplicationDTO.SearchResponse.builder().applicationId(11L).name("Member Kim").build(),
+                ApplicationDTO.SearchResponse.builder().applicationId(15L).name("Member Lee").build()));
+
+        ApplicationDTO.PageResponse actual = applicationService.search(request, 10L, 2);
+
+        assertThat(actual.getApplications()).hasSize(2);
+        assertThat(actual.getNextCursor()).isEqualTo(15L);
+    }
+
+    @Test
+    void Should_LimitPageSize_When_SearchSizeIsTooLarge(){
+        ApplicationDTO.SearchRequest request = ApplicationDTO.SearchRequest.builder().email("mail@abcd.efg").build();
+
+        when(applicationRepository.search(request, null, null, 100)).thenReturn(Arrays.asList(
+                ApplicationDTO.SearchResponse.builder().applicationId(1L).build()));
+
+        ApplicationDTO.PageResponse actual = applicationService.search(request, null, 100000);
+
+        assertThat(actual.getApplications()).hasSize(1);
+        assertThat(actual.getNextCursor()).isNull();
+    }
+
+    @Test
+    void Should_SearchByWideningApplicationIdWindow_When_OnlyRangeConditionIsRequested(){
+        ApplicationDTO.SearchRequest request = ApplicationDTO.SearchRequest.builder().contracted(true).build();
+
+        when(applicationRepository.findMaxApplicationId()).thenReturn(100000L);
+        when(applicationRepository.search(request, 0L, 4096L, 2)).thenReturn(Arrays.asList(
+                ApplicationDTO.SearchResponse.builder().applicationId(7L).build()));
+        when(applicationRepository.search(request, 4096L, 4096L + 8192L, 1)).thenReturn(Arrays.asList(
+                ApplicationDTO.SearchResponse.builder().applicationId(5000L).build()));
+
+        ApplicationDTO.PageResponse actual = applicationService.search(request, null, 2);
+
+        assertThat(actual.getApplications()).extracting(ApplicationDTO.SearchResponse::getApplicationId).containsExactly(7L, 5000L);
+        assertThat(actual.getNextCursor()).isEqualTo(5000L);
+    }
+
+    @Test
+    void Should_ReturnScannedApplicationIdAsNextCursor_When_ScanBudgetIsExhausted(){
+        ApplicationDTO.SearchRequest request = ApplicationDTO.SearchRequest.builder().minApprovalAmount(BigDecimal.ONE).build();
+
+        when(applicationRepository.findMaxApplicationId()).thenReturn(10000000L);
+        when(applicationRepository.search(ArgumentMatchers.eq(request), ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong(), ArgumentMatchers.eq(20)))
+                .thenReturn(Collections.emptyList());
+
+        ApplicationDTO.PageResponse actual = applicationService.search(request, null, 20);
+
+        assertThat(actual.getApplications()).isEmpty();
+        // 4096 + 8192 + 16384 + 4096 = 32768
+        assertThat(actual.getNextCursor()).isEqualTo(32768L);
+    }
+
     @Test
     void Should_ReturnUpdatedResponseOfExistApplicationEntity_When_RequestUpdateExistApplicationInfo(){
         Long findId = 1L;
@@ -124,6 +268,7 @@ public class ApplicationServiceTest {
         applicationService.delete(targetId);
 
         assertThat(entity.getIsDeleted()).isSameAs(true);
+        verify(applicationStateCache).invalidate(targetId);
     }
 
     @Test
@@ -149,13 +294,79 @@ public class ApplicationServiceTest {
         Long findId = 1L;
 
         when(applicationRepository.findById(findId)).thenReturn(
-                Optional.ofNullable(Application.builder().build()));
-        when(termsRepository.findAll(Sort.by(Sort.Direction.ASC, "termsId"))).thenReturn(Arrays.asList(entityA, entityB));
-        when(acceptTermsRepository.save(ArgumentMatchers.any(AcceptTerms.class))).thenReturn(AcceptTerms.builder().build());
+                Optional.ofNullable(Application.builder().status(ApplicationStatus.APPLIED).build()));
+        when(termsCatalog.get()).thenReturn(snapshot(entityA, entityB));
+        when(applicationRepository.updateStatus(findId, ApplicationStatus.APPLIED, ApplicationStatus.TERMS_ACCEPTED)).thenReturn(1);
 
 
         Boolean actual = applicationService.acceptTerms(findId, request);
         assertThat(actual).isTrue();
+        verify(acceptTermsStore).save(ArgumentMatchers.eq(findId), ArgumentMatchers.eq(acceptTerms), ArgumentMatchers.any(TermsCatalog.Version.class));
+        verify(applicationStateCache).invalidate(findId);
+    }
+
+    @Test
+    void Should_ThrowException_When_RequestDuplicatedAcceptTermsOfApplication() {
+        Terms entityA = Terms.builder().termsId(1L).build();
+        Terms entityB = Terms.builder().termsId(2L).build();
+
+        ApplicationDTO.AcceptTerms request = ApplicationDTO.AcceptTerms.builder()
+                .acceptTermsIds(Arrays.asList(1L, 1L))
+                .build();
+
+        when(applicationRepository.findById(1L)).thenReturn(
+                Optional.ofNullable(Application.builder().status(ApplicationStatus.APPLIED).build()));
+        when(termsCatalog.get()).thenReturn(snapshot(entityA, entityB));
+
+        Assertions.assertThrows(BaseException.class, () -> applicationService.acceptTerms(1L, request));
+    }
+
+    @Test
+    void Should_ThrowException_When_RequestAcceptTermsOfAlreadyAcceptedApplication() {
+        ApplicationDTO.AcceptTerms request = ApplicationDTO.AcceptTerms.builder()
+                .acceptTermsIds(Arrays.asList(1L))
+                .build();
+
+        when(applicationRepository.findById(1L)).thenReturn(
+                Optional.ofNullable(Application.builder().status(ApplicationStatus.TERMS_ACCEPTED).build()));
+
+        BaseException actual = Assertions.assertThrows(BaseException.class, () -> applicationService.acceptTerms(1L, request));
+        assertThat(actual.getCode()).isEqualTo(ResultType.INVALID_APPLICATION_STATUS.getCode());
+    }
+
+    @Test
+    void Should_ThrowException_When_RequestContractOfNotGrantedApplication() {
+        when(applicationRepository.findById(1L)).thenReturn(
+                Optional.ofNullable(Application.builder().applicationId(1L).status(ApplicationStatus.JUDGED).build()));
+
+        BaseException actual = Assertions.assertThrows(BaseException.class, () -> applicationService.contract(1L));
+        assertThat(actual.getCode()).isEqualTo(ResultType.INVALID_APPLICATION_STATUS.getCode());
+    }
+
+    @Test
+    void Should_ThrowException_When_ContractIsRequestedConcurrently() {
+        when(applicationRepository.findById(1L)).thenReturn(Optional.ofNullable(Application.builder()
+                .applicationId(1L)
+                .status(ApplicationStatus.GRANTED)
+                .approvalAmount(BigDecimal.valueOf(5000000))
+                .build()));
+        when(judgementRepository.findByApplicationId(1L)).thenReturn(Optional.of(Judgement.builder().applicationId(1L).build()));
+        // 다른 요청이 먼저 계약
+        when(applicationRepository.updateStatus(1L, ApplicationStatus.GRANTED, ApplicationStatus.CONTRACTED)).thenReturn(0);
+
+        BaseException actual = Assertions.assertThrows(BaseException.class, () -> applicationService.contract(1L));
+
+        assertThat(actual.getCode()).isEqualTo(ResultType.INVALID_APPLICATION_STATUS.getCode());
+        verify(applicationRepository, never()).save(ArgumentMatchers.any(Application.class));
+        verify(outboxService, never()).append(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_ThrowException_When_StatusIsChangedConcurrently() {
+        when(applicationRepository.findStatusById(1L)).thenReturn(Optional.of(ApplicationStatus.CONTRACTED));
+        when(applicationRepository.updateStatus(1L, ApplicationStatus.CONTRACTED, ApplicationStatus.DISBURSED)).thenReturn(0);
+
+        Assertions.assertThrows(BaseException.class, () -> applicationService.transit(1L, ApplicationStatus.DISBURSED));
     }
 
     @Test
@@ -181,8 +392,8 @@ public class ApplicationServiceTest {
         Long findId = 1L;
 
         when(applicationRepository.findById(findId)).thenReturn(
-                Optional.ofNullable(Application.builder().build()));
-        when(termsRepository.findAll(Sort.by(Sort.Direction.ASC, "termsId"))).thenReturn(Arrays.asList(entityA, entityB));
+                Optional.ofNullable(Application.builder().status(ApplicationStatus.APPLIED).build()));
+        when(termsCatalog.get()).thenReturn(snapshot(entityA, entityB));
 
         Assertions.assertThrows(BaseException.class, () -> applicationService.acceptTerms(1L, request));
     }
@@ -210,10 +421,62 @@ public class ApplicationServiceTest {
         Long findId = 1L;
 
         when(applicationRepository.findById(findId)).thenReturn(
-                Optional.ofNullable(Application.builder().build()));
-        when(termsRepository.findAll(Sort.by(Sort.Direction.ASC, "termsId"))).thenReturn(Arrays.asList(entityA, entityB));
+                Optional.ofNullable(Application.builder().status(ApplicationStatus.APPLIED).build()));
+        when(termsCatalog.get()).thenReturn(snapshot(entityA, entityB));
 
         Assertions.assertThrows(BaseException.class, () -> applicationService.acceptTerms(1L, request));
     }
 
+    @Test
+    void Should_ThrowException_When_RequestAcceptTermsOfOutdatedVersion() {
+        ApplicationDTO.AcceptTerms request = ApplicationDTO.AcceptTerms.builder()
+                .acceptTermsIds(Arrays.asList(1L, 2L))
+                .termsVersion(0)
+                .build();
+
+        when(applicationRepository.findById(1L)).thenReturn(
+                Optional.ofNullable(Application.builder().status(ApplicationStatus.APPLIED).build()));
+        when(termsCatalog.get()).thenReturn(snapshot(Terms.builder().termsId(1L).build(), Terms.builder().termsId(2L).build()));
+
+        BaseException actual = Assertions.assertThrows(BaseException.class, () -> applicationService.acceptTerms(1L, request));
+        assertThat(actual.getCode()).isEqualTo(ResultType.TERMS_VERSION_OUTDATED.getCode());
+        verify(acceptTermsStore, never()).save(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_RefreshTermsAndThrowException_When_RequestAcceptTermsOfUnknownVersion() {
+        ApplicationDTO.AcceptTerms request = ApplicationDTO.AcceptTerms.builder()
+                .acceptTermsIds(Arrays.asList(1L, 2L))
+                .termsVersion(2)
+                .build();
+        TermsCatalog.Snapshot snapshot = snapshot(Terms.builder().termsId(1L).build(), Terms.builder().termsId(2L).build());
+
+        when(applicationRepository.findById(1L)).thenReturn(
+                Optional.ofNullable(Application.builder().status(ApplicationStatus.APPLIED).build()));
+        when(termsCatalog.get()).thenReturn(snapshot);
+        when(termsCatalog.refresh()).thenReturn(snapshot);
+
+        BaseException actual = Assertions.assertThrows(BaseException.class, () -> applicationService.acceptTerms(1L, request));
+        assertThat(actual.getCode()).isEqualTo(ResultType.TERMS_VERSION_NOT_FOUND.getCode());
+        verify(termsCatalog).refresh();
+    }
+
+    private TermsCatalog.Snapshot snapshot(Terms... terms) {
+        List<TermsDTO.Response> responses = new ArrayList<>();
+        Map<Long, Integer> bitIndexes = new HashMap<>();
+        for (Terms t : terms) {
+            bitIndexes.put(t.getTermsId(), bitIndexes.size());
+            responses.add(TermsDTO.Response.builder()
+                    .termsId(t.getTermsId())
+                    .name(t.getName())
+                    .termsDetailUrl(t.getTermsDetailUrl())
+                    .build());
+        }
+        TermsCatalog.Version version = new TermsCatalog.Version(1L, TermsDTO.VersionResponse.builder()
+                .productCode(Terms.DEFAULT_PRODUCT_CODE)
+                .version(1)
+                .terms(responses)
+                .build(), null);
+        return new TermsCatalog.Snapshot(1, responses, bitIndexes, Collections.singletonList(version));
+    }
 }
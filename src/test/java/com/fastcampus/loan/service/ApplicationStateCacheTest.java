@@ -0,0 +1,71 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.repository.ApplicationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationStateCacheTest {
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ApplicationStateCache applicationStateCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        applicationStateCache = new ApplicationStateCache(applicationRepository, meterRegistry, 100, 60);
+    }
+
+    @Test
+    void Should_LoadStateOnce_When_RequestSameApplicationRepeatedly() {
+        when(applicationRepository.findStateById(1L)).thenReturn(Collections.singletonList(
+                new Object[]{false, "CONTRACTED", BigDecimal.valueOf(5000000)}));
+
+        for (int i = 0; i < 3; i++) {
+            ApplicationStateCache.State state = applicationStateCache.get(1L);
+            assertThat(state.is(ApplicationStatus.CONTRACTED)).isTrue();
+            assertThat(state.getApprovalAmount()).isEqualByComparingTo(BigDecimal.valueOf(5000000));
+        }
+
+        verify(applicationRepository, times(1)).findStateById(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void Should_ReloadState_When_ApplicationIsInvalidated() {
+        when(applicationRepository.findStateById(1L))
+                .thenReturn(new ArrayList<>())
+                .thenReturn(Collections.singletonList(new Object[]{true, "APPLIED", null}));
+
+        // 없는 신청도 캐시
+        assertThat(applicationStateCache.get(1L).isExists()).isFalse();
+        assertThat(applicationStateCache.get(1L).isExists()).isFalse();
+
+        applicationStateCache.invalidate(1L);
+
+        ApplicationStateCache.State state = applicationStateCache.get(1L);
+        assertThat(state.isExists()).isTrue();
+        assertThat(state.isDeleted()).isTrue();
+        assertThat(state.isPresent()).isFalse();
+        verify(applicationRepository, times(2)).findStateById(1L);
+    }
+}
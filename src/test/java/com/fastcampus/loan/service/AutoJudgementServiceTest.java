@@ -0,0 +1,104 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.Judgement;
+import com.fastcampus.loan.dto.JudgementDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.ApplicationRepository;
+import com.fastcampus.loan.repository.JudgementRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기본 규칙(application.yml)으로 배치, 단건 자동 심사 확인
+ */
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=warn")
+class AutoJudgementServiceTest {
+
+    @Autowired
+    private AutoJudgementService autoJudgementService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private JudgementRepository judgementRepository;
+
+    @Test
+    void Should_JudgeAllTermsAcceptedApplicationsByRules_When_RunBatch() {
+        // 상환 중인 대출 3 건이 있는 신청자
+        for (int i = 0; i < 3; i++) {
+            createApplication("010-7001-0001", ApplicationStatus.DISBURSED, 10_000_000, "0.0500");
+        }
+        Long activeLoans = createApplication("010-7001-0001", ApplicationStatus.TERMS_ACCEPTED, 10_000_000, "0.0500");
+
+        // 상환 완료 이력이 있는 신청자
+        createApplication("010-7001-0002", ApplicationStatus.CLOSED, 5_000_000, "0.0500");
+        Long returning = createApplication("010-7001-0002", ApplicationStatus.TERMS_ACCEPTED, 12_345_678, "0.0500");
+
+        Long firstLoan = createApplication("010-7001-0003", ApplicationStatus.TERMS_ACCEPTED, 20_000_000, "0.1600");
+        Long tooSmall = createApplication("010-7001-0004", ApplicationStatus.TERMS_ACCEPTED, 500_000, "0.0500");
+        Long notAccepted = createApplication("010-7001-0005", ApplicationStatus.APPLIED, 20_000_000, "0.0500");
+
+        JudgementDTO.BatchResponse response = autoJudgementService.judgeAll();
+
+        assertThat(response.getFailedPartitionCount()).isZero();
+        assertThat(response.getEvaluatedCount()).isGreaterThanOrEqualTo(4);
+        assertThat(response.getRules()).extracting(JudgementDTO.RuleStat::getName)
+                .contains("min-hope-amount", "active-loans", "first-loan");
+
+        assertThat(approvalAmount(activeLoans)).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(approvalAmount(returning)).isEqualByComparingTo(BigDecimal.valueOf(12_340_000));
+        // 첫 대출 80%
+        assertThat(approvalAmount(firstLoan)).isEqualByComparingTo(BigDecimal.valueOf(16_000_000));
+        assertThat(approvalAmount(tooSmall)).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(judgementRepository.findByApplicationId(notAccepted)).isEmpty();
+
+        assertThat(applicationRepository.findStatusById(firstLoan)).contains(ApplicationStatus.JUDGED);
+        assertThat(applicationRepository.findStatusById(notAccepted)).contains(ApplicationStatus.APPLIED);
+
+        // 심사된 신청은 다시 돌려도 심사하지 않는다
+        autoJudgementService.judgeAll();
+        assertThat(judgementRepository.findAll().stream().filter(j -> j.getApplicationId().equals(firstLoan)).count()).isEqualTo(1);
+    }
+
+    @Test
+    void Should_JudgeOneApplication_When_RequestAutomatedJudgement() {
+        Long applicationId = createApplication("010-7002-0001", ApplicationStatus.TERMS_ACCEPTED, 30_000_000, "0.0500");
+
+        JudgementDTO.Response response = autoJudgementService.judge(applicationId);
+
+        assertThat(response.getApplicationId()).isEqualTo(applicationId);
+        assertThat(response.getName()).isEqualTo("AUTO");
+        assertThat(response.getApprovalAmount()).isEqualByComparingTo(BigDecimal.valueOf(24_000_000));
+        assertThat(applicationRepository.findStatusById(applicationId)).contains(ApplicationStatus.JUDGED);
+
+        BaseException actual = Assertions.assertThrows(BaseException.class, () -> autoJudgementService.judge(applicationId));
+        assertThat(actual.getCode()).isEqualTo(ResultType.INVALID_APPLICATION_STATUS.getCode());
+    }
+
+    private BigDecimal approvalAmount(Long applicationId) {
+        return judgementRepository.findByApplicationId(applicationId).map(Judgement::getApprovalAmount).orElseThrow();
+    }
+
+    private Long createApplication(String cellPhone, ApplicationStatus status, long hopeAmount, String interestRate) {
+        return applicationRepository.save(Application.builder()
+                .name("Member Kim")
+                .cellPhone(cellPhone)
+                .hopeAmount(BigDecimal.valueOf(hopeAmount))
+                .interestRate(new BigDecimal(interestRate))
+                .appliedAt(LocalDateTime.now())
+                .maturity(LocalDateTime.now().plusYears(1))
+                .status(status)
+                .build()).getApplicationId();
+    }
+}
@@ -0,0 +1,291 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Balance;
+import com.fastcampus.loan.domain.BalanceJournal;
+import com.fastcampus.loan.domain.BalanceJournalType;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.BalanceJournalRepository;
+import com.fastcampus.loan.repository.BalanceRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceLedgerTest {
+
+    @Mock
+    private BalanceRepository balanceRepository;
+
+    @Mock
+    private BalanceJournalRepository balanceJournalRepository;
+
+    @Mock
+    private LeaseService leaseService;
+
+    @Captor
+    private ArgumentCaptor<List<Balance>> saved;
+
+    private BalanceLedger balanceLedger;
+
+    // flush 로 저장된 마지막 잔고
+    private final ConcurrentHashMap<Long, Money> stored = new ConcurrentHashMap<>();
+
+    private final AtomicLong journalSequence = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        when(leaseService.acquire(ArgumentMatchers.eq(BalanceLedger.LEASE_NAME), ArgumentMatchers.any(Duration.class)))
+                .thenReturn(true);
+
+        balanceLedger = new BalanceLedger(balanceRepository, balanceJournalRepository, leaseService, 8, 16, 1000, 30000);
+        balanceLedger.start();
+    }
+
+    @Test
+    void Should_RefuseWrites_When_LeaseIsLostToAnotherInstance() {
+        when(leaseService.acquire(ArgumentMatchers.eq(BalanceLedger.LEASE_NAME), ArgumentMatchers.any(Duration.class)))
+                .thenReturn(false);
+
+        assertThat(balanceLedger.flush()).isZero();
+
+        BaseException exception = Assertions.assertThrows(BaseException.class,
+                () -> balanceLedger.apply(1L, BalanceJournalType.REPAYMENT_BOOKED, Money.of(-300)));
+        assertThat(exception.getCode()).isEqualTo(ResultType.SYSTEM_ERROR.getCode());
+        verify(balanceJournalRepository, never()).save(ArgumentMatchers.any(BalanceJournal.class));
+        verify(balanceRepository, never()).saveAll(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void Should_LoseNoUpdate_When_RepaymentsAreAppliedConcurrently() throws Exception {
+        int applications = 10;
+        int threads = 8;
+        int repaymentsPerThread = 2000;
+        Money entryAmount = Money.of(100000000);
+
+        when(balanceRepository.findByApplicationId(ArgumentMatchers.anyLong())).thenAnswer(invocation -> {
+            Long applicationId = invocation.getArgument(0);
+            Balance balance = Balance.builder()
+                    .balanceId(applicationId)
+                    .applicationId(applicationId)
+                    .balance(entryAmount)
+                    .build();
+            balance.setIsDeleted(false);
+            return Optional.of(balance);
+        });
+        when(balanceJournalRepository.findAllByApplicationIdAndBalanceJournalIdGreaterThanOrderByBalanceJournalIdAsc(
+                ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong())).thenReturn(new ArrayList<>());
+        when(balanceJournalRepository.save(ArgumentMatchers.any(BalanceJournal.class))).thenAnswer(invocation -> {
+            BalanceJournal journal = invocation.getArgument(0);
+            journal.setBalanceJournalId(journalSequence.incrementAndGet());
+            return journal;
+        });
+        when(balanceRepository.saveAll(ArgumentMatchers.anyList())).thenAnswer(invocation -> {
+            List<Balance> balances = invocation.getArgument(0);
+            for (Balance balance : balances) {
+                stored.put(balance.getApplicationId(), balance.getBalance());
+            }
+            return balances;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // 상환이 진행되는 동안 write-behind flush 를 계속 돌린다
+        Future<?> flusher = executor.submit(() -> {
+            while (running.get()) {
+                balanceLedger.flush();
+            }
+            return null;
+        });
+
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < repaymentsPerThread; i++) {
+                    long applicationId = (i % applications) + 1;
+                    balanceLedger.apply(applicationId, BalanceJournalType.REPAYMENT_BOOKED, Money.of(-1));
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        flusher.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        balanceLedger.flush();
+
+        Money expected = entryAmount.subtract(Money.of((long) threads * repaymentsPerThread / applications));
+        for (long applicationId = 1; applicationId <= applications; applicationId++) {
+            assertThat(balanceLedger.get(applicationId).getBalance()).isEqualTo(expected);
+            assertThat(stored.get(applicationId)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void Should_RebuildBalanceFromSnapshotAndJournalTail_When_SnapshotIsBehindJournal() {
+        Balance snapshot = Balance.builder()
+                .balanceId(1L)
+                .applicationId(1L)
+                .balance(Money.of(1000))
+                .lastJournalId(1L)
+                .build();
+        snapshot.setIsDeleted(false);
+
+        List<BalanceJournal> tail = Arrays.asList(
+                BalanceJournal.builder().balanceJournalId(2L).applicationId(1L)
+                        .type(BalanceJournalType.REPAYMENT_BOOKED).amount(Money.of(-300)).build(),
+                BalanceJournal.builder().balanceJournalId(3L).applicationId(1L)
+                        .type(BalanceJournalType.REPAYMENT_REVERSED).amount(Money.of(100)).build());
+
+        when(balanceRepository.findByApplicationId(1L)).thenReturn(Optional.of(snapshot));
+        when(balanceJournalRepository.findAllByApplicationIdAndBalanceJournalIdGreaterThanOrderByBalanceJournalIdAsc(1L, 1L))
+                .thenReturn(tail);
+        when(balanceRepository.saveAll(ArgumentMatchers.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThat(balanceLedger.get(1L).getBalance()).isEqualTo(Money.of(800));
+
+        balanceLedger.compact(Arrays.asList(1L));
+
+        verify(balanceRepository).saveAll(saved.capture());
+        assertThat(saved.getValue().get(0).getBalance()).isEqualTo(Money.of(800));
+        assertThat(saved.getValue().get(0).getLastJournalId()).isEqualTo(3L);
+    }
+
+    @Test
+    void Should_RevertRolledBackDelta_When_TransactionIsRolledBack() {
+        Balance snapshot = Balance.builder()
+                .balanceId(1L)
+                .applicationId(1L)
+                .balance(Money.of(1000))
+                .lastJournalId(1L)
+                .build();
+        snapshot.setIsDeleted(false);
+
+        when(balanceRepository.findByApplicationId(1L)).thenReturn(Optional.of(snapshot));
+        when(balanceJournalRepository.findAllByApplicationIdAndBalanceJournalIdGreaterThanOrderByBalanceJournalIdAsc(1L, 1L))
+                .thenReturn(new ArrayList<>());
+        when(balanceJournalRepository.save(ArgumentMatchers.any(BalanceJournal.class))).thenAnswer(invocation -> {
+            BalanceJournal journal = invocation.getArgument(0);
+            journal.setBalanceJournalId(2L);
+            return journal;
+        });
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(balanceLedger.apply(1L, BalanceJournalType.REPAYMENT_BOOKED, Money.of(-300)).getBalance())
+                    .isEqualTo(Money.of(700));
+
+            // 커밋 전에는 스냅샷을 저장하지 않는다
+            balanceLedger.flush();
+            verify(balanceRepository, never()).saveAll(ArgumentMatchers.anyList());
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // 롤백된 차액만큼 되돌아간다
+        assertThat(balanceLedger.get(1L).getBalance()).isEqualTo(Money.of(1000));
+    }
+
+    @Test
+    void Should_KeepOtherTransactionDelta_When_InterleavedTransactionIsRolledBack() {
+        Balance snapshot = Balance.builder()
+                .balanceId(1L)
+                .applicationId(1L)
+                .balance(Money.of(1000))
+                .lastJournalId(1L)
+                .build();
+        snapshot.setIsDeleted(false);
+
+        when(balanceRepository.findByApplicationId(1L)).thenReturn(Optional.of(snapshot));
+        when(balanceJournalRepository.findAllByApplicationIdAndBalanceJournalIdGreaterThanOrderByBalanceJournalIdAsc(1L, 1L))
+                .thenReturn(new ArrayList<>());
+        when(balanceJournalRepository.save(ArgumentMatchers.any(BalanceJournal.class))).thenAnswer(invocation -> {
+            BalanceJournal journal = invocation.getArgument(0);
+            journal.setBalanceJournalId(journalSequence.incrementAndGet() + 1);
+            return journal;
+        });
+        when(balanceRepository.saveAll(ArgumentMatchers.anyList())).thenAnswer(invocation -> {
+            List<Balance> balances = invocation.getArgument(0);
+            for (Balance balance : balances) {
+                stored.put(balance.getApplicationId(), balance.getBalance());
+            }
+            return balances;
+        });
+
+        // 같은 신청에 두 트랜잭션이 번갈아 append
+        List<TransactionSynchronization> rolledBack = append(1L, Money.of(-300));
+        List<TransactionSynchronization> committed = append(1L, Money.of(-200));
+        assertThat(balanceLedger.get(1L).getBalance()).isEqualTo(Money.of(500));
+
+        complete(rolledBack, TransactionSynchronization.STATUS_ROLLED_BACK);
+        // 커밋되지 않은 트랜잭션이 남아 있으면 저장하지 않는다
+        balanceLedger.flush();
+        verify(balanceRepository, never()).saveAll(ArgumentMatchers.anyList());
+        assertThat(balanceLedger.get(1L).getBalance()).isEqualTo(Money.of(800));
+
+        complete(committed, TransactionSynchronization.STATUS_COMMITTED);
+        balanceLedger.flush();
+
+        assertThat(balanceLedger.get(1L).getBalance()).isEqualTo(Money.of(800));
+        assertThat(stored.get(1L)).isEqualTo(Money.of(800));
+        // 다시 계산하지 않으므로 스냅샷은 처음 한 번만 읽는다
+        verify(balanceRepository).findByApplicationId(1L);
+    }
+
+    // 트랜잭션 하나에서 append 하고, 완료는 나중에 하도록 synchronization 을 돌려준다
+    private List<TransactionSynchronization> append(Long applicationId, Money delta) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            balanceLedger.apply(applicationId, BalanceJournalType.REPAYMENT_BOOKED, delta);
+            return new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void complete(List<TransactionSynchronization> synchronizations, int status) {
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(status);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.fastcampus.loan.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(4, 2, 0.5, 1000, now::get);
+
+    @Test
+    void Should_OpenAndRejectCalls_When_FailureRateReachesThreshold() {
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getState()).isSameAs(CircuitBreaker.State.CLOSED);
+
+        // 최근 4 번 중 2 번 실패
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getState()).isSameAs(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void Should_AllowOnlyOneTrialCall_When_OpenDurationPassed() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        now.addAndGet(1000);
+
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.getState()).isSameAs(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+        // 시험 호출 실패하면 다시 연다
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getState()).isSameAs(CircuitBreaker.State.OPEN);
+
+        now.addAndGet(1000);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.getState()).isSameAs(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+}
@@ -0,0 +1,132 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.dto.CounselDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상담 등록, 수정, 삭제가 검색 색인에 바로 반영되고, 다시 만들 때와 catch-up 때 테이블에서 읽어오는지 확인
+ */
+@SpringBootTest(properties = {"logging.level.org.hibernate.SQL=warn",
+        "loan.counsel.search.partition-size=1000",
+        "loan.counsel.search.catch-up-ms=3600000"})
+class CounselSearchIndexTest {
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private CounselSearchIndex counselSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void Should_FindCounselByAnyField_When_Created() {
+        Long counselId = create("홍길동", "010-3141-5926", "gildong@fastcampus.kr", "전세 자금 대출을 문의했습니다", "04524");
+
+        assertThat(ids("길동")).containsExactly(counselId);
+        assertThat(ids("3141-59")).containsExactly(counselId);
+        assertThat(ids("gildong@fastcampus.kr")).containsExactly(counselId);
+        assertThat(ids("04524")).containsExactly(counselId);
+        // 조사가 붙은 단어도 2-gram 으로
+        assertThat(ids("전세 대출 길동")).containsExactly(counselId);
+        assertThat(ids("전세 월세")).isEmpty();
+    }
+
+    @Test
+    void Should_RankNameMatchAboveMemoMatch_When_Search() {
+        Long memo = create("이몽룡", "010-2718-2818", "mongryong@fastcampus.kr", "춘향 님 소개로 상담", "06236");
+        Long name = create("성춘향", "010-1618-0339", "chunhyang@fastcampus.kr", "신용 대출 문의", "06237");
+
+        CounselDTO.SearchResponse actual = counselService.search("춘향", 10);
+
+        assertThat(actual.getTotalCount()).isEqualTo(2L);
+        assertThat(actual.getResults()).extracting("counselId").containsExactly(name, memo);
+        assertThat(actual.getResults().get(0).getScore()).isGreaterThan(actual.getResults().get(1).getScore());
+        assertThat(actual.getResults().get(0).getName()).isEqualTo("성춘향");
+    }
+
+    @Test
+    void Should_ReflectChange_When_UpdatedOrDeleted() {
+        Long counselId = create("박문수", "010-5772-1566", "munsu@fastcampus.kr", "주택 담보 대출", "13487");
+
+        counselService.update(counselId, CounselDTO.Request.builder()
+                .name("박문수")
+                .cellPhone("010-4669-2016")
+                .email("munsu@fastcampus.kr")
+                .memo("자동차 할부 상담")
+                .zipCode("13487")
+                .build());
+
+        assertThat(ids("5772")).isEmpty();
+        assertThat(ids("주택 문수")).isEmpty();
+        assertThat(ids("4669 할부 문수")).containsExactly(counselId);
+
+        counselService.delete(counselId);
+
+        assertThat(ids("munsu")).isEmpty();
+    }
+
+    @Test
+    void Should_ReadCounselsFromTable_When_Rebuild() {
+        Long created = create("변학도", "010-8979-3238", "hakdo@fastcampus.kr", "사업자 대출", "48059");
+        // 다른 서버에서 등록한 상담
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long inserted = 10_000L;
+        jdbcTemplate.update("insert into counsel (counsel_id, name, cell_phone, email, memo, zip_code, applied_at, "
+                        + "is_deleted, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, false, ?, ?)",
+                inserted, "변사또", "010-4626-4338", "saddo@fastcampus.kr", "사업자 대출 재문의", "48060", now, now, now);
+
+        assertThat(ids("사업자 변")).containsExactly(created);
+
+        counselSearchIndex.rebuild();
+
+        assertThat(ids("사업자 변")).containsExactly(inserted, created);
+        assertThat(ids("4626")).containsExactly(inserted);
+    }
+
+    @Test
+    void Should_ReflectOtherInstanceChanges_When_CatchUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long inserted = 20_000L;
+        jdbcTemplate.update("insert into counsel (counsel_id, name, cell_phone, email, memo, zip_code, applied_at, "
+                        + "is_deleted, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, false, ?, ?)",
+                inserted, "월매", "010-7071-0678", "wolmae@fastcampus.kr", "주막 운영 자금", "54999", now, now, now);
+
+        assertThat(ids("월매")).isEmpty();
+
+        counselSearchIndex.catchUp();
+
+        assertThat(ids("월매 주막")).containsExactly(inserted);
+
+        jdbcTemplate.update("update counsel set is_deleted = true, updated_at = ? where counsel_id = ?",
+                Timestamp.valueOf(LocalDateTime.now()), inserted);
+        counselSearchIndex.catchUp();
+
+        assertThat(counselSearchIndex.search("월매", 10).getTotalCount()).isZero();
+    }
+
+    private Long create(String name, String cellPhone, String email, String memo, String zipCode) {
+        return counselService.create(CounselDTO.Request.builder()
+                .name(name)
+                .cellPhone(cellPhone)
+                .email(email)
+                .memo(memo)
+                .zipCode(zipCode)
+                .build()).getCounselId();
+    }
+
+    private Object[] ids(String query) {
+        return counselService.search(query, 10).getResults().stream()
+                .map(CounselDTO.SearchResult::getCounselId)
+                .toArray();
+    }
+}
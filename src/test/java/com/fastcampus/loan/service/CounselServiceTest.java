@@ -6,6 +6,7 @@ import static org.mockito.Mockito.when;
 import com.fastcampus.loan.domain.Counsel;
 import com.fastcampus.loan.dto.CounselDTO.Request;
 import com.fastcampus.loan.dto.CounselDTO.Response;
+import com.fastcampus.loan.dto.CounselDTO.SearchResponse;
 import com.fastcampus.loan.exception.BaseException;
 import com.fastcampus.loan.exception.ResultType;
 import com.fastcampus.loan.repository.CounselRepository;
@@ -19,6 +20,7 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +32,9 @@ public class CounselServiceTest {
   @Mock
   private CounselRepository counselRepository;
 
+  @Mock
+  private CounselSearchIndex counselSearchIndex;
+
   @Spy
   private ModelMapper modelMapper;
 
@@ -124,4 +129,34 @@ public class CounselServiceTest {
     assertThat(entity.getIsDeleted()).isSameAs(true);
   }
 
-}
\ No newline at end of file
+  @Test
+  void Should_ReturnCounselsInIndexRankOrder_When_RequestSearch() {
+    Counsel older = Counsel.builder()
+        .counselId(1L)
+        .name("Member Kim")
+        .build();
+    Counsel newer = Counsel.builder()
+        .counselId(2L)
+        .name("Member Kim")
+        .build();
+
+    when(counselSearchIndex.search("kim", 20)).thenReturn(new CounselSearchIndex.Result(3, Arrays.asList(
+        new CounselSearchIndex.Hit(2L, 4), new CounselSearchIndex.Hit(3L, 4), new CounselSearchIndex.Hit(1L, 4))));
+    when(counselRepository.findAllById(Arrays.asList(2L, 3L, 1L))).thenReturn(Arrays.asList(older, newer));
+
+    SearchResponse actual = counselService.search("kim", null);
+
+    assertThat(actual.getTotalCount()).isEqualTo(3L);
+    assertThat(actual.getResults()).extracting("counselId").containsExactly(2L, 1L);
+    assertThat(actual.getResults()).extracting("score").containsExactly(4, 4);
+  }
+
+  @Test
+  void Should_ThrowException_When_RequestSearchWithBlankQueryOrInvalidSize() {
+    BaseException blank = Assertions.assertThrows(BaseException.class, () -> counselService.search(" ", null));
+    BaseException tooLarge = Assertions.assertThrows(BaseException.class, () -> counselService.search("kim", 101));
+
+    assertThat(blank.getCode()).isEqualTo(ResultType.INVALID_COUNSEL_SEARCH.getCode());
+    assertThat(tooLarge.getCode()).isEqualTo(ResultType.INVALID_COUNSEL_SEARCH.getCode());
+  }
+}
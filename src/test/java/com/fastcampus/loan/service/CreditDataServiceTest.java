@@ -0,0 +1,196 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.config.CreditDataProperties;
+import com.fastcampus.loan.domain.CreditDataSource;
+import com.fastcampus.loan.domain.CreditDataStatus;
+import com.fastcampus.loan.dto.CreditDataDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CreditDataServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CreditDataProperties properties;
+
+    private final List<CreditDataServiceImpl> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new CreditDataProperties();
+        for (CreditDataSource source : CreditDataSource.values()) {
+            CreditDataProperties.Provider provider = new CreditDataProperties.Provider();
+            provider.setTimeoutMs(1000);
+            provider.setHedgeAfterMs(0);
+            provider.setMaxAttempts(2);
+            properties.getProviders().put(source, provider);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(CreditDataServiceImpl::shutdown);
+    }
+
+    @Test
+    void Should_QueryProvidersConcurrently_When_FetchCreditData() {
+        CreditDataServiceImpl service = service(
+                new FakeProvider(CreditDataSource.CREDIT_BUREAU, "720", 300),
+                new FakeProvider(CreditDataSource.INCOME, "45000000", 300),
+                new FakeProvider(CreditDataSource.FRAUD, "3", 300));
+
+        long start = System.nanoTime();
+        CreditDataDTO.Response actual = service.fetch(applicant("010-1111-0001"));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // 순서대로 호출하면 900 ms
+        assertThat(elapsedMs).isLessThan(700);
+        assertThat(actual.getComplete()).isTrue();
+        assertThat(actual.getCreditScore()).isEqualTo(720);
+        assertThat(actual.getAnnualIncome()).isEqualByComparingTo(BigDecimal.valueOf(45_000_000));
+        assertThat(actual.getFraudScore()).isEqualTo(3);
+        assertThat(actual.getReports()).extracting(CreditDataDTO.Report::getStatus).containsOnly(CreditDataStatus.OK);
+    }
+
+    @Test
+    void Should_UseHedgedResponse_When_FirstCallIsSlow() {
+        properties.provider(CreditDataSource.CREDIT_BUREAU).setHedgeAfterMs(100);
+        FakeProvider bureau = new FakeProvider(CreditDataSource.CREDIT_BUREAU, "720", 5000, 10);
+        CreditDataServiceImpl service = service(bureau);
+
+        long start = System.nanoTime();
+        CreditDataDTO.Report actual = service.fetch(applicant("010-1111-0002")).getReports().get(0);
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(1000);
+        assertThat(actual.getStatus()).isSameAs(CreditDataStatus.OK);
+        assertThat(actual.getAttempts()).isEqualTo(2);
+        assertThat(meterRegistry.get("credit.provider.hedged").tag("provider", "CREDIT_BUREAU").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void Should_RetryImmediately_When_CallFails() {
+        FakeProvider income = new FakeProvider(CreditDataSource.INCOME, "45000000", -1, 10);
+        CreditDataServiceImpl service = service(income);
+
+        CreditDataDTO.Report actual = service.fetch(applicant("010-1111-0003")).getReports().get(0);
+
+        assertThat(actual.getStatus()).isSameAs(CreditDataStatus.OK);
+        assertThat(actual.getAttempts()).isEqualTo(2);
+        assertThat(income.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void Should_ReturnPartialResultWithoutCaching_When_ProviderTimesOut() {
+        properties.provider(CreditDataSource.FRAUD).setTimeoutMs(200);
+        FakeProvider fraud = new FakeProvider(CreditDataSource.FRAUD, "3", 5000);
+        CreditDataServiceImpl service = service(new FakeProvider(CreditDataSource.CREDIT_BUREAU, "720", 10), fraud);
+
+        long start = System.nanoTime();
+        CreditDataDTO.Response actual = service.fetch(applicant("010-1111-0004"));
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(1000);
+        assertThat(actual.getComplete()).isFalse();
+        assertThat(actual.getCreditScore()).isEqualTo(720);
+        assertThat(actual.getFraudScore()).isNull();
+        assertThat(actual.getReports()).extracting(CreditDataDTO.Report::getStatus)
+                .containsExactly(CreditDataStatus.OK, CreditDataStatus.TIMEOUT);
+
+        service.fetch(applicant("010-1111-0004"));
+        assertThat(fraud.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void Should_OpenCircuitAndSkipProvider_When_FailuresExceedThreshold() {
+        CreditDataProperties.Provider settings = properties.provider(CreditDataSource.FRAUD);
+        settings.setMaxAttempts(1);
+        settings.getCircuitBreaker().setWindow(4);
+        settings.getCircuitBreaker().setMinCalls(4);
+        settings.getCircuitBreaker().setFailureRate(0.5);
+        FakeProvider fraud = new FakeProvider(CreditDataSource.FRAUD, "3", -1);
+        CreditDataServiceImpl service = service(fraud);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(service.fetch(applicant("010-1111-0005")).getReports().get(0).getStatus()).isSameAs(CreditDataStatus.ERROR);
+        }
+        CreditDataDTO.Report actual = service.fetch(applicant("010-1111-0005")).getReports().get(0);
+
+        assertThat(actual.getStatus()).isSameAs(CreditDataStatus.CIRCUIT_OPEN);
+        assertThat(actual.getAttempts()).isZero();
+        assertThat(fraud.calls.get()).isEqualTo(4);
+        assertThat(meterRegistry.get("credit.provider.circuit").tag("provider", "FRAUD").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void Should_ReuseCachedResult_When_SameApplicantIsFetchedAgain() {
+        FakeProvider bureau = new FakeProvider(CreditDataSource.CREDIT_BUREAU, "720", 10);
+        FakeProvider income = new FakeProvider(CreditDataSource.INCOME, "45000000", 10);
+        FakeProvider fraud = new FakeProvider(CreditDataSource.FRAUD, "3", 10);
+        CreditDataServiceImpl service = service(bureau, income, fraud);
+
+        CreditDataDTO.Response first = service.fetch(applicant("010-1111-0006"));
+        CreditDataDTO.Response second = service.fetch(applicant("010-1111-0006"));
+        service.fetch(applicant("010-1111-0007"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(Arrays.asList(bureau.calls.get(), income.calls.get(), fraud.calls.get())).containsOnly(2);
+    }
+
+    private CreditDataServiceImpl service(CreditDataProvider... providers) {
+        CreditDataServiceImpl service = new CreditDataServiceImpl(Arrays.asList(providers), properties, meterRegistry);
+        services.add(service);
+        return service;
+    }
+
+    private CreditDataDTO.Applicant applicant(String cellPhone) {
+        return CreditDataDTO.Applicant.builder()
+                .applicationId(1L)
+                .name("Member Kim")
+                .cellPhone(cellPhone)
+                .build();
+    }
+
+    // 호출 순서별 지연 (ms), 음수면 바로 실패
+    private static class FakeProvider implements CreditDataProvider {
+
+        private final CreditDataSource source;
+
+        private final BigDecimal value;
+
+        private final long[] latencies;
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private FakeProvider(CreditDataSource source, String value, long... latencies) {
+            this.source = source;
+            this.value = new BigDecimal(value);
+            this.latencies = latencies;
+        }
+
+        @Override
+        public CreditDataSource getSource() {
+            return source;
+        }
+
+        @Override
+        public BigDecimal fetch(CreditDataDTO.Applicant applicant) throws Exception {
+            int call = calls.getAndIncrement();
+            long latency = latencies[Math.min(call, latencies.length - 1)];
+            if (latency < 0) {
+                throw new IllegalStateException("failed");
+            }
+            Thread.sleep(latency);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.DomainEventType;
+import com.fastcampus.loan.dto.DomainEventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainEventBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DomainEventBus domainEventBus;
+
+    @AfterEach
+    void tearDown() {
+        domainEventBus.shutdown();
+    }
+
+    @Test
+    void Should_DeliverEventsOfApplicationInPublishOrder_When_EventsAreSpreadOverLanes() throws Exception {
+        Map<Long, List<Long>> received = new ConcurrentHashMap<>();
+        AtomicInteger maxBatchSize = new AtomicInteger();
+        domainEventBus = bus(events -> {
+            maxBatchSize.accumulateAndGet(events.size(), Math::max);
+            for (DomainEventDTO.Event event : events) {
+                received.computeIfAbsent(event.getApplicationId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(event.getEventId());
+            }
+        });
+
+        int applications = 10;
+        int eventsPerApplication = 1000;
+        List<DomainEventDTO.Event> events = new ArrayList<>();
+        for (long eventId = 1; eventId <= (long) applications * eventsPerApplication; eventId++) {
+            events.add(event(eventId, eventId % applications + 1));
+        }
+
+        DomainEventBus.Receipt receipt = domainEventBus.publish(events);
+
+        assertThat(receipt.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(receipt.isFailed()).isFalse();
+        assertThat(received).hasSize(applications);
+        for (List<Long> eventIds : received.values()) {
+            assertThat(eventIds).hasSize(eventsPerApplication).isSorted();
+        }
+        assertThat(maxBatchSize.get()).isGreaterThan(1);
+    }
+
+    @Test
+    void Should_KeepDeliveringButFailReceipt_When_SubscriberFails() throws Exception {
+        List<Long> received = Collections.synchronizedList(new ArrayList<>());
+        DomainEventSubscriber failing = events -> {
+            throw new IllegalStateException("subscriber failed");
+        };
+        DomainEventSubscriber working = events -> events.forEach(event -> received.add(event.getEventId()));
+        domainEventBus = bus(failing, working);
+
+        DomainEventBus.Receipt receipt = domainEventBus.publish(List.of(event(1L, 1L), event(2L, 2L)));
+
+        assertThat(receipt.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(receipt.isFailed()).isTrue();
+        assertThat(received).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(meterRegistry.counter("outbox.delivery.failures").count()).isGreaterThan(0);
+        assertThat(meterRegistry.timer("outbox.delivery.lag").count()).isEqualTo(2);
+    }
+
+    private DomainEventBus bus(DomainEventSubscriber... subscribers) {
+        Map<String, Object> beans = new LinkedHashMap<>();
+        for (int i = 0; i < subscribers.length; i++) {
+            beans.put("subscriber" + i, subscribers[i]);
+        }
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(beans);
+        return new DomainEventBus(beanFactory.getBeanProvider(DomainEventSubscriber.class), meterRegistry, 4, 64, 32);
+    }
+
+    private DomainEventDTO.Event event(Long eventId, Long applicationId) {
+        return DomainEventDTO.Event.builder()
+                .eventId(eventId)
+                .applicationId(applicationId)
+                .type(DomainEventType.REPAYMENT_RECEIVED)
+                .payload("{}")
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.Judgement;
+import com.fastcampus.loan.dto.JudgementDTO;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.ApplicationRepository;
+import com.fastcampus.loan.repository.JudgementRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 일괄 승인이 심사 수와 상관없이 조회 두 번, batch update 로 끝나는지 확인
+ * 통계는 전역이므로 다른 주기 작업이 끼어들지 않게 주기를 늘린다.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "loan.balance.ledger.flush-interval-ms=3600000",
+        "loan.outbox.relay.interval-ms=3600000",
+        "loan.terms.snapshot.refresh-ms=3600000",
+        "loan.judgement.queue.poll-interval-ms=3600000",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"})
+class JudgementBulkGrantTest {
+
+    @Autowired
+    private JudgementService judgementService;
+
+    @Autowired
+    private ApplicationStateCache applicationStateCache;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private JudgementRepository judgementRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void Should_GrantJudgementsWithTwoQueries_When_RequestBulkGrant() {
+        List<Long> judgementIds = new ArrayList<>();
+        List<Long> applicationIds = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Long applicationId = createApplication(ApplicationStatus.JUDGED);
+            applicationIds.add(applicationId);
+            judgementIds.add(createJudgement(applicationId, 1_000_000L * (i + 1)));
+        }
+        Long notJudged = createApplication(ApplicationStatus.TERMS_ACCEPTED);
+        judgementIds.add(createJudgement(notJudged, 5_000_000));
+
+        // 캐시에 JUDGED 로 올려 둔다
+        assertThat(applicationStateCache.get(applicationIds.get(0)).getStatus()).isSameAs(ApplicationStatus.JUDGED);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        JudgementDTO.GrantResponse actual = judgementService.grantAll(judgementIds);
+
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+        assertThat(actual.getGrantedCount()).isEqualTo(30);
+        assertThat(actual.getFailedCount()).isEqualTo(1);
+        assertThat(actual.getResults().get(30).getCode()).isEqualTo(ResultType.INVALID_APPLICATION_STATUS.getCode());
+
+        Application granted = applicationRepository.findById(applicationIds.get(29)).orElseThrow();
+        assertThat(granted.getStatus()).isSameAs(ApplicationStatus.GRANTED);
+        assertThat(granted.getApprovalAmount()).isEqualByComparingTo(BigDecimal.valueOf(30_000_000));
+        assertThat(applicationStateCache.get(applicationIds.get(0)).getStatus()).isSameAs(ApplicationStatus.GRANTED);
+        assertThat(applicationRepository.findStatusById(notJudged)).contains(ApplicationStatus.TERMS_ACCEPTED);
+
+        // 이미 승인된 신청은 다시 승인할 수 있다 (심사 수정 후 재승인)
+        JudgementDTO.GrantResponse again = judgementService.grantAll(judgementIds.subList(0, 1));
+        assertThat(again.getGrantedCount()).isEqualTo(1);
+    }
+
+    private Long createApplication(ApplicationStatus status) {
+        return applicationRepository.save(Application.builder()
+                .name("Member Kim")
+                .cellPhone("010-7201-0001")
+                .hopeAmount(BigDecimal.valueOf(50_000_000))
+                .interestRate(new BigDecimal("0.0500"))
+                .appliedAt(LocalDateTime.now())
+                .maturity(LocalDateTime.now().plusYears(1))
+                .status(status)
+                .build()).getApplicationId();
+    }
+
+    private Long createJudgement(Long applicationId, long approvalAmount) {
+        return judgementRepository.save(Judgement.builder()
+                .applicationId(applicationId)
+                .name("Reviewer")
+                .approvalAmount(BigDecimal.valueOf(approvalAmount))
+                .build()).getJudgementId();
+    }
+}
@@ -0,0 +1,99 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.config.JudgementRuleProperties;
+import com.fastcampus.loan.dto.JudgementDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JudgementEngineTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private JudgementEngine judgementEngine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        JudgementRuleProperties properties = new JudgementRuleProperties();
+        properties.setRules(Arrays.asList(
+                rule("active-loans", JudgementEngine.Feature.ACTIVE_LOAN_COUNT, JudgementEngine.Operator.GE, "3", JudgementEngine.Action.REJECT, null),
+                rule("first-loan", JudgementEngine.Feature.CLOSED_LOAN_COUNT, JudgementEngine.Operator.EQ, "0", JudgementEngine.Action.RATIO, "0.8"),
+                rule("high-interest-rate", JudgementEngine.Feature.INTEREST_RATE, JudgementEngine.Operator.GE, "0.15", JudgementEngine.Action.LIMIT, "30000000")));
+        judgementEngine = new JudgementEngine(properties, meterRegistry);
+    }
+
+    @Test
+    void Should_LimitApprovalAmountByMatchedRules_When_EvaluateApplication() {
+        JudgementEngine.Stats stats = judgementEngine.newStats();
+
+        // 첫 대출 80%, 만원 단위 절사
+        assertThat(judgementEngine.evaluate(features(12_345_678, "0.0500", 0, 0), stats)).isEqualTo(987_000_000L);
+        // 상환 완료 이력이 있으면 신청 금액 그대로
+        assertThat(judgementEngine.evaluate(features(12_345_678, "0.0500", 0, 1), stats)).isEqualTo(1_234_000_000L);
+        // 고금리 상한 3,000 만원
+        assertThat(judgementEngine.evaluate(features(50_000_000, "0.1500", 0, 1), stats)).isEqualTo(3_000_000_000L);
+        // 상환 중 대출 3 건이면 거절하고 이후 규칙은 보지 않는다
+        assertThat(judgementEngine.evaluate(features(50_000_000, "0.1500", 3, 1), stats)).isZero();
+
+        List<JudgementDTO.RuleStat> ruleStats = judgementEngine.toRuleStats(stats);
+        assertThat(ruleStats).extracting(JudgementDTO.RuleStat::getEvaluatedCount).containsExactly(4L, 3L, 3L);
+        assertThat(ruleStats).extracting(JudgementDTO.RuleStat::getMatchedCount).containsExactly(1L, 1L, 1L);
+    }
+
+    @Test
+    void Should_RecordRuleTiming_When_StatsAreRecorded() {
+        JudgementEngine.Stats stats = judgementEngine.newStats();
+        judgementEngine.evaluate(features(10_000_000, "0.0500", 0, 0), stats);
+        judgementEngine.evaluate(features(10_000_000, "0.0500", 0, 0), stats);
+
+        JudgementEngine.Stats total = judgementEngine.newStats();
+        total.merge(stats);
+        total.merge(stats);
+        judgementEngine.record(total);
+
+        assertThat(meterRegistry.get("judgement.rule").tag("rule", "first-loan").functionTimer().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("judgement.rule").tag("rule", "first-loan").functionTimer().totalTime(TimeUnit.NANOSECONDS)).isPositive();
+        assertThat(meterRegistry.get("judgement.rule.matched").tag("rule", "high-interest-rate").functionCounter().count()).isZero();
+    }
+
+    @Test
+    void Should_ThrowException_When_RuleIsIncomplete() {
+        JudgementRuleProperties properties = new JudgementRuleProperties();
+        properties.setRules(Collections.singletonList(
+                rule("no-value", JudgementEngine.Feature.HOPE_AMOUNT, JudgementEngine.Operator.GT, "0", JudgementEngine.Action.LIMIT, null)));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> new JudgementEngine(properties, meterRegistry));
+    }
+
+    private long[] features(long hopeAmount, String interestRate, long activeLoanCount, long closedLoanCount) {
+        long[] features = judgementEngine.newFeatures();
+        features[JudgementEngine.Feature.HOPE_AMOUNT.ordinal()] = hopeAmount * 100L;
+        features[JudgementEngine.Feature.INTEREST_RATE.ordinal()] = new BigDecimal(interestRate).unscaledValue().longValueExact();
+        features[JudgementEngine.Feature.ACTIVE_LOAN_COUNT.ordinal()] = activeLoanCount;
+        features[JudgementEngine.Feature.CLOSED_LOAN_COUNT.ordinal()] = closedLoanCount;
+        return features;
+    }
+
+    private JudgementRuleProperties.Rule rule(String name, JudgementEngine.Feature feature, JudgementEngine.Operator operator,
+                                              String threshold, JudgementEngine.Action action, String value) {
+        JudgementRuleProperties.Rule rule = new JudgementRuleProperties.Rule();
+        rule.setName(name);
+        rule.setFeature(feature);
+        rule.setOperator(operator);
+        rule.setThreshold(new BigDecimal(threshold));
+        rule.setAction(action);
+        rule.setValue(value == null ? null : new BigDecimal(value));
+        return rule;
+    }
+}
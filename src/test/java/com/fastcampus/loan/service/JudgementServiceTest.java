@@ -1,8 +1,11 @@
 package com.fastcampus.loan.service;
 
 import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.DomainEventType;
 import com.fastcampus.loan.domain.Judgement;
 import com.fastcampus.loan.dto.ApplicationDTO;
+import com.fastcampus.loan.dto.CreditDataDTO;
 import com.fastcampus.loan.dto.JudgementDTO;
 import com.fastcampus.loan.exception.BaseException;
 import com.fastcampus.loan.exception.ResultType;
@@ -11,16 +14,27 @@ import com.fastcampus.loan.repository.JudgementRepository;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +49,27 @@ class JudgementServiceTest {
     @Mock
     private ApplicationRepository applicationRepository;
 
+    @Mock
+    private ScheduleService scheduleService;
+
+    @Mock
+    private ApplicationStateCache applicationStateCache;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ApplicationService applicationService;
+
+    @Mock
+    private CreditDataService creditDataService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @Spy
     private ModelMapper modelMapper;
 
@@ -54,8 +89,21 @@ class JudgementServiceTest {
                 .build();
 
         //application find
-        when(applicationRepository.findById(1L)).thenReturn(Optional.ofNullable(Application.builder().build()));
-        //judgement save
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(Application.builder()
+                .applicationId(1L)
+                .name("Member Kim")
+                .cellPhone("010-1111-2222")
+                .status(ApplicationStatus.TERMS_ACCEPTED)
+                .build()));
+        //credit data
+        when(creditDataService.fetch(ArgumentMatchers.any(CreditDataDTO.Applicant.class))).thenReturn(CreditDataDTO.Response.builder()
+                .creditScore(720)
+                .fraudScore(3)
+                .complete(false)
+                .build());
+        //judgement save + transit in one transaction
+        when(transactionTemplate.execute(ArgumentMatchers.any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         when(judgementRepository.save(ArgumentMatchers.any(Judgement.class))).thenReturn(judgement);
 
         JudgementDTO.Response actual = judgementService.create(request);
@@ -63,9 +111,41 @@ class JudgementServiceTest {
         Assertions.assertThat(actual.getName()).isSameAs(judgement.getName());
         Assertions.assertThat(actual.getApplicationId()).isSameAs(judgement.getApplicationId());
         Assertions.assertThat(actual.getApprovalAmount()).isSameAs(judgement.getApprovalAmount());
+        verify(applicationService).transit(1L, ApplicationStatus.JUDGED);
+
+        ArgumentCaptor<CreditDataDTO.Applicant> applicant = ArgumentCaptor.forClass(CreditDataDTO.Applicant.class);
+        verify(creditDataService).fetch(applicant.capture());
+        Assertions.assertThat(applicant.getValue().getCellPhone()).isEqualTo("010-1111-2222");
+
+        ArgumentCaptor<Judgement> saved = ArgumentCaptor.forClass(Judgement.class);
+        verify(judgementRepository).save(saved.capture());
+        Assertions.assertThat(saved.getValue().getCreditScore()).isEqualTo(720);
+        Assertions.assertThat(saved.getValue().getFraudScore()).isEqualTo(3);
+        Assertions.assertThat(saved.getValue().getAnnualIncome()).isNull();
 
     }
 
+    @Test
+    void Should_ThrowException_When_RequestJudgementOfApplicationNotTermsAccepted(){
+        JudgementDTO.Request request = JudgementDTO.Request.builder()
+                .applicationId(1L)
+                .name("Member Kim")
+                .approvalAmount(BigDecimal.valueOf(5000000))
+                .build();
+
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(Application.builder()
+                .applicationId(1L)
+                .status(ApplicationStatus.APPLIED)
+                .build()));
+
+        BaseException actual = org.junit.jupiter.api.Assertions.assertThrows(BaseException.class, () -> judgementService.create(request));
+
+        Assertions.assertThat(actual.getCode()).isEqualTo(ResultType.INVALID_APPLICATION_STATUS.getCode());
+        verify(applicationStateCache, never()).get(ArgumentMatchers.any());
+        verify(creditDataService, never()).fetch(ArgumentMatchers.any());
+        verify(judgementRepository, never()).save(ArgumentMatchers.any(Judgement.class));
+    }
+
     @Test
     void Should_ReturnResponseOfExistJudgementEntity_When_RequestExistJudgementId(){
         Judgement entity = Judgement.builder()
@@ -85,11 +165,7 @@ class JudgementServiceTest {
                 .judgementId(1L)
                 .build();
 
-        Application applicationEntity = Application.builder()
-                .applicationId(1L)
-                .build();
-
-        when(applicationRepository.findById(1L)).thenReturn(Optional.ofNullable(applicationEntity));
+        when(applicationStateCache.get(1L)).thenReturn(new ApplicationStateCache.State(true, false, ApplicationStatus.JUDGED, null));
         when(judgementRepository.findByApplicationId(1L)).thenReturn(Optional.ofNullable(judgementEntity));
 
         JudgementDTO.Response actual = judgementService.getJudgementOfApplication(1L);
@@ -144,6 +220,7 @@ class JudgementServiceTest {
 
         Application applicationEntity = Application.builder()
                 .applicationId(1L)
+                .status(ApplicationStatus.JUDGED)
                 .build();
 
         when(judgementRepository.findById(1L)).thenReturn(Optional.ofNullable(judgementEntity));
@@ -153,5 +230,124 @@ class JudgementServiceTest {
 
         Assertions.assertThat(actual.getApplicationId()).isSameAs(1L);
         Assertions.assertThat(actual.getApprovalAmount()).isSameAs(judgementEntity.getApprovalAmount());
+        Assertions.assertThat(applicationEntity.getStatus()).isEqualTo(ApplicationStatus.GRANTED);
+        verify(applicationService).transit(1L, ApplicationStatus.JUDGED, ApplicationStatus.GRANTED);
+        verify(scheduleService).evict(1L);
+        verify(applicationStateCache).invalidate(1L);
+        verify(outboxService).append(1L, DomainEventType.APPLICATION_GRANTED, actual);
+    }
+
+    @Test
+    void Should_ThrowException_When_ApplicationIsGrantedConcurrently(){
+        Judgement judgementEntity = Judgement.builder()
+                .applicationId(1L)
+                .approvalAmount(BigDecimal.valueOf(5000000))
+                .build();
+
+        Application applicationEntity = Application.builder()
+                .applicationId(1L)
+                .status(ApplicationStatus.JUDGED)
+                .build();
+
+        when(judgementRepository.findById(1L)).thenReturn(Optional.ofNullable(judgementEntity));
+        when(applicationRepository.findById(1L)).thenReturn(Optional.ofNullable(applicationEntity));
+        // 다른 요청이 먼저 승인
+        doThrow(new BaseException(ResultType.INVALID_APPLICATION_STATUS))
+                .when(applicationService).transit(1L, ApplicationStatus.JUDGED, ApplicationStatus.GRANTED);
+
+        BaseException actual = org.junit.jupiter.api.Assertions.assertThrows(BaseException.class, () -> judgementService.grant(1L));
+
+        Assertions.assertThat(actual.getCode()).isEqualTo(ResultType.INVALID_APPLICATION_STATUS.getCode());
+        verify(applicationRepository, never()).save(ArgumentMatchers.any(Application.class));
+        verify(outboxService, never()).append(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_ThrowException_When_RequestGrantOfRejectedJudgement(){
+        Judgement judgementEntity = Judgement.builder()
+                .applicationId(1L)
+                .approvalAmount(BigDecimal.ZERO)
+                .build();
+
+        Application applicationEntity = Application.builder()
+                .applicationId(1L)
+                .status(ApplicationStatus.JUDGED)
+                .build();
+
+        when(judgementRepository.findById(1L)).thenReturn(Optional.ofNullable(judgementEntity));
+        when(applicationRepository.findById(1L)).thenReturn(Optional.ofNullable(applicationEntity));
+
+        BaseException actual = org.junit.jupiter.api.Assertions.assertThrows(BaseException.class, () -> judgementService.grant(1L));
+
+        Assertions.assertThat(actual.getCode()).isEqualTo(ResultType.JUDGEMENT_REJECTED.getCode());
+        Assertions.assertThat(applicationEntity.getStatus()).isEqualTo(ApplicationStatus.JUDGED);
+        verify(outboxService, never()).append(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_GrantOnlyGrantableApplicationsWithSingleBatchUpdate_When_RequestBulkGrant(){
+        Judgement judged = Judgement.builder().judgementId(1L).applicationId(11L).approvalAmount(BigDecimal.valueOf(5000000)).build();
+        Judgement notJudged = Judgement.builder().judgementId(2L).applicationId(12L).approvalAmount(BigDecimal.valueOf(3000000)).build();
+        Judgement sameApplication = Judgement.builder().judgementId(3L).applicationId(11L).approvalAmount(BigDecimal.valueOf(1000000)).build();
+        Judgement rejected = Judgement.builder().judgementId(5L).applicationId(13L).approvalAmount(BigDecimal.ZERO).build();
+
+        when(judgementRepository.findAllById(ArgumentMatchers.anyIterable())).thenReturn(Arrays.asList(judged, notJudged, sameApplication, rejected));
+        when(applicationRepository.findStatusesByIds(ArgumentMatchers.anyCollection())).thenReturn(Arrays.asList(
+                new Object[]{11L, ApplicationStatus.JUDGED},
+                new Object[]{12L, ApplicationStatus.TERMS_ACCEPTED},
+                new Object[]{13L, ApplicationStatus.JUDGED}));
+        when(jdbcTemplate.batchUpdate(ArgumentMatchers.anyString(), ArgumentMatchers.<Object[]>anyList())).thenReturn(new int[]{1});
+
+        JudgementDTO.GrantResponse actual = judgementService.grantAll(Arrays.asList(1L, 2L, 3L, 4L, 5L, 1L));
+
+        Assertions.assertThat(actual.getGrantedCount()).isEqualTo(1);
+        Assertions.assertThat(actual.getFailedCount()).isEqualTo(4);
+        Assertions.assertThat(actual.getResults()).extracting(JudgementDTO.GrantResult::getJudgementId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        Assertions.assertThat(actual.getResults()).extracting(JudgementDTO.GrantResult::getCode).containsExactly(
+                ResultType.SUCCESS.getCode(), ResultType.INVALID_APPLICATION_STATUS.getCode(),
+                ResultType.INVALID_APPLICATION_STATUS.getCode(), ResultType.SYSTEM_ERROR.getCode(),
+                ResultType.JUDGEMENT_REJECTED.getCode());
+
+        verify(jdbcTemplate).batchUpdate(ArgumentMatchers.anyString(), ArgumentMatchers.<Object[]>anyList());
+        verify(scheduleService).evict(11L);
+        verify(applicationStateCache).invalidate(11L);
+        verify(outboxService).append(ArgumentMatchers.eq(11L), ArgumentMatchers.eq(DomainEventType.APPLICATION_STATUS_CHANGED),
+                ArgumentMatchers.<ApplicationDTO.StatusChange>argThat(change -> change.getBeforeStatus() == ApplicationStatus.JUDGED
+                        && change.getAfterStatus() == ApplicationStatus.GRANTED));
+        verify(outboxService).append(ArgumentMatchers.eq(11L), ArgumentMatchers.eq(DomainEventType.APPLICATION_GRANTED), ArgumentMatchers.any());
+        verify(outboxService, never()).append(ArgumentMatchers.eq(12L), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_EvictCachesAfterCommit_When_BulkGrantInTransaction(){
+        Judgement judged = Judgement.builder().judgementId(1L).applicationId(11L).approvalAmount(BigDecimal.valueOf(5000000)).build();
+
+        when(judgementRepository.findAllById(ArgumentMatchers.anyIterable())).thenReturn(Collections.singletonList(judged));
+        when(applicationRepository.findStatusesByIds(ArgumentMatchers.anyCollection())).thenReturn(
+                Collections.singletonList(new Object[]{11L, ApplicationStatus.JUDGED}));
+        when(jdbcTemplate.batchUpdate(ArgumentMatchers.anyString(), ArgumentMatchers.<Object[]>anyList())).thenReturn(new int[]{1});
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            judgementService.grantAll(Collections.singletonList(1L));
+
+            verify(scheduleService, never()).evict(ArgumentMatchers.any());
+            verify(applicationStateCache, never()).invalidate(ArgumentMatchers.any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(scheduleService).evict(11L);
+        verify(applicationStateCache).invalidate(11L);
+    }
+
+    @Test
+    void Should_ThrowException_When_RequestEmptyBulkGrant(){
+        BaseException actual = org.junit.jupiter.api.Assertions.assertThrows(BaseException.class,
+                () -> judgementService.grantAll(Collections.emptyList()));
+
+        Assertions.assertThat(actual.getCode()).isEqualTo(ResultType.INVALID_GRANT_REQUEST.getCode());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.JudgementTask;
+import com.fastcampus.loan.domain.JudgementTaskStatus;
+import com.fastcampus.loan.dto.JudgementDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.JudgementTaskRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JudgementTaskServiceTest {
+
+    @InjectMocks
+    private JudgementTaskServiceImpl judgementTaskService;
+
+    @Mock
+    private JudgementTaskRepository judgementTaskRepository;
+
+    @Mock
+    private JudgementTaskWorker judgementTaskWorker;
+
+    @Mock
+    private ApplicationStateCache applicationStateCache;
+
+    @Spy
+    private ModelMapper modelMapper;
+
+    @Test
+    void Should_EnqueueTaskAndWakeUpWorker_When_SubmitJudgement() {
+        JudgementDTO.Request request = JudgementDTO.Request.builder()
+                .applicationId(1L)
+                .name("Member Kim")
+                .approvalAmount(BigDecimal.valueOf(5000000))
+                .build();
+
+        when(applicationStateCache.get(1L)).thenReturn(new ApplicationStateCache.State(true, false, ApplicationStatus.TERMS_ACCEPTED, null));
+        when(judgementTaskRepository.existsByApplicationIdAndStatusIn(ArgumentMatchers.eq(1L), ArgumentMatchers.anyCollection())).thenReturn(false);
+        when(judgementTaskRepository.save(ArgumentMatchers.any(JudgementTask.class))).thenAnswer(invocation -> {
+            JudgementTask task = invocation.getArgument(0);
+            task.setJudgementTaskId(10L);
+            return task;
+        });
+
+        JudgementDTO.TaskResponse actual = judgementTaskService.submit(request);
+
+        ArgumentCaptor<JudgementTask> captor = ArgumentCaptor.forClass(JudgementTask.class);
+        verify(judgementTaskRepository).save(captor.capture());
+        Assertions.assertThat(captor.getValue().getStatus()).isSameAs(JudgementTaskStatus.QUEUED);
+        Assertions.assertThat(captor.getValue().getAttempts()).isZero();
+        verify(judgementTaskWorker).wakeUp();
+
+        Assertions.assertThat(actual.getJudgementTaskId()).isSameAs(10L);
+        Assertions.assertThat(actual.getStatus()).isSameAs(JudgementTaskStatus.QUEUED);
+        Assertions.assertThat(actual.getApprovalAmount()).isEqualTo(request.getApprovalAmount());
+    }
+
+    @Test
+    void Should_ThrowException_When_ApplicationIsNotJudgeable() {
+        JudgementDTO.Request request = JudgementDTO.Request.builder()
+                .applicationId(1L)
+                .build();
+
+        when(applicationStateCache.get(1L)).thenReturn(new ApplicationStateCache.State(true, false, ApplicationStatus.APPLIED, null));
+
+        BaseException actual = org.junit.jupiter.api.Assertions.assertThrows(BaseException.class, () -> judgementTaskService.submit(request));
+
+        Assertions.assertThat(actual.getCode()).isEqualTo(ResultType.INVALID_APPLICATION_STATUS.getCode());
+        verify(judgementTaskRepository, never()).save(ArgumentMatchers.any(JudgementTask.class));
+    }
+
+    @Test
+    void Should_ThrowException_When_TaskOfApplicationIsAlreadyQueued() {
+        JudgementDTO.Request request = JudgementDTO.Request.builder()
+                .applicationId(1L)
+                .build();
+
+        when(applicationStateCache.get(1L)).thenReturn(new ApplicationStateCache.State(true, false, ApplicationStatus.TERMS_ACCEPTED, null));
+        when(judgementTaskRepository.existsByApplicationIdAndStatusIn(ArgumentMatchers.eq(1L), ArgumentMatchers.anyCollection())).thenReturn(true);
+
+        BaseException actual = org.junit.jupiter.api.Assertions.assertThrows(BaseException.class, () -> judgementTaskService.submit(request));
+
+        Assertions.assertThat(actual.getCode()).isEqualTo(ResultType.JUDGEMENT_TASK_IN_PROGRESS.getCode());
+        verify(judgementTaskWorker, never()).wakeUp();
+    }
+}
@@ -0,0 +1,153 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.JudgementTask;
+import com.fastcampus.loan.domain.JudgementTaskStatus;
+import com.fastcampus.loan.dto.JudgementDTO;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.ApplicationRepository;
+import com.fastcampus.loan.repository.JudgementTaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 접수한 심사 작업이 worker 에서 심사, 승인까지 끝나는지 확인 (테스트 context 중 여기서만 dispatcher 를 켠다)
+ */
+@SpringBootTest(properties = {"logging.level.org.hibernate.SQL=warn",
+        "loan.judgement.queue.enabled=true",
+        "loan.judgement.queue.poll-interval-ms=100"})
+class JudgementTaskWorkerTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private JudgementTaskService judgementTaskService;
+
+    @Autowired
+    private JudgementTaskRepository judgementTaskRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void Should_JudgeAndGrantInBackground_When_SubmitTask() throws InterruptedException {
+        Long manual = createApplication("010-7101-0001", ApplicationStatus.TERMS_ACCEPTED, 10_000_000);
+        Long automated = createApplication("010-7101-0002", ApplicationStatus.TERMS_ACCEPTED, 30_000_000);
+
+        JudgementDTO.TaskResponse manualTask = judgementTaskService.submit(JudgementDTO.Request.builder()
+                .applicationId(manual)
+                .name("Member Lee")
+                .approvalAmount(BigDecimal.valueOf(7_000_000))
+                .build());
+        JudgementDTO.TaskResponse automatedTask = judgementTaskService.submit(JudgementDTO.Request.builder()
+                .applicationId(automated)
+                .build());
+
+        JudgementDTO.TaskResponse manualResult = await(manualTask.getJudgementTaskId());
+        assertThat(manualResult.getStatus()).isSameAs(JudgementTaskStatus.COMPLETED);
+        assertThat(manualResult.getJudgementId()).isNotNull();
+        assertThat(manualResult.getGrantedAmount()).isEqualByComparingTo(BigDecimal.valueOf(7_000_000));
+        assertThat(manualResult.getAttempts()).isEqualTo(1);
+        assertThat(applicationRepository.findStatusById(manual)).contains(ApplicationStatus.GRANTED);
+
+        // 첫 대출 80%
+        JudgementDTO.TaskResponse automatedResult = await(automatedTask.getJudgementTaskId());
+        assertThat(automatedResult.getStatus()).isSameAs(JudgementTaskStatus.COMPLETED);
+        assertThat(automatedResult.getGrantedAmount()).isEqualByComparingTo(BigDecimal.valueOf(24_000_000));
+        assertThat(applicationRepository.findStatusById(automated)).contains(ApplicationStatus.GRANTED);
+
+        assertThat(meterRegistry.get("judgement.queue.wait").timer().count()).isGreaterThanOrEqualTo(2);
+        assertThat(meterRegistry.get("judgement.queue.finished").tag("status", "COMPLETED").counter().count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void Should_FailTaskWithResultCode_When_ApplicationIsNotJudgeable() throws InterruptedException {
+        // 접수 후 다른 요청이 먼저 상태를 바꾼 경우
+        Long applicationId = createApplication("010-7102-0001", ApplicationStatus.APPLIED, 10_000_000);
+        Long judgementTaskId = enqueue(applicationId, "Member Lee");
+
+        JudgementDTO.TaskResponse actual = await(judgementTaskId);
+
+        assertThat(actual.getStatus()).isSameAs(JudgementTaskStatus.FAILED);
+        assertThat(actual.getErrorCode()).isEqualTo(ResultType.INVALID_APPLICATION_STATUS.getCode());
+        assertThat(actual.getAttempts()).isEqualTo(1);
+        assertThat(applicationRepository.findStatusById(applicationId)).contains(ApplicationStatus.APPLIED);
+    }
+
+    @Test
+    void Should_FailTaskWithoutGrant_When_ApplicationIsRejectedByRules() throws InterruptedException {
+        // 희망 금액 100 만원 미만은 거절(승인 금액 0)
+        Long applicationId = createApplication("010-7104-0001", ApplicationStatus.TERMS_ACCEPTED, 500_000);
+
+        JudgementDTO.TaskResponse task = judgementTaskService.submit(JudgementDTO.Request.builder()
+                .applicationId(applicationId)
+                .build());
+
+        JudgementDTO.TaskResponse actual = await(task.getJudgementTaskId());
+
+        assertThat(actual.getStatus()).isSameAs(JudgementTaskStatus.FAILED);
+        assertThat(actual.getErrorCode()).isEqualTo(ResultType.JUDGEMENT_REJECTED.getCode());
+        assertThat(actual.getJudgementId()).isNotNull();
+        assertThat(actual.getGrantedAmount()).isNull();
+        assertThat(applicationRepository.findStatusById(applicationId)).contains(ApplicationStatus.JUDGED);
+    }
+
+    @Test
+    void Should_RetryUntilMaxAttempts_When_UnexpectedErrorOccurs() throws InterruptedException {
+        // 심사자 없이 승인 금액만 있으면 저장에서 실패한다
+        Long applicationId = createApplication("010-7103-0001", ApplicationStatus.TERMS_ACCEPTED, 10_000_000);
+        Long judgementTaskId = enqueue(applicationId, null);
+
+        JudgementDTO.TaskResponse actual = await(judgementTaskId);
+
+        assertThat(actual.getStatus()).isSameAs(JudgementTaskStatus.FAILED);
+        assertThat(actual.getErrorCode()).isEqualTo(ResultType.SYSTEM_ERROR.getCode());
+        assertThat(actual.getAttempts()).isEqualTo(3);
+        assertThat(judgementTaskRepository.findById(judgementTaskId)).get()
+                .extracting(JudgementTask::getAttempts).isEqualTo(3);
+    }
+
+    private Long enqueue(Long applicationId, String name) {
+        return judgementTaskRepository.save(JudgementTask.builder()
+                .applicationId(applicationId)
+                .name(name)
+                .approvalAmount(BigDecimal.valueOf(5_000_000))
+                .status(JudgementTaskStatus.QUEUED)
+                .attempts(0)
+                .build()).getJudgementTaskId();
+    }
+
+    private JudgementDTO.TaskResponse await(Long judgementTaskId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        JudgementDTO.TaskResponse task = judgementTaskService.get(judgementTaskId);
+        while ((task.getStatus() == JudgementTaskStatus.QUEUED || task.getStatus() == JudgementTaskStatus.RUNNING)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            task = judgementTaskService.get(judgementTaskId);
+        }
+        return task;
+    }
+
+    private Long createApplication(String cellPhone, ApplicationStatus status, long hopeAmount) {
+        return applicationRepository.save(Application.builder()
+                .name("Member Kim")
+                .cellPhone(cellPhone)
+                .hopeAmount(BigDecimal.valueOf(hopeAmount))
+                .interestRate(new BigDecimal("0.0500"))
+                .appliedAt(LocalDateTime.now())
+                .maturity(LocalDateTime.now().plusYears(1))
+                .status(status)
+                .build()).getApplicationId();
+    }
+}
@@ -0,0 +1,77 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.DomainEventType;
+import com.fastcampus.loan.domain.OutboxEvent;
+import com.fastcampus.loan.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private DomainEventBus domainEventBus;
+
+    @AfterEach
+    void tearDown() {
+        domainEventBus.shutdown();
+    }
+
+    @Test
+    void Should_MarkPublished_When_AllSubscribersReceive() {
+        OutboxRelay outboxRelay = relay(events -> { });
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByOutboxEventIdAsc(ArgumentMatchers.any())).thenReturn(outboxEvents());
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository).markPublished(ArgumentMatchers.eq(Collections.singletonList(1L)), ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_NotMarkPublished_When_SubscriberFails() {
+        OutboxRelay outboxRelay = relay(events -> {
+            throw new IllegalStateException("subscriber failed");
+        });
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByOutboxEventIdAsc(ArgumentMatchers.any())).thenReturn(outboxEvents());
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, never()).markPublished(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    private OutboxRelay relay(DomainEventSubscriber subscriber) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("subscriber", subscriber));
+        domainEventBus = new DomainEventBus(beanFactory.getBeanProvider(DomainEventSubscriber.class), meterRegistry, 2, 64, 32);
+        return new OutboxRelay(outboxEventRepository, domainEventBus, meterRegistry, 10, 1, 10000, 7);
+    }
+
+    private List<OutboxEvent> outboxEvents() {
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .outboxEventId(1L)
+                .applicationId(1L)
+                .type(DomainEventType.REPAYMENT_RECEIVED)
+                .payload("{}")
+                .build();
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        return Collections.singletonList(outboxEvent);
+    }
+}
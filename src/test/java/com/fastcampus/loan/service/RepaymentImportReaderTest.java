@@ -0,0 +1,68 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.domain.RepaymentImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepaymentImportReaderTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void Should_SkipHeaderAndSplitChunks_When_CsvFileIsRead() throws Exception {
+        Path file = write("applicationId,repaymentAmount\r\n1,100.50\r\n2,200\r\n\r\n3,abc\r\n");
+
+        try (RepaymentImportReader reader = new RepaymentImportReader(file, RepaymentImportFormat.CSV, objectMapper, 2, 0L, 0L)) {
+            RepaymentImportReader.Chunk first = reader.next();
+            assertThat(first.getRequests()).hasSize(2);
+            assertThat(first.getRequests().get(0).getApplicationId()).isEqualTo(1L);
+            assertThat(first.getRequests().get(0).getRepaymentAmount()).isEqualTo(Money.ofCents(10050L));
+            assertThat(first.getRequests().get(1).getRepaymentAmount()).isEqualTo(Money.of(200));
+            assertThat(first.getEndLine()).isEqualTo(3L);
+
+            // 형식이 잘못된 줄은 비어있는 요청으로 넘어온다
+            RepaymentImportReader.Chunk second = reader.next();
+            assertThat(second.getRequests()).hasSize(1);
+            assertThat(second.getRequests().get(0).getApplicationId()).isNull();
+            assertThat(second.getEndOffset()).isEqualTo(Files.size(file));
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void Should_ContinueFromCommittedOffset_When_NdjsonImportIsResumed() throws Exception {
+        Path file = write("{\"applicationId\":1,\"repaymentAmount\":10}\n"
+                + "{\"applicationId\":2,\"repaymentAmount\":20}\n"
+                + "{\"applicationId\":3,\"repaymentAmount\":30}\n");
+
+        RepaymentImportReader.Chunk committed;
+        try (RepaymentImportReader reader = new RepaymentImportReader(file, RepaymentImportFormat.NDJSON, objectMapper, 2, 0L, 0L)) {
+            committed = reader.next();
+        }
+
+        try (RepaymentImportReader reader = new RepaymentImportReader(file, RepaymentImportFormat.NDJSON, objectMapper, 2,
+                committed.getEndOffset(), committed.getEndLine())) {
+            RepaymentImportReader.Chunk resumed = reader.next();
+            assertThat(resumed.getRequests()).hasSize(1);
+            assertThat(resumed.getRequests().get(0).getApplicationId()).isEqualTo(3L);
+            assertThat(resumed.getRequests().get(0).getRepaymentAmount()).isEqualTo(Money.of(30));
+            assertThat(resumed.getEndLine()).isEqualTo(3L);
+        }
+    }
+
+    private Path write(String content) throws Exception {
+        return Files.write(directory.resolve("repayments"), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
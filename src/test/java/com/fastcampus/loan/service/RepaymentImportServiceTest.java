@@ -0,0 +1,115 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.RepaymentImport;
+import com.fastcampus.loan.domain.RepaymentImportFormat;
+import com.fastcampus.loan.domain.RepaymentImportStatus;
+import com.fastcampus.loan.dto.RepaymentImportDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.RepaymentImportRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 import 를 두 run(인스턴스)이 동시에 진행하지 않도록 DB claim, lease, 진행 위치 compare-and-set 확인
+ */
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=warn")
+class RepaymentImportServiceTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private RepaymentImportService repaymentImportService;
+
+    @Autowired
+    private RepaymentImportRepository repaymentImportRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void Should_RejectResume_When_ImportIsRunningOnAnotherInstance() throws Exception {
+        Long repaymentImportId = running("other-run", LocalDateTime.now().plusHours(1));
+
+        BaseException actual = Assertions.assertThrows(BaseException.class, () -> repaymentImportService.resume(repaymentImportId));
+
+        assertThat(actual.getCode()).isEqualTo(ResultType.NOT_RESUMABLE_IMPORT.getCode());
+        assertThat(repaymentImportRepository.findById(repaymentImportId)).get()
+                .extracting(RepaymentImport::getClaimToken).isEqualTo("other-run");
+    }
+
+    @Test
+    void Should_ResumeFromCommittedOffset_When_LeaseOfRunningImportExpired() throws Exception {
+        Long repaymentImportId = running("crashed-run", LocalDateTime.now().minusSeconds(1));
+
+        repaymentImportService.resume(repaymentImportId);
+
+        RepaymentImportDTO.Response actual = await(repaymentImportId);
+        assertThat(actual.getStatus()).isSameAs(RepaymentImportStatus.COMPLETED);
+        // 없는 신청이므로 모두 실패로 센다
+        assertThat(actual.getFailedCount()).isEqualTo(2L);
+        assertThat(repaymentImportRepository.findById(repaymentImportId)).get()
+                .extracting(RepaymentImport::getClaimToken).isNotEqualTo("crashed-run");
+    }
+
+    @Test
+    void Should_NotAdvanceOffset_When_AnotherRunClaimedImport() throws Exception {
+        Long repaymentImportId = running("stale-run", LocalDateTime.now().minusSeconds(1));
+        assertThat(repaymentImportRepository.claim(repaymentImportId, "new-run",
+                LocalDateTime.now().plusHours(1), LocalDateTime.now())).isEqualTo(1);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer stale = transactionTemplate.execute(status -> repaymentImportRepository.advance(repaymentImportId, "stale-run",
+                0L, 10L, 1L, 1L, 0L, LocalDateTime.now().plusHours(1)));
+        Integer movedOffset = transactionTemplate.execute(status -> repaymentImportRepository.advance(repaymentImportId, "new-run",
+                5L, 10L, 1L, 1L, 0L, LocalDateTime.now().plusHours(1)));
+
+        assertThat(stale).isZero();
+        assertThat(movedOffset).isZero();
+        assertThat(repaymentImportRepository.claim(repaymentImportId, "third-run",
+                LocalDateTime.now().plusHours(1), LocalDateTime.now())).isZero();
+    }
+
+    private Long running(String claimToken, LocalDateTime leaseExpiresAt) throws Exception {
+        Path file = Files.write(directory.resolve("repayments.csv"),
+                "applicationId,repaymentAmount\n990001,100\n990002,200\n".getBytes(StandardCharsets.UTF_8));
+        RepaymentImport repaymentImport = RepaymentImport.builder()
+                .format(RepaymentImportFormat.CSV)
+                .status(RepaymentImportStatus.RUNNING)
+                .filePath(file.toString())
+                .fileSize(Files.size(file))
+                .committedOffset(0L)
+                .committedLines(0L)
+                .succeededCount(0L)
+                .failedCount(0L)
+                .claimToken(claimToken)
+                .leaseExpiresAt(leaseExpiresAt)
+                .build();
+        return repaymentImportRepository.save(repaymentImport).getRepaymentImportId();
+    }
+
+    private RepaymentImportDTO.Response await(Long repaymentImportId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        RepaymentImportDTO.Response repaymentImport = repaymentImportService.get(repaymentImportId);
+        while (repaymentImport.getStatus() == RepaymentImportStatus.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            repaymentImport = repaymentImportService.get(repaymentImportId);
+        }
+        return repaymentImport;
+    }
+}
@@ -0,0 +1,157 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.DomainEventType;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.domain.Repayment;
+import com.fastcampus.loan.dto.BalanceDTO;
+import com.fastcampus.loan.dto.RepaymentDTO;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.ApplicationRepository;
+import com.fastcampus.loan.repository.RepaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RepaymentServiceTest {
+
+    @InjectMocks
+    RepaymentServiceImpl repaymentService;
+
+    @Mock
+    private RepaymentRepository repaymentRepository;
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private ApplicationStateCache applicationStateCache;
+
+    @Mock
+    private ApplicationService applicationService;
+
+    @Mock
+    private BalanceService balanceService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Captor
+    private ArgumentCaptor<List<Repayment>> inserted;
+
+    @Test
+    void Should_ReturnLastRepaymentIdAsNextCursor_When_PageIsFull(){
+        when(repaymentRepository.findPageByApplicationId(1L, 10L, PageRequest.of(0, 2))).thenReturn(Arrays.asList(
+                RepaymentDTO.ListResponse.builder().repaymentId(11L).repaymentAmount(Money.of(100)).build(),
+                RepaymentDTO.ListResponse.builder().repaymentId(12L).repaymentAmount(Money.of(200)).build()));
+
+        RepaymentDTO.PageResponse actual = repaymentService.get(1L, 10L, 2);
+
+        assertThat(actual.getRepayments()).hasSize(2);
+        assertThat(actual.getNextCursor()).isEqualTo(12L);
+    }
+
+    @Test
+    void Should_RepayOnlyValidItemsAndReportEachResult_When_BatchIsMixed(){
+        when(applicationRepository.findRepayableApplicationIds(ArgumentMatchers.anyCollection())).thenReturn(Collections.singletonList(1L));
+        when(balanceService.repaymentUpdate(ArgumentMatchers.eq(1L), ArgumentMatchers.any())).thenReturn(balance(1L, 850));
+        when(applicationStateCache.get(1L)).thenReturn(state(ApplicationStatus.REPAYING));
+
+        RepaymentDTO.BatchResponse actual = repaymentService.createAll(Arrays.asList(
+                item(1L, Money.of(100)),
+                item(null, Money.of(100)),
+                item(1L, Money.of(-5)),
+                item(3L, Money.of(50)),
+                item(1L, Money.of(50))));
+
+        assertThat(actual.getRequestedCount()).isEqualTo(5);
+        assertThat(actual.getSucceededCount()).isEqualTo(2);
+        assertThat(actual.getFailedCount()).isEqualTo(3);
+        assertThat(actual.getResults()).extracting(RepaymentDTO.BatchResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(actual.getResults()).extracting(result -> result.getResult().getCode()).containsExactly(
+                ResultType.SUCCESS.getCode(), ResultType.INVALID_REPAYMENT.getCode(), ResultType.INVALID_REPAYMENT.getCode(),
+                ResultType.NOT_REPAYABLE_APPLICATION.getCode(), ResultType.SUCCESS.getCode());
+
+        verify(repaymentRepository).insertAll(inserted.capture());
+        assertThat(inserted.getValue()).extracting(Repayment::getRepaymentAmount).containsExactly(Money.of(100), Money.of(50));
+        verify(balanceService, times(1)).repaymentUpdate(ArgumentMatchers.any(), ArgumentMatchers.any());
+        verify(applicationService, never()).transit(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_ApplyOneSummedDeltaPerApplication_When_BatchHasSeveralApplications(){
+        when(applicationRepository.findRepayableApplicationIds(ArgumentMatchers.anyCollection())).thenReturn(Arrays.asList(1L, 2L));
+        when(balanceService.repaymentUpdate(ArgumentMatchers.eq(1L), ArgumentMatchers.any())).thenReturn(balance(1L, 880));
+        when(balanceService.repaymentUpdate(ArgumentMatchers.eq(2L), ArgumentMatchers.any())).thenReturn(balance(2L, 0));
+        when(applicationStateCache.get(1L)).thenReturn(state(ApplicationStatus.REPAYING));
+        when(applicationStateCache.get(2L)).thenReturn(state(ApplicationStatus.REPAYING));
+
+        RepaymentDTO.BatchResponse actual = repaymentService.createAll(Arrays.asList(
+                item(1L, Money.of(100)),
+                item(2L, Money.of(30)),
+                item(1L, Money.of(20)),
+                item(2L, Money.of(70))));
+
+        assertThat(actual.getSucceededCount()).isEqualTo(4);
+
+        ArgumentCaptor<BalanceDTO.RepaymentRequest> first = ArgumentCaptor.forClass(BalanceDTO.RepaymentRequest.class);
+        verify(balanceService).repaymentUpdate(ArgumentMatchers.eq(1L), first.capture());
+        assertThat(first.getValue().getRepaymentAmount()).isEqualTo(Money.of(120));
+        assertThat(first.getValue().getType()).isEqualTo(BalanceDTO.RepaymentRequest.RepaymentType.REMOVE);
+
+        ArgumentCaptor<BalanceDTO.RepaymentRequest> second = ArgumentCaptor.forClass(BalanceDTO.RepaymentRequest.class);
+        verify(balanceService).repaymentUpdate(ArgumentMatchers.eq(2L), second.capture());
+        assertThat(second.getValue().getRepaymentAmount()).isEqualTo(Money.of(100));
+
+        // 다 갚은 신청만 상환 완료로
+        verify(applicationService).transit(2L, ApplicationStatus.CLOSED);
+        verify(applicationService, never()).transit(ArgumentMatchers.eq(1L), ArgumentMatchers.any());
+        verify(outboxService, times(2)).append(ArgumentMatchers.any(), ArgumentMatchers.eq(DomainEventType.REPAYMENT_RECEIVED), ArgumentMatchers.any());
+    }
+
+    @Test
+    void Should_ReturnNullNextCursor_When_PageIsNotFull(){
+        when(repaymentRepository.findPageByApplicationId(1L, 0L, PageRequest.of(0, 2))).thenReturn(Arrays.asList(
+                RepaymentDTO.ListResponse.builder().repaymentId(1L).repaymentAmount(Money.of(100)).build()));
+
+        RepaymentDTO.PageResponse actual = repaymentService.get(1L, null, 2);
+
+        assertThat(actual.getRepayments()).hasSize(1);
+        assertThat(actual.getNextCursor()).isNull();
+    }
+
+    private RepaymentDTO.BatchRequest item(Long applicationId, Money repaymentAmount) {
+        return RepaymentDTO.BatchRequest.builder()
+                .applicationId(applicationId)
+                .repaymentAmount(repaymentAmount)
+                .build();
+    }
+
+    private BalanceDTO.Response balance(Long applicationId, long balance) {
+        return BalanceDTO.Response.builder()
+                .applicationId(applicationId)
+                .balance(Money.of(balance))
+                .build();
+    }
+
+    private ApplicationStateCache.State state(ApplicationStatus status) {
+        return new ApplicationStateCache.State(true, false, status, null);
+    }
+}
@@ -0,0 +1,73 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.ApplicationStatus;
+import com.fastcampus.loan.domain.BalanceJournalType;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.domain.Repayment;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
+import com.fastcampus.loan.repository.ApplicationRepository;
+import com.fastcampus.loan.repository.BalanceJournalRepository;
+import com.fastcampus.loan.repository.RepaymentRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상환 수정, 삭제 중 상태 변경이 실패하면 잔고 journal 도 함께 롤백되는지 확인
+ */
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=warn")
+class RepaymentTransactionTest {
+
+    @Autowired
+    private RepaymentService repaymentService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private BalanceLedger balanceLedger;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private RepaymentRepository repaymentRepository;
+
+    @Autowired
+    private BalanceJournalRepository balanceJournalRepository;
+
+    @Test
+    void Should_RollBackBalanceJournal_When_StatusTransitFailsOnDelete() {
+        // 집행 취소로 계약 상태에 돌아간 신청, 상환을 지우면 잔고가 생겨 상환 중으로 바꿔야 하지만 허용되지 않는다
+        Long applicationId = applicationRepository.save(Application.builder()
+                .name("Member Kim")
+                .cellPhone("010-7301-0001")
+                .hopeAmount(BigDecimal.valueOf(10_000_000))
+                .appliedAt(LocalDateTime.now())
+                .status(ApplicationStatus.CONTRACTED)
+                .build()).getApplicationId();
+        balanceLedger.reset(applicationId, BalanceJournalType.ENTRY_BOOKED, Money.of(1_000));
+        Repayment repayment = Repayment.builder()
+                .applicationId(applicationId)
+                .repaymentAmount(Money.of(300))
+                .build();
+        repayment.setIsDeleted(false);
+        Long repaymentId = repaymentRepository.save(repayment).getRepaymentId();
+
+        BaseException actual = Assertions.assertThrows(BaseException.class, () -> repaymentService.delete(repaymentId));
+
+        assertThat(actual.getCode()).isEqualTo(ResultType.INVALID_APPLICATION_STATUS.getCode());
+        assertThat(balanceJournalRepository
+                .findAllByApplicationIdAndBalanceJournalIdGreaterThanOrderByBalanceJournalIdAsc(applicationId, 0L)).hasSize(1);
+        assertThat(balanceService.get(applicationId).getBalance()).isEqualTo(Money.of(1_000));
+        assertThat(repaymentRepository.findById(repaymentId)).isPresent();
+    }
+}
@@ -0,0 +1,144 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Application;
+import com.fastcampus.loan.domain.Money;
+import com.fastcampus.loan.domain.RepaymentMethod;
+import com.fastcampus.loan.dto.ScheduleDTO;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.repository.ApplicationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleServiceTest {
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    private ScheduleServiceImpl scheduleService;
+
+    @BeforeEach
+    void setUp() {
+        scheduleService = new ScheduleServiceImpl(applicationRepository, new SimpleMeterRegistry(), 100, 600);
+    }
+
+    @Test
+    void Should_RepayWholePrincipalWithFixedPayment_When_MethodIsEqualInstallment() {
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(application(BigDecimal.valueOf(100000000), 360)));
+
+        ScheduleDTO.Response actual = scheduleService.get(1L, RepaymentMethod.EQUAL_INSTALLMENT);
+
+        assertThat(actual.getInstallments()).hasSize(360);
+        // 1억, 연 4.5%, 360개월 -> 월 506,685.31
+        assertThat(actual.getInstallments().get(0).getPayment()).isEqualTo(Money.ofCents(50668531L));
+        assertThat(actual.getInstallments().get(359).getRemainingPrincipal()).isEqualTo(Money.ZERO);
+        assertThat(actual.getInstallments().stream().map(ScheduleDTO.Installment::getPrincipal).reduce(Money.ZERO, Money::add))
+                .isEqualTo(Money.of(100000000));
+        assertThat(actual.getFee()).isEqualTo(Money.of(500000));
+    }
+
+    @Test
+    void Should_SpreadPrincipalEvenly_When_MethodIsEqualPrincipal() {
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(application(BigDecimal.valueOf(1000), 3)));
+
+        ScheduleDTO.Response actual = scheduleService.get(1L, RepaymentMethod.EQUAL_PRINCIPAL);
+
+        assertThat(actual.getInstallments().get(0).getPrincipal()).isEqualTo(Money.ofCents(33333L));
+        assertThat(actual.getInstallments().get(2).getPrincipal()).isEqualTo(Money.ofCents(33334L));
+        // 1000 * 0.045 / 12 = 3.75
+        assertThat(actual.getInstallments().get(0).getInterest()).isEqualTo(Money.ofCents(375L));
+    }
+
+    @Test
+    void Should_RepayPrincipalAtMaturity_When_MethodIsBullet() {
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(application(BigDecimal.valueOf(1200000), 12)));
+
+        ScheduleDTO.Response actual = scheduleService.get(1L, RepaymentMethod.BULLET);
+
+        assertThat(actual.getInstallments().get(0).getPrincipal()).isEqualTo(Money.ZERO);
+        assertThat(actual.getInstallments().get(11).getPrincipal()).isEqualTo(Money.of(1200000));
+        assertThat(actual.getTotalInterest()).isEqualTo(Money.of(54000));
+    }
+
+    @Test
+    void Should_ComputeAgain_When_ScheduleIsEvicted() {
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(application(BigDecimal.valueOf(1000000), 12)));
+
+        ScheduleDTO.Response first = scheduleService.get(1L, RepaymentMethod.EQUAL_INSTALLMENT);
+        assertThat(scheduleService.get(1L, RepaymentMethod.EQUAL_INSTALLMENT)).isSameAs(first);
+        assertThat(scheduleService.stats().hitCount()).isEqualTo(1);
+
+        scheduleService.evict(1L);
+
+        assertThat(scheduleService.get(1L, RepaymentMethod.EQUAL_INSTALLMENT)).isNotSameAs(first);
+        verify(applicationRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void Should_EvictAgain_When_TransactionCompletes() {
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(application(BigDecimal.valueOf(1000000), 12)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduleService.evict(1L);
+            // 커밋 전에 다른 요청이 이전 값으로 다시 캐시
+            ScheduleDTO.Response stale = scheduleService.get(1L, RepaymentMethod.EQUAL_INSTALLMENT);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            assertThat(scheduleService.get(1L, RepaymentMethod.EQUAL_INSTALLMENT)).isNotSameAs(stale);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void Should_NotCacheComputedSchedule_When_EvictedWhileComputing() {
+        when(applicationRepository.findById(1L)).thenAnswer(invocation -> {
+            // 신청을 읽은 뒤, 계산이 끝나기 전에 승인 금액이 바뀐 경우
+            scheduleService.evict(1L);
+            return Optional.of(application(BigDecimal.valueOf(1000000), 12));
+        });
+
+        ScheduleDTO.Response stale = scheduleService.get(1L, RepaymentMethod.EQUAL_INSTALLMENT);
+
+        assertThat(scheduleService.get(1L, RepaymentMethod.EQUAL_INSTALLMENT)).isNotSameAs(stale);
+        verify(applicationRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void Should_ThrowException_When_ScheduleInputsAreMissing() {
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(Application.builder().applicationId(1L).build()));
+
+        Assertions.assertThrows(BaseException.class, () -> scheduleService.get(1L, RepaymentMethod.BULLET));
+    }
+
+    private Application application(BigDecimal approvalAmount, int months) {
+        LocalDateTime contractedAt = LocalDateTime.of(2024, 1, 15, 10, 0);
+        return Application.builder()
+                .applicationId(1L)
+                .approvalAmount(approvalAmount)
+                .interestRate(new BigDecimal("0.0450"))
+                .fee(new BigDecimal("0.0050"))
+                .contractedAt(contractedAt)
+                .maturity(contractedAt.plusMonths(months))
+                .build();
+    }
+}
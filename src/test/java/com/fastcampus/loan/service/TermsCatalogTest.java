@@ -0,0 +1,127 @@
+package com.fastcampus.loan.service;
+
+import com.fastcampus.loan.domain.Terms;
+import com.fastcampus.loan.domain.TermsVersion;
+import com.fastcampus.loan.repository.TermsRepository;
+import com.fastcampus.loan.repository.TermsVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TermsCatalogTest {
+
+    @Mock
+    private TermsRepository termsRepository;
+
+    @Mock
+    private TermsVersionRepository termsVersionRepository;
+
+    private TermsCatalog termsCatalog;
+
+    @BeforeEach
+    void setUp() {
+        termsCatalog = new TermsCatalog(termsRepository, termsVersionRepository, new ModelMapper(), Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @Test
+    void Should_AcceptOnlyAllTermsOfLatestVersionOnce_When_ValidateAcceptTermsIds() {
+        when(termsRepository.findAll(any(Sort.class))).thenReturn(Arrays.asList(terms(3L), terms(4L), terms(7L)));
+        when(termsVersionRepository.findAll(any(Sort.class))).thenReturn(Arrays.asList(version(1L, 1, "3,4"), version(2L, 2, "3,4,7")));
+
+        TermsCatalog.Version latest = termsCatalog.get().findLatest(Terms.DEFAULT_PRODUCT_CODE);
+
+        assertThat(latest.getVersion()).isEqualTo(2);
+        assertThat(latest.isAcceptedAll(Arrays.asList(7L, 3L, 4L))).isTrue();
+        assertThat(latest.isAcceptedAll(Arrays.asList(3L, 4L))).isFalse();
+        assertThat(latest.isAcceptedAll(Arrays.asList(3L, 4L, 4L))).isFalse();
+        assertThat(latest.isAcceptedAll(Arrays.asList(3L, 4L, 5L))).isFalse();
+        assertThat(latest.isAcceptedAll(Arrays.asList(3L, 4L, 8L))).isFalse();
+        assertThat(latest.isAcceptedAll(Arrays.asList(2L, 3L, 4L))).isFalse();
+        assertThat(termsCatalog.get().findVersion(Terms.DEFAULT_PRODUCT_CODE, 1).isAcceptedAll(Arrays.asList(3L, 4L))).isTrue();
+        assertThat(termsCatalog.get().findLatest("CARD")).isNull();
+
+        assertThat(termsCatalog.get().getBitIndex(7L)).isEqualTo(6);
+        assertThat(termsCatalog.get().getBitWidth()).isEqualTo(7);
+    }
+
+    @Test
+    void Should_PrecomputeBodyAndETag_When_SnapshotIsBuilt() {
+        when(termsRepository.findAll(any(Sort.class))).thenReturn(Arrays.asList(terms(1L), terms(2L)));
+        when(termsVersionRepository.findAll(any(Sort.class))).thenReturn(Collections.singletonList(version(1L, 1, "1,2")));
+
+        TermsCatalog.Version latest = termsCatalog.get().findLatest(Terms.DEFAULT_PRODUCT_CODE);
+
+        assertThat(latest.getETag()).isEqualTo("\"LOAN-1\"");
+        String body = new String(latest.getBody(), StandardCharsets.UTF_8);
+        assertThat(body).contains("\"productCode\":\"LOAN\"", "\"version\":1", "대출 이용 약관 2");
+        assertThat(termsCatalog.get().findLatest(Terms.DEFAULT_PRODUCT_CODE).getBody()).isSameAs(latest.getBody());
+    }
+
+    @Test
+    void Should_KeepVersion_When_TermsAreNotChanged() {
+        when(termsRepository.findAll(any(Sort.class)))
+                .thenReturn(Arrays.asList(terms(1L), terms(2L)))
+                .thenReturn(Arrays.asList(terms(1L), terms(2L)))
+                .thenReturn(Arrays.asList(terms(1L), terms(2L), terms(3L)));
+
+        long version = termsCatalog.get().getVersion();
+        assertThat(termsCatalog.get().getVersion()).isEqualTo(version);
+
+        assertThat(termsCatalog.refresh().getVersion()).isEqualTo(version);
+        assertThat(termsCatalog.refresh().getVersion()).isEqualTo(version + 1);
+        assertThat(termsCatalog.get().getTerms().size()).isEqualTo(3);
+
+        verify(termsRepository, times(3)).findAll(any(Sort.class));
+    }
+
+    @Test
+    void Should_ChangeVersion_When_TermsVersionIsAdded() {
+        when(termsRepository.findAll(any(Sort.class))).thenReturn(Arrays.asList(terms(1L), terms(2L)));
+        when(termsVersionRepository.findAll(any(Sort.class)))
+                .thenReturn(Collections.singletonList(version(1L, 1, "1")))
+                .thenReturn(Arrays.asList(version(1L, 1, "1"), version(2L, 2, "1,2")));
+
+        long version = termsCatalog.get().getVersion();
+
+        assertThat(termsCatalog.refresh().getVersion()).isEqualTo(version + 1);
+        assertThat(termsCatalog.get().findLatest(Terms.DEFAULT_PRODUCT_CODE).getVersion()).isEqualTo(2);
+    }
+
+    private Terms terms(Long termsId) {
+        Terms terms = Terms.builder()
+                .termsId(termsId)
+                .productCode(Terms.DEFAULT_PRODUCT_CODE)
+                .name("대출 이용 약관 " + termsId)
+                .termsDetailUrl("https://abc-storage.acc/" + termsId)
+                .bitIndex(termsId.intValue() - 1)
+                .build();
+        terms.setUpdatedAt(LocalDateTime.of(2022, 1, 1, 0, 0));
+        return terms;
+    }
+
+    private TermsVersion version(Long termsVersionId, int version, String termsIds) {
+        return TermsVersion.builder()
+                .termsVersionId(termsVersionId)
+                .productCode(Terms.DEFAULT_PRODUCT_CODE)
+                .version(version)
+                .termsIds(termsIds)
+                .build();
+    }
+}
@@ -1,9 +1,16 @@
 package com.fastcampus.loan.service;
 
+import com.fastcampus.loan.domain.AcceptTermsBitmap;
 import com.fastcampus.loan.domain.Terms;
+import com.fastcampus.loan.domain.TermsVersion;
 import com.fastcampus.loan.dto.TermsDTO.Request;
 import com.fastcampus.loan.dto.TermsDTO.Response;
+import com.fastcampus.loan.dto.TermsDTO.VersionResponse;
+import com.fastcampus.loan.exception.BaseException;
+import com.fastcampus.loan.exception.ResultType;
 import com.fastcampus.loan.repository.TermsRepository;
+import com.fastcampus.loan.repository.TermsVersionRepository;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
@@ -15,9 +22,13 @@ import org.modelmapper.ModelMapper;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +40,12 @@ public class TermsServiceTest {
     @Mock
     private TermsRepository termsRepository;
 
+    @Mock
+    private TermsVersionRepository termsVersionRepository;
+
+    @Mock
+    private TermsCatalog termsCatalog;
+
     @Spy
     private ModelMapper modelMapper;
 
@@ -44,33 +61,80 @@ public class TermsServiceTest {
                 .termsDetailUrl("https://abc-storage.acc/dslfjdlsfjlsd")
                 .build();
 
+        when(termsRepository.findMaxBitIndex()).thenReturn(2);
         when(termsRepository.save(ArgumentMatchers.any(Terms.class))).thenReturn(entity);
+        when(termsVersionRepository.findTopByProductCodeOrderByVersionDesc(Terms.DEFAULT_PRODUCT_CODE)).thenReturn(
+                Optional.of(TermsVersion.builder().productCode(Terms.DEFAULT_PRODUCT_CODE).version(1).termsIds("1").build()));
+        when(termsRepository.findByProductCodeOrderByTermsIdAsc(Terms.DEFAULT_PRODUCT_CODE)).thenReturn(
+                Arrays.asList(Terms.builder().termsId(1L).build(), Terms.builder().termsId(4L).build()));
 
         Response actual = termsService.create(request);
 
         assertThat(actual.getName()).isSameAs(entity.getName());
         assertThat(actual.getTermsDetailUrl()).isSameAs(entity.getTermsDetailUrl());
+        verify(termsRepository).save(ArgumentMatchers.<Terms>argThat(terms ->
+                terms.getBitIndex() == 3 && Terms.DEFAULT_PRODUCT_CODE.equals(terms.getProductCode())));
+        verify(termsVersionRepository).save(ArgumentMatchers.<TermsVersion>argThat(version ->
+                version.getVersion() == 2 && "1,4".equals(version.getTermsIds())));
+        verify(termsCatalog).refresh();
+    }
+
+    @Test
+    void Should_ThrowException_When_RequestTermOverBitmapLimit() {
+        Request request = Request.builder()
+                .name("대출 이용 약관")
+                .termsDetailUrl("https://abc-storage.acc/dslfjdlsfjlsd")
+                .build();
+
+        when(termsRepository.findMaxBitIndex()).thenReturn(AcceptTermsBitmap.MAX_TERMS - 1);
+
+        BaseException actual = Assertions.assertThrows(BaseException.class, () -> termsService.create(request));
+        assertThat(actual.getCode()).isEqualTo(ResultType.TERMS_LIMIT_EXCEEDED.getCode());
+        verify(termsRepository, never()).save(ArgumentMatchers.any(Terms.class));
     }
 
     @Test
-    void Should_ReturnAllResponseOfExistTermsEntities_When_RequestTermsList() {
+    void Should_ReturnLatestVersionOfProduct_When_RequestTermsWithoutVersion() {
         Terms entityA = Terms.builder()
+                .termsId(1L)
                 .name("대출 이용 약관 1")
                 .termsDetailUrl("https://abc-storage.acc/dslfjdlsfjlsdddads")
                 .build();
 
         Terms entityB = Terms.builder()
+                .termsId(2L)
                 .name("대출 이용 약관 2")
                 .termsDetailUrl("https://abc-storage.acc/dslfjdlsfjlsdweqwq")
                 .build();
 
-        List<Terms> list = new ArrayList<>(Arrays.asList(entityA, entityB));
+        List<Response> list = new ArrayList<>(Arrays.asList(
+                modelMapper.map(entityA, Response.class), modelMapper.map(entityB, Response.class)));
 
-        when(termsRepository.findAll()).thenReturn(list);
+        when(termsCatalog.get()).thenReturn(new TermsCatalog.Snapshot(1, list, Collections.emptyMap(),
+                Arrays.asList(version(1, list.subList(0, 1)), version(2, list))));
 
-        List<Response> actual = termsService.getAll();
+        TermsCatalog.Version actual = termsService.get(Terms.DEFAULT_PRODUCT_CODE, null);
 
-        assertThat(actual.size()).isSameAs(list.size());
+        assertThat(actual.getVersion()).isEqualTo(2);
+        assertThat(actual.getTerms().size()).isSameAs(list.size());
+        assertThat(actual.getETag()).isEqualTo("\"LOAN-2\"");
+        assertThat(termsService.get(Terms.DEFAULT_PRODUCT_CODE, 1).getTerms().size()).isEqualTo(1);
+        verify(termsRepository, never()).findAll();
     }
 
+    @Test
+    void Should_ThrowException_When_RequestNotExistTermsVersion() {
+        when(termsCatalog.get()).thenReturn(new TermsCatalog.Snapshot(1, Collections.emptyList(), Collections.emptyMap(), Collections.emptyList()));
+
+        BaseException actual = Assertions.assertThrows(BaseException.class, () -> termsService.get("CARD", null));
+        assertThat(actual.getCode()).isEqualTo(ResultType.TERMS_VERSION_NOT_FOUND.getCode());
+    }
+
+    private TermsCatalog.Version version(int version, List<Response> terms) {
+        return new TermsCatalog.Version((long) version, VersionResponse.builder()
+                .productCode(Terms.DEFAULT_PRODUCT_CODE)
+                .version(version)
+                .terms(terms)
+                .build(), null);
+    }
 }